@@ -137,7 +137,8 @@ import java.lang.annotation.Target;
  *   <li>The handler methods must be annotated with {@link Handler} and accept
  *   exactly one parameter, which is a subclass of the base type.</li>
  *   <li>The dispatcher checks types in order of specificity, ensuring that more specific handlers
- *       are invoked before more general ones.</li>
+ *       are invoked before more general ones. How the types are checked is determined
+ *       by the {@code strategy} attribute.</li>
  *   <li>If the {@code include} attribute is omitted or empty,
  *   the processor considers all subclasses within the project.</li>
  *   <li>The processor only considers classes that are part of the current compilation unit.
@@ -170,4 +171,32 @@ public @interface DispatchFor {
    */
   Class<?>[] context() default {};
 
+  /**
+   * How the generated dispatcher selects the handler of an object.
+   */
+  Strategy strategy() default Strategy.AUTO;
+
+  /**
+   * The strategies of a generated dispatcher. All of them select the same handler.
+   */
+  enum Strategy {
+    /**
+     * Uses a {@link #JUMP_TABLE} if the handler class has many handlers,
+     * otherwise an {@link #INSTANCEOF_CHAIN}.
+     */
+    AUTO,
+
+    /**
+     * Tests the handled types one after another, from the most specific to the most general one.
+     * This is the fastest strategy if there are few handlers or the
+     * common types are tested first.
+     */
+    INSTANCEOF_CHAIN,
+
+    /**
+     * Looks up the handler in a {@link DispatchTable}, which caches the handler index per
+     * runtime class. The cost of the lookup does not depend on the number of handlers.
+     */
+    JUMP_TABLE
+  }
 }
@@ -0,0 +1,141 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.javaannotations;
+
+/**
+ * The jump table of a dispatcher generated for a {@link DispatchFor} handler class.
+ * It maps the runtime class of a dispatched object to the index of its handler.
+ *
+ * <p>The handled types are given from the most specific to the most general one, and
+ * the index of a class is the first handled type it is assignable to. So the table selects
+ * the same handler as a chain of {@code instanceof} checks in this order would.
+ * The index is computed once per runtime class and cached in an open addressing table
+ * keyed by class identity.</p>
+ *
+ * <p>The cache is copied on write. A lookup reads the current immutable snapshot
+ * without locking, a miss computes the index and publishes a new snapshot.</p>
+ */
+public final class DispatchTable {
+
+  /**
+   * Returned by {@link #indexOf(Class)} if no handled type matches.
+   */
+  public static final int UNHANDLED = -1;
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final Class<?>[] handledTypes;
+  private Snapshot snapshot = new Snapshot(new Class<?>[INITIAL_CAPACITY],
+      new int[INITIAL_CAPACITY], 0);
+
+  /**
+   * The immutable state of the cache. Its final fields make it safe to publish
+   * without synchronization.
+   */
+  private static final class Snapshot {
+    private final Class<?>[] keys;
+    private final int[] indices;
+    private final int size;
+
+    private Snapshot(Class<?>[] keys, int[] indices, int size) {
+      this.keys = keys;
+      this.indices = indices;
+      this.size = size;
+    }
+  }
+
+  /**
+   * Constructs the table.
+   *
+   * @param handledTypes the handled types, from the most specific to the most general one
+   */
+  public DispatchTable(Class<?>... handledTypes) {
+    this.handledTypes = handledTypes.clone();
+  }
+
+  /**
+   * Returns the index of the handler for the given runtime class,
+   * or {@link #UNHANDLED} if there is none.
+   */
+  public int indexOf(Class<?> type) {
+    var current = snapshot;
+    var keys = current.keys;
+    var mask = keys.length - 1;
+    var slot = System.identityHashCode(type) & mask;
+    while (true) {
+      var key = keys[slot];
+      if (key == type) {
+        return current.indices[slot];
+      }
+      if (key == null) {
+        return miss(type);
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  private synchronized int miss(Class<?> type) {
+    var current = snapshot;
+    var slot = find(current.keys, type);
+    if (current.keys[slot] == type) {
+      // another thread added the type in the meantime
+      return current.indices[slot];
+    }
+
+    var index = computeIndex(type);
+    var keys = current.keys;
+    var indices = current.indices;
+    if (2 * (current.size + 1) > keys.length) {
+      // keep the load factor below one half, so probe sequences stay short
+      keys = new Class<?>[2 * current.keys.length];
+      indices = new int[keys.length];
+      for (int i = 0; i < current.keys.length; i++) {
+        if (current.keys[i] != null) {
+          var newSlot = find(keys, current.keys[i]);
+          keys[newSlot] = current.keys[i];
+          indices[newSlot] = current.indices[i];
+        }
+      }
+    } else {
+      keys = keys.clone();
+      indices = indices.clone();
+    }
+    slot = find(keys, type);
+    keys[slot] = type;
+    indices[slot] = index;
+    snapshot = new Snapshot(keys, indices, current.size + 1);
+    return index;
+  }
+
+  private static int find(Class<?>[] keys, Class<?> type) {
+    var mask = keys.length - 1;
+    var slot = System.identityHashCode(type) & mask;
+    while (keys[slot] != null && keys[slot] != type) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private int computeIndex(Class<?> type) {
+    for (int i = 0; i < handledTypes.length; i++) {
+      if (handledTypes[i].isAssignableFrom(type)) {
+        return i;
+      }
+    }
+    return UNHANDLED;
+  }
+}
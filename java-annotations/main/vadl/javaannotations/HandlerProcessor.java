@@ -66,6 +66,10 @@ import javax.tools.JavaFileObject;
  *   <li>Generates a dispatcher class that routes objects of the base type
  *   to the appropriate handler methods.</li>
  * </ul>
+ *
+ * <p>Depending on the {@link DispatchFor.Strategy}, the generated dispatcher either tests the
+ * handled types one after another, or it looks up the handler index of the runtime class
+ * in a {@link DispatchTable}, which computes the index once per class, and switches over it.</p>
  */
 @AutoService(Processor.class)
 @SupportedAnnotationTypes({
@@ -75,6 +79,15 @@ import javax.tools.JavaFileObject;
 @SupportedSourceVersion(SourceVersion.RELEASE_17) // Adjust as needed
 public class HandlerProcessor extends AbstractProcessor {
 
+  /**
+   * With {@link DispatchFor.Strategy#AUTO}, a jump table is generated if there are more
+   * handlers than this.
+   * A type test in the instanceof chain is cheaper than the table lookup, so the
+   * table only pays off if the average object passes many tests
+   * (see {@code DispatchBenchmark} in {@code vadl-bench}).
+   */
+  private static final int JUMP_TABLE_THRESHOLD = 24;
+
   private Filer filer;
   private Messager messager;
   private Elements elementUtils;
@@ -153,7 +166,7 @@ public class HandlerProcessor extends AbstractProcessor {
 
     // Generate dispatcher
     generateDispatcher(handlerClass, baseType, dispatchForData.contextTypes, handlerMethods,
-        dispatchForData.returnType);
+        dispatchForData.returnType, dispatchForData.strategy);
   }
 
   /**
@@ -179,7 +192,8 @@ public class HandlerProcessor extends AbstractProcessor {
       TypeMirror baseType,
       List<String> includePackages,
       TypeMirror returnType,
-      List<TypeMirror> contextTypes
+      List<TypeMirror> contextTypes,
+      DispatchFor.Strategy strategy
   ) {
   }
 
@@ -191,6 +205,7 @@ public class HandlerProcessor extends AbstractProcessor {
     List<String> includePackages = new ArrayList<>();
     TypeMirror returnType = null; // Add this line
     List<TypeMirror> contextClasses = new ArrayList<>();
+    DispatchFor.Strategy strategy = DispatchFor.Strategy.AUTO;
 
     for (AnnotationMirror annotation : handlerClass.getAnnotationMirrors()) {
       if (annotation.getAnnotationType().toString().equals(DispatchFor.class.getCanonicalName())) {
@@ -216,6 +231,9 @@ public class HandlerProcessor extends AbstractProcessor {
             for (var ctx : ctxs) {
               contextClasses.add((TypeMirror) ctx.getValue());
             }
+          } else if (key.equals("strategy")) {
+            var constant = (VariableElement) entry.getValue().getValue();
+            strategy = DispatchFor.Strategy.valueOf(constant.getSimpleName().toString());
           }
         }
       }
@@ -227,7 +245,8 @@ public class HandlerProcessor extends AbstractProcessor {
     if (returnType == null) {
       returnType = elementUtils.getTypeElement("java.lang.Void").asType();
     }
-    return new DispatchForData(baseType, includePackages, returnType, contextClasses);
+    return new DispatchForData(baseType, includePackages, returnType, contextClasses,
+        strategy);
   }
 
   /**
@@ -450,11 +469,13 @@ public class HandlerProcessor extends AbstractProcessor {
    * @param handlerClass   the handler class
    * @param baseType       the base type
    * @param handlerMethods the map of handler methods
+   * @param strategy       how the dispatcher selects the handler
    * @throws IOException if an error occurs while writing the dispatcher class
    */
   private void generateDispatcher(TypeElement handlerClass, TypeMirror baseType,
                                   List<TypeMirror> contextTypes,
-                                  Map<String, HandlerMethod> handlerMethods, TypeMirror returnType)
+                                  Map<String, HandlerMethod> handlerMethods, TypeMirror returnType,
+                                  DispatchFor.Strategy strategy)
       throws IOException {
     String handlerClassName = handlerClass.getQualifiedName().toString();
     String packageName = elementUtils.getPackageOf(handlerClass).getQualifiedName().toString();
@@ -493,12 +514,6 @@ public class HandlerProcessor extends AbstractProcessor {
           .map(t -> t.toString() + " " + typeMirrorSimpleName(t).toLowerCase() + ", ")
           .collect(Collectors.joining());
 
-      writer.write("    @SuppressWarnings(\"BadInstanceof\")\n");
-      writer.write(
-          "    public static " + returnTypeName + " dispatch(" + handlerClassName
-              + " handler, " + contextParams + baseTypeName
-              + " obj) {\n");
-
       // Sort handler methods by subtypes (more specific types at start)
       List<HandlerMethod> sortedHandlerMethods = new ArrayList<>(handlerMethods.values());
       sortedHandlerMethods.sort(Comparator.comparingInt(
@@ -509,53 +524,129 @@ public class HandlerProcessor extends AbstractProcessor {
           contextTypes.stream().map(p -> typeMirrorSimpleName(p).toLowerCase() + ", ")
               .collect(Collectors.joining());
 
-      for (int i = 0; i < sortedHandlerMethods.size(); i++) {
-        HandlerMethod hm = sortedHandlerMethods.get(i);
-        String paramTypeStr = hm.handleType.toString();
-        String simpleParamType = paramTypeStr.substring(paramTypeStr.lastIndexOf('.') + 1);
-        String methodName = hm.methodName;
+      var useJumpTable = strategy == DispatchFor.Strategy.JUMP_TABLE
+          || (strategy == DispatchFor.Strategy.AUTO
+          && sortedHandlerMethods.size() > JUMP_TABLE_THRESHOLD);
 
-        if (i == 0) {
-          writer.write("        if (obj instanceof " + simpleParamType + ") {\n");
-        } else {
-          writer.write("        else if (obj instanceof " + simpleParamType + ") {\n");
-        }
-
-        if (isVoidReturnType) {
-          writer.write(
-              "            handler." + methodName + "(" + contextParamNames
-                  + "(" + simpleParamType + ") obj);\n");
-        } else {
-          writer.write(
-              "            return handler." + methodName + "(" + contextParamNames
-                  + "(" + simpleParamType + ") obj);\n");
-        }
-        writer.write("        }\n");
+      if (useJumpTable) {
+        writeJumpTableDispatch(writer, sortedHandlerMethods, handlerClassName, baseTypeName,
+            returnTypeName, contextParams, contextParamNames, isVoidReturnType);
+      } else {
+        writeInstanceofChainDispatch(writer, sortedHandlerMethods, handlerClassName, baseTypeName,
+            returnTypeName, contextParams, contextParamNames, isVoidReturnType);
       }
 
+      writer.write("}\n");
+    }
+  }
+
+  /**
+   * Writes a dispatch method which tests the handled types one after another.
+   */
+  private void writeInstanceofChainDispatch(Writer writer, List<HandlerMethod> handlerMethods,
+                                            String handlerClassName, String baseTypeName,
+                                            String returnTypeName, String contextParams,
+                                            String contextParamNames, boolean isVoidReturnType)
+      throws IOException {
+    writer.write("    @SuppressWarnings(\"BadInstanceof\")\n");
+    writer.write(
+        "    public static " + returnTypeName + " dispatch(" + handlerClassName
+            + " handler, " + contextParams + baseTypeName
+            + " obj) {\n");
+
+    for (int i = 0; i < handlerMethods.size(); i++) {
+      HandlerMethod hm = handlerMethods.get(i);
+      String paramTypeStr = hm.handleType.toString();
+      String simpleParamType = paramTypeStr.substring(paramTypeStr.lastIndexOf('.') + 1);
+      String methodName = hm.methodName;
+
+      if (i == 0) {
+        writer.write("        if (obj instanceof " + simpleParamType + ") {\n");
+      } else {
+        writer.write("        else if (obj instanceof " + simpleParamType + ") {\n");
+      }
 
-      // Handle the 'else' case
-      writer.write("        else {\n");
       if (isVoidReturnType) {
         writer.write(
-            "            "
-                + "throw new IllegalArgumentException(\"Unhandled type: \" + obj.getClass());\n");
+            "            handler." + methodName + "(" + contextParamNames
+                + "(" + simpleParamType + ") obj);\n");
       } else {
         writer.write(
-            "            "
-                + "throw new IllegalArgumentException(\"Unhandled type: \" + obj.getClass());\n");
+            "            return handler." + methodName + "(" + contextParamNames
+                + "(" + simpleParamType + ") obj);\n");
       }
       writer.write("        }\n");
+    }
 
-      // If returnType is not void, ensure all code paths return a value
-      if (!isVoidReturnType) {
-        writer.write("        // This line should be unreachable\n");
-      }
+    // Handle the 'else' case
+    writer.write("        else {\n");
+    writer.write(
+        "            "
+            + "throw new IllegalArgumentException(\"Unhandled type: \" + obj.getClass());\n");
+    writer.write("        }\n");
 
-      writer.write("    }\n");
+    // If returnType is not void, ensure all code paths return a value
+    if (!isVoidReturnType) {
+      writer.write("        // This line should be unreachable\n");
+    }
 
-      writer.write("}\n");
+    writer.write("    }\n");
+  }
+
+  /**
+   * Writes a dispatch method which looks up the index of the handler in a
+   * {@link DispatchTable} and switches over it.
+   */
+  private void writeJumpTableDispatch(Writer writer, List<HandlerMethod> handlerMethods,
+                                      String handlerClassName, String baseTypeName,
+                                      String returnTypeName, String contextParams,
+                                      String contextParamNames, boolean isVoidReturnType)
+      throws IOException {
+    // The index of a runtime class is the first handled type (in the given order) the class
+    // is assignable to, so the table selects the same handler as the instanceof chain.
+    writer.write("    // The handled types, from the most specific to the most general type.\n");
+    writer.write("    private static final " + DispatchTable.class.getName() + " TABLE =\n");
+    writer.write("        new " + DispatchTable.class.getName() + "(\n");
+    for (int i = 0; i < handlerMethods.size(); i++) {
+      writer.write("            "
+          + typeMirrorSimpleName(typeUtils.erasure(handlerMethods.get(i).handleType))
+          + ".class" + (i + 1 < handlerMethods.size() ? ",\n" : "\n"));
+    }
+    writer.write("        );\n\n");
+
+    writer.write(
+        "    public static " + returnTypeName + " dispatch(" + handlerClassName
+            + " handler, " + contextParams + baseTypeName
+            + " obj) {\n");
+
+    writer.write("        switch (TABLE.indexOf(obj.getClass())) {\n");
+    for (int i = 0; i < handlerMethods.size(); i++) {
+      HandlerMethod hm = handlerMethods.get(i);
+      String paramTypeStr = hm.handleType.toString();
+      String simpleParamType = paramTypeStr.substring(paramTypeStr.lastIndexOf('.') + 1);
+      String methodName = hm.methodName;
+
+      writer.write("            case " + i + ":\n");
+      if (isVoidReturnType) {
+        writer.write(
+            "                handler." + methodName + "(" + contextParamNames
+                + "(" + simpleParamType + ") obj);\n");
+        writer.write("                return;\n");
+      } else {
+        writer.write(
+            "                return handler." + methodName + "(" + contextParamNames
+                + "(" + simpleParamType + ") obj);\n");
+      }
     }
+
+    // Handle the 'default' case
+    writer.write("            default:\n");
+    writer.write(
+        "                "
+            + "throw new IllegalArgumentException(\"Unhandled type: \" + obj.getClass());\n");
+    writer.write("        }\n");
+
+    writer.write("    }\n");
   }
 
   private int getInheritanceDepth(TypeMirror type) {
@@ -24,7 +24,7 @@ import java.util.List;
 
 /**
  * The DefaultCollectMixin interface provides a default implementation of the
- * expectedMethodStatements method for collecting checkers based on the given
+ * expectedMethodStatements method for collecting and visiting checkers based on the given
  * method name, parameter names, and field declarations.
  */
 interface DefaultCollectMixin {
@@ -62,4 +62,35 @@ interface DefaultCollectMixin {
     }
     return stmts;
   }
+
+  /**
+   * Returns the default statement implementation for visiting properties one by one.
+   *
+   * @param methodName The name of the visiting method.
+   * @param paramNames The names of the parameter of the visiting method.
+   * @param fields     The fields that should get visited.
+   * @return A list of statements that define the method implementation.
+   */
+  default List<String> defaultForEachStatements(String methodName, List<String> paramNames,
+                                                List<VariableTree> fields) {
+    var stmts = new ArrayList<String>();
+    var action = paramNames.get(0);
+
+    stmts.add("super.%s(%s);".formatted(methodName, action));
+    for (var field : fields) {
+      var type = ASTHelpers.getType(field);
+      assert type != null;
+
+      var stmt = type.toString().startsWith(CheckerUtils.NODELIST)
+          ? "%s.forEach(%s);".formatted(field.getName(), action)
+          : "%s.accept(%s);".formatted(action, field.getName());
+
+      if (ASTHelpers.hasDirectAnnotationWithSimpleName(field, "Nullable")) {
+        stmt = "if (this.%s != null) { %s }".formatted(field.getName(), stmt);
+      }
+
+      stmts.add(stmt);
+    }
+    return stmts;
+  }
 }
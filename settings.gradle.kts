@@ -8,3 +8,4 @@ rootProject.name = "open-vadl"
 include("vadl")
 include("java-annotations")
 include("vadl-cli")
+include("vadl-bench")
@@ -0,0 +1,69 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+import net.ltgt.gradle.errorprone.errorprone
+
+plugins {
+    java
+}
+
+group = "vadl"
+version = "unspecified"
+
+repositories {
+    mavenCentral()
+}
+
+val jmhVersion = "1.37"
+
+dependencies {
+    implementation(project(":vadl"))
+    implementation(project(":java-annotations"))
+    annotationProcessor(project(":java-annotations"))
+    implementation("org.openjdk.jmh:jmh-core:$jmhVersion")
+    annotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:$jmhVersion")
+}
+
+tasks.withType<JavaCompile> {
+    options.errorprone {
+        // the benchmark harness is generated by the JMH annotation processor.
+        // this replaces the exclusion of the root project, so the coco sources are kept.
+        excludedPaths.set(
+            ".*/generated/sources/(coco/java/main/vadl/ast/|annotationProcessor/).*"
+        )
+    }
+}
+
+// Runs the benchmarks. JMH arguments can be passed with -PjmhArgs="...", e.g.
+// ./gradlew :vadl-bench:jmh -PjmhArgs="FrontendBenchmark -f 1 -wi 2 -i 5"
+// The results are written to build/jmh/results.json, so they can be compared between runs.
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks"
+    dependsOn(tasks.classes)
+    mainClass.set("org.openjdk.jmh.Main")
+    classpath = sourceSets.main.get().runtimeClasspath
+
+    val resultFile = layout.buildDirectory.file("jmh/results.json")
+    doFirst {
+        resultFile.get().asFile.parentFile.mkdirs()
+    }
+    args("-rf", "json", "-rff", resultFile.get().asFile.absolutePath)
+    val jmhArgs = project.findProperty("jmhArgs")?.toString()
+    if (!jmhArgs.isNullOrBlank()) {
+        args(jmhArgs.trim().split(Regex("\\s+")))
+    }
+}
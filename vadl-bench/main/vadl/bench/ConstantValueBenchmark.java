@@ -0,0 +1,96 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.bench;
+
+import com.google.errorprone.annotations.concurrent.LazyInit;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import vadl.types.Type;
+import vadl.viam.Constant;
+
+/**
+ * Benchmarks the arithmetic of {@link Constant.Value}, which is used heavily by
+ * constant evaluation and canonicalization.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConstantValueBenchmark {
+
+  @Param({"32", "64"})
+  public int width;
+
+  @LazyInit
+  public Constant.Value a;
+
+  @LazyInit
+  public Constant.Value b;
+
+  @LazyInit
+  public Constant.Value shift;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    a = Constant.Value.of(0x1234_5678L, Type.bits(width));
+    b = Constant.Value.of(0x7654_3210L, Type.bits(width));
+    shift = Constant.Value.of(3, Type.bits(width));
+  }
+
+  @Benchmark
+  public Constant.Tuple add() {
+    return a.add(b, false);
+  }
+
+  @Benchmark
+  public Constant.Tuple subtract() {
+    return a.subtract(b, Constant.Value.SubMode.X86_LIKE, false);
+  }
+
+  @Benchmark
+  public Constant.Value multiply() {
+    return a.multiply(b, false, false);
+  }
+
+  @Benchmark
+  public Constant.Value and() {
+    return a.and(b);
+  }
+
+  @Benchmark
+  public Constant.Value shiftLeft() {
+    return a.lsl(shift);
+  }
+
+  @Benchmark
+  public Constant.Value truncate() {
+    return a.truncate(Type.bits(16));
+  }
+}
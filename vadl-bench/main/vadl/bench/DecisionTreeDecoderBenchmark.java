@@ -0,0 +1,154 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+
+package vadl.bench;
+
+import com.google.errorprone.annotations.concurrent.LazyInit;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import vadl.configuration.GeneralConfiguration;
+import vadl.configuration.IssConfiguration;
+import vadl.pass.PassResults;
+import vadl.vdt.model.InnerNode;
+import vadl.vdt.model.LeafNode;
+import vadl.vdt.model.Node;
+import vadl.vdt.model.Visitor;
+import vadl.vdt.passes.VdtLoweringPass;
+import vadl.vdt.target.common.DecisionTreeDecoder;
+import vadl.vdt.target.common.FlatDecisionTreeDecoder;
+import vadl.vdt.utils.BitVector;
+import vadl.vdt.utils.Instruction;
+
+/**
+ * Compares the {@link DecisionTreeDecoder}, which visits the decode tree, with the
+ * {@link FlatDecisionTreeDecoder} on random instruction words of a specification.
+ * The words are encodings of randomly chosen instructions with random values in their
+ * <i>don't care</i> bits, so every word can be decoded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DecisionTreeDecoderBenchmark {
+
+  private static final int WORDS = 1 << 20;
+
+  @Param({"sys/risc-v/rv64im.vadl"})
+  @LazyInit
+  public String spec;
+
+  @LazyInit
+  public DecisionTreeDecoder visitorDecoder;
+
+  @LazyInit
+  public FlatDecisionTreeDecoder flatDecoder;
+
+  @LazyInit
+  public BitVector[] encodings;
+
+  @LazyInit
+  public long[] words;
+
+  /**
+   * Lowers the specification to a decode tree and generates the random instruction words.
+   */
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    var viam = Frontend.toViam(Path.of(spec));
+    var configuration = new IssConfiguration(
+        new GeneralConfiguration(Files.createTempDirectory("vadl-bench"), false));
+    var tree = Objects.requireNonNull(
+        new VdtLoweringPass(configuration).execute(PassResults.empty(), viam));
+
+    visitorDecoder = new DecisionTreeDecoder(tree);
+    flatDecoder = new FlatDecisionTreeDecoder(tree);
+
+    var leaves = new ArrayList<Instruction>();
+    tree.accept(new Visitor<Void>() {
+      @Override
+      public @Nullable Void visit(InnerNode node) {
+        node.children().forEach(child -> child.accept(this));
+        return null;
+      }
+
+      @Override
+      public @Nullable Void visit(LeafNode node) {
+        leaves.add(node.instruction());
+        return null;
+      }
+    });
+
+    var random = new Random(42);
+    encodings = new BitVector[WORDS];
+    words = new long[WORDS];
+    for (int i = 0; i < WORDS; i++) {
+      var pattern = leaves.get(random.nextInt(leaves.size())).pattern();
+      var width = pattern.width();
+      var mask = pattern.significantBits().toValue().longValue();
+      var value = pattern.toBitVector().toValue().longValue();
+      var word = ((random.nextLong() & ~mask) | value) & (-1L >>> (64 - width));
+
+      var bits = new StringBuilder();
+      for (int b = width - 1; b >= 0; b--) {
+        bits.append((word >>> b) & 1);
+      }
+      encodings[i] = BitVector.fromString(bits.toString(), width);
+      words[i] = word;
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(WORDS)
+  public int visitor() {
+    int sum = 0;
+    for (var encoding : encodings) {
+      sum += visitorDecoder.decide(encoding).width();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(WORDS)
+  public int flat() {
+    int sum = 0;
+    for (var word : words) {
+      sum += flatDecoder.decode(word).width();
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,107 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.bench;
+
+import com.google.errorprone.annotations.concurrent.LazyInit;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import vadl.configuration.GeneralConfiguration;
+import vadl.configuration.IssConfiguration;
+import vadl.pass.PassResults;
+import vadl.vdt.impl.theiling.TheilingDecodeTreeGenerator;
+import vadl.vdt.model.InnerNode;
+import vadl.vdt.model.LeafNode;
+import vadl.vdt.model.Node;
+import vadl.vdt.model.Visitor;
+import vadl.vdt.passes.VdtLoweringPass;
+import vadl.vdt.utils.Instruction;
+
+/**
+ * Benchmarks the decode tree generation on the instructions of a specification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DecodeTreeBenchmark {
+
+  @Param({"sys/risc-v/rv64im.vadl"})
+  @LazyInit
+  public String spec;
+
+  @LazyInit
+  public List<Instruction> instructions;
+
+  /**
+   * Lowers the specification to a decode tree once and collects the prepared
+   * instructions from its leaves.
+   */
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    var viam = Frontend.toViam(Path.of(spec));
+    var configuration = new IssConfiguration(
+        new GeneralConfiguration(Files.createTempDirectory("vadl-bench"), false));
+    var tree = Objects.requireNonNull(
+        new VdtLoweringPass(configuration).execute(PassResults.empty(), viam));
+
+    var leaves = new ArrayList<Instruction>();
+    tree.accept(new Visitor<Void>() {
+      @Override
+      public @Nullable Void visit(InnerNode node) {
+        node.children().forEach(child -> child.accept(this));
+        return null;
+      }
+
+      @Override
+      public @Nullable Void visit(LeafNode node) {
+        leaves.add(node.instruction());
+        return null;
+      }
+    });
+    // the children of inner nodes are unordered, so we sort them to get a stable input
+    instructions = leaves.stream()
+        .distinct()
+        .sorted(Comparator.comparing(i -> i.source().identifier.name()))
+        .toList();
+  }
+
+  @Benchmark
+  public Node generate() {
+    return new TheilingDecodeTreeGenerator().generate(instructions);
+  }
+}
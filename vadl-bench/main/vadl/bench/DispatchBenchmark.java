@@ -0,0 +1,86 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.bench;
+
+import com.google.errorprone.annotations.concurrent.LazyInit;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import vadl.viam.graph.dependency.ExpressionNode;
+
+/**
+ * Compares the dispatch strategies of the dispatchers generated for
+ * {@link vadl.javaannotations.DispatchFor} handler classes.
+ * Both dispatch all expression nodes of the instruction behaviors of a specification
+ * to the same handlers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DispatchBenchmark {
+
+  @Param({"sys/risc-v/rv64im.vadl"})
+  @LazyInit
+  public String spec;
+
+  @LazyInit
+  public ExpressionNode[] nodes;
+
+  private final ExpressionKind handler = new ExpressionKind();
+  private final ExpressionKind.InstanceofChain chainHandler = new ExpressionKind.InstanceofChain();
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    var viam = Frontend.toViam(Path.of(spec));
+    nodes = viam.isa().orElseThrow().ownInstructions().stream()
+        .flatMap(instruction -> instruction.behavior().getNodes(ExpressionNode.class))
+        .toArray(ExpressionNode[]::new);
+  }
+
+  @Benchmark
+  public int jumpTable() {
+    int sum = 0;
+    for (var node : nodes) {
+      sum += ExpressionKindDispatcher.dispatch(handler, node);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public int instanceofChain() {
+    int sum = 0;
+    for (var node : nodes) {
+      sum += InstanceofChainDispatcher.dispatch(chainHandler, node);
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,159 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.bench;
+
+import vadl.javaannotations.DispatchFor;
+import vadl.javaannotations.Handler;
+import vadl.viam.graph.dependency.AsmBuiltInCall;
+import vadl.viam.graph.dependency.BuiltInCall;
+import vadl.viam.graph.dependency.ConstantNode;
+import vadl.viam.graph.dependency.ExpressionNode;
+import vadl.viam.graph.dependency.FieldAccessRefNode;
+import vadl.viam.graph.dependency.FieldRefNode;
+import vadl.viam.graph.dependency.FuncCallNode;
+import vadl.viam.graph.dependency.FuncParamNode;
+import vadl.viam.graph.dependency.LetNode;
+import vadl.viam.graph.dependency.ReadArtificialResNode;
+import vadl.viam.graph.dependency.ReadMemNode;
+import vadl.viam.graph.dependency.ReadRegFileNode;
+import vadl.viam.graph.dependency.ReadRegNode;
+import vadl.viam.graph.dependency.ReadStageOutputNode;
+import vadl.viam.graph.dependency.SelectNode;
+import vadl.viam.graph.dependency.SignExtendNode;
+import vadl.viam.graph.dependency.SliceNode;
+import vadl.viam.graph.dependency.TruncateNode;
+import vadl.viam.graph.dependency.TupleGetFieldNode;
+import vadl.viam.graph.dependency.ZeroExtendNode;
+
+/**
+ * A handler over all expression nodes of the VIAM, used by {@link DispatchBenchmark}.
+ * Every handler returns a distinct number, so the dispatch cannot be optimized away.
+ * The dispatcher of this class uses a jump table, the one of {@link InstanceofChain}
+ * an instanceof chain.
+ */
+@DispatchFor(value = ExpressionNode.class, include = "vadl.viam", returnType = Integer.class,
+    strategy = DispatchFor.Strategy.JUMP_TABLE)
+public class ExpressionKind {
+
+  @Handler
+  Integer handle(ReadRegNode node) {
+    return 0;
+  }
+
+  @Handler
+  Integer handle(ReadRegFileNode node) {
+    return 1;
+  }
+
+  @Handler
+  Integer handle(ReadMemNode node) {
+    return 2;
+  }
+
+  @Handler
+  Integer handle(ReadArtificialResNode node) {
+    return 3;
+  }
+
+  @Handler
+  Integer handle(BuiltInCall node) {
+    return 4;
+  }
+
+  @Handler
+  Integer handle(AsmBuiltInCall node) {
+    return 5;
+  }
+
+  @Handler
+  Integer handle(FuncCallNode node) {
+    return 6;
+  }
+
+  @Handler
+  Integer handle(FieldRefNode node) {
+    return 7;
+  }
+
+  @Handler
+  Integer handle(FieldAccessRefNode node) {
+    return 8;
+  }
+
+  @Handler
+  Integer handle(FuncParamNode node) {
+    return 9;
+  }
+
+  @Handler
+  Integer handle(SignExtendNode node) {
+    return 10;
+  }
+
+  @Handler
+  Integer handle(ZeroExtendNode node) {
+    return 11;
+  }
+
+  @Handler
+  Integer handle(TruncateNode node) {
+    return 12;
+  }
+
+  @Handler
+  Integer handle(ConstantNode node) {
+    return 13;
+  }
+
+  @Handler
+  Integer handle(LetNode node) {
+    return 14;
+  }
+
+  @Handler
+  Integer handle(ReadStageOutputNode node) {
+    return 15;
+  }
+
+  @Handler
+  Integer handle(SelectNode node) {
+    return 16;
+  }
+
+  @Handler
+  Integer handle(SliceNode node) {
+    return 17;
+  }
+
+  @Handler
+  Integer handle(TupleGetFieldNode node) {
+    return 18;
+  }
+
+  @Handler
+  Integer handle(ExpressionNode node) {
+    return 19;
+  }
+
+  /**
+   * The same handlers, dispatched by an instanceof chain.
+   */
+  @DispatchFor(value = ExpressionNode.class, include = "vadl.viam", returnType = Integer.class,
+      strategy = DispatchFor.Strategy.INSTANCEOF_CHAIN)
+  static class InstanceofChain extends ExpressionKind {
+  }
+}
@@ -0,0 +1,55 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.bench;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import vadl.ast.Ast;
+import vadl.ast.ModelRemover;
+import vadl.ast.TypeChecker;
+import vadl.ast.Ungrouper;
+import vadl.ast.VadlParser;
+import vadl.ast.ViamLowering;
+import vadl.viam.Specification;
+
+/**
+ * Runs the frontend the same way as the CLI does, to prepare inputs of benchmarks.
+ */
+final class Frontend {
+
+  private Frontend() {
+  }
+
+  /**
+   * Parses the specification and removes groups and models.
+   */
+  static Ast parse(Path spec) throws IOException {
+    var ast = VadlParser.parse(spec);
+    new Ungrouper().ungroup(ast);
+    new ModelRemover().removeModels(ast);
+    return ast;
+  }
+
+  /**
+   * Parses, typechecks and lowers the specification to the VIAM.
+   */
+  static Specification toViam(Path spec) throws IOException {
+    var ast = parse(spec);
+    new TypeChecker().verify(ast);
+    return new ViamLowering().generate(ast);
+  }
+}
@@ -0,0 +1,85 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.bench;
+
+import com.google.errorprone.annotations.concurrent.LazyInit;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import vadl.ast.Ast;
+import vadl.ast.TypeChecker;
+import vadl.ast.VadlParser;
+import vadl.ast.ViamLowering;
+import vadl.viam.Specification;
+
+/**
+ * Benchmarks the phases of the frontend: parsing, typechecking and lowering to the VIAM.
+ * As typechecking and lowering modify the AST, every invocation gets a freshly parsed AST.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FrontendBenchmark {
+
+  @Param({"sys/risc-v/rv32im.vadl", "sys/risc-v/rv64im.vadl"})
+  @LazyInit
+  public String spec;
+
+  @LazyInit
+  public Ast parsedAst;
+
+  @LazyInit
+  public Ast typedAst;
+
+  @Setup(Level.Invocation)
+  public void setup() throws IOException {
+    parsedAst = Frontend.parse(Path.of(spec));
+    typedAst = Frontend.parse(Path.of(spec));
+    new TypeChecker().verify(typedAst);
+  }
+
+  @Benchmark
+  public Ast parse() throws IOException {
+    return VadlParser.parse(Path.of(spec));
+  }
+
+  @Benchmark
+  public Ast typeCheck() {
+    new TypeChecker().verify(parsedAst);
+    return parsedAst;
+  }
+
+  @Benchmark
+  public Specification lower() {
+    return new ViamLowering().generate(typedAst);
+  }
+}
@@ -0,0 +1,79 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import vadl.types.BuiltInTable;
+import vadl.types.Type;
+import vadl.viam.Constant;
+import vadl.viam.graph.Graph;
+import vadl.viam.graph.NodeList;
+import vadl.viam.graph.dependency.BuiltInCall;
+import vadl.viam.graph.dependency.ConstantNode;
+import vadl.viam.graph.dependency.ExpressionNode;
+
+/**
+ * Benchmarks adding nodes to a graph.
+ * Half of the added nodes are duplicates, so the deduplication of unique nodes is included.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GraphBenchmark {
+
+  @Param({"1000", "10000"})
+  public int nodeCount;
+
+  @Benchmark
+  public Graph addConstants() {
+    var graph = new Graph("bench");
+    var type = Type.bits(32);
+    for (int i = 0; i < nodeCount; i++) {
+      graph.add(new ConstantNode(Constant.Value.of(i / 2, type)));
+    }
+    return graph;
+  }
+
+  @Benchmark
+  public Graph addExpressions() {
+    var graph = new Graph("bench");
+    var type = Type.bits(32);
+    ExpressionNode previous = graph.add(new ConstantNode(Constant.Value.of(0, type)));
+    for (int i = 0; i < nodeCount / 2; i++) {
+      var constant = graph.add(new ConstantNode(Constant.Value.of(i % 16, type)));
+      var add = graph.add(new BuiltInCall(BuiltInTable.ADD, new NodeList<>(previous, constant),
+          type));
+      // the same call again, which is deduplicated
+      graph.add(new BuiltInCall(BuiltInTable.ADD, new NodeList<>(previous, constant), type));
+      previous = add;
+    }
+    return graph;
+  }
+}
@@ -0,0 +1,107 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.bench;
+
+import com.google.errorprone.annotations.concurrent.LazyInit;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import vadl.configuration.GeneralConfiguration;
+import vadl.configuration.IssConfiguration;
+import vadl.configuration.LcbConfiguration;
+import vadl.pass.PassManager;
+import vadl.pass.PassOrder;
+import vadl.pass.PassOrders;
+import vadl.pass.PassResults;
+import vadl.viam.Specification;
+
+/**
+ * Benchmarks the pass pipelines of the generators on a lowered specification.
+ * The passes modify the VIAM, so every invocation gets a freshly lowered specification.
+ *
+ * <p>The ISS pipeline runs as dry run, so it does not emit any files.
+ * The LCB pipeline emits its files into a temporary directory.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PassOrderBenchmark {
+
+  @Param({"sys/risc-v/rv64im.vadl"})
+  @LazyInit
+  public String spec;
+
+  @Param({"1"})
+  @LazyInit
+  public int jobs;
+
+  @LazyInit
+  public Specification viam;
+
+  @LazyInit
+  public GeneralConfiguration configuration;
+
+  @Setup(Level.Trial)
+  public void setupConfiguration() throws IOException {
+    configuration = new GeneralConfiguration(Files.createTempDirectory("vadl-bench"), false);
+  }
+
+  @Setup(Level.Invocation)
+  public void setupViam() throws IOException {
+    viam = Frontend.toViam(Path.of(spec));
+  }
+
+  @Benchmark
+  public PassResults viam() throws Exception {
+    return run(PassOrders.viam(configuration));
+  }
+
+  @Benchmark
+  public PassResults iss() throws Exception {
+    var issConfig = new IssConfiguration(configuration);
+    issConfig.setDryRun(true);
+    return run(PassOrders.iss(issConfig));
+  }
+
+  @Benchmark
+  public PassResults lcb() throws Exception {
+    return run(PassOrders.lcb(new LcbConfiguration(configuration, null)));
+  }
+
+  private PassResults run(PassOrder order) throws Exception {
+    var passManager = new PassManager(jobs);
+    passManager.add(order);
+    passManager.run(viam);
+    return passManager.getPassResults();
+  }
+}
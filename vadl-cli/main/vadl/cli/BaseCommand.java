@@ -51,6 +51,7 @@ import vadl.error.DiagnosticPrinter;
 import vadl.pass.PassManager;
 import vadl.pass.PassOrder;
 import vadl.pass.exception.DuplicatedPassKeyException;
+import vadl.template.RenderingStage;
 import vadl.utils.EditorUtils;
 import vadl.utils.SourceLocation;
 import vadl.viam.Specification;
@@ -81,6 +82,15 @@ public abstract class BaseCommand implements Callable<Integer> {
       description = "Print timings of the phases of the compiler")
   boolean showTimings;
 
+  @Option(names = {"-j", "--jobs"}, scope = INHERIT,
+      description = "The number of threads used by passes that process definitions in parallel"
+          + " (default: 1)")
+  int jobs = 1;
+
+  @Option(names = "--force-write", scope = INHERIT,
+      description = "Always write generated files, even if their content did not change")
+  boolean forceWrite;
+
   @Option(names = "--expand-macros",
       scope = INHERIT,
       description = "Expand all macros and write them to disk.")
@@ -266,6 +276,7 @@ public abstract class BaseCommand implements Callable<Integer> {
   protected GeneralConfiguration getConfig() {
     if (config == null) {
       config = new GeneralConfiguration(output, dump);
+      config.setWriteIfChanged(!forceWrite);
     }
     return config;
   }
@@ -286,12 +297,17 @@ public abstract class BaseCommand implements Callable<Integer> {
       final var totalStartTime = System.nanoTime();
       var viam = parseToVIAM();
       var passOrder = passOrder(getConfig());
-      var passManager = new PassManager();
+      var passManager = new PassManager(jobs);
+      RenderingStage.setParallelism(jobs);
       passManager.add(passOrder);
       passManager.run(viam);
+      // wait for templates that are still rendered in the background
+      RenderingStage.awaitAll();
       var result = passManager.getPassResults();
       result.executedPasses()
           .forEach(p -> timings.add(new Timing(p.pass().getName().value(), p.durationMs())));
+      RenderingStage.renderTimes().forEach((template, nanos) ->
+          timings.add(new Timing("Render " + template, nanos / 1_000_000)));
       timings.add(new Timing("Total", (System.nanoTime() - totalStartTime) / 1_000_000));
 
 
@@ -343,6 +359,10 @@ public abstract class BaseCommand implements Callable<Integer> {
             ? "\nThe following artifacts were generated:"
             : "\nEven though some errors occurred, the following artifacts were generated:",
         ArtifactTracker.getArtifactPathsPaths());
+    if (ArtifactTracker.getWrittenCount() + ArtifactTracker.getUnchangedCount() > 0) {
+      System.out.printf("%d files written, %d files unchanged\n",
+          ArtifactTracker.getWrittenCount(), ArtifactTracker.getUnchangedCount());
+    }
 
     printPaths(returnVal == 0
             ? "\nThe following dumps were generated:"
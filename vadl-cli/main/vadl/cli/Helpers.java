@@ -52,15 +52,16 @@ class IssOptsConverter implements CommandLine.ITypeConverter<IssConfiguration.Is
       // Define the indentation for descriptions
       int descriptionIndent = 6 + maxOptionLength; // 6 accounts for "    - " and two spaces
 
-      // Print help message for available options
-      System.out.println("Available optimizations to skip:");
+      // The help is reported as conversion error, as the converter must not exit the JVM
+      // (e.g. when running in a serve request).
+      var help = new StringBuilder("\nAvailable optimizations to skip:\n");
       Arrays.stream(IssConfiguration.IssOptsToSkip.values())
           .sorted(Comparator.comparing(v -> v.name()))
           .forEach(opt ->
-              printFormattedOption(toCliName(opt), opt.desc, maxOptionLength,
+              appendFormattedOption(help, toCliName(opt), opt.desc, maxOptionLength,
                   descriptionIndent));
 
-      System.exit(0);
+      throw new CommandLine.TypeConversionException(help.toString());
     }
 
     try {
@@ -87,18 +88,19 @@ class IssOptsConverter implements CommandLine.ITypeConverter<IssConfiguration.Is
     return value.name().toLowerCase().replace('_', '-');
   }
 
-  private static void printFormattedOption(String optionName, String description, int nameWidth,
-                                           int descriptionIndent) {
+  private static void appendFormattedOption(StringBuilder help, String optionName,
+                                            String description, int nameWidth,
+                                            int descriptionIndent) {
     // Split the description into lines
     String[] lines = description.split("\n", -1);
 
-    // Print the first line with the option name
-    System.out.printf("    - %-" + nameWidth + "s  %s%n", optionName, lines[0]);
+    // Append the first line with the option name
+    help.append(String.format("    - %-" + nameWidth + "s  %s%n", optionName, lines[0]));
 
-    // Print subsequent lines with indentation
+    // Append subsequent lines with indentation
     String format = "%" + (descriptionIndent + 2) + "s%s%n";
     for (int i = 1; i < lines.length; i++) {
-      System.out.printf(format, "", lines[i]);
+      help.append(String.format(format, "", lines[i]));
     }
   }
 }
\ No newline at end of file
@@ -27,6 +27,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
 import org.apache.commons.io.file.PathUtils;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
@@ -63,6 +65,22 @@ public class IssCommand extends BaseCommand {
   private EnumSet<IssConfiguration.IssOptsToSkip> skipOpts = EnumSet.noneOf(
       IssConfiguration.IssOptsToSkip.class);
 
+  @CommandLine.Option(names = "--decode-tree",
+      description = "The algorithm generating the instruction decoder. "
+          + "Valid values: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE})")
+  private IssConfiguration.DecodeTreeAlgorithm decodeTree =
+      IssConfiguration.DecodeTreeAlgorithm.THEILING;
+
+  @CommandLine.Option(names = "--decode-weight",
+      description = "The relative frequency of an instruction, used by the jump-table decode tree "
+          + "to keep frequent instructions shallow (e.g. ADD=10).")
+  private Map<String, Double> decodeWeights = new HashMap<>();
+
+  @CommandLine.Option(names = "--insn-count",
+      description = "How the generated ISS counts the executed instructions. "
+          + "Valid values: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE})")
+  private IssConfiguration.InsnCountMode insnCount = IssConfiguration.InsnCountMode.NONE;
+
   private static final String QEMU_VERSION = "9.2.2";
   private static final String QEMU_DOWNLOAD_URL =
       "https://github.com/qemu/qemu/archive/refs/tags/v" + QEMU_VERSION + ".tar.gz";
@@ -75,6 +93,9 @@ public class IssCommand extends BaseCommand {
     var issConfig = new IssConfiguration(configuration);
     issConfig.setDryRun(dryRun);
     issConfig.setOptsToSkip(skipOpts);
+    issConfig.setDecodeTreeAlgorithm(decodeTree);
+    issConfig.setDecodeWeights(decodeWeights);
+    issConfig.setInsnCountMode(insnCount);
     return PassOrders.iss(issConfig);
   }
 
@@ -27,7 +27,8 @@ import picocli.CommandLine.Command;
     name = "OpenVADL",
     description = "The OpenVadl CLI tool.",
     versionProvider = VersionProvider.class,
-    subcommands = {CheckCommand.class, IssCommand.class, LcbCommand.class, RtlCommand.class})
+    subcommands = {CheckCommand.class, IssCommand.class, LcbCommand.class, RtlCommand.class,
+        ServeCommand.class})
 public class Main implements Runnable {
   @Override
   public void run() {
@@ -0,0 +1,322 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.cli;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.Nullable;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import vadl.utils.CompilationSession;
+
+/**
+ * The Command does provide the serve subcommand.
+ *
+ * <p>It keeps the JVM running and executes compilation requests, so that only the first
+ * request pays for the class loading and the JIT warm-up.
+ * Each request is a single line {@code <id> <subcommand> <args...>}, where arguments
+ * are separated by whitespace and may be quoted with {@code "} or escaped with {@code \}.
+ * Every line printed by the request is answered as {@code <id> | <line>} and the request
+ * is finished by {@code <id> exit <code>}.
+ * Requests run concurrently, each in its own {@link CompilationSession}.</p>
+ */
+@Command(
+    name = "serve",
+    description = "Keep the compiler running and execute the compilation requests "
+        + "read from stdin or a local socket.",
+    mixinStandardHelpOptions = true
+)
+public class ServeCommand implements Callable<Integer> {
+
+  @Option(names = "--port",
+      description = "Listen for clients on this port of the loopback interface "
+          + "instead of reading requests from stdin.")
+  @Nullable
+  Integer port;
+
+  @Option(names = {"-s", "--sessions"},
+      description = "The number of requests that are compiled concurrently "
+          + "(default: number of processors)")
+  int sessions = Runtime.getRuntime().availableProcessors();
+
+  @Override
+  public Integer call() throws IOException {
+    if (sessions < 1) {
+      System.err.println("The number of sessions must be at least 1");
+      return 1;
+    }
+
+    var stdin = System.in;
+    var stdout = System.out;
+    var stderr = System.err;
+    var pool = Executors.newFixedThreadPool(sessions, runnable -> {
+      var thread = new Thread(runnable, "vadl-serve");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    // the commands print to System.out and System.err, so the output is routed to the
+    // request of the printing thread. Prompts cannot be answered, so stdin is empty.
+    System.setOut(new PrintStream(new RoutedOutput(stdout), true, StandardCharsets.UTF_8));
+    System.setErr(new PrintStream(new RoutedOutput(stderr), true, StandardCharsets.UTF_8));
+    System.setIn(InputStream.nullInputStream());
+    try {
+      if (port == null) {
+        serveClient(stdin, stdout, pool);
+      } else {
+        try (var server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+          stderr.printf("Listening on %s\n", server.getLocalSocketAddress());
+          while (true) {
+            var socket = server.accept();
+            var thread = new Thread(() -> serveSocket(socket, pool, stderr), "vadl-serve-client");
+            thread.setDaemon(true);
+            thread.start();
+          }
+        }
+      }
+    } finally {
+      pool.shutdown();
+      System.setOut(stdout);
+      System.setErr(stderr);
+      System.setIn(stdin);
+    }
+    return 0;
+  }
+
+  private void serveSocket(Socket socket, ExecutorService pool, PrintStream log) {
+    try (socket) {
+      var sink = new PrintStream(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+      serveClient(socket.getInputStream(), sink, pool);
+    } catch (IOException e) {
+      log.printf("Connection to %s failed: %s\n", socket.getRemoteSocketAddress(),
+          e.getMessage());
+    }
+  }
+
+  /**
+   * Executes the requests of a client until the end of its input is reached and all
+   * requests are answered.
+   */
+  private void serveClient(InputStream input, PrintStream sink, ExecutorService pool)
+      throws IOException {
+    var requests = new ArrayList<Future<?>>();
+    var reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    String line;
+    while ((line = reader.readLine()) != null) {
+      if (line.isBlank()) {
+        continue;
+      }
+      var request = line;
+      requests.add(pool.submit(() -> execute(request, sink)));
+    }
+
+    for (var request : requests) {
+      try {
+        request.get();
+      } catch (ExecutionException e) {
+        throw new IllegalStateException("Request failed unexpectedly", e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private static void execute(String request, PrintStream sink) {
+    var id = request.strip().split("\\s+", 2)[0];
+    int exitCode;
+    try (var session = CompilationSession.open("request " + id)) {
+      var output = session.state(RequestOutput.class, () -> new RequestOutput(id, sink));
+      exitCode = run(request, output);
+      // the session closes the output, which writes an incomplete last line
+    }
+    synchronized (sink) {
+      sink.printf("%s exit %d\n", id, exitCode);
+      sink.flush();
+    }
+  }
+
+  private static int run(String request, RequestOutput output) {
+    List<String> tokens;
+    try {
+      tokens = tokenize(request);
+    } catch (IllegalArgumentException e) {
+      output.println("error: " + e.getMessage());
+      return 2;
+    }
+
+    var args = tokens.subList(1, tokens.size());
+    if (args.isEmpty()) {
+      output.println("error: Missing subcommand");
+      return 2;
+    }
+    if (args.get(0).equals("serve")) {
+      output.println("error: Cannot serve within a request");
+      return 2;
+    }
+
+    try {
+      return new CommandLine(new Main())
+          .setCaseInsensitiveEnumValuesAllowed(true)
+          .execute(args.toArray(String[]::new));
+    } catch (RuntimeException e) {
+      // picocli handles the exceptions of the commands, this is only a safety net
+      // so a broken request does not stop the server.
+      output.println("error: " + e);
+      return 1;
+    }
+  }
+
+  /**
+   * Splits a request line at whitespace. Double quotes group whitespace into a single token
+   * and a backslash escapes the next character.
+   */
+  static List<String> tokenize(String line) {
+    var tokens = new ArrayList<String>();
+    var current = new StringBuilder();
+    var inToken = false;
+    var quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      var c = line.charAt(i);
+      if (c == '\\' && i + 1 < line.length()) {
+        current.append(line.charAt(++i));
+        inToken = true;
+      } else if (c == '"') {
+        quoted = !quoted;
+        inToken = true;
+      } else if (Character.isWhitespace(c) && !quoted) {
+        if (inToken) {
+          tokens.add(current.toString());
+          current.setLength(0);
+          inToken = false;
+        }
+      } else {
+        current.append(c);
+        inToken = true;
+      }
+    }
+    if (quoted) {
+      throw new IllegalArgumentException("Unterminated quote in request: " + line);
+    }
+    if (inToken) {
+      tokens.add(current.toString());
+    }
+    return tokens;
+  }
+
+  /**
+   * Forwards the output to the {@link RequestOutput} of the current session, or to the
+   * original stream if the printing thread does not belong to a request.
+   */
+  private static final class RoutedOutput extends OutputStream {
+    private final OutputStream fallback;
+
+    private RoutedOutput(OutputStream fallback) {
+      this.fallback = fallback;
+    }
+
+    private OutputStream target() {
+      return CompilationSession.current().findState(RequestOutput.class)
+          .<OutputStream>map(o -> o)
+          .orElse(fallback);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      target().write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      target().write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      target().flush();
+    }
+  }
+
+  /**
+   * Collects the output of a request and writes it line by line, prefixed with the
+   * request id, to the client.
+   */
+  private static final class RequestOutput extends OutputStream {
+    private final String id;
+    private final PrintStream sink;
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+    private RequestOutput(String id, PrintStream sink) {
+      this.id = id;
+      this.sink = sink;
+    }
+
+    void println(String text) {
+      var bytes = (text + "\n").getBytes(StandardCharsets.UTF_8);
+      write(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public synchronized void write(int b) {
+      if (b == '\n') {
+        writeLine();
+      } else {
+        line.write(b);
+      }
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+      for (int i = off; i < off + len; i++) {
+        write(b[i]);
+      }
+    }
+
+    @Override
+    public synchronized void close() {
+      if (line.size() > 0) {
+        writeLine();
+      }
+    }
+
+    private void writeLine() {
+      var text = line.toString(StandardCharsets.UTF_8);
+      line.reset();
+      synchronized (sink) {
+        sink.printf("%s | %s\n", id, text);
+        sink.flush();
+      }
+    }
+  }
+}
@@ -0,0 +1,115 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+
+package vadl.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import vadl.iss.codegen.QemuClangFormatter;
+import vadl.template.DeferredFormatting;
+
+/**
+ * Tests that the requests of the {@link ServeCommand} are isolated from each other.
+ */
+public class ServeCommandTest {
+
+  /**
+   * Runs the serve command with the given requests on stdin and returns its output.
+   */
+  private static String serve(int sessions, String... requests) throws IOException {
+    var stdin = System.in;
+    var stdout = System.out;
+    var output = new ByteArrayOutputStream();
+    System.setIn(new ByteArrayInputStream(
+        String.join("\n", requests).getBytes(StandardCharsets.UTF_8)));
+    System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8));
+    try {
+      var command = new ServeCommand();
+      command.sessions = sessions;
+      int exitCode = command.call();
+      assertEquals(0, exitCode);
+    } finally {
+      System.setIn(stdin);
+      System.setOut(stdout);
+    }
+    return output.toString(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  void tokenize_QuotesAndEscapes() {
+    assertEquals(List.of("a", "iss", "my spec.vadl", "-o", "x y"),
+        ServeCommand.tokenize("a iss \"my spec.vadl\" -o x\\ y"));
+  }
+
+  @Test
+  void serve_SkipHelp_AnswersRequestWithoutExiting() throws IOException {
+    var output = serve(1, "a iss --skip help ../sys/risc-v/rv32i.vadl");
+
+    assertTrue(output.contains("a | ") && output.contains("Available optimizations to skip"),
+        output);
+    assertTrue(output.contains("a exit 2"), output);
+  }
+
+  @Test
+  void serve_TwoConcurrentSessions_FormatOnlyOwnFiles(@TempDir Path first,
+                                                       @TempDir Path second)
+      throws IOException {
+    // files are only enqueued for formatting if clang-format is installed
+    assumeTrue(QemuClangFormatter.INSTANCE.isAvailable(), "clang-format is not available");
+
+    var output = serve(2,
+        "a iss ../sys/risc-v/rv32i.vadl -o \"" + first + "\"",
+        "b iss ../sys/risc-v/rv64i.vadl -o \"" + second + "\"");
+
+    assertTrue(output.contains("a exit 0"), output);
+    assertTrue(output.contains("b exit 0"), output);
+    assertFormattedFilesIn(first);
+    assertFormattedFilesIn(second);
+  }
+
+  /**
+   * Asserts that the generator wrote its format cache and that the cache only contains
+   * files of its own output directory.
+   */
+  private static void assertFormattedFilesIn(Path outputPath) throws IOException {
+    var cacheFile = outputPath.resolve(DeferredFormatting.CACHE_FILE_NAME);
+    assertTrue(Files.isRegularFile(cacheFile), "Missing " + cacheFile);
+
+    var cache = new Properties();
+    try (Reader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+      cache.load(reader);
+    }
+    var prefix = outputPath.toAbsolutePath().normalize().toString();
+    for (var file : cache.stringPropertyNames()) {
+      assertTrue(file.startsWith(prefix), file + " is not in " + prefix);
+    }
+  }
+}
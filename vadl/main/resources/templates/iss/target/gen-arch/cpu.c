@@ -205,6 +205,10 @@ static void [(${gen_arch_lower})]_cpu_restore_state_to_opc(CPUState *cs, const T
     CPU[(${gen_arch_upper})]State *env = &cpu->env;
 
     env->[(${gen_arch_upper})]_PC = data[0];
+    [# th:if="${insn_count_tb}"]
+    // the instructions of the TB up to and including the faulting one are not counted yet
+    env->insn_count += data[1];
+    [/]
 }
 
 static bool [(${gen_arch_lower})]_cpu_tlb_fill(CPUState *cs, vaddr address, int size,
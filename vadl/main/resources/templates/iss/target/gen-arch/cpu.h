@@ -9,6 +9,10 @@
 
 // no default memory ordering
 #define TCG_GUEST_DEFAULT_MO 0
+[# th:if="${insn_count_tb}"]
+// the number of executed instructions of the TB is stored with each instruction
+#define TARGET_INSN_START_EXTRA_WORDS 1
+[/]
 
 #define [(${gen_arch_upper})]_PC [(${pc_reg_name})]
 #define [(${gen_arch_upper})]_PC_TYPE [(${pc_reg_c_type})]
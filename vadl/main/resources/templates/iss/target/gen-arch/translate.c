@@ -18,7 +18,7 @@
 static TCGv cpu_pc;
 
 [# th:if="${insn_count}"]
-static TCGv cpu_insn_count;
+static TCGv_i64 cpu_insn_count;
 [/]
 
 [# th:each="reg_file, iterState : ${register_files}"] // define the register file tcgs
@@ -39,6 +39,10 @@ typedef struct DisasContext {
   CPU[(${gen_arch_upper})]State *env;
 
   target_ulong pc_curr;
+[# th:if="${variable_insn_width}"]
+  // the width of the decoded instruction in bits, set by decode_insn()
+  int insn_width;
+[/]
 
   [# th:each="reg_file, iterState : ${register_files}"] // constraint value constants
   [# th:each="constraint, iterState : ${reg_file.constraints}"]
@@ -56,7 +60,7 @@ void [(${gen_arch_lower})]_tcg_init(void)
     cpu_pc         = tcg_global_mem_new(tcg_env, offsetof(CPU[(${gen_arch_upper})]State, [(${gen_arch_upper})]_PC), "[(${gen_arch_upper})]_PC");
     //only generate if insn_count feature is enabled
     [# th:if="${insn_count}"]
-    cpu_insn_count = tcg_global_mem_new(tcg_env, offsetof(CPU[(${gen_arch_upper})]State, insn_count), "[(${gen_arch_upper})]_INSN_COUNT");
+    cpu_insn_count = tcg_global_mem_new_i64(tcg_env, offsetof(CPU[(${gen_arch_upper})]State, insn_count), "[(${gen_arch_upper})]_INSN_COUNT");
     [/]
 
     [# th:each="reg_file, iterState : ${register_files}"]
@@ -109,8 +113,19 @@ EX_SH(12)*/
 static target_ulong next_insn(DisasContext *ctx)
 {
     vaddr  pc_next = ctx->base.pc_next;
-    return translator_ld[(${insn_width.short})](ctx->env, &ctx->base, pc_next);
+    return translator_ld[(${insn_parcel.short})](ctx->env, &ctx->base, pc_next);
+}
+[# th:if="${variable_insn_width}"]
+/*
+ * Fetches a further parcel of the current instruction. decode_insn() only calls it on
+ * decode paths that test the bits of the parcel.
+ */
+static uint[(${insn_parcel.int})]_t fetch_insn_parcel(DisasContext *ctx, int parcel)
+{
+    vaddr pc = ctx->base.pc_next + parcel * ([(${insn_parcel.int})] / [(${mem_word_size.int})]);
+    return translator_ld[(${insn_parcel.short})](ctx->env, &ctx->base, pc);
 }
+[/]
 
 [# th:each="reg_file, iterState : ${register_files}"]
 static TCGv get_[(${reg_file.name_lower})](DisasContext *ctx, int reg_num)
@@ -149,6 +164,18 @@ static void gen_set_[(${reg_file.name_lower})](DisasContext *ctx, int reg_num, T
 static void gen_update_pc(DisasContext *ctx, target_ulong pc) {
     tcg_gen_movi_tl(cpu_pc, pc);
 }
+[# th:if="${insn_count_tb}"]
+/*
+ * Adds the given number of executed instructions of the current TB to the instruction counter.
+ * It is called before every exit of the TB instead of counting each instruction.
+ * If an instruction raises an exception in the middle of the TB, the count is restored from
+ * the insn_start data in restore_state_to_opc().
+ */
+static void gen_count_insns(DisasContext *ctx, int executed)
+{
+    tcg_gen_addi_i64(cpu_insn_count, cpu_insn_count, executed);
+}
+[/]
 
 
 /*
@@ -158,6 +185,9 @@ static void gen_update_pc(DisasContext *ctx, target_ulong pc) {
  */
 static void gen_goto_tb(DisasContext *ctx, int8_t n, target_ulong target_pc)
 {
+    [# th:if="${insn_count_tb}"]
+    gen_count_insns(ctx, ctx->base.num_insns);
+    [/]
     if (n >= 0 && translator_use_goto_tb(&ctx->base, target_pc)) {
         tcg_gen_goto_tb(n);
         gen_update_pc(ctx, target_pc);
@@ -169,7 +199,22 @@ static void gen_goto_tb(DisasContext *ctx, int8_t n, target_ulong target_pc)
     ctx->base.is_jmp = DISAS_NORETURN;
 }
 
+/*
+ * Jumps to the TB of the current cpu_pc.
+ */
+static void gen_lookup_and_goto_ptr(DisasContext *ctx)
+{
+    [# th:if="${insn_count_tb}"]
+    gen_count_insns(ctx, ctx->base.num_insns);
+    [/]
+    tcg_gen_lookup_and_goto_ptr();
+}
+
 static void generate_exception(DisasContext *ctx, int excp) {
+    [# th:if="${insn_count_tb}"]
+    // the exception is raised without restoring the state, so the count is added here
+    gen_count_insns(ctx, ctx->base.num_insns);
+    [/]
 	tcg_gen_movi_tl(cpu_pc, ctx->base.pc_next);
 	gen_helper_raise_exception(tcg_env, tcg_constant_i32(excp));
 	ctx->base.is_jmp = DISAS_NORETURN;
@@ -211,10 +256,18 @@ static bool decode_insn(DisasContext *ctx, uint[(${insn_width.int})]_t insn);
 static void translate(DisasContext *ctx)
 {
     uint32_t insn = next_insn(ctx);
+    [# th:if="${variable_insn_width}"]
+    // an illegal instruction is skipped by one parcel
+    ctx->insn_width = [(${insn_parcel.int})];
+    [/]
     if(!decode_insn(ctx, insn)) {
         error_report("[[(${gen_arch_upper})]] translate, illegal instr, pc: 0x%04llx , insn: 0x%04x\n", ctx->base.pc_next, insn);
 
         tcg_gen_movi_tl(cpu_pc, ctx->base.pc_next);
+        [# th:if="${insn_count_tb}"]
+        // the illegal instruction itself is not counted
+        gen_count_insns(ctx, ctx->base.num_insns - 1);
+        [/]
         gen_helper_unsupported(tcg_env);
         ctx->base.is_jmp = DISAS_NORETURN;
     }
@@ -244,7 +297,12 @@ static void [(${gen_arch_lower})]_tr_insn_start(DisasContextBase *db, CPUState *
     DisasContext *ctx = container_of(db, DisasContext, base);
     target_ulong  pc_next = ctx->base.pc_next;
     // TODO
+    [# th:if="${insn_count_tb}"]
+    // the executed instructions of the TB, restored if this instruction raises an exception
+    tcg_gen_insn_start(pc_next, ctx->base.num_insns);
+    [/][# th:unless="${insn_count_tb}"]
     tcg_gen_insn_start(pc_next);
+    [/]
 }
 
 static void [(${gen_arch_lower})]_tr_translate_insn(DisasContextBase *db, CPUState *cpu)
@@ -256,7 +314,7 @@ static void [(${gen_arch_lower})]_tr_translate_insn(DisasContextBase *db, CPUSta
     // translate current insn
     translate(ctx);
     // increment program counter
-    db->pc_next = db->pc_next + ([(${insn_width.int})] / [(${mem_word_size.int})]);
+    db->pc_next = db->pc_next + ([(${insn_length})] / [(${mem_word_size.int})]);
 }
 
 static void [(${gen_arch_lower})]_tr_tb_stop(DisasContextBase *db, CPUState *cpu)
@@ -1,5 +1,6 @@
 #include <inttypes.h>
 #include <assert.h>
+#include <stdbool.h>
 #include <stdlib.h>
 #include <string.h>
 #include <unistd.h>
@@ -7,6 +8,20 @@
 
 #include <qemu-plugin.h>
 
+/*
+ * Prints the register state when the guest requests its exit by writing to the HTIF tohost
+ * address. Options:
+ *   tohost=<addr>         only writes to the given (hexadecimal) address are checked
+ *   insns=stores|all      instrument only the store instructions of the ISA (default) or all
+ *   snapshot=store|exit   read the registers in the callback of the exit request (default),
+ *                         or once before the next instruction, so no store callback must
+ *                         sync the registers. The exit mode only works if the guest executes
+ *                         at least one more instruction after the exit request. If QEMU stops
+ *                         right after the request (e.g. as the tohost write ends the
+ *                         simulation), no snapshot is taken and the plugin fails at exit
+ *                         instead of printing empty registers.
+ */
+
 typedef struct {
     struct qemu_plugin_register *handle;
     GByteArray *val;
@@ -14,16 +29,46 @@ typedef struct {
     int size;
 } Register;
 
+typedef struct {
+    const char *name;
+    size_t size;
+    uint64_t mask;
+    uint64_t value;
+} StorePattern;
+
 #define HTIF_DEV_SHIFT          56
 #define HTIF_CMD_SHIFT          48
 #define HTIF_DEV_SYSTEM         0
 #define HTIF_SYSTEM_CMD_SYSCALL 0
 
+// the fixed encoding bits (little-endian) of all instructions that write memory
+static const StorePattern store_patterns[] = {
+    [# th:each="insn : ${store_insns}"]
+    { "[(${insn.name})]", [(${insn.size})], [(${insn.mask})], [(${insn.value})] },
+    [/]
+    { NULL, 0, 0, 0 },
+};
+
+// the states of the exit snapshot, stored per vCPU in the exit_state scoreboard
+#define EXIT_NONE      0
+#define EXIT_REQUESTED 1
+#define EXIT_SNAPSHOT  2
+
 QEMU_PLUGIN_EXPORT int qemu_plugin_version = QEMU_PLUGIN_VERSION;
 
 // default to 0, indicating that it is not known
 static uint64_t tohost_addr = 0;
 
+// if set, all instructions are instrumented instead of only the store instructions
+static bool instrument_all = false;
+
+// if set, the store callbacks do not access the registers. the registers are read once,
+// before the first instruction executed after the exit request.
+static bool snapshot_at_exit = false;
+
+static struct qemu_plugin_scoreboard *exit_state_score;
+static qemu_plugin_u64 exit_state;
+
 static GPtrArray *registers;
 static int accessCounter = 0;
 
@@ -54,20 +99,29 @@ static void print_all_registers() {
     }
 }
 
+static void save_registers() {
+    for (int i = 0; i < registers->len; i++) {
+        Register* reg = registers->pdata[i];
+        g_byte_array_set_size(reg->val, 0);
+        int size = qemu_plugin_read_register(reg->handle, reg->val);
+        reg->size = size;
+    }
+}
+
 static void vcpu_mem(unsigned int cpu_index, qemu_plugin_meminfo_t meminfo,
                      uint64_t vaddr, void *udata) {
 
-    qemu_plugin_mem_value last = qemu_plugin_mem_get_value(meminfo);
-    if (last.type != QEMU_PLUGIN_MEM_VALUE_U64) {
-        return;
-    }
-
     if (tohost_addr && tohost_addr != vaddr) {
         // if we know the tohost address and it differs to vaddr
         // we can skip
         return;
     }
 
+    qemu_plugin_mem_value last = qemu_plugin_mem_get_value(meminfo);
+    if (last.type != QEMU_PLUGIN_MEM_VALUE_U64) {
+        return;
+    }
+
     uint64_t val_written = last.data.u64;
     uint8_t device = val_written >> HTIF_DEV_SHIFT;
     uint8_t cmd = val_written >> HTIF_CMD_SHIFT;
@@ -77,15 +131,57 @@ static void vcpu_mem(unsigned int cpu_index, qemu_plugin_meminfo_t meminfo,
         return;
     }
 
-    // save registers
-    for (int i = 0; i < registers->len; i++) {
-        Register* reg = registers->pdata[i];
-        int size = qemu_plugin_read_register(reg->handle, reg->val);
-        reg->size = size;
+    accessCounter++;
+
+    if (snapshot_at_exit) {
+        // the registers are not synced in this callback, so they are read by vcpu_exit_snapshot
+        if (qemu_plugin_u64_get(exit_state, cpu_index) == EXIT_NONE) {
+            qemu_plugin_u64_set(exit_state, cpu_index, EXIT_REQUESTED);
+        }
+        return;
     }
 
-    // get HTIF fields
-    accessCounter++;
+    save_registers();
+}
+
+/*
+ * Called before every instruction executed after the exit request in the snapshot_at_exit mode.
+ * As store instructions do not write registers, the state equals the one of the exit request.
+ */
+static void vcpu_exit_snapshot(unsigned int cpu_index, void *udata) {
+    save_registers();
+    qemu_plugin_u64_set(exit_state, cpu_index, EXIT_SNAPSHOT);
+}
+
+/*
+ * Returns whether the instruction may write memory, i.e. if it matches one of the
+ * store patterns. Instructions of a size without any store pattern are instrumented
+ * conservatively.
+ */
+static bool may_store(struct qemu_plugin_insn *insn) {
+    size_t size = qemu_plugin_insn_size(insn);
+    uint8_t data[8] = { 0 };
+    if (size > sizeof(data)) {
+        return true;
+    }
+    qemu_plugin_insn_data(insn, data, size);
+
+    uint64_t word = 0;
+    for (size_t b = 0; b < size; b++) {
+        word |= (uint64_t) data[b] << (8 * b);
+    }
+
+    bool known_size = false;
+    for (const StorePattern *p = store_patterns; p->name; p++) {
+        if (p->size != size) {
+            continue;
+        }
+        known_size = true;
+        if ((word & p->mask) == p->value) {
+            return true;
+        }
+    }
+    return !known_size;
 }
 
 static void vcpu_tb_trans(qemu_plugin_id_t id, struct qemu_plugin_tb *tb)
@@ -95,16 +191,42 @@ static void vcpu_tb_trans(qemu_plugin_id_t id, struct qemu_plugin_tb *tb)
 
     for (i = 0; i < n; i++) {
         struct qemu_plugin_insn *insn = qemu_plugin_tb_get_insn(tb, i);
-        qemu_plugin_register_vcpu_mem_cb(insn, vcpu_mem,
-                                         QEMU_PLUGIN_CB_R_REGS,
-                                         QEMU_PLUGIN_MEM_W, NULL);
+
+        if (snapshot_at_exit) {
+            // an inline comparison, the callback is only called once after the exit request
+            qemu_plugin_register_vcpu_insn_exec_cond_cb(insn, vcpu_exit_snapshot,
+                                                        QEMU_PLUGIN_CB_R_REGS,
+                                                        QEMU_PLUGIN_COND_EQ,
+                                                        exit_state, EXIT_REQUESTED, NULL);
+        }
+
+        if (instrument_all || may_store(insn)) {
+            qemu_plugin_register_vcpu_mem_cb(insn, vcpu_mem,
+                                             snapshot_at_exit ? QEMU_PLUGIN_CB_NO_REGS
+                                                              : QEMU_PLUGIN_CB_R_REGS,
+                                             QEMU_PLUGIN_MEM_W, NULL);
+        }
     }
 }
 
 static void qemu_exit(qemu_plugin_id_t id, void *userdata) {
+    if (snapshot_at_exit) {
+        for (int i = 0; i < qemu_plugin_num_vcpus(); i++) {
+            if (qemu_plugin_u64_get(exit_state, i) == EXIT_REQUESTED) {
+                // the registers were never read, so the printed state would be empty
+                fprintf(stderr, "[EState] error: vCPU %d exited before the register snapshot "
+                                "was taken, use snapshot=store instead\n", i);
+                fflush(NULL);
+                // exit() must not be called from an atexit handler
+                _exit(EXIT_FAILURE);
+            }
+        }
+    }
+
     print_all_registers();
 
     g_ptr_array_free(registers, TRUE);
+    qemu_plugin_scoreboard_free(exit_state_score);
 }
 
 static void vcpu_init(qemu_plugin_id_t id, unsigned int vcpu_index)
@@ -144,12 +266,21 @@ QEMU_PLUGIN_EXPORT int qemu_plugin_install(qemu_plugin_id_t id,
         g_auto(GStrv) tokens = g_strsplit(opt, "=", 2);
         if (g_strcmp0(tokens[0], "tohost") == 0) {
             tohost_addr = parse_vaddr(tokens[1]);
+        } else if (g_strcmp0(tokens[0], "insns") == 0
+                   && (g_strcmp0(tokens[1], "all") == 0 || g_strcmp0(tokens[1], "stores") == 0)) {
+            instrument_all = g_strcmp0(tokens[1], "all") == 0;
+        } else if (g_strcmp0(tokens[0], "snapshot") == 0
+                   && (g_strcmp0(tokens[1], "exit") == 0 || g_strcmp0(tokens[1], "store") == 0)) {
+            snapshot_at_exit = g_strcmp0(tokens[1], "exit") == 0;
         } else {
             fprintf(stderr, "option parsing failed: %s\n", opt);
             return -1;
         }
     }
 
+    exit_state_score = qemu_plugin_scoreboard_new(sizeof(uint64_t));
+    exit_state = qemu_plugin_scoreboard_u64(exit_state_score);
+
     qemu_plugin_register_vcpu_init_cb(id, vcpu_init);
     qemu_plugin_register_vcpu_tb_trans_cb(id, vcpu_tb_trans);
     qemu_plugin_register_atexit_cb(id, qemu_exit, NULL);
@@ -31,6 +31,7 @@ import vadl.types.asmTypes.RegisterAsmType;
 import vadl.types.asmTypes.StringAsmType;
 import vadl.types.asmTypes.SymbolAsmType;
 import vadl.types.asmTypes.VoidAsmType;
+import vadl.utils.CompilationSession;
 import vadl.utils.SourceLocation;
 
 /**
@@ -47,7 +48,15 @@ public class AsmGrammarDefaultRules {
    */
   public static final String BUILTIN_ASM_NEG = "VADL_asmparser_neg";
 
-  private static final HashMap<AsmGrammarRuleDefinition, Pattern> patternCache = new HashMap<>();
+  /**
+   * The regex patterns of the terminal rules created in the current {@link CompilationSession}.
+   */
+  private static final class PatternCache extends HashMap<AsmGrammarRuleDefinition, Pattern> {
+  }
+
+  private static PatternCache patternCache() {
+    return CompilationSession.current().state(PatternCache.class, PatternCache::new);
+  }
 
   /**
    * Returns a list of default rules that are not included in the given rules.
@@ -69,7 +78,7 @@ public class AsmGrammarDefaultRules {
    * @return a map of terminal rules and their corresponding regex patterns
    */
   public static Map<AsmGrammarRuleDefinition, Pattern> terminalRuleRegexPatterns() {
-    return patternCache;
+    return patternCache();
   }
 
   private static List<AsmGrammarRuleDefinition> defaultRules() {
@@ -203,7 +212,7 @@ public class AsmGrammarDefaultRules {
 
     var pattern =
         Pattern.compile(escapeRegex ? Pattern.quote(regularExpression) : regularExpression);
-    patternCache.put(rule, pattern);
+    patternCache().put(rule, pattern);
     return rule;
   }
 
@@ -0,0 +1,257 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.ast;
+
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import vadl.utils.CompilationSession;
+
+/**
+ * A cache of parsed modules that are referenced by {@code import} definitions.
+ * A module is identified by its canonical path, the hash of its content and the macro
+ * overrides it was imported with, so a changed file or different model arguments
+ * always cause a re-parse.
+ *
+ * <p>The AST of an imported module is modified by later frontend passes (e.g. the
+ * {@link ModelRemover}). Therefore, a parsed module is only shared between the imports of
+ * one compilation by default, which starts with the outermost call to the
+ * {@link VadlParser}. A {@link CompilationSession} that compiles the same specification
+ * repeatedly may enable {@link #setShareAcrossCompilations(boolean)} to also reuse the
+ * modules of its earlier compilations.
+ * The modules are never shared between sessions, and a retained module is only reused if
+ * neither the module nor any of its transitively imported modules has changed since it
+ * was parsed.</p>
+ */
+public final class ModuleCache {
+
+  /**
+   * The maximum number of modules retained across compilations of a session.
+   */
+  static final int MAX_SHARED_ENTRIES = 64;
+
+  record Key(Path path, String contentHash, Map<String, String> macroOverrides) {
+  }
+
+  /**
+   * A file that a parsed module was created from.
+   */
+  private record Source(Path path, String contentHash) {
+  }
+
+  /**
+   * A parsed module and the files it was parsed from, i.e. the module itself and all of
+   * its transitively imported modules.
+   */
+  private record Entry(Ast ast, Set<Source> sources) {
+  }
+
+  /**
+   * The modules of the current compilation.
+   */
+  private static final class Compilation {
+    private final Map<Key, Entry> modules = new HashMap<>();
+    // the sources of the modules that are currently parsed, innermost last
+    private final Deque<Set<Source>> parsing = new ArrayDeque<>();
+  }
+
+  /**
+   * The modules retained across the compilations of a session.
+   */
+  private static final class Shared {
+    private volatile boolean enabled = false;
+    // access ordered, so the least recently used module is evicted first
+    private final Map<Key, Entry> modules = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+        return size() > MAX_SHARED_ENTRIES;
+      }
+    };
+  }
+
+  private static final ThreadLocal<Compilation> compilation = new ThreadLocal<>();
+
+  private static final AtomicLong hits = new AtomicLong();
+  private static final AtomicLong misses = new AtomicLong();
+
+  private ModuleCache() {
+  }
+
+  private static Shared shared() {
+    return CompilationSession.current().state(Shared.class, Shared::new);
+  }
+
+  /**
+   * Enables or disables the reuse of parsed modules across the compilations of the
+   * current {@link CompilationSession}.
+   * Disabling it also drops all retained modules.
+   */
+  public static void setShareAcrossCompilations(boolean share) {
+    shared().enabled = share;
+    if (!share) {
+      clear();
+    }
+  }
+
+  /**
+   * Drops all modules retained across the compilations of the current session.
+   */
+  public static void clear() {
+    var shared = shared();
+    synchronized (shared.modules) {
+      shared.modules.clear();
+    }
+  }
+
+  /**
+   * Returns the number of imports that were served from the cache.
+   */
+  public static long hits() {
+    return hits.get();
+  }
+
+  /**
+   * Returns the number of imports that had to be parsed.
+   */
+  public static long misses() {
+    return misses.get();
+  }
+
+  /**
+   * Returns the parsed module at the given path.
+   * The module is only parsed if neither the current compilation nor the shared cache
+   * of the session contains a module with the same content and macro overrides whose
+   * imported modules are unchanged.
+   *
+   * @param path           of the imported module.
+   * @param macroOverrides the model arguments of the import.
+   * @return the AST of the module.
+   * @throws IOException if the module cannot be read.
+   */
+  static Ast load(Path path, Map<String, String> macroOverrides) throws IOException {
+    var realPath = path.toRealPath();
+    var content = Files.readAllBytes(realPath);
+    var contentHash = hash(content);
+    var key = new Key(realPath, contentHash, Map.copyOf(macroOverrides));
+
+    var current = compilation.get();
+    // the files do not change during a compilation, so its own modules are always valid
+    var entry = current != null ? current.modules.get(key) : null;
+    var shared = shared();
+    if (entry == null && shared.enabled) {
+      synchronized (shared.modules) {
+        entry = shared.modules.get(key);
+      }
+      if (entry != null && !isUpToDate(entry)) {
+        synchronized (shared.modules) {
+          shared.modules.remove(key);
+        }
+        entry = null;
+      }
+    }
+
+    if (entry != null) {
+      hits.incrementAndGet();
+    } else {
+      misses.incrementAndGet();
+      entry = parse(current, content, path, macroOverrides, new Source(realPath, contentHash));
+      if (shared.enabled) {
+        synchronized (shared.modules) {
+          shared.modules.put(key, entry);
+        }
+      }
+    }
+
+    if (current != null) {
+      current.modules.put(key, entry);
+      // the importing module depends on all sources of the imported one
+      var importing = current.parsing.peekLast();
+      if (importing != null) {
+        importing.addAll(entry.sources());
+      }
+    }
+    return entry.ast();
+  }
+
+  private static Entry parse(@Nullable Compilation current, byte[] content,
+                             Path path, Map<String, String> macroOverrides, Source source)
+      throws IOException {
+    var sources = new LinkedHashSet<Source>();
+    sources.add(source);
+    if (current != null) {
+      current.parsing.addLast(sources);
+    }
+    try {
+      return new Entry(VadlParser.parse(content, path, macroOverrides), Set.copyOf(sources));
+    } finally {
+      if (current != null) {
+        current.parsing.removeLast();
+      }
+    }
+  }
+
+  /**
+   * Returns true if none of the files the module was parsed from has changed.
+   */
+  private static boolean isUpToDate(Entry entry) {
+    for (var source : entry.sources()) {
+      try {
+        if (!hash(Files.readAllBytes(source.path())).equals(source.contentHash())) {
+          return false;
+        }
+      } catch (IOException e) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String hash(byte[] content) {
+    return Hashing.sha256().hashBytes(content).toString();
+  }
+
+  /**
+   * Opens a compilation on the current thread if none is open yet.
+   *
+   * @return true if a new compilation was opened and must be closed by the caller.
+   */
+  static boolean openCompilation() {
+    if (compilation.get() != null) {
+      return false;
+    }
+    compilation.set(new Compilation());
+    return true;
+  }
+
+  /**
+   * Closes the compilation of the current thread.
+   */
+  static void closeCompilation() {
+    compilation.remove();
+  }
+
+}
@@ -571,7 +571,7 @@ class ParserUtils {
         macroOverrides.put(keyValue[0], keyValue[1]);
       }
       try {
-        var ast = VadlParser.parse(modulePath, macroOverrides);
+        var ast = ModuleCache.load(modulePath, macroOverrides);
         parser.macroTable.importFrom(ast, importedSymbols);
         return new ImportDefinition(ast, importedSymbols, fileId, filePath, args, loc);
       } catch (DiagnosticList | Diagnostic e) {
@@ -51,8 +51,16 @@ public class VadlParser {
    * except errors will have the proper file locations set.
    */
   public static Ast parse(Path path, Map<String, String> macroOverrides) throws IOException {
+    return parse(Files.readAllBytes(path), path, macroOverrides);
+  }
+
+  /**
+   * Parses the already read content of the VADL source program at the specified path.
+   * This is used by the {@link ModuleCache} which has to read the content anyway.
+   */
+  static Ast parse(byte[] content, Path path, Map<String, String> macroOverrides) {
     final var startTime = System.nanoTime();
-    var scanner = new Scanner(Files.newInputStream(path));
+    var scanner = new Scanner(new ByteArrayInputStream(content));
     var parser = new Parser(scanner);
     parser.sourceFile = path.toUri();
     macroOverrides.forEach((key, value) -> parser.macroOverrides.put(key,
@@ -109,6 +117,8 @@ public class VadlParser {
 
     List<Diagnostic> errors = new ArrayList<>();
 
+    // imports of the same module within this compilation share the parsed module
+    var openedCompilation = ModuleCache.openCompilation();
     try {
       parser.Parse();
     } catch (Diagnostic e) {
@@ -119,6 +129,10 @@ public class VadlParser {
       errors.add(Diagnostic.error("Parsing Error", SourceLocation.INVALID_SOURCE_LOCATION)
           .description("The following exception was thrown:\n%s", e)
           .build());
+    } finally {
+      if (openedCompilation) {
+        ModuleCache.closeCompilation();
+      }
     }
 
     if (parser.errors.count > 0) {
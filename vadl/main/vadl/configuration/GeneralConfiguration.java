@@ -25,6 +25,7 @@ public class GeneralConfiguration {
   private final Path outputPath;
   private final boolean doDump;
   private boolean dryRun = false;
+  private boolean writeIfChanged = true;
 
 
   public GeneralConfiguration(Path outputPath, boolean doDump) {
@@ -34,6 +35,7 @@ public class GeneralConfiguration {
 
   public GeneralConfiguration(GeneralConfiguration generalConfig) {
     this(generalConfig.outputPath, generalConfig.doDump);
+    this.writeIfChanged = generalConfig.writeIfChanged;
   }
 
   public Path outputPath() {
@@ -51,4 +53,17 @@ public class GeneralConfiguration {
   public void setDryRun(boolean dryRun) {
     this.dryRun = dryRun;
   }
+
+  /**
+   * Returns whether generated files are only written if their content changed.
+   * This keeps the modification time of unchanged files, so build systems
+   * (e.g. ninja for QEMU and LLVM) do not rebuild them.
+   */
+  public boolean writeIfChanged() {
+    return writeIfChanged;
+  }
+
+  public void setWriteIfChanged(boolean writeIfChanged) {
+    this.writeIfChanged = writeIfChanged;
+  }
 }
@@ -17,6 +17,7 @@
 package vadl.configuration;
 
 import java.util.EnumSet;
+import java.util.Map;
 import vadl.iss.passes.tcgLowering.Tcg_32_64;
 
 /**
@@ -44,12 +45,46 @@ public class IssConfiguration extends GeneralConfiguration {
     }
   }
 
+  /**
+   * The algorithms that can generate the decode tree of the ISS.
+   */
+  public enum DecodeTreeAlgorithm {
+    THEILING("Decides on all bits that are significant for every instruction at once."),
+    JUMP_TABLE("Decides on contiguous bit ranges that are compiled to dense jump tables "
+        + "and minimizes the expected decode depth.");
+
+    public final String desc;
+
+    DecodeTreeAlgorithm(String desc) {
+      this.desc = desc;
+    }
+  }
+
+  /**
+   * How the generated ISS counts the executed instructions.
+   */
+  public enum InsnCountMode {
+    NONE("Instructions are not counted."),
+    INSTRUCTION("Every instruction increments the counter."),
+    TRANSLATION_BLOCK("The counter is incremented once per exit of a translation block. "
+        + "Exceptions in the middle of a block are corrected exactly.");
+
+    public final String desc;
+
+    InsnCountMode(String desc) {
+      this.desc = desc;
+    }
+  }
+
   // is set by the IssConfigurationPass
   private String targetName;
-  private boolean insnCount;
+  private InsnCountMode insnCountMode;
   private String machineName;
   private Tcg_32_64 targetSize;
   private EnumSet<IssOptsToSkip> optsToSkip;
+  private DecodeTreeAlgorithm decodeTreeAlgorithm;
+  // relative frequencies of instructions by their name
+  private Map<String, Double> decodeWeights;
 
   /**
    * Constructs a {@link IssConfiguration}.
@@ -58,9 +93,11 @@ public class IssConfiguration extends GeneralConfiguration {
     super(generalConfig);
     targetName = "unknown";
     machineName = "unknown";
-    insnCount = false;
+    insnCountMode = InsnCountMode.NONE;
     targetSize = Tcg_32_64.i64;
     optsToSkip = EnumSet.noneOf(IssOptsToSkip.class);
+    decodeTreeAlgorithm = DecodeTreeAlgorithm.THEILING;
+    decodeWeights = Map.of();
   }
 
   public static IssConfiguration from(GeneralConfiguration generalConfig) {
@@ -72,7 +109,7 @@ public class IssConfiguration extends GeneralConfiguration {
    */
   public static IssConfiguration from(GeneralConfiguration generalConfig, boolean insnCounting) {
     var config = new IssConfiguration(generalConfig);
-    config.insnCount = insnCounting;
+    config.setInsnCounting(insnCounting);
     return config;
   }
 
@@ -97,11 +134,19 @@ public class IssConfiguration extends GeneralConfiguration {
   }
 
   public boolean isInsnCounting() {
-    return insnCount;
+    return insnCountMode != InsnCountMode.NONE;
   }
 
   public void setInsnCounting(boolean insnCounting) {
-    this.insnCount = insnCounting;
+    this.insnCountMode = insnCounting ? InsnCountMode.INSTRUCTION : InsnCountMode.NONE;
+  }
+
+  public InsnCountMode insnCountMode() {
+    return insnCountMode;
+  }
+
+  public void setInsnCountMode(InsnCountMode insnCountMode) {
+    this.insnCountMode = insnCountMode;
   }
 
   public void setTargetSize(Tcg_32_64 targetSize) {
@@ -116,4 +161,20 @@ public class IssConfiguration extends GeneralConfiguration {
       EnumSet<IssOptsToSkip> optsToSkip) {
     this.optsToSkip = optsToSkip;
   }
+
+  public DecodeTreeAlgorithm decodeTreeAlgorithm() {
+    return decodeTreeAlgorithm;
+  }
+
+  public void setDecodeTreeAlgorithm(DecodeTreeAlgorithm decodeTreeAlgorithm) {
+    this.decodeTreeAlgorithm = decodeTreeAlgorithm;
+  }
+
+  public Map<String, Double> decodeWeights() {
+    return decodeWeights;
+  }
+
+  public void setDecodeWeights(Map<String, Double> decodeWeights) {
+    this.decodeWeights = decodeWeights;
+  }
 }
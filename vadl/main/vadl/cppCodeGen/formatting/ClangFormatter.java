@@ -16,11 +16,17 @@
 
 package vadl.cppCodeGen.formatting;
 
+import com.google.common.collect.Lists;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.commons.io.IOUtils;
 
 /**
@@ -32,6 +38,8 @@ import org.apache.commons.io.IOUtils;
  */
 public class ClangFormatter implements CodeFormatter {
   private static final String CLANG_FORMAT_PATH = "clang-format";
+  // limits the length of the command line of a single invocation
+  private static final int MAX_BATCH_SIZE = 32;
 
   private final String style;
   private boolean checkedAvailability = false;
@@ -42,7 +50,7 @@ public class ClangFormatter implements CodeFormatter {
   }
 
   @Override
-  public boolean isAvailable() {
+  public synchronized boolean isAvailable() {
     if (checkedAvailability) {
       return isAvailable;
     }
@@ -64,12 +72,62 @@ public class ClangFormatter implements CodeFormatter {
 
   @Override
   public void format(Path file) throws FormatFailureException, NotAvailableException {
+    formatAll(List.of(file));
+  }
+
+  /**
+   * Formats the given files with a few batched clang-format invocations.
+   * The batches are formatted concurrently on a pool that is bounded by the number
+   * of available processors.
+   */
+  @Override
+  public void formatAll(List<Path> files) throws FormatFailureException, NotAvailableException {
     if (!isAvailable()) {
       throw new NotAvailableException("clang-format is not in PATH");
     }
+    if (files.isEmpty()) {
+      return;
+    }
+
+    var batches = Lists.partition(files, MAX_BATCH_SIZE);
+    if (batches.size() == 1) {
+      runClangFormat(batches.get(0));
+      return;
+    }
+
+    var threads = Math.min(batches.size(), Runtime.getRuntime().availableProcessors());
+    var executor = Executors.newFixedThreadPool(threads);
+    try {
+      var futures = new ArrayList<Future<?>>();
+      for (var batch : batches) {
+        futures.add(executor.submit(() -> {
+          runClangFormat(batch);
+          return null;
+        }));
+      }
+      for (var future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new FormatFailureException("clang-format interrupted", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof FormatFailureException failure) {
+        throw failure;
+      }
+      throw new FormatFailureException("Failed to format code", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 
-    ProcessBuilder processBuilder = new ProcessBuilder(CLANG_FORMAT_PATH, "--style=" + style, "-i",
-        file.toAbsolutePath().toString());
+  private void runClangFormat(List<Path> files) throws FormatFailureException {
+    var command = new ArrayList<String>();
+    command.add(CLANG_FORMAT_PATH);
+    command.add("--style=" + style);
+    command.add("-i");
+    files.forEach(file -> command.add(file.toAbsolutePath().toString()));
+    ProcessBuilder processBuilder = new ProcessBuilder(command);
 
     try {
       Process process = processBuilder.start();
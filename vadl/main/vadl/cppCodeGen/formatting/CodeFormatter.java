@@ -17,6 +17,7 @@
 package vadl.cppCodeGen.formatting;
 
 import java.nio.file.Path;
+import java.util.List;
 
 /**
  * Interface for a generic code formatter that formats generated code emitted during
@@ -61,4 +62,18 @@ public interface CodeFormatter {
    */
   void format(Path file) throws NotAvailableException, FormatFailureException;
 
+  /**
+   * Formats all given files in place.
+   * Formatters may override this to format several files in a single invocation.
+   *
+   * @param files the files to be formatted (must exist)
+   * @throws NotAvailableException  if the formatter is not available
+   * @throws FormatFailureException if something went wrong during formatting
+   */
+  default void formatAll(List<Path> files) throws NotAvailableException, FormatFailureException {
+    for (var file : files) {
+      format(file);
+    }
+  }
+
 }
@@ -18,6 +18,7 @@ package vadl.cppCodeGen.model.nodes;
 
 
 import java.util.List;
+import java.util.function.Consumer;
 import vadl.cppCodeGen.CppCodeGenGraphNodeVisitor;
 import vadl.javaannotations.viam.DataValue;
 import vadl.javaannotations.viam.Input;
@@ -82,6 +83,13 @@ public class CppUpdateBitRangeNode extends ExpressionNode {
     collection.add(patch);
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    action.accept(value);
+    action.accept(patch);
+  }
+
   @Override
   protected void collectData(List<Object> collection) {
     super.collectData(collection);
@@ -19,21 +19,32 @@ package vadl.dump;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import vadl.utils.CompilationSession;
 
 /**
- * A global store to record which artifacts and dumps were generated to later inform the user about.
+ * A store to record which artifacts and dumps were generated to later inform the user about.
+ * The records are kept per {@link CompilationSession}.
  *
  * <p>Often the user requests certain dumps. However, in certain error conditions, some dumps might
  * not be created (for example, if the typechecker fails, all passes further down the road cannot
  * that depend on types cannot be executed and cannot produce any dumps).
  */
 public class ArtifactTracker {
-  private static final List<Path> artifactPaths = new ArrayList<>();
-  private static final List<Path> dumpPaths = new ArrayList<>();
+
+  private static final class State {
+    private final List<Path> artifactPaths = new ArrayList<>();
+    private final List<Path> dumpPaths = new ArrayList<>();
+    private int writtenCount = 0;
+    private int unchangedCount = 0;
+  }
 
   private ArtifactTracker() {
   }
 
+  private static State state() {
+    return CompilationSession.current().state(State.class, State::new);
+  }
+
   /**
    * Add a path of a dump to be recorded.
    * The path should be relative to the working directory.
@@ -41,11 +52,11 @@ public class ArtifactTracker {
    * @param path to be stored.
    */
   public static void addDump(Path path) {
-    dumpPaths.add(path);
+    state().dumpPaths.add(path);
   }
 
   public static List<Path> getDumpPaths() {
-    return dumpPaths;
+    return state().dumpPaths;
   }
 
   /**
@@ -55,10 +66,40 @@ public class ArtifactTracker {
    * @param path to be stored.
    */
   public static void addArtifact(Path path) {
-    artifactPaths.add(path);
+    state().artifactPaths.add(path);
   }
 
   public static List<Path> getArtifactPathsPaths() {
-    return artifactPaths;
+    return state().artifactPaths;
+  }
+
+  /**
+   * Record whether an emitted file was written or skipped because its content did not change.
+   *
+   * @param written true if the file was (re-)written, false if it was left untouched.
+   */
+  public static void addEmission(boolean written) {
+    var state = state();
+    synchronized (state) {
+      if (written) {
+        state.writtenCount++;
+      } else {
+        state.unchangedCount++;
+      }
+    }
+  }
+
+  public static int getWrittenCount() {
+    var state = state();
+    synchronized (state) {
+      return state.writtenCount;
+    }
+  }
+
+  public static int getUnchangedCount() {
+    var state = state();
+    synchronized (state) {
+      return state.unchangedCount;
+    }
   }
 }
@@ -19,7 +19,9 @@ package vadl.dump;
 import static vadl.utils.ViamUtils.findDefinitionsByFilter;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import vadl.configuration.GeneralConfiguration;
@@ -40,24 +42,50 @@ import vadl.viam.graph.visualize.DotGraphVisualizer;
  * previously executed pass.
  * This is later used by the {@link HtmlDumpPass} to dump the behavior at different
  * points in time.
+ *
+ * <p>As the pass runs after every other pass, it only renders graphs that changed since
+ * the last collection. This is determined by the {@link Graph#modificationCount()}.
+ * Unchanged graphs reference the {@link Snapshot} of the last collection, so equal
+ * snapshot ids mean equal DOT graphs.</p>
  */
 public class CollectBehaviorDotGraphPass extends Pass {
 
+  /**
+   * A rendered DOT graph of a behavior.
+   * Snapshots are shared between collections as long as the graph does not change.
+   *
+   * @param id       the id of the snapshot, unique within a pass execution
+   * @param dotGraph the behavior in DOT syntax
+   */
+  public record Snapshot(int id, String dotGraph) {
+  }
+
+  /**
+   * The snapshot of a graph at the given modification count.
+   */
+  record GraphState(long modificationCount, Snapshot snapshot) {
+  }
+
   /**
    * Represents the result of executing the {@code CollectBehaviorDotGraphPass},
    * which includes a mapping of behavior definitions to their respective DOT
-   * graph representations and the result from the previously executed pass.
+   * graph snapshots and the result from the previously executed pass.
    *
    * @param behaviors A map where each key is a {@link Definition} representing a
    *                  VADL definition with behaviors, and the associated value is a
-   *                  list of strings where each string is a DOT graph representation
+   *                  list of snapshots where each one holds the DOT graph representation
    *                  of the behavior.
    * @param prevPass  The result from the previous pass execution encapsulated in
    *                  {@link PassResults.SingleResult}.
+   * @param states    The state of each collected graph, used by the next collection to
+   *                  skip unchanged graphs.
+   * @param nextId    The id of the next new snapshot.
    */
   public record Result(
-      Map<Definition, List<String>> behaviors,
-      PassResults.SingleResult prevPass
+      Map<Definition, List<Snapshot>> behaviors,
+      PassResults.SingleResult prevPass,
+      Map<Graph, GraphState> states,
+      int nextId
   ) {
   }
 
@@ -75,19 +103,48 @@ public class CollectBehaviorDotGraphPass extends Pass {
       throws IOException {
 
     var lastPass = passResults.lastExecution();
-    var result = new HashMap<Definition, List<String>>();
+    var previous = passResults.allResultsOf(CollectBehaviorDotGraphPass.class, Result.class)
+        .reduce((first, second) -> second)
+        .orElse(null);
+    var prevStates = previous == null ? Map.<Graph, GraphState>of() : previous.states();
+    var prevBehaviors = previous == null
+        ? Map.<Definition, List<Snapshot>>of() : previous.behaviors();
+    var nextId = previous == null ? 0 : previous.nextId();
+
+    var result = new HashMap<Definition, List<Snapshot>>();
+    var states = new IdentityHashMap<Graph, GraphState>();
 
     var definitions = findDefinitionsByFilter(viam, DefProp.WithBehavior.class::isInstance);
 
     for (var definition : definitions) {
       var withBehavior = (DefProp.WithBehavior) definition;
-      var dotGraphs = withBehavior.behaviors().stream()
-          .map(CollectBehaviorDotGraphPass::createDotGraphFor)
-          .toList();
-      result.put(definition, dotGraphs);
+      var graphs = withBehavior.behaviors();
+      var prevSnapshots = prevBehaviors.getOrDefault(definition, List.of());
+      var snapshots = new ArrayList<Snapshot>(graphs.size());
+      for (int i = 0; i < graphs.size(); i++) {
+        var graph = graphs.get(i);
+        var state = states.get(graph);
+        if (state == null) {
+          state = prevStates.get(graph);
+        }
+        if (state == null || state.modificationCount() != graph.modificationCount()) {
+          // the graph is new or changed, so it is rendered again.
+          // if the rendering is equal to the previous one, we keep the snapshot
+          var dotGraph = createDotGraphFor(graph);
+          var prevSnapshot = state != null ? state.snapshot()
+              : i < prevSnapshots.size() ? prevSnapshots.get(i) : null;
+          var snapshot = prevSnapshot != null && prevSnapshot.dotGraph().equals(dotGraph)
+              ? prevSnapshot
+              : new Snapshot(nextId++, dotGraph);
+          state = new GraphState(graph.modificationCount(), snapshot);
+        }
+        states.put(graph, state);
+        snapshots.add(state.snapshot());
+      }
+      result.put(definition, snapshots);
     }
 
-    return new Result(result, lastPass);
+    return new Result(result, lastPass, states, nextId);
   }
 
   private static String createDotGraphFor(Graph graph) {
@@ -44,6 +44,7 @@ import vadl.pass.PassKey;
 import vadl.pass.PassName;
 import vadl.pass.PassResults;
 import vadl.template.AbstractTemplateRenderingPass;
+import vadl.utils.CompilationSession;
 import vadl.viam.Specification;
 
 
@@ -145,7 +146,11 @@ public class HtmlDumpPass extends AbstractTemplateRenderingPass {
   @Nullable
   private PassKey lastPass = null;
 
-  private static final AtomicInteger dumpCounter = new AtomicInteger();
+  /**
+   * Numbers the dumps of the current {@link CompilationSession}.
+   */
+  private static final class DumpCounter extends AtomicInteger {
+  }
 
   /**
    * Constructs the {@link HtmlDumpPass}.
@@ -153,7 +158,9 @@ public class HtmlDumpPass extends AbstractTemplateRenderingPass {
   public HtmlDumpPass(Config config) {
     super(config, "dump");
     this.config = config;
-    this.count = dumpCounter.getAndIncrement();
+    this.count = CompilationSession.current()
+        .state(DumpCounter.class, DumpCounter::new)
+        .getAndIncrement();
   }
 
   @Override
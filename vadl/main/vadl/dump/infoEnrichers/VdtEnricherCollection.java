@@ -128,6 +128,31 @@ public class VdtEnricherCollection {
         entity.addInfo(info);
       });
 
+  public static InfoEnricher VDT_HISTOGRAMS_EXPANDABLE =
+      InfoEnricher.forType(VdtEntity.class, (entity, passResults) -> {
+
+        var stats = DecisionTreeStatsCalculator.statistics(entity.tree());
+
+        // the table is given column by column
+        final var kinds = new ArrayList<>(List.of("Histogram"));
+        final var values = new ArrayList<>(List.of("Value"));
+        final var counts = new ArrayList<>(List.of("Count"));
+        stats.getDepthHistogram().forEach((depth, count) -> {
+          kinds.add("Leaf depth");
+          values.add(depth.toString());
+          counts.add(count.toString());
+        });
+        stats.getFanOutHistogram().forEach((fanOut, count) -> {
+          kinds.add("Node fan-out");
+          values.add(fanOut.toString());
+          counts.add(count.toString());
+        });
+        final var histogramTable = List.<List<String>>of(kinds, values, counts);
+
+        var info = InfoUtils.createTableExpandable("Histograms", histogramTable);
+        entity.addInfo(info);
+      });
+
   public static InfoEnricher VDT_STATS_TAGS =
       InfoEnricher.forType(VdtEntity.class, (entity, passResults) -> {
 
@@ -143,6 +168,7 @@ public class VdtEnricherCollection {
   public static List<InfoEnricher> all = List.of(
       VDT_STATS_TAGS,
       VDT_STATS_EXPANDABLE,
+      VDT_HISTOGRAMS_EXPANDABLE,
       VDT_TXT_GRAPH_EXPANDABLE,
       VDT_DOT_GRAPH_MODAL_ENRICHER,
       VDT_TXT_TABLE_EXPANDABLE
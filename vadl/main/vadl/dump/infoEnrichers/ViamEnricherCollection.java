@@ -41,6 +41,7 @@ import vadl.viam.Parameter;
 import vadl.viam.Stage;
 import vadl.viam.ViamError;
 import vadl.viam.graph.Graph;
+import vadl.viam.graph.GraphFootprint;
 import vadl.viam.passes.InstructionResourceAccessAnalysisPass;
 
 /**
@@ -161,16 +162,17 @@ public class ViamEnricherCollection {
           .map(r -> Pair.of(r.left(), r.right().get(0)))
           .toList();
 
-      // filter only passes that altered graph
+      // filter only passes that altered graph.
+      // unchanged graphs share the snapshot of the previous collection
       var filteredBehaviorGraphs =
           new ArrayList<Pair<PassResults.SingleResult, String>>();
-      behaviorGraphs.forEach(entry -> {
-        if (filteredBehaviorGraphs.isEmpty()
-            || !filteredBehaviorGraphs.get(filteredBehaviorGraphs.size() - 1).right()
-            .equals(entry.right())) {
-          filteredBehaviorGraphs.add(entry);
+      var lastSnapshotId = -1;
+      for (var entry : behaviorGraphs) {
+        if (entry.right().id() != lastSnapshotId) {
+          lastSnapshotId = entry.right().id();
+          filteredBehaviorGraphs.add(Pair.of(entry.left(), entry.right().dotGraph()));
         }
-      });
+      }
 
       // reverse the result so the first one is the latest one
       reverse(filteredBehaviorGraphs);
@@ -317,6 +319,39 @@ public class ViamEnricherCollection {
         entity.addInfo(info);
       });
 
+  /**
+   * A {@link InfoEnricher} that adds an expandable with the estimated heap footprint
+   * of each behavior graph of a definition.
+   * This helps finding graphs that dominate the memory usage.
+   */
+  public static InfoEnricher BEHAVIOR_HEAP_FOOTPRINT_EXPANDABLE =
+      forType(DefinitionEntity.class, (entity, passResult) -> {
+        if (!(entity.origin() instanceof DefProp.WithBehavior withBehavior)
+            || withBehavior.behaviors().isEmpty()) {
+          return;
+        }
+
+        var names = new ArrayList<Object>(List.of("Graph"));
+        var nodes = new ArrayList<Object>(List.of("Nodes"));
+        var nodeBytes = new ArrayList<Object>(List.of("Node Bytes"));
+        var usageBytes = new ArrayList<Object>(List.of("Usage Bytes"));
+        var locations = new ArrayList<Object>(List.of("Source Locations"));
+        for (var graph : withBehavior.behaviors()) {
+          var footprint = GraphFootprint.of(graph);
+          names.add(graph.name);
+          nodes.add(footprint.nodeCount());
+          nodeBytes.add(footprint.nodeBytes());
+          usageBytes.add(footprint.usageBytes());
+          locations.add(footprint.sourceLocations());
+        }
+
+        var info = InfoUtils.createTableExpandable(
+            "Heap Footprint",
+            List.of(names, nodes, nodeBytes, usageBytes, locations)
+        );
+        entity.addInfo(info);
+      });
+
   /**
    * A {@link InfoEnricher} that adds a {@link vadl.dump.Info.Tag} containing the next/prev stage
    * of the micro architecture.
@@ -352,6 +387,7 @@ public class ViamEnricherCollection {
       SOURCE_CODE_SUPPLIER_EXPANDABLE,
       RESOURCE_ACCESS_SUPPLIER_EXPANDABLE,
       BEHAVIOR_NO_LOCATION_EXPANDABLE,
+      BEHAVIOR_HEAP_FOOTPRINT_EXPANDABLE,
       STAGE_ORDER_SUPPLIER
   );
 
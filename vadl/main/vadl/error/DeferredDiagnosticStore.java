@@ -18,6 +18,7 @@ package vadl.error;
 
 import java.util.LinkedHashSet;
 import java.util.List;
+import vadl.utils.CompilationSession;
 
 /**
  * A storage where diagnostics are added to which shouldn't interrupt the program flow but which
@@ -25,9 +26,18 @@ import java.util.List;
  *
  * <p>In case you want to interrupt the program flow you can simply throw a {@link Diagnostic} or
  * a {@link DiagnosticList}.
+ *
+ * <p>The diagnostics are stored per {@link CompilationSession}.</p>
  */
 public class DeferredDiagnosticStore {
-  private static final LinkedHashSet<Diagnostic> diagnosticList = new LinkedHashSet<>();
+
+  private static final class Store {
+    private final LinkedHashSet<Diagnostic> diagnosticList = new LinkedHashSet<>();
+  }
+
+  private static LinkedHashSet<Diagnostic> diagnosticList() {
+    return CompilationSession.current().state(Store.class, Store::new).diagnosticList;
+  }
 
   /**
    * Add another diagnostic to the store.
@@ -35,7 +45,10 @@ public class DeferredDiagnosticStore {
    * <p>If the diagnostic is already in the store it won't be inserted a second time.
    */
   public static void add(Diagnostic diagnostic) {
-    diagnosticList.add(diagnostic);
+    var diagnostics = diagnosticList();
+    synchronized (diagnostics) {
+      diagnostics.add(diagnostic);
+    }
   }
 
   /**
@@ -44,17 +57,23 @@ public class DeferredDiagnosticStore {
    * <p>If the diagnostic is already in the store it won't be inserted a second time.
    */
   public static void add(DiagnosticBuilder diagnostic) {
-    diagnosticList.add(diagnostic.build());
+    add(diagnostic.build());
   }
 
   /**
    * Retrieves all diagnostics in the order they were inserted.
    */
   public static List<Diagnostic> getAll() {
-    return diagnosticList.stream().toList();
+    var diagnostics = diagnosticList();
+    synchronized (diagnostics) {
+      return diagnostics.stream().toList();
+    }
   }
 
   public static boolean isEmpty() {
-    return diagnosticList.isEmpty();
+    var diagnostics = diagnosticList();
+    synchronized (diagnostics) {
+      return diagnostics.isEmpty();
+    }
   }
 }
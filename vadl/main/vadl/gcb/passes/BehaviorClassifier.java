@@ -0,0 +1,132 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.gcb.passes;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import vadl.types.BuiltInTable;
+
+/**
+ * Classifies a behavior by a prioritized list of rules which are checked against a
+ * {@link BehaviorIndex}. The first rule whose condition holds determines the label.
+ *
+ * <p>A rule can declare the built-ins it requires to match. The classifier compiles these
+ * triggers into a table from built-in to rules, so only the rules which are triggered by the
+ * built-ins of a behavior (and the rules without triggers) are checked.
+ * Therefore, the cost of labelling a behavior does not grow with the number of rules that
+ * cannot match.</p>
+ *
+ * @param <L> the type of the labels.
+ */
+public final class BehaviorClassifier<L> {
+
+  /**
+   * A classification rule.
+   *
+   * @param label     assigned when the condition holds.
+   * @param triggers  one of these built-ins must be called for the rule to match.
+   *                  An empty set means that the rule is checked for every behavior.
+   * @param condition the condition of the rule.
+   */
+  public record Rule<L>(L label,
+                        Set<BuiltInTable.BuiltIn> triggers,
+                        Predicate<BehaviorIndex> condition) {
+  }
+
+  private final List<Rule<L>> rules;
+  private final Map<BuiltInTable.BuiltIn, BitSet> rulesByTrigger = new HashMap<>();
+  private final BitSet untriggered = new BitSet();
+
+  private BehaviorClassifier(List<Rule<L>> rules) {
+    this.rules = List.copyOf(rules);
+    for (int i = 0; i < rules.size(); i++) {
+      var triggers = rules.get(i).triggers();
+      if (triggers.isEmpty()) {
+        untriggered.set(i);
+      }
+      for (var trigger : triggers) {
+        rulesByTrigger.computeIfAbsent(trigger, k -> new BitSet()).set(i);
+      }
+    }
+  }
+
+  public static <L> Builder<L> builder() {
+    return new Builder<>();
+  }
+
+  public List<Rule<L>> rules() {
+    return rules;
+  }
+
+  /**
+   * Returns the first rule in priority order whose condition holds for the indexed behavior.
+   */
+  public Optional<Rule<L>> classify(BehaviorIndex index) {
+    var candidates = (BitSet) untriggered.clone();
+    for (var builtIn : index.builtIns()) {
+      var triggered = rulesByTrigger.get(builtIn);
+      if (triggered != null) {
+        candidates.or(triggered);
+      }
+    }
+    for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+      var rule = rules.get(i);
+      if (rule.condition().test(index)) {
+        return Optional.of(rule);
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Collects the rules of a {@link BehaviorClassifier} in priority order.
+   */
+  public static final class Builder<L> {
+    private final List<Rule<L>> rules = new ArrayList<>();
+
+    private Builder() {
+    }
+
+    /**
+     * Adds a rule which is checked for every behavior.
+     */
+    public Builder<L> rule(L label, Predicate<BehaviorIndex> condition) {
+      rules.add(new Rule<>(label, Set.of(), condition));
+      return this;
+    }
+
+    /**
+     * Adds a rule which is only checked if one of the {@code triggers} is called.
+     */
+    public Builder<L> rule(L label, Collection<BuiltInTable.BuiltIn> triggers,
+                           Predicate<BehaviorIndex> condition) {
+      rules.add(new Rule<>(label, Set.copyOf(triggers), condition));
+      return this;
+    }
+
+    public BehaviorClassifier<L> build() {
+      return new BehaviorClassifier<>(rules);
+    }
+  }
+}
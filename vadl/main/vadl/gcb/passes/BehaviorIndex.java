@@ -0,0 +1,257 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.gcb.passes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import vadl.types.BuiltInTable;
+import vadl.types.Type;
+import vadl.viam.Register;
+import vadl.viam.graph.Graph;
+import vadl.viam.graph.Node;
+import vadl.viam.graph.dependency.BuiltInCall;
+import vadl.viam.graph.dependency.ReadMemNode;
+import vadl.viam.graph.dependency.ReadRegNode;
+import vadl.viam.graph.dependency.WriteMemNode;
+import vadl.viam.graph.dependency.WriteRegFileNode;
+import vadl.viam.graph.dependency.WriteRegNode;
+import vadl.viam.matching.Matcher;
+import vadl.viam.matching.impl.AnyChildMatcher;
+import vadl.viam.matching.impl.AnyReadRegFileMatcher;
+import vadl.viam.matching.impl.FieldAccessRefMatcher;
+import vadl.viam.matching.impl.IsReadRegMatcher;
+
+/**
+ * An index over the nodes of a behavior which is built in a single traversal.
+ * It groups the nodes by their class and the {@link BuiltInCall}s by their
+ * {@link BuiltInTable.BuiltIn}, so the rules of a {@link BehaviorClassifier} can check
+ * their features without traversing the graph again.
+ *
+ * <p>The shape of the operands of a {@link BuiltInCall} (see {@link Operand}) is computed
+ * on first access and cached for all further rules.</p>
+ */
+public final class BehaviorIndex {
+
+  /**
+   * The shape of an operand of a {@link BuiltInCall}. Except for {@link #ANY}, the operand
+   * or one of its children must match the shape.
+   */
+  public enum Operand {
+    ANY,
+    REGISTER_FILE,
+    FIELD_ACCESS,
+    PC
+  }
+
+  private static final Matcher REGISTER_FILE_MATCHER =
+      new AnyChildMatcher(new AnyReadRegFileMatcher());
+  private static final Matcher FIELD_ACCESS_MATCHER =
+      new AnyChildMatcher(new FieldAccessRefMatcher());
+  // only the first two operands are indexed
+  private static final int INDEXED_OPERANDS = 2;
+
+  private final Graph behavior;
+  @Nullable
+  private final Register pc;
+  @Nullable
+  private final Matcher pcMatcher;
+  private final Map<Class<?>, List<Node>> nodesByClass = new LinkedHashMap<>();
+  private final Map<BuiltInTable.BuiltIn, List<BuiltInCall>> callsByBuiltIn =
+      new LinkedHashMap<>();
+  private final Map<Class<?>, List<?>> nodesCache = new HashMap<>();
+  private final Map<BuiltInCall, Integer> operandShapes = new IdentityHashMap<>();
+
+  private BehaviorIndex(Graph behavior, @Nullable Register pc) {
+    this.behavior = behavior;
+    this.pc = pc;
+    this.pcMatcher = pc == null ? null : new AnyChildMatcher(new IsReadRegMatcher(pc));
+    behavior.getNodes().forEach(node -> {
+      nodesByClass.computeIfAbsent(node.getClass(), k -> new ArrayList<>()).add(node);
+      if (node instanceof BuiltInCall call) {
+        callsByBuiltIn.computeIfAbsent(call.builtIn(), k -> new ArrayList<>()).add(call);
+      }
+    });
+  }
+
+  /**
+   * Indexes the given behavior.
+   */
+  public static BehaviorIndex of(Graph behavior) {
+    return new BehaviorIndex(behavior, null);
+  }
+
+  /**
+   * Indexes the given behavior. The {@code pc} register is required for
+   * {@link Operand#PC} and {@link #writesPcRegister()}.
+   */
+  public static BehaviorIndex of(Graph behavior, @Nullable Register pc) {
+    return new BehaviorIndex(behavior, pc);
+  }
+
+  public Graph behavior() {
+    return behavior;
+  }
+
+  public boolean hasPc() {
+    return pc != null;
+  }
+
+  /**
+   * Returns all nodes which are instances of the given class.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> List<T> nodes(Class<T> clazz) {
+    return (List<T>) nodesCache.computeIfAbsent(clazz, k -> {
+      var result = new ArrayList<>();
+      nodesByClass.forEach((c, nodes) -> {
+        if (k.isAssignableFrom(c)) {
+          result.addAll(nodes);
+        }
+      });
+      return Collections.unmodifiableList(result);
+    });
+  }
+
+  public int count(Class<?> clazz) {
+    return nodes(clazz).size();
+  }
+
+  public boolean has(Class<?> clazz) {
+    return !nodes(clazz).isEmpty();
+  }
+
+  /**
+   * Returns the built-ins which are called in the behavior.
+   */
+  public Set<BuiltInTable.BuiltIn> builtIns() {
+    return Collections.unmodifiableSet(callsByBuiltIn.keySet());
+  }
+
+  /**
+   * Returns all calls of the given built-ins.
+   */
+  public List<BuiltInCall> calls(Collection<BuiltInTable.BuiltIn> builtIns) {
+    var result = new ArrayList<BuiltInCall>();
+    for (var builtIn : builtIns) {
+      result.addAll(callsByBuiltIn.getOrDefault(builtIn, List.of()));
+    }
+    return result;
+  }
+
+  public List<BuiltInCall> calls(BuiltInTable.BuiltIn builtIn) {
+    return callsByBuiltIn.getOrDefault(builtIn, List.of());
+  }
+
+  /**
+   * Checks whether the operands of the call have the given shapes. Like
+   * {@link vadl.viam.matching.impl.BuiltInMatcher}, operands that do not exist are not checked.
+   */
+  public boolean operands(BuiltInCall call, Operand first, Operand second) {
+    var shape = operandShape(call);
+    var arguments = call.arguments().size();
+    return (arguments < 1 || hasShape(shape, 0, first))
+        && (arguments < 2 || hasShape(shape, 1, second));
+  }
+
+  /**
+   * Checks whether the operands of the call have the given shapes in any order.
+   */
+  public boolean commutativeOperands(BuiltInCall call, Operand first, Operand second) {
+    return operands(call, first, second) || operands(call, second, first);
+  }
+
+  /**
+   * Return {@code true} if there is only one side effect which writes a
+   * {@link vadl.viam.RegisterFile}.
+   */
+  public boolean writesExactlyOneRegisterClass() {
+    return count(WriteRegFileNode.class) == 1
+        && !has(WriteRegNode.class)
+        && !has(WriteMemNode.class)
+        && !has(ReadMemNode.class);
+  }
+
+  /**
+   * Return {@code true} if there is only one side effect which writes a
+   * {@link vadl.viam.RegisterFile} with the given {@link Type} as result type.
+   */
+  public boolean writesExactlyOneRegisterClassWithType(Type resultType) {
+    return writesExactlyOneRegisterClass()
+        && nodes(WriteRegFileNode.class).get(0).registerFile().resultType() == resultType;
+  }
+
+  /**
+   * Returns {@code true} if any counter is written.
+   */
+  public boolean writesCounter() {
+    return nodes(WriteRegNode.class).stream().anyMatch(x -> x.staticCounterAccess() != null);
+  }
+
+  /**
+   * Returns {@code true} if any counter is read.
+   */
+  public boolean readsCounter() {
+    return nodes(ReadRegNode.class).stream().anyMatch(x -> x.staticCounterAccess() != null);
+  }
+
+  /**
+   * Returns the number of writes to the {@code pc} register.
+   */
+  public long writesPcRegister() {
+    return nodes(WriteRegNode.class).stream().filter(x -> x.register().equals(pc)).count();
+  }
+
+  private static boolean hasShape(int shape, int operand, Operand expected) {
+    return expected == Operand.ANY
+        || (shape & bit(operand, expected)) != 0;
+  }
+
+  private static int bit(int operand, Operand shape) {
+    return 1 << (operand * Operand.values().length + shape.ordinal());
+  }
+
+  private int operandShape(BuiltInCall call) {
+    var shape = operandShapes.get(call);
+    if (shape != null) {
+      return shape;
+    }
+    int result = 0;
+    var arguments = call.arguments();
+    for (int i = 0; i < Math.min(INDEXED_OPERANDS, arguments.size()); i++) {
+      var argument = arguments.get(i);
+      if (REGISTER_FILE_MATCHER.matches(argument)) {
+        result |= bit(i, Operand.REGISTER_FILE);
+      }
+      if (FIELD_ACCESS_MATCHER.matches(argument)) {
+        result |= bit(i, Operand.FIELD_ACCESS);
+      }
+      if (pcMatcher != null && pcMatcher.matches(argument)) {
+        result |= bit(i, Operand.PC);
+      }
+    }
+    operandShapes.put(call, result);
+    return result;
+  }
+}
@@ -16,6 +16,10 @@
 
 package vadl.gcb.passes;
 
+import static vadl.gcb.passes.BehaviorIndex.Operand.ANY;
+import static vadl.gcb.passes.BehaviorIndex.Operand.FIELD_ACCESS;
+import static vadl.gcb.passes.BehaviorIndex.Operand.PC;
+import static vadl.gcb.passes.BehaviorIndex.Operand.REGISTER_FILE;
 import static vadl.types.BuiltInTable.ADD;
 import static vadl.types.BuiltInTable.ADDS;
 import static vadl.types.BuiltInTable.AND;
@@ -83,7 +87,6 @@ import vadl.viam.Counter;
 import vadl.viam.Instruction;
 import vadl.viam.InstructionSetArchitecture;
 import vadl.viam.Specification;
-import vadl.viam.graph.Node;
 import vadl.viam.graph.control.IfNode;
 import vadl.viam.graph.dependency.BuiltInCall;
 import vadl.viam.graph.dependency.FieldAccessRefNode;
@@ -96,7 +99,6 @@ import vadl.viam.graph.dependency.WriteMemNode;
 import vadl.viam.graph.dependency.WriteRegFileNode;
 import vadl.viam.graph.dependency.WriteRegNode;
 import vadl.viam.graph.dependency.WriteResourceNode;
-import vadl.viam.matching.Matcher;
 import vadl.viam.matching.TreeMatcher;
 import vadl.viam.matching.impl.AnyChildMatcher;
 import vadl.viam.matching.impl.AnyConstantValueMatcher;
@@ -104,8 +106,6 @@ import vadl.viam.matching.impl.AnyNodeMatcher;
 import vadl.viam.matching.impl.AnyReadMemMatcher;
 import vadl.viam.matching.impl.AnyReadRegFileMatcher;
 import vadl.viam.matching.impl.BuiltInMatcher;
-import vadl.viam.matching.impl.FieldAccessRefMatcher;
-import vadl.viam.matching.impl.IsReadRegMatcher;
 import vadl.viam.matching.impl.WriteResourceMatcherForValue;
 import vadl.viam.passes.functionInliner.FunctionInlinerPass;
 import vadl.viam.passes.functionInliner.UninlinedGraph;
@@ -123,6 +123,22 @@ import vadl.viam.passes.functionInliner.UninlinedGraph;
  * easier to search for these instructions.
  */
 public class IsaMachineInstructionMatchingPass extends Pass implements IsaMatchingUtils {
+  /**
+   * The labels of conditional branches are not typed.
+   */
+  private static final Set<MachineInstructionLabel> UNTYPED_LABELS = Set.of(
+      MachineInstructionLabel.BEQ, MachineInstructionLabel.BNEQ,
+      MachineInstructionLabel.BSGEQ, MachineInstructionLabel.BUGEQ,
+      MachineInstructionLabel.BSLEQ, MachineInstructionLabel.BULEQ,
+      MachineInstructionLabel.BSLTH, MachineInstructionLabel.BULTH,
+      MachineInstructionLabel.BSGTH, MachineInstructionLabel.BUGTH);
+
+  /**
+   * The rules in priority order. The first rule which matches an instruction determines
+   * its label.
+   */
+  private final BehaviorClassifier<MachineInstructionLabel> classifier = createClassifier();
+
   public IsaMachineInstructionMatchingPass(GcbConfiguration configuration) {
     super(configuration);
   }
@@ -168,144 +184,124 @@ public class IsaMachineInstructionMatchingPass extends Pass implements IsaMatchi
           () -> Diagnostic.error("Cannot find the uninlined graph of this instruction",
               instruction.sourceLocation()));
 
-      var ty = getType(behavior);
-
-      // Some are typed and some aren't.
-      // The reason is that most of the time we do not care because
-      // the instruction selection will figure out the types anyway.
-      // The raw cases where we need the type are typed like addition.
-      if (findLui(behavior)) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.LUI, ty));
-      } else if (findAdd32Bit(behavior)) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.ADD_32, ty));
-      } else if (findAdd64Bit(behavior)) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.ADD_64, ty));
-      } else if (findAddWithImmediate32Bit(behavior)) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.ADDI_32, ty));
-      } else if (findAddWithImmediate64Bit(behavior)) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.ADDI_64, ty));
-      } else if (findRegisterRegisterOrRegisterImmediateOrImmediateRegister(behavior,
-          List.of(SDIV, SDIVS))) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.SDIV, ty));
-      } else if (findRegisterRegisterOrRegisterImmediateOrImmediateRegister(behavior,
-          List.of(UDIV, UDIVS))) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.UDIV, ty));
-      } else if (findRegisterRegisterOrRegisterImmediateOrImmediateRegister(behavior,
-          List.of(SMOD, SMODS))) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.SMOD, ty));
-      } else if (findRegisterRegisterOrRegisterImmediateOrImmediateRegister(behavior,
-          List.of(UMOD, UMODS))) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.UMOD, ty));
-      } else if (findRegisterRegisterOrRegisterImmediateOrImmediateRegister(behavior, SUB)) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.SUB, ty));
-      } else if (findRegisterRegisterOrRegisterImmediateOrImmediateRegister(behavior,
-          List.of(SUBB, SUBSB))) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.SUBB, ty));
-      } else if (findRegisterRegisterOrRegisterImmediateOrImmediateRegister(behavior,
-          List.of(SUBC, SUBSC))) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.SUBC, ty));
-      } else if (findRegisterRegisterOrRegisterImmediateOrImmediateRegister(behavior,
-          List.of(AND, ANDS))) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.AND, ty));
-      } else if (findRR(behavior, List.of(OR, ORS))) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.OR, ty));
-      } else if (findRR_MultiplicationHigh(behavior, Set.of(SMULL, SMULLS))) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.MULHS, ty));
-      } else if (findRR_MultiplicationHigh(behavior, Set.of(UMULL, UMULLS))) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.MULHU, ty));
-      } else if (findRegisterImmediateOrImmediateRegister(behavior, List.of(OR, ORS))) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.ORI, ty));
-      } else if (findRR(behavior, List.of(XOR, XORS))) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.XOR, ty));
-      } else if (findRegisterImmediateOrImmediateRegister(behavior, List.of(XOR, XORS))) {
-        // Here is an exception:
-        // Usually, it is good enough to group RR and RI together.
-        // However, when generating alternative patterns for conditionals,
-        // then we need the XORI instruction. Therefore, we put it extra.
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.XORI, ty));
-      } else if (findRR_Mul(behavior, List.of(MUL, MULS, SMULL, SMULLS))) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.MUL, ty));
-      } else if (findRR(behavior, List.of(LSL, LSLS))) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.SLL, ty));
-      } else if (findRegisterImmediateOrImmediateRegister(behavior, List.of(LSL, LSLS))
-          /* the `hasNot` constraints are to differentiate between `SLLI` and `SLLIW` */
-          && hasNot(behavior, TruncateNode.class)
-          && hasNot(behavior, SignExtendNode.class)) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.SLLI, ty));
-      } else if (findRR(behavior, List.of(LSR, LSRS))) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.SRL, ty));
-      } else if (pc != null && findBranchWithConditional(behavior, EQU)) {
-        instruction.attachExtension(
-            new MachineInstructionCtx(MachineInstructionLabel.BEQ, Optional.empty()));
-      } else if (pc != null && findBranchWithConditional(behavior, NEQ)) {
-        instruction.attachExtension(
-            new MachineInstructionCtx(MachineInstructionLabel.BNEQ, Optional.empty()));
-      } else if (pc != null
-          && findBranchWithConditional(behavior, Set.of(SGEQ))) {
-        instruction.attachExtension(
-            new MachineInstructionCtx(MachineInstructionLabel.BSGEQ, Optional.empty()));
-      } else if (pc != null
-          && findBranchWithConditional(behavior, Set.of(UGEQ))) {
-        instruction.attachExtension(
-            new MachineInstructionCtx(MachineInstructionLabel.BUGEQ, Optional.empty()));
-      } else if (pc != null
-          && findBranchWithConditional(behavior, Set.of(SLEQ))) {
-        instruction.attachExtension(
-            new MachineInstructionCtx(MachineInstructionLabel.BSLEQ, Optional.empty()));
-      } else if (pc != null
-          && findBranchWithConditional(behavior, Set.of(ULEQ))) {
-        instruction.attachExtension(
-            new MachineInstructionCtx(MachineInstructionLabel.BULEQ, Optional.empty()));
-      } else if (pc != null
-          && findBranchWithConditional(behavior, Set.of(SLTH))) {
-        instruction.attachExtension(
-            new MachineInstructionCtx(MachineInstructionLabel.BSLTH, Optional.empty()));
-      } else if (pc != null
-          && findBranchWithConditional(behavior, Set.of(ULTH))) {
-        instruction.attachExtension(
-            new MachineInstructionCtx(MachineInstructionLabel.BULTH, Optional.empty()));
-      } else if (pc != null
-          && findBranchWithConditional(behavior, Set.of(SGTH))) {
-        instruction.attachExtension(
-            new MachineInstructionCtx(MachineInstructionLabel.BSGTH, Optional.empty()));
-      } else if (pc != null
-          && findBranchWithConditional(behavior, Set.of(UGTH))) {
-        instruction.attachExtension(
-            new MachineInstructionCtx(MachineInstructionLabel.BUGTH, Optional.empty()));
-      } else if (findRR(behavior, List.of(SLTH))) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.LTS, ty));
-      } else if (findRR(behavior, List.of(ULTH))) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.LTU, ty));
-      } else if (findRegisterImmediateOrImmediateRegister(behavior, List.of(SLTH))) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.LTI, ty));
-      } else if (findRegisterImmediateOrImmediateRegister(behavior, List.of(ULTH))) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.LTIU, ty));
-      } else if (findWriteMem(behavior)) {
-        instruction.attachExtension(
-            new MachineInstructionCtx(MachineInstructionLabel.STORE_MEM, ty));
-      } else if (findLoadMem(behavior)) {
-        instruction.attachExtension(
-            new MachineInstructionCtx(MachineInstructionLabel.LOAD_MEM, ty));
-      } else if (pc != null && findJalr(behavior, pc)) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.JALR, ty));
-      } else if (pc != null && findJal(behavior, pc)) {
-        instruction.attachExtension(new MachineInstructionCtx(MachineInstructionLabel.JAL, ty));
-      }
+      // The behavior is traversed once and all rules are checked against the index.
+      var index = BehaviorIndex.of(behavior, pc.registerRef());
+      classifier.classify(index).ifPresent(rule -> {
+        // Some are typed and some aren't.
+        // The reason is that most of the time we do not care because
+        // the instruction selection will figure out the types anyway.
+        // The raw cases where we need the type are typed like addition.
+        var ty = UNTYPED_LABELS.contains(rule.label()) ? Optional.<BitsType>empty()
+            : getType(index);
+        instruction.attachExtension(new MachineInstructionCtx(rule.label(), ty));
+      });
     });
 
     var labels = createLabelMap(viam);
     return new Result(labels, flipIsaMatching(labels));
   }
 
-  private Optional<BitsType> getType(UninlinedGraph behavior) {
+  private BehaviorClassifier<MachineInstructionLabel> createClassifier() {
+    var builder = BehaviorClassifier.<MachineInstructionLabel>builder()
+        .rule(MachineInstructionLabel.LUI, this::findLui)
+        .rule(MachineInstructionLabel.ADD_32, List.of(ADD), b -> findAdd(b, 32))
+        .rule(MachineInstructionLabel.ADD_64, List.of(ADD), b -> findAdd(b, 64))
+        .rule(MachineInstructionLabel.ADDI_32, List.of(ADD, ADDS),
+            b -> findAddWithImmediate(b, 32))
+        .rule(MachineInstructionLabel.ADDI_64, List.of(ADD, ADDS),
+            b -> findAddWithImmediate(b, 64));
+    registerOrImmediate(builder, MachineInstructionLabel.SDIV, List.of(SDIV, SDIVS));
+    registerOrImmediate(builder, MachineInstructionLabel.UDIV, List.of(UDIV, UDIVS));
+    registerOrImmediate(builder, MachineInstructionLabel.SMOD, List.of(SMOD, SMODS));
+    registerOrImmediate(builder, MachineInstructionLabel.UMOD, List.of(UMOD, UMODS));
+    registerOrImmediate(builder, MachineInstructionLabel.SUB, List.of(SUB));
+    registerOrImmediate(builder, MachineInstructionLabel.SUBB, List.of(SUBB, SUBSB));
+    registerOrImmediate(builder, MachineInstructionLabel.SUBC, List.of(SUBC, SUBSC));
+    registerOrImmediate(builder, MachineInstructionLabel.AND, List.of(AND, ANDS));
+    registerRegister(builder, MachineInstructionLabel.OR, List.of(OR, ORS));
+    builder
+        .rule(MachineInstructionLabel.MULHS, List.of(SMULL, SMULLS),
+            b -> findRR_MultiplicationHigh(b, List.of(SMULL, SMULLS)))
+        .rule(MachineInstructionLabel.MULHU, List.of(UMULL, UMULLS),
+            b -> findRR_MultiplicationHigh(b, List.of(UMULL, UMULLS)));
+    registerImmediate(builder, MachineInstructionLabel.ORI, List.of(OR, ORS));
+    registerRegister(builder, MachineInstructionLabel.XOR, List.of(XOR, XORS));
+    // Here is an exception:
+    // Usually, it is good enough to group RR and RI together.
+    // However, when generating alternative patterns for conditionals,
+    // then we need the XORI instruction. Therefore, we put it extra.
+    registerImmediate(builder, MachineInstructionLabel.XORI, List.of(XOR, XORS));
+    builder.rule(MachineInstructionLabel.MUL, List.of(MUL, MULS, SMULL, SMULLS),
+        b -> findRR_Mul(b, List.of(MUL, MULS, SMULL, SMULLS)));
+    registerRegister(builder, MachineInstructionLabel.SLL, List.of(LSL, LSLS));
+    builder.rule(MachineInstructionLabel.SLLI, List.of(LSL, LSLS),
+        b -> findRegisterImmediateOrImmediateRegister(b, List.of(LSL, LSLS))
+            /* the `has` constraints are to differentiate between `SLLI` and `SLLIW` */
+            && !b.has(TruncateNode.class)
+            && !b.has(SignExtendNode.class));
+    registerRegister(builder, MachineInstructionLabel.SRL, List.of(LSR, LSRS));
+    branch(builder, MachineInstructionLabel.BEQ, EQU);
+    branch(builder, MachineInstructionLabel.BNEQ, NEQ);
+    branch(builder, MachineInstructionLabel.BSGEQ, SGEQ);
+    branch(builder, MachineInstructionLabel.BUGEQ, UGEQ);
+    branch(builder, MachineInstructionLabel.BSLEQ, SLEQ);
+    branch(builder, MachineInstructionLabel.BULEQ, ULEQ);
+    branch(builder, MachineInstructionLabel.BSLTH, SLTH);
+    branch(builder, MachineInstructionLabel.BULTH, ULTH);
+    branch(builder, MachineInstructionLabel.BSGTH, SGTH);
+    branch(builder, MachineInstructionLabel.BUGTH, UGTH);
+    registerRegister(builder, MachineInstructionLabel.LTS, List.of(SLTH));
+    registerRegister(builder, MachineInstructionLabel.LTU, List.of(ULTH));
+    registerImmediate(builder, MachineInstructionLabel.LTI, List.of(SLTH));
+    registerImmediate(builder, MachineInstructionLabel.LTIU, List.of(ULTH));
+    return builder
+        .rule(MachineInstructionLabel.STORE_MEM, this::findWriteMem)
+        .rule(MachineInstructionLabel.LOAD_MEM, this::findLoadMem)
+        .rule(MachineInstructionLabel.JALR, List.of(ADD, ADDS, SUB),
+            b -> b.hasPc() && findJump(b, REGISTER_FILE))
+        .rule(MachineInstructionLabel.JAL, List.of(ADD, ADDS, SUB),
+            b -> b.hasPc() && findJump(b, PC))
+        .build();
+  }
+
+  private void registerOrImmediate(BehaviorClassifier.Builder<MachineInstructionLabel> builder,
+                                   MachineInstructionLabel label,
+                                   List<BuiltInTable.BuiltIn> builtins) {
+    builder.rule(label, builtins,
+        b -> findRegisterRegisterOrRegisterImmediateOrImmediateRegister(b, builtins));
+  }
+
+  private void registerRegister(BehaviorClassifier.Builder<MachineInstructionLabel> builder,
+                                MachineInstructionLabel label,
+                                List<BuiltInTable.BuiltIn> builtins) {
+    builder.rule(label, builtins, b -> findRR(b, builtins));
+  }
+
+  private void registerImmediate(BehaviorClassifier.Builder<MachineInstructionLabel> builder,
+                                 MachineInstructionLabel label,
+                                 List<BuiltInTable.BuiltIn> builtins) {
+    builder.rule(label, builtins, b -> findRegisterImmediateOrImmediateRegister(b, builtins));
+  }
+
+  private void branch(BehaviorClassifier.Builder<MachineInstructionLabel> builder,
+                      MachineInstructionLabel label,
+                      BuiltInTable.BuiltIn builtin) {
+    builder.rule(label, List.of(builtin),
+        b -> b.hasPc() && findBranchWithConditional(b, builtin));
+  }
+
+  private Optional<BitsType> getType(BehaviorIndex behavior) {
     var candidates =
         Stream.concat(
-                behavior.getNodes(WriteRegFileNode.class).map(x -> (DataType) x.value().type()),
+                behavior.nodes(WriteRegFileNode.class).stream()
+                    .map(x -> (DataType) x.value().type()),
                 Stream.concat(
-                    behavior.getNodes(WriteRegNode.class).map(x -> (DataType) x.value().type()),
+                    behavior.nodes(WriteRegNode.class).stream()
+                        .map(x -> (DataType) x.value().type()),
                     Stream.concat(
-                        behavior.getNodes(ReadRegNode.class).map(x -> x.register().resultType()),
-                        behavior.getNodes(ReadRegFileNode.class)
+                        behavior.nodes(ReadRegNode.class).stream()
+                            .map(x -> x.register().resultType()),
+                        behavior.nodes(ReadRegFileNode.class).stream()
                             .map(x -> x.registerFile().resultType())
                     )
                 )
@@ -327,43 +323,25 @@ public class IsaMachineInstructionMatchingPass extends Pass implements IsaMatchi
     }
   }
 
-  /**
-   * Checks that the given {@code behavior} has no node of type {@code nodeClass} in the
-   * graph.
-   */
-  private <T extends Node> boolean hasNot(UninlinedGraph behavior, Class<T> nodeClass) {
-    return behavior.getNodes(nodeClass).findAny().isEmpty();
-  }
-
-  private boolean findRR_Mul(UninlinedGraph behavior, List<BuiltInTable.BuiltIn> builtins) {
+  private boolean findRR_Mul(BehaviorIndex behavior, List<BuiltInTable.BuiltIn> builtins) {
     // There are two approaches:
     // (1) Cut the result
     // (2) Cut the inputs
-    return TreeMatcher.matches(behavior.getNodes(BuiltInCall.class).map(x -> x),
-            new BuiltInMatcher(builtins, List.of(
-                new AnyChildMatcher(new AnyReadRegFileMatcher()),
-                new AnyChildMatcher(new AnyReadRegFileMatcher())
-            )))
-        .stream()
-        .map(x -> (BuiltInCall) x)
+    return behavior.calls(builtins).stream()
+        .filter(x -> behavior.operands(x, REGISTER_FILE, REGISTER_FILE))
         .anyMatch(x -> x.usages().allMatch(y -> y instanceof TruncateNode)
             || x.arguments().stream().allMatch(arg -> arg instanceof TruncateNode)
-            || behavior.getNodes(TruncateNode.class).findAny().isEmpty()
+            || !behavior.has(TruncateNode.class)
         );
   }
 
-  private boolean findRR_MultiplicationHigh(UninlinedGraph behavior,
-                                            Set<BuiltInTable.BuiltIn> builtins) {
+  private boolean findRR_MultiplicationHigh(BehaviorIndex behavior,
+                                            List<BuiltInTable.BuiltIn> builtins) {
     // We need a multiplication which is defined in `builtins` and then a slice node
     // which gets the top part.
     return
-        TreeMatcher.matches(behavior.getNodes(BuiltInCall.class).map(x -> x),
-                new BuiltInMatcher(builtins, List.of(
-                    new AnyChildMatcher(new AnyReadRegFileMatcher()),
-                    new AnyChildMatcher(new AnyReadRegFileMatcher())
-                )))
-            .stream()
-            .map(x -> (BuiltInCall) x)
+        behavior.calls(builtins).stream()
+            .filter(x -> behavior.operands(x, REGISTER_FILE, REGISTER_FILE))
             .anyMatch(node -> {
               /*
                 Example: `ty` is `int128`
@@ -377,7 +355,7 @@ public class IsaMachineInstructionMatchingPass extends Pass implements IsaMatchi
                   usage -> usage instanceof SliceNode sliceNode
                       && sliceNode.bitSlice().lsb() == low
                       && sliceNode.bitSlice().msb() == high - 1);
-            }) && writesExactlyOneRegisterClass(behavior);
+            }) && behavior.writesExactlyOneRegisterClass();
   }
 
   @Override
@@ -398,34 +376,30 @@ public class IsaMachineInstructionMatchingPass extends Pass implements IsaMatchi
     });
   }
 
-  private boolean findLoadMem(UninlinedGraph graph) {
-    var writesRegFile = graph.getNodes(WriteRegFileNode.class).toList().size();
-    var writesReg = graph.getNodes(WriteRegNode.class).toList().size();
+  private boolean findLoadMem(BehaviorIndex behavior) {
+    var writesRegFile = behavior.count(WriteRegFileNode.class);
+    var writesReg = behavior.count(WriteRegNode.class);
 
     if ((writesRegFile == 1) == (writesReg == 1)) {
       return false;
     }
 
-    var matched = TreeMatcher.matches(
-        graph.getNodes(WriteResourceNode.class).map(x -> x),
-        new WriteResourceMatcherForValue(new AnyChildMatcher(new AnyReadMemMatcher())));
-
-    return !matched.isEmpty();
+    var matcher = new WriteResourceMatcherForValue(new AnyChildMatcher(new AnyReadMemMatcher()));
+    return behavior.nodes(WriteResourceNode.class).stream().anyMatch(matcher::matches);
   }
 
-  private boolean findWriteMem(UninlinedGraph graph) {
-    if (graph.getNodes(WriteMemNode.class).toList().size() != 1) {
+  private boolean findWriteMem(BehaviorIndex behavior) {
+    if (behavior.count(WriteMemNode.class) != 1) {
       return false;
     }
 
-    var matched = TreeMatcher.matches(graph.getNodes(WriteResourceNode.class).map(x -> x),
-        new WriteResourceMatcherForValue(new AnyChildMatcher(new AnyReadRegFileMatcher())));
-
-    return !matched.isEmpty();
+    var matcher =
+        new WriteResourceMatcherForValue(new AnyChildMatcher(new AnyReadRegFileMatcher()));
+    return behavior.nodes(WriteResourceNode.class).stream().anyMatch(matcher::matches);
   }
 
-  private boolean findLui(UninlinedGraph behavior) {
-    var fieldAccess = behavior.getNodes(FieldAccessRefNode.class).findFirst();
+  private boolean findLui(BehaviorIndex behavior) {
+    var fieldAccess = behavior.nodes(FieldAccessRefNode.class).stream().findFirst();
 
     if (fieldAccess.isPresent()) {
       var matched = TreeMatcher.matches(
@@ -443,141 +417,58 @@ public class IsaMachineInstructionMatchingPass extends Pass implements IsaMatchi
           .findFirst();
 
       return matched.isPresent()
-          && writesExactlyOneRegisterClass(behavior)
+          && behavior.writesExactlyOneRegisterClass()
           // does not access PC
-          && !hasAccessToPc(behavior);
+          && !behavior.readsCounter();
     }
 
     return false;
   }
 
-  private boolean hasAccessToPc(UninlinedGraph behavior) {
-    return behavior.getNodes(ReadRegNode.class).anyMatch(x -> x.staticCounterAccess() != null);
-  }
-
-  private boolean findAdd32Bit(UninlinedGraph behavior) {
-    return findAdd(behavior, 32);
-  }
-
-  private boolean findAdd64Bit(UninlinedGraph behavior) {
-    return findAdd(behavior, 64);
-  }
-
-  private boolean findAdd(UninlinedGraph behavior, int bitWidth) {
-    var matched = TreeMatcher.matches(behavior.getNodes(BuiltInCall.class).map(x -> x),
-            new BuiltInMatcher(ADD, List.of(
-                new AnyChildMatcher(new AnyReadRegFileMatcher()),
-                new AnyChildMatcher(new AnyReadRegFileMatcher())
-            )))
-        .stream()
-        .map(x -> ((BuiltInCall) x).type())
-        .filter(ty -> ty instanceof BitsType bi && bi.bitWidth() == bitWidth)
-        .findFirst();
-
-    return matched.isPresent()
-        && writesExactlyOneRegisterClassWithType(behavior, Type.bits(bitWidth));
-  }
+  private boolean findAdd(BehaviorIndex behavior, int bitWidth) {
+    var matched = behavior.calls(ADD).stream()
+        .filter(x -> behavior.operands(x, REGISTER_FILE, REGISTER_FILE))
+        .map(BuiltInCall::type)
+        .anyMatch(ty -> ty instanceof BitsType bi && bi.bitWidth() == bitWidth);
 
-  private boolean findAddWithImmediate32Bit(UninlinedGraph behavior) {
-    return findAddWithImmediate(behavior, 32);
+    return matched
+        && behavior.writesExactlyOneRegisterClassWithType(Type.bits(bitWidth));
   }
 
-  private boolean findAddWithImmediate64Bit(UninlinedGraph behavior) {
-    return findAddWithImmediate(behavior, 64);
-  }
+  private boolean findAddWithImmediate(BehaviorIndex behavior, int bitWidth) {
+    // The operands are commutative.
+    var matched = behavior.calls(List.of(ADD, ADDS)).stream()
+        .filter(x -> behavior.commutativeOperands(x, REGISTER_FILE, FIELD_ACCESS))
+        .map(BuiltInCall::type)
+        .anyMatch(ty -> ty instanceof BitsType bi && bi.bitWidth() == bitWidth);
 
-  private boolean findAddWithImmediate(UninlinedGraph behavior, int bitWidth) {
-    var matcher =
-        new BuiltInMatcher(List.of(ADD, ADDS),
-            List.of(new AnyChildMatcher(new AnyReadRegFileMatcher()),
-                new AnyChildMatcher(new FieldAccessRefMatcher())));
-
-    // We use a set because we want to allow commutativity.
-    Set<Matcher> matchers = Set.of(
-        matcher,
-        matcher.swapOperands()
-    );
-
-    var matched = TreeMatcher.matches(
-            () -> behavior.getNodes(BuiltInCall.class).map(x -> x), matchers)
-        .stream()
-        .map(x -> ((BuiltInCall) x).type())
-        .filter(ty -> ty instanceof BitsType && ((BitsType) ty).bitWidth() == bitWidth)
-        .findFirst();
-
-    return matched.isPresent()
-        && writesExactlyOneRegisterClassWithType(behavior, Type.bits(bitWidth));
+    return matched
+        && behavior.writesExactlyOneRegisterClassWithType(Type.bits(bitWidth));
   }
 
-  private boolean findBranchWithConditional(UninlinedGraph behavior,
+  private boolean findBranchWithConditional(BehaviorIndex behavior,
                                             BuiltInTable.BuiltIn builtin) {
-    return findBranchWithConditional(behavior, Set.of(builtin));
-  }
-
-  private boolean findBranchWithConditional(UninlinedGraph behavior,
-                                            Set<BuiltInTable.BuiltIn> builtins) {
     var hasCondition =
-        behavior.getNodes(IfNode.class)
+        behavior.nodes(IfNode.class).stream()
             .anyMatch(
-                x -> x.condition() instanceof BuiltInCall
-                    && builtins.contains(((BuiltInCall) x.condition()).builtIn()));
-    var writesPc = behavior.getNodes(WriteRegNode.class)
-        .anyMatch(x -> x.staticCounterAccess() != null);
+                x -> x.condition() instanceof BuiltInCall call
+                    && call.builtIn() == builtin);
 
-    return hasCondition && writesPc;
+    return hasCondition && behavior.writesCounter();
   }
 
   /**
-   * Match Jump and Link Register when {@link Instruction} writes PC, writes
-   * a register file and has an operation (ADD, SUB) where one input is a registerfile.
+   * Match Jump and Link (Register) when {@link Instruction} writes PC, writes
+   * a register file and has an operation (ADD, SUB) where one input is
+   * a register file ({@link BehaviorIndex.Operand#REGISTER_FILE}) or the PC
+   * ({@link BehaviorIndex.Operand#PC}).
    */
-  private boolean findJalr(UninlinedGraph behavior, Counter.RegisterCounter pcRegister) {
-    var writesPc =
-        behavior.getNodes(WriteRegNode.class)
-            .filter(x -> x.register().equals(pcRegister.registerRef()))
-            .toList();
-    var writesRegFile = behavior.getNodes(WriteRegFileNode.class).toList();
-
-    var matcher = new BuiltInMatcher(List.of(BuiltInTable.ADD, BuiltInTable.ADDS, SUB), List.of(
-        new AnyChildMatcher(new AnyReadRegFileMatcher()),
-        new AnyNodeMatcher()
-    ));
-    Set<Matcher> matchers = Set.of(
-        matcher,
-        matcher.swapOperands()
-    );
-
-    var inputRegister = TreeMatcher.matches(
-        () -> behavior.getNodes(BuiltInCall.class).map(x -> x),
-        matchers
-    );
-
-    return writesPc.size() == 1 && writesRegFile.size() == 1 && !inputRegister.isEmpty();
-  }
+  private boolean findJump(BehaviorIndex behavior, BehaviorIndex.Operand input) {
+    var inputRegister = behavior.calls(List.of(ADD, ADDS, SUB)).stream()
+        .anyMatch(x -> behavior.commutativeOperands(x, input, ANY));
 
-  /**
-   * Match Jump and Link when {@link Instruction} writes PC, writes
-   * a register file and has an operation (ADD, SUB) where one input is a PC.
-   */
-  private boolean findJal(UninlinedGraph behavior, Counter.RegisterCounter pcRegister) {
-    var writesPc =
-        behavior.getNodes(WriteRegNode.class)
-            .filter(x -> x.register().equals(pcRegister.registerRef()))
-            .toList();
-    var writesRegFile = behavior.getNodes(WriteRegFileNode.class).toList();
-
-    var matcher = new BuiltInMatcher(List.of(BuiltInTable.ADD, BuiltInTable.ADDS, SUB), List.of(
-        new AnyChildMatcher(new IsReadRegMatcher(pcRegister.registerRef())),
-        new AnyNodeMatcher()
-    ));
-    Set<Matcher> matchers = Set.of(
-        matcher,
-        matcher.swapOperands()
-    );
-    var inputRegister = TreeMatcher.matches(() -> behavior.getNodes(BuiltInCall.class).map(x -> x),
-        matchers
-    );
-
-    return writesPc.size() == 1 && writesRegFile.size() == 1 && !inputRegister.isEmpty();
+    return behavior.writesPcRegister() == 1
+        && behavior.count(WriteRegFileNode.class) == 1
+        && inputRegister;
   }
 }
@@ -16,37 +16,24 @@
 
 package vadl.gcb.passes;
 
+import static vadl.gcb.passes.BehaviorIndex.Operand.FIELD_ACCESS;
+import static vadl.gcb.passes.BehaviorIndex.Operand.REGISTER_FILE;
 import static vadl.viam.ViamError.ensureNonNull;
 
 import java.util.ArrayList;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import vadl.gcb.valuetypes.RelocationCtx;
 import vadl.gcb.valuetypes.RelocationFunctionLabel;
 import vadl.lcb.passes.isaMatching.IsaPseudoInstructionMatchingPass;
 import vadl.types.BuiltInTable;
-import vadl.types.Type;
 import vadl.viam.Instruction;
 import vadl.viam.PseudoInstruction;
-import vadl.viam.RegisterFile;
 import vadl.viam.Relocation;
 import vadl.viam.Specification;
-import vadl.viam.graph.dependency.BuiltInCall;
-import vadl.viam.graph.dependency.ReadMemNode;
-import vadl.viam.graph.dependency.WriteMemNode;
-import vadl.viam.graph.dependency.WriteRegFileNode;
-import vadl.viam.graph.dependency.WriteRegNode;
-import vadl.viam.matching.Matcher;
-import vadl.viam.matching.TreeMatcher;
-import vadl.viam.matching.impl.AnyChildMatcher;
-import vadl.viam.matching.impl.AnyReadRegFileMatcher;
-import vadl.viam.matching.impl.BuiltInMatcher;
-import vadl.viam.matching.impl.FieldAccessRefMatcher;
-import vadl.viam.passes.functionInliner.UninlinedGraph;
 
 /**
  * This interface contains methods which might be useful for
@@ -78,7 +65,7 @@ public interface IsaMatchingUtils {
    * children in the {@code behavior}.
    */
   default boolean findRegisterRegisterOrRegisterImmediateOrImmediateRegister(
-      UninlinedGraph behavior, BuiltInTable.BuiltIn builtin) {
+      BehaviorIndex behavior, BuiltInTable.BuiltIn builtin) {
     return findRR(behavior, List.of(builtin))
         || findRegisterImmediateOrImmediateRegister(behavior, List.of(builtin));
   }
@@ -89,7 +76,7 @@ public interface IsaMatchingUtils {
    * register-immediate as children in the {@code behavior}.
    */
   default boolean findRegisterRegisterOrRegisterImmediateOrImmediateRegister(
-      UninlinedGraph behavior, List<BuiltInTable.BuiltIn> builtins) {
+      BehaviorIndex behavior, List<BuiltInTable.BuiltIn> builtins) {
     return findRR(behavior, builtins)
         || findRegisterImmediateOrImmediateRegister(behavior, builtins);
   }
@@ -99,14 +86,10 @@ public interface IsaMatchingUtils {
    * {@link BuiltInTable.BuiltIn}.
    * Also, it must only write one register result.
    */
-  default boolean findRR(UninlinedGraph behavior, List<BuiltInTable.BuiltIn> builtins) {
-    var matched = TreeMatcher.matches(behavior.getNodes(BuiltInCall.class).map(x -> x),
-        new BuiltInMatcher(builtins, List.of(
-            new AnyChildMatcher(new AnyReadRegFileMatcher()),
-            new AnyChildMatcher(new AnyReadRegFileMatcher())
-        )));
-
-    return !matched.isEmpty() && writesExactlyOneRegisterClass(behavior);
+  default boolean findRR(BehaviorIndex behavior, List<BuiltInTable.BuiltIn> builtins) {
+    return behavior.calls(builtins).stream()
+        .anyMatch(call -> behavior.operands(call, REGISTER_FILE, REGISTER_FILE))
+        && behavior.writesExactlyOneRegisterClass();
   }
 
   /**
@@ -114,60 +97,11 @@ public interface IsaMatchingUtils {
    * {@link BuiltInTable.BuiltIn}. Looking for the operands is commutative.
    * Also, it must only write one register result.
    */
-  default boolean findRegisterImmediateOrImmediateRegister(UninlinedGraph behavior,
+  default boolean findRegisterImmediateOrImmediateRegister(BehaviorIndex behavior,
                                                            List<BuiltInTable.BuiltIn> builtins) {
-    var matcher = new BuiltInMatcher(builtins, List.of(
-        new AnyChildMatcher(new AnyReadRegFileMatcher()),
-        new AnyChildMatcher(new FieldAccessRefMatcher())
-    ));
-    Set<Matcher> matchers = Set.of(
-        matcher,
-        matcher.swapOperands()
-    );
-    var matched = TreeMatcher.matches(() -> behavior.getNodes(BuiltInCall.class).map(x -> x),
-        matchers
-    );
-
-    return !matched.isEmpty() && writesExactlyOneRegisterClass(behavior);
-  }
-
-  /**
-   * Return {@code true} if there is only one side effect which writes a {@link RegisterFile}.
-   */
-  default boolean writesExactlyOneRegisterClass(UninlinedGraph graph) {
-    var writesRegFiles = graph.getNodes(WriteRegFileNode.class).toList();
-    var writesReg = graph.getNodes(WriteRegNode.class).toList();
-    var writesMem = graph.getNodes(WriteMemNode.class).toList();
-    var readMem = graph.getNodes(ReadMemNode.class).toList();
-
-    if (writesRegFiles.size() != 1
-        || !writesReg.isEmpty()
-        || !writesMem.isEmpty()
-        || !readMem.isEmpty()) {
-      return false;
-    }
-
-    return true;
-  }
-
-  /**
-   * Return {@code true} if there is only one side effect which writes a {@link RegisterFile} with
-   * the given {@link Type} as result type for the {@link RegisterFile}.
-   */
-  default boolean writesExactlyOneRegisterClassWithType(UninlinedGraph graph, Type resultType) {
-    var writesRegFiles = graph.getNodes(WriteRegFileNode.class).toList();
-    var writesReg = graph.getNodes(WriteRegNode.class).toList();
-    var writesMem = graph.getNodes(WriteMemNode.class).toList();
-    var readMem = graph.getNodes(ReadMemNode.class).toList();
-
-    if (writesRegFiles.size() != 1
-        || !writesReg.isEmpty()
-        || !writesMem.isEmpty()
-        || !readMem.isEmpty()) {
-      return false;
-    }
-
-    return writesRegFiles.get(0).registerFile().resultType() == resultType;
+    return behavior.calls(builtins).stream()
+        .anyMatch(call -> behavior.commutativeOperands(call, REGISTER_FILE, FIELD_ACCESS))
+        && behavior.writesExactlyOneRegisterClass();
   }
 
   /**
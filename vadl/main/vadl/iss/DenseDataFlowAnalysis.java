@@ -0,0 +1,321 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.iss;
+
+import static vadl.utils.GraphUtils.getSingleNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import vadl.viam.graph.Graph;
+import vadl.viam.graph.control.AbstractEndNode;
+import vadl.viam.graph.control.ControlNode;
+import vadl.viam.graph.control.MergeNode;
+import vadl.viam.graph.control.StartNode;
+
+/**
+ * A data flow analysis over a control flow graph (CFG) whose values are sets of a
+ * fixed universe of elements (e.g. variables or control nodes).
+ *
+ * <p>The control nodes are numbered in reverse postorder and each element of the universe
+ * has a dense index, so the sets are stored as {@code long[]} bit sets.
+ * The analysis visits the nodes in reverse postorder (forward) or postorder (backward)
+ * until no value changes anymore, which is a single pass for the acyclic
+ * instruction behaviors.
+ * Subclasses define the universe, the boundary value and the transfer function.</p>
+ *
+ * <p>The end of a branch flows into the {@link MergeNode} that uses it.</p>
+ */
+public abstract class DenseDataFlowAnalysis {
+
+  // control nodes in reverse postorder
+  private final List<ControlNode> nodes = new ArrayList<>();
+  private final Map<ControlNode, Integer> nodeIndices = new HashMap<>();
+  private int[][] predecessors = new int[0][];
+  private int[][] successors = new int[0][];
+
+  private int words;
+  // the IN and OUT set of each node, stored one after another
+  private long[] inValues = new long[0];
+  private long[] outValues = new long[0];
+
+  /**
+   * Performs the data flow analysis on the given control flow graph.
+   *
+   * @param cfg The control flow graph to analyze.
+   */
+  public void analyze(Graph cfg) {
+    // an instance may analyze several graphs one after another
+    nodes.clear();
+    nodeIndices.clear();
+    numberNodes(getSingleNode(cfg, StartNode.class));
+    words = wordsFor(universeSize());
+    inValues = new long[nodes.size() * words];
+    outValues = new long[nodes.size() * words];
+
+    var initial = new long[words];
+    if (!isMayAnalysis()) {
+      // a must analysis starts at the top element (all set)
+      fill(initial, universeSize());
+    }
+    for (int node = 0; node < nodes.size(); node++) {
+      System.arraycopy(initial, 0, inValues, node * words, words);
+      System.arraycopy(initial, 0, outValues, node * words, words);
+    }
+
+    var value = new long[words];
+    var changed = true;
+    while (changed) {
+      changed = false;
+      for (int i = 0; i < nodes.size(); i++) {
+        var node = isForward() ? i : nodes.size() - 1 - i;
+        var edges = isForward() ? predecessors[node] : successors[node];
+        meet(edges, isForward() ? outValues : inValues, value);
+        changed |= store(isForward() ? inValues : outValues, node, value);
+        transfer(nodes.get(node), value);
+        changed |= store(isForward() ? outValues : inValues, node, value);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of elements in the universe of the analyzed sets.
+   * It is called after the control nodes were numbered.
+   */
+  protected abstract int universeSize();
+
+  /**
+   * Sets the value that flows into the start node (forward)
+   * or out of an end node without successor (backward).
+   *
+   * @param value The empty set to fill.
+   */
+  protected abstract void boundary(long[] value);
+
+  /**
+   * The transfer function for a node, applying the kill/gen effects in place.
+   *
+   * @param node  The node to apply the transfer function to.
+   * @param value The input value, which gets replaced by the output value.
+   */
+  protected abstract void transfer(ControlNode node, long[] value);
+
+  /**
+   * Determines if the analysis is a forward analysis.
+   *
+   * @return {@code true} if the analysis is forward; {@code false} if backward.
+   */
+  protected abstract boolean isForward();
+
+  /**
+   * Determines if the analysis is a may analysis.
+   * The meet of a may analysis is the union, of a must analysis the intersection.
+   *
+   * @return {@code true} if the analysis is a may analysis; {@code false} if must.
+   */
+  protected abstract boolean isMayAnalysis();
+
+  /**
+   * Returns the control nodes in reverse postorder.
+   * The index of a node in this list is its dense index.
+   */
+  protected final List<ControlNode> nodes() {
+    return Collections.unmodifiableList(nodes);
+  }
+
+  /**
+   * Returns the dense index of the given control node.
+   */
+  protected final int indexOf(ControlNode node) {
+    var index = nodeIndices.get(node);
+    node.ensure(index != null, "Node is not reachable from the start node");
+    return index;
+  }
+
+  /**
+   * Returns a copy of the IN set of the given node.
+   * The set of a node that is not reachable from the start node is empty.
+   */
+  public final long[] inValue(ControlNode node) {
+    return valueOf(inValues, node);
+  }
+
+  /**
+   * Returns a copy of the OUT set of the given node.
+   * The set of a node that is not reachable from the start node is empty.
+   */
+  public final long[] outValue(ControlNode node) {
+    return valueOf(outValues, node);
+  }
+
+  private long[] valueOf(long[] values, ControlNode node) {
+    var index = nodeIndices.get(node);
+    if (index == null) {
+      return new long[words];
+    }
+    return Arrays.copyOfRange(values, index * words, (index + 1) * words);
+  }
+
+  /**
+   * Returns the number of {@code long} words required for a set of the given size.
+   */
+  public static int wordsFor(int size) {
+    return (size + 63) >>> 6;
+  }
+
+  /**
+   * Adds the element to the set.
+   */
+  public static void set(long[] set, int element) {
+    set[element >>> 6] |= 1L << element;
+  }
+
+  /**
+   * Removes the element from the set.
+   */
+  public static void clear(long[] set, int element) {
+    set[element >>> 6] &= ~(1L << element);
+  }
+
+  /**
+   * Checks if the element is contained in the set.
+   */
+  public static boolean get(long[] set, int element) {
+    return (set[element >>> 6] & (1L << element)) != 0;
+  }
+
+  /**
+   * Returns the next element of the set that is greater than or equal to {@code from},
+   * or -1 if there is none.
+   */
+  public static int nextSetBit(long[] set, int from) {
+    int word = from >>> 6;
+    if (word >= set.length) {
+      return -1;
+    }
+    long bits = set[word] & (-1L << from);
+    while (true) {
+      if (bits != 0) {
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+      }
+      if (++word == set.length) {
+        return -1;
+      }
+      bits = set[word];
+    }
+  }
+
+  private static void fill(long[] set, int size) {
+    Arrays.fill(set, -1L);
+    if (size % 64 != 0) {
+      set[set.length - 1] = (1L << size) - 1;
+    }
+  }
+
+  private void meet(int[] edges, long[] values, long[] result) {
+    if (edges.length == 0) {
+      Arrays.fill(result, 0);
+      boundary(result);
+      return;
+    }
+    System.arraycopy(values, edges[0] * words, result, 0, words);
+    for (int e = 1; e < edges.length; e++) {
+      var offset = edges[e] * words;
+      for (int w = 0; w < words; w++) {
+        result[w] = isMayAnalysis()
+            ? result[w] | values[offset + w]
+            : result[w] & values[offset + w];
+      }
+    }
+  }
+
+  private boolean store(long[] values, int node, long[] value) {
+    var offset = node * words;
+    if (Arrays.equals(values, offset, offset + words, value, 0, words)) {
+      return false;
+    }
+    System.arraycopy(value, 0, values, offset, words);
+    return true;
+  }
+
+  /**
+   * Numbers all control nodes reachable from the start node in reverse postorder
+   * and records the edges by index.
+   */
+  private void numberNodes(StartNode start) {
+    var postorder = new ArrayList<ControlNode>();
+    var visited = new HashSet<ControlNode>();
+    // iterative depth-first search, the stack holds the node and its remaining successors
+    var stack = new ArrayDeque<Map.Entry<ControlNode, ArrayDeque<ControlNode>>>();
+    visited.add(start);
+    stack.push(Map.entry(start, new ArrayDeque<>(successorsOf(start))));
+    while (!stack.isEmpty()) {
+      var top = stack.peek();
+      var next = top.getValue().poll();
+      if (next == null) {
+        postorder.add(top.getKey());
+        stack.pop();
+      } else if (visited.add(next)) {
+        stack.push(Map.entry(next, new ArrayDeque<>(successorsOf(next))));
+      }
+    }
+
+    Collections.reverse(postorder);
+    nodes.addAll(postorder);
+    for (int i = 0; i < nodes.size(); i++) {
+      nodeIndices.put(nodes.get(i), i);
+    }
+
+    predecessors = new int[nodes.size()][];
+    successors = new int[nodes.size()][];
+    for (int i = 0; i < nodes.size(); i++) {
+      successors[i] = indicesOf(successorsOf(nodes.get(i)));
+      predecessors[i] = indicesOf(predecessorsOf(nodes.get(i)));
+    }
+  }
+
+  private int[] indicesOf(List<ControlNode> nodes) {
+    return nodes.stream()
+        .filter(nodeIndices::containsKey)
+        .mapToInt(nodeIndices::get)
+        .distinct()
+        .toArray();
+  }
+
+  private static List<ControlNode> predecessorsOf(ControlNode node) {
+    if (node instanceof MergeNode mergeNode) {
+      return mergeNode.inputs().map(ControlNode.class::cast).toList();
+    }
+    return node.predecessor() instanceof ControlNode pred ? List.of(pred) : List.of();
+  }
+
+  private static List<ControlNode> successorsOf(ControlNode node) {
+    if (node instanceof AbstractEndNode) {
+      // the end of a branch continues at its merge node
+      return node.usages()
+          .filter(MergeNode.class::isInstance)
+          .map(ControlNode.class::cast)
+          .toList();
+    }
+    return node.successors().map(ControlNode.class::cast).toList();
+  }
+}
@@ -69,7 +69,9 @@ public class IssTranslateCodeGenerator implements
   public IssTranslateCodeGenerator(Instruction instr,
                                    IssConfiguration configuration) {
     this.insn = instr;
-    this.generateInsnCount = configuration.isInsnCounting();
+    // in the translation block mode, the instructions are counted by translate.c
+    this.generateInsnCount =
+        configuration.insnCountMode() == IssConfiguration.InsnCountMode.INSTRUCTION;
     this.builder = new StringBuilder();
     this.targetName = configuration.targetName();
     this.ctx = new CNodeContext(
@@ -97,9 +97,11 @@ public class IssNormalizationPass extends AbstractIssPass {
     var issConfig = (IssConfiguration) configuration();
 
     viam.isa().get().ownInstructions()
-        .forEach(instruction -> new IssNormalizer(instruction.behavior(),
-            issConfig.targetSize().width)
-            .run());
+        .forEach(instruction -> {
+          new IssNormalizer(instruction.behavior(), issConfig.targetSize().width)
+              .run();
+          instruction.behavior().compact();
+        });
     return null;
   }
 }
@@ -20,16 +20,19 @@ import static java.util.Objects.requireNonNull;
 import static vadl.utils.GraphUtils.getSingleNode;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import vadl.configuration.IssConfiguration;
-import vadl.iss.DataFlowAnalysis;
+import vadl.iss.DenseDataFlowAnalysis;
 import vadl.iss.passes.nodes.TcgVRefNode;
 import vadl.iss.passes.tcgLowering.TcgCtx;
 import vadl.iss.passes.tcgLowering.TcgV;
@@ -37,6 +40,8 @@ import vadl.iss.passes.tcgLowering.nodes.TcgGetVar;
 import vadl.iss.passes.tcgLowering.nodes.TcgNode;
 import vadl.pass.PassName;
 import vadl.pass.PassResults;
+import vadl.pass.PerDefinitionPass;
+import vadl.viam.Instruction;
 import vadl.viam.RegisterFile;
 import vadl.viam.Specification;
 import vadl.viam.ViamError;
@@ -68,7 +73,8 @@ import vadl.viam.graph.control.StartNode;
  * The primary goal is to maximize the reuse of written registers,
  * reducing unnecessary temporary allocations.</p>
  */
-public class IssTcgVAllocationPass extends AbstractIssPass {
+public class IssTcgVAllocationPass extends AbstractIssPass
+    implements PerDefinitionPass<Instruction, Void> {
 
   public IssTcgVAllocationPass(IssConfiguration configuration) {
     super(configuration);
@@ -82,18 +88,22 @@ public class IssTcgVAllocationPass extends AbstractIssPass {
   @Override
   public @Nullable Object execute(PassResults passResults, Specification viam)
       throws IOException {
+    return executePerDefinition(passResults, viam, null);
+  }
 
-    var skipOptimization = configuration().isSkip(IssConfiguration.IssOptsToSkip.OPT_VAR_ALLOC);
+  @Override
+  public List<Instruction> definitions(Specification viam) {
+    return viam.isa().map(isa -> isa.ownInstructions()).orElse(List.of());
+  }
 
-    // Process each instruction in the ISA
-    viam.isa().ifPresent(isa -> isa.ownInstructions()
-        .forEach(instr ->
-            // Allocate variables for the instruction's behavior
-            new IssVariableAllocator(instr.behavior(),
-                instr.expectExtension(TcgCtx.class).assignment()
-            )
-                .assignFinalVariables(!skipOptimization)
-        ));
+  @Override
+  public @Nullable Void executeOn(Instruction instr, PassResults passResults) {
+    var skipOptimization = configuration().isSkip(IssConfiguration.IssOptsToSkip.OPT_VAR_ALLOC);
+    // Allocate variables for the instruction's behavior
+    new IssVariableAllocator(instr.behavior(),
+        instr.expectExtension(TcgCtx.class).assignment()
+    )
+        .assignFinalVariables(!skipOptimization);
     return null;
   }
 }
@@ -128,7 +138,7 @@ class IssVariableAllocator {
                               TcgCtx.Assignment ssaAssignments) {
     this.graph = graph;
     this.startNode = getSingleNode(graph, StartNode.class);
-    this.livenessAnalysis = new LivenessAnalysis(ssaAssignments);
+    this.livenessAnalysis = new LivenessAnalysis(graph, ssaAssignments);
     this.allocationMap = new HashMap<>();
   }
 
@@ -245,17 +255,15 @@ class IssVariableAllocator {
    * @return The interference graph representing variable interferences.
    */
   private InterferenceGraph buildInterferenceGraph() {
-    InterferenceGraph infGraph = new InterferenceGraph();
+    InterferenceGraph infGraph = new InterferenceGraph(livenessAnalysis.variables());
 
     for (var node : graph.getNodes(TcgNode.class).toList()) {
-      Set<TcgVRefNode> liveOut = livenessAnalysis.getOutValue(node);
+      long[] liveOut = livenessAnalysis.outValue(node);
 
       // For each variable defined at this node, it interferes with all variables live-out
       var defs = node.definedVars();
       for (var def : defs) {
-        for (var live : liveOut) {
-          infGraph.addEdge(def, live);
-        }
+        infGraph.addEdges(def, liveOut);
       }
     }
 
@@ -289,14 +297,21 @@ class IssVariableAllocator {
  * that are live-in and live-out.
  * It helps in building the interference graph by identifying variables
  * that are live simultaneously.
+ * The sets contain the dense indices of the {@link #variables()}.
  */
 // TODO: Check if the tempassignmets is enough here (look at IssMulhNode)
-class LivenessAnalysis extends DataFlowAnalysis<Set<TcgVRefNode>> {
+class LivenessAnalysis extends DenseDataFlowAnalysis {
 
+  private final Graph graph;
   private final TcgCtx.Assignment tempAssignments;
   private final Map<RegisterFile, List<TcgVRefNode>> registerFileVars;
 
-  public LivenessAnalysis(TcgCtx.Assignment tempAssignments) {
+  private final List<TcgVRefNode> variables = new ArrayList<>();
+  private final Map<TcgVRefNode, Integer> variableIndices = new HashMap<>();
+  private long[] endFlow = new long[0];
+
+  public LivenessAnalysis(Graph graph, TcgCtx.Assignment tempAssignments) {
+    this.graph = graph;
     this.tempAssignments = tempAssignments;
     // collect all registerFileVariables to their respective registerFile
     this.registerFileVars = tempAssignments.tcgVariables()
@@ -305,33 +320,61 @@ class LivenessAnalysis extends DataFlowAnalysis<Set<TcgVRefNode>> {
             v -> (RegisterFile) requireNonNull(v.var().registerOrFile())));
   }
 
+  /**
+   * Returns all variables of the analysis, ordered by their dense index.
+   */
+  List<TcgVRefNode> variables() {
+    return variables;
+  }
+
   @Override
-  protected Set<TcgVRefNode> initialFlow() {
-    return new HashSet<>();
+  protected int universeSize() {
+    // number all variables of the behavior and the assignment
+    tempAssignments.tcgVariables().forEach(this::indexOf);
+    graph.getNodes(TcgVRefNode.class).forEach(this::indexOf);
+    endFlow = initialEndFlow();
+    return variables.size();
+  }
+
+  private int indexOf(TcgVRefNode variable) {
+    return variableIndices.computeIfAbsent(variable, v -> {
+      variables.add(v);
+      return variables.size() - 1;
+    });
   }
 
   @Override
-  protected Set<TcgVRefNode> meet(Set<Set<TcgVRefNode>> values) {
-    // union of all incoming sets
-    var result = new HashSet<TcgVRefNode>();
-    for (var value : values) {
-      result.addAll(value);
-    }
-    return result;
+  protected void boundary(long[] value) {
+    // nothing is live after the end of the behavior, see initialEndFlow()
   }
 
   @Override
-  protected Set<TcgVRefNode> transferFunction(ControlNode node, Set<TcgVRefNode> input) {
+  protected void transfer(ControlNode node, long[] value) {
     if (node instanceof InstrEndNode) {
-      return initialEndFlow();
+      System.arraycopy(endFlow, 0, value, 0, value.length);
+      return;
+    }
+    if (!(node instanceof TcgNode tcgNode)) {
+      return;
     }
 
-    var output = new HashSet<>(input);
     // Apply kill: remove variables that are defined in this node
-    output.removeAll(defineVariables(node));
+    for (var def : tcgNode.definedVars()) {
+      clear(value, indexOf(def));
+    }
     // Apply gen: add variables that are used in this node
-    output.addAll(usedVariables(node));
-    return output;
+    for (var used : tcgNode.usedVars()) {
+      set(value, indexOf(used));
+      // however, if those variables are register files
+      // all variables of the same register file must be considered also used
+      // as the concrete register file index is not known
+      if (used.var().kind() == TcgV.Kind.REG_FILE) {
+        var regFile = (RegisterFile) used.var().registerOrFile();
+        for (var regFileVar : requireNonNull(registerFileVars.get(regFile))) {
+          set(value, indexOf(regFileVar));
+        }
+      }
+    }
   }
 
   /**
@@ -342,17 +385,18 @@ class LivenessAnalysis extends DataFlowAnalysis<Set<TcgVRefNode>> {
    *
    * @return The set of variables assumed to be live at the end of the instruction.
    */
-  private Set<TcgVRefNode> initialEndFlow() {
+  private long[] initialEndFlow() {
     // We have to assume that all registers and register files are used
     // after this instruciton. Thus we have to set them used at the end of the instruction.
     // We also use constants at the end, so they can't be reassigned
-    var endFlow = tempAssignments.tcgVariables()
+    var flow = new long[wordsFor(variables.size())];
+    tempAssignments.tcgVariables()
         .filter(v ->
             v.var().kind() == TcgV.Kind.REG
                 || v.var().kind() == TcgV.Kind.REG_FILE
                 || v.var().kind() == TcgV.Kind.CONST
-        ).collect(Collectors.toSet());
-    return endFlow;
+        ).forEach(v -> set(flow, indexOf(v)));
+    return flow;
   }
 
   @Override
@@ -367,47 +411,6 @@ class LivenessAnalysis extends DataFlowAnalysis<Set<TcgVRefNode>> {
     return true;
   }
 
-  /**
-   * Retrieves the set of variables defined at the given node.
-   *
-   * @param node The control node to analyze.
-   * @return The set of variables defined at the node.
-   */
-  private List<TcgVRefNode> defineVariables(ControlNode node) {
-    if (!(node instanceof TcgNode tcgNode)) {
-      return List.of();
-    }
-    return tcgNode.definedVars();
-  }
-
-  /**
-   * Retrieves the set of variables used at the given node.
-   *
-   * @param node The control node to analyze.
-   * @return The set of variables used at the node.
-   */
-  private List<TcgVRefNode> usedVariables(ControlNode node) {
-    if (!(node instanceof TcgNode tcgNode)) {
-      return List.of();
-    }
-
-    // get variables
-    var directlyUsedVars = new HashSet<>(tcgNode.usedVars());
-    for (var usedVar : directlyUsedVars.stream().toList()) {
-      if (usedVar.var().kind() == TcgV.Kind.REG_FILE) {
-        var regFile = (RegisterFile) usedVar.var().registerOrFile();
-        directlyUsedVars.addAll(registerFileVars.get(regFile));
-      }
-    }
-
-
-    // however, if those variables are register files
-    // all variables of the same register file must be considered also used
-    // as the concrete register file index is not known
-
-    return directlyUsedVars.stream().toList();
-  }
-
 }
 
 /**
@@ -417,16 +420,32 @@ class LivenessAnalysis extends DataFlowAnalysis<Set<TcgVRefNode>> {
  * <p>An interference graph models conflicts between variables where each node is a variable,
  * and an edge indicates that two variables interfere with each other
  * (i.e., they are live at the same time and cannot share a register).
+ * The edges are stored in a bit matrix over the dense variable indices of the
+ * {@link LivenessAnalysis}.
  */
 class InterferenceGraph {
 
-  private Map<TcgVRefNode, Set<TcgVRefNode>> adjacencyList;
+  private final List<TcgVRefNode> variables;
+  private final Map<TcgVRefNode, Integer> indices = new HashMap<>();
+  private final int words;
+  // row i holds the variables that interfere with variable i
+  private final long[] matrix;
+  // the variables that have at least one edge
+  private final long[] present;
 
   /**
-   * Constructs an empty interference graph.
+   * Constructs an empty interference graph over the given variables.
+   *
+   * @param variables The variables ordered by their dense index.
    */
-  public InterferenceGraph() {
-    this.adjacencyList = new HashMap<>();
+  public InterferenceGraph(List<TcgVRefNode> variables) {
+    this.variables = variables;
+    for (int i = 0; i < variables.size(); i++) {
+      indices.put(variables.get(i), i);
+    }
+    this.words = DenseDataFlowAnalysis.wordsFor(variables.size());
+    this.matrix = new long[variables.size() * words];
+    this.present = new long[words];
   }
 
   /**
@@ -436,8 +455,34 @@ class InterferenceGraph {
    * @param v2 The second variable.
    */
   public void addEdge(TcgVRefNode v1, TcgVRefNode v2) {
-    adjacencyList.computeIfAbsent(v1, k -> new HashSet<>()).add(v2);
-    adjacencyList.computeIfAbsent(v2, k -> new HashSet<>()).add(v1);
+    addEdge(indexOf(v1), indexOf(v2));
+  }
+
+  /**
+   * Adds an edge between the variable and all variables in the given set.
+   *
+   * @param variable The variable.
+   * @param others   The set of variable indices.
+   */
+  public void addEdges(TcgVRefNode variable, long[] others) {
+    var index = indexOf(variable);
+    for (int other = DenseDataFlowAnalysis.nextSetBit(others, 0); other >= 0;
+         other = DenseDataFlowAnalysis.nextSetBit(others, other + 1)) {
+      addEdge(index, other);
+    }
+  }
+
+  private void addEdge(int v1, int v2) {
+    matrix[v1 * words + (v2 >>> 6)] |= 1L << v2;
+    matrix[v2 * words + (v1 >>> 6)] |= 1L << v1;
+    DenseDataFlowAnalysis.set(present, v1);
+    DenseDataFlowAnalysis.set(present, v2);
+  }
+
+  private int indexOf(TcgVRefNode variable) {
+    var index = indices.get(variable);
+    variable.ensure(index != null, "Variable is not known by the liveness analysis");
+    return index;
   }
 
   /**
@@ -447,24 +492,38 @@ class InterferenceGraph {
    * @return The set of interfering variables.
    */
   public Set<TcgVRefNode> getInterferences(TcgVRefNode variable) {
-    return adjacencyList.getOrDefault(variable, new HashSet<>());
+    var index = indices.get(variable);
+    if (index == null) {
+      return Set.of();
+    }
+    var row = Arrays.copyOfRange(matrix, index * words, (index + 1) * words);
+    return variablesOf(row);
   }
 
   /**
    * Retrieves all variables in the interference graph.
    *
-   * @return A set of all variables in the graph.
+   * @return A set of all variables in the graph, ordered by their index.
    */
   public Set<TcgVRefNode> getVariables() {
-    return adjacencyList.keySet();
+    return variablesOf(present);
+  }
+
+  private Set<TcgVRefNode> variablesOf(long[] set) {
+    var result = new LinkedHashSet<TcgVRefNode>();
+    for (int i = DenseDataFlowAnalysis.nextSetBit(set, 0); i >= 0;
+         i = DenseDataFlowAnalysis.nextSetBit(set, i + 1)) {
+      result.add(variables.get(i));
+    }
+    return result;
   }
 
   @Override
   public String toString() {
     StringBuilder sb = new StringBuilder();
-    for (Map.Entry<TcgVRefNode, Set<TcgVRefNode>> entry : adjacencyList.entrySet()) {
-      sb.append(entry.getKey()).append(" -> ")
-          .append(entry.getValue()).append("\n");
+    for (var variable : getVariables()) {
+      sb.append(variable).append(" -> ")
+          .append(getInterferences(variable)).append("\n");
     }
     return sb.toString();
   }
@@ -495,7 +554,7 @@ class GraphColoring {
    * Colors the graph using a simple heuristic algorithm.
    */
   public void colorGraph() {
-    var uncoloredVariables = new HashSet<>(graph.getVariables());
+    var uncoloredVariables = new LinkedHashSet<>(graph.getVariables());
 
     while (!uncoloredVariables.isEmpty()) {
       var variable = selectVariable(uncoloredVariables);
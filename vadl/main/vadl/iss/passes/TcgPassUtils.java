@@ -46,7 +46,7 @@ public class TcgPassUtils {
     } else if (expr instanceof ConstantNode constantNode) {
       return constantNode.constant().asVal().asString("0x", 16, false);
     } else {
-      return "n" + expr.id;
+      return "n" + expr.id();
     }
   }
 
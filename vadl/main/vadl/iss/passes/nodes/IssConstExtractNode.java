@@ -17,15 +17,21 @@
 package vadl.iss.passes.nodes;
 
 import java.util.List;
+import java.util.function.Consumer;
 import vadl.iss.passes.opDecomposition.nodes.IssExprNode;
 import vadl.iss.passes.tcgLowering.TcgExtend;
 import vadl.javaannotations.viam.DataValue;
 import vadl.javaannotations.viam.Input;
 import vadl.types.DataType;
+import vadl.types.Type;
+import vadl.viam.Constant;
 import vadl.viam.graph.GraphNodeVisitor;
 import vadl.viam.graph.GraphVisitor;
 import vadl.viam.graph.Node;
 import vadl.viam.graph.dependency.ExpressionNode;
+import vadl.viam.interpreter.BehaviorInterpreter;
+import vadl.viam.interpreter.Interpretable;
+import vadl.viam.interpreter.MachineState;
 
 /**
  * An ISS-specific expression node that extracts the {@code fromWidth} lowest significant bits
@@ -34,7 +40,7 @@ import vadl.viam.graph.dependency.ExpressionNode;
  * It is used by the ISS to lift/normalize the types to 32 or 64 bit, which is necessary
  * to ensure correct functionality in QEMU.
  */
-public class IssConstExtractNode extends IssExprNode {
+public class IssConstExtractNode extends IssExprNode implements Interpretable {
 
   @Input
   private ExpressionNode value;
@@ -113,6 +119,16 @@ public class IssConstExtractNode extends IssExprNode {
     return (DataType) super.type();
   }
 
+  @Override
+  public Constant interpret(BehaviorInterpreter.Frame frame) {
+    var extracted = MachineState.fit(frame.value(value), Type.bits(fromWidth));
+    var target = Type.bits(toWidth);
+    if (isTruncate()) {
+      return extracted.truncate(target);
+    }
+    return isSigned() ? extracted.signExtend(target) : extracted.zeroExtend(target);
+  }
+
   @Override
   public IssConstExtractNode copy() {
     return new IssConstExtractNode(value.copy(), extendMode, fromWidth, toWidth, type());
@@ -142,6 +158,12 @@ public class IssConstExtractNode extends IssExprNode {
     collection.add(value);
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    action.accept(value);
+  }
+
   @Override
   protected void applyOnInputsUnsafe(GraphVisitor.Applier<Node> visitor) {
     super.applyOnInputsUnsafe(visitor);
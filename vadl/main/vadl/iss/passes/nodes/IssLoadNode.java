@@ -21,13 +21,19 @@ import vadl.iss.passes.tcgLowering.TcgExtend;
 import vadl.iss.passes.tcgLowering.Tcg_8_16_32_64;
 import vadl.javaannotations.viam.DataValue;
 import vadl.types.DataType;
+import vadl.viam.Constant;
+import vadl.viam.graph.Node;
+import vadl.viam.graph.dependency.ExpressionNode;
 import vadl.viam.graph.dependency.ReadMemNode;
+import vadl.viam.interpreter.BehaviorInterpreter;
+import vadl.viam.interpreter.Interpretable;
+import vadl.viam.interpreter.MachineState;
 
 /**
  * A lowering of the {@link ReadMemNode} that holds the tcg extend mode as well as
  * the load size.
  */
-public class IssLoadNode extends ReadMemNode {
+public class IssLoadNode extends ReadMemNode implements Interpretable {
 
   @DataValue
   private final TcgExtend tcgExtend;
@@ -57,6 +63,27 @@ public class IssLoadNode extends ReadMemNode {
     return tcgExtend;
   }
 
+  @Override
+  public Constant interpret(BehaviorInterpreter.Frame frame) {
+    var loaded = frame.readMemory(memory(), words(), frame.value(address()));
+    var target = type();
+    if (loaded.type().bitWidth() < target.bitWidth()) {
+      return tcgExtend == TcgExtend.SIGN
+          ? loaded.signExtend(target) : loaded.zeroExtend(target);
+    }
+    return MachineState.fit(loaded, target);
+  }
+
+  @Override
+  public ExpressionNode copy() {
+    return new IssLoadNode((ReadMemNode) super.copy(), tcgExtend, loadSize, type());
+  }
+
+  @Override
+  public Node shallowCopy() {
+    return new IssLoadNode(this, tcgExtend, loadSize, type());
+  }
+
   @Override
   protected void collectData(List<Object> collection) {
     super.collectData(collection);
@@ -18,17 +18,20 @@ package vadl.iss.passes.nodes;
 
 import java.util.List;
 import vadl.javaannotations.viam.DataValue;
+import vadl.viam.Constant;
 import vadl.viam.Register;
 import vadl.viam.graph.GraphNodeVisitor;
 import vadl.viam.graph.Node;
 import vadl.viam.graph.dependency.ExpressionNode;
+import vadl.viam.interpreter.BehaviorInterpreter;
+import vadl.viam.interpreter.Interpretable;
 
 /**
  * Represents a static program counter (PC) register in an expression tree.
  * In the TCG generation context, we can get the current PC from {@code ctx->pc_curr},
  * so a read to the PC cpu register (TCGv) is not necessary.
  */
-public class IssStaticPcRegNode extends ExpressionNode {
+public class IssStaticPcRegNode extends ExpressionNode implements Interpretable {
 
   @DataValue
   private final Register pc;
@@ -42,6 +45,11 @@ public class IssStaticPcRegNode extends ExpressionNode {
     return pc;
   }
 
+  @Override
+  public Constant interpret(BehaviorInterpreter.Frame frame) {
+    return frame.state().read(pc, 0);
+  }
+
   @Override
   public ExpressionNode copy() {
     return new IssStaticPcRegNode(pc);
@@ -19,6 +19,7 @@ package vadl.iss.passes.nodes;
 import java.util.List;
 import vadl.iss.passes.tcgLowering.Tcg_8_16_32_64;
 import vadl.javaannotations.viam.DataValue;
+import vadl.viam.graph.Node;
 import vadl.viam.graph.dependency.WriteMemNode;
 
 /**
@@ -46,6 +47,16 @@ public class IssStoreNode extends WriteMemNode {
     return storeSize;
   }
 
+  @Override
+  public Node copy() {
+    return new IssStoreNode((WriteMemNode) super.copy(), storeSize);
+  }
+
+  @Override
+  public Node shallowCopy() {
+    return new IssStoreNode(this, storeSize);
+  }
+
   @Override
   protected void collectData(List<Object> collection) {
     super.collectData(collection);
@@ -16,21 +16,26 @@
 
 package vadl.iss.passes.nodes;
 
+import java.math.BigInteger;
 import java.util.List;
+import java.util.function.Consumer;
 import vadl.iss.passes.opDecomposition.nodes.IssExprNode;
 import vadl.iss.passes.tcgLowering.TcgExtend;
 import vadl.javaannotations.viam.DataValue;
 import vadl.javaannotations.viam.Input;
 import vadl.types.Type;
+import vadl.viam.Constant;
 import vadl.viam.graph.GraphNodeVisitor;
 import vadl.viam.graph.GraphVisitor;
 import vadl.viam.graph.Node;
 import vadl.viam.graph.dependency.ExpressionNode;
+import vadl.viam.interpreter.BehaviorInterpreter;
+import vadl.viam.interpreter.Interpretable;
 
 /**
  * The expression node equivalent to {@link vadl.iss.passes.tcgLowering.nodes.TcgExtractNode}.
  */
-public class IssValExtractNode extends IssExprNode {
+public class IssValExtractNode extends IssExprNode implements Interpretable {
 
   @Input
   private ExpressionNode value;
@@ -81,6 +86,21 @@ public class IssValExtractNode extends IssExprNode {
     return extendMode;
   }
 
+  @Override
+  public Constant interpret(BehaviorInterpreter.Frame frame) {
+    var ofs = frame.value(this.ofs).intValue();
+    var len = frame.value(this.len).intValue();
+    var bits = frame.value(value).unsignedInteger()
+        .shiftRight(ofs)
+        .and(BigInteger.ONE.shiftLeft(len).subtract(BigInteger.ONE));
+    var extracted = Constant.Value.fromInteger(bits, Type.bits(len));
+    var target = type().asDataType();
+    if (len >= target.bitWidth()) {
+      return extracted;
+    }
+    return isSigned() ? extracted.signExtend(target) : extracted.zeroExtend(target);
+  }
+
   @Override
   public ExpressionNode copy() {
     return new IssValExtractNode(extendMode, value.copy(), ofs.copy(), len.copy(), type());
@@ -110,6 +130,14 @@ public class IssValExtractNode extends IssExprNode {
     collection.add(len);
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    action.accept(value);
+    action.accept(ofs);
+    action.accept(len);
+  }
+
   @Override
   protected void applyOnInputsUnsafe(GraphVisitor.Applier<Node> visitor) {
     super.applyOnInputsUnsafe(visitor);
@@ -17,6 +17,7 @@
 package vadl.iss.passes.nodes;
 
 import java.util.List;
+import java.util.function.Consumer;
 import javax.annotation.Nullable;
 import vadl.iss.passes.tcgLowering.TcgV;
 import vadl.iss.passes.tcgLowering.Tcg_32_64;
@@ -58,6 +59,7 @@ public class TcgVRefNode extends DependencyNode {
 
   public void setVar(TcgV var) {
     this.var = var;
+    dataChanged();
   }
 
   public Tcg_32_64 width() {
@@ -102,6 +104,14 @@ public class TcgVRefNode extends DependencyNode {
     }
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    if (this.dependency != null) {
+      action.accept(dependency);
+    }
+  }
+
   @Override
   protected void applyOnInputsUnsafe(GraphVisitor.Applier<Node> visitor) {
     super.applyOnInputsUnsafe(visitor);
@@ -17,6 +17,7 @@
 package vadl.iss.passes.opDecomposition.nodes;
 
 import java.util.List;
+import java.util.function.Consumer;
 import vadl.javaannotations.viam.Input;
 import vadl.types.Type;
 import vadl.viam.graph.GraphVisitor;
@@ -69,4 +70,11 @@ public abstract class IssBinaryNode extends IssExprNode {
     collection.add(arg1);
     collection.add(arg2);
   }
+
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    action.accept(arg1);
+    action.accept(arg2);
+  }
 }
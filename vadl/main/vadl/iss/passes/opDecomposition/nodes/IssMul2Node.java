@@ -19,8 +19,11 @@ package vadl.iss.passes.opDecomposition.nodes;
 import java.util.List;
 import vadl.javaannotations.viam.DataValue;
 import vadl.types.TupleType;
+import vadl.viam.Constant;
 import vadl.viam.graph.GraphNodeVisitor;
 import vadl.viam.graph.dependency.ExpressionNode;
+import vadl.viam.interpreter.BehaviorInterpreter;
+import vadl.viam.interpreter.Interpretable;
 
 /**
  * The ISS Mul2 node represents a long multiplication that returns a tuple of two integers.
@@ -29,7 +32,7 @@ import vadl.viam.graph.dependency.ExpressionNode;
  * We need this as long multiplication tends to exceed the maximum supported result size of
  * 64bit. So we have to split it into two smaller results.
  */
-public class IssMul2Node extends IssBinaryNode {
+public class IssMul2Node extends IssBinaryNode implements Interpretable {
 
   @DataValue
   private IssMulKind kind;
@@ -50,6 +53,14 @@ public class IssMul2Node extends IssBinaryNode {
     return (TupleType) super.type();
   }
 
+  @Override
+  public Constant interpret(BehaviorInterpreter.Frame frame) {
+    var width = type().get(0).asDataType().bitWidth();
+    var product = kind.product(frame.value(arg1()), frame.value(arg2()), width);
+    return new Constant.Tuple(IssMulKind.half(product, width, 0),
+        IssMulKind.half(product, width, 1));
+  }
+
   @Override
   public ExpressionNode copy() {
     return new IssMul2Node(arg1().copy(), arg2().copy(), kind, type());
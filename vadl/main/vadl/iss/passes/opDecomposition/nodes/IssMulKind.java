@@ -16,6 +16,11 @@
 
 package vadl.iss.passes.opDecomposition.nodes;
 
+import java.math.BigInteger;
+import vadl.types.Type;
+import vadl.viam.Constant;
+import vadl.viam.interpreter.MachineState;
+
 /**
  * This defines the kind of multiplication for all ISS-related multiplication nodes.
  * Instead of creating three node classes for some kind of multiplication, we just create
@@ -24,5 +29,30 @@ package vadl.iss.passes.opDecomposition.nodes;
 public enum IssMulKind {
   SIGNED_SIGNED,
   UNSIGNED_UNSIGNED,
-  SIGNED_UNSIGNED
+  SIGNED_UNSIGNED;
+
+  /**
+   * Returns the full product of two values of the given width, where the
+   * signedness of the operands is defined by this kind.
+   */
+  public BigInteger product(Constant.Value arg1, Constant.Value arg2, int width) {
+    var lhs = operand(arg1, width, this != UNSIGNED_UNSIGNED);
+    var rhs = operand(arg2, width, this == SIGNED_SIGNED);
+    return lhs.multiply(rhs);
+  }
+
+  /**
+   * Returns the lower ({@code 0}) or upper ({@code 1}) half of a product of two values of
+   * the given width.
+   */
+  public static Constant.Value half(BigInteger product, int width, int half) {
+    var bits = product.shiftRight(half * width)
+        .and(BigInteger.ONE.shiftLeft(width).subtract(BigInteger.ONE));
+    return Constant.Value.fromInteger(bits, Type.bits(width));
+  }
+
+  private static BigInteger operand(Constant.Value value, int width, boolean signed) {
+    return MachineState.fit(value,
+        signed ? Type.signedInt(width) : Type.unsignedInt(width)).integer();
+  }
 }
@@ -19,15 +19,18 @@ package vadl.iss.passes.opDecomposition.nodes;
 import java.util.List;
 import vadl.javaannotations.viam.DataValue;
 import vadl.types.Type;
+import vadl.viam.Constant;
 import vadl.viam.graph.GraphNodeVisitor;
 import vadl.viam.graph.Node;
 import vadl.viam.graph.dependency.ExpressionNode;
+import vadl.viam.interpreter.BehaviorInterpreter;
+import vadl.viam.interpreter.Interpretable;
 
 /**
  * Represents an ISS intermediate multiplication node that returns only
  * the upper half of the multiplication result.
  */
-public class IssMulhNode extends IssBinaryNode {
+public class IssMulhNode extends IssBinaryNode implements Interpretable {
 
   @DataValue
   private IssMulKind kind;
@@ -41,6 +44,13 @@ public class IssMulhNode extends IssBinaryNode {
     return kind;
   }
 
+  @Override
+  public Constant interpret(BehaviorInterpreter.Frame frame) {
+    var width = type().asDataType().bitWidth();
+    var product = kind.product(frame.value(arg1()), frame.value(arg2()), width);
+    return IssMulKind.half(product, width, 1);
+  }
+
   @Override
   public ExpressionNode copy() {
     return new IssMulhNode(arg1().copy(), arg2().copy(), kind, type());
@@ -17,10 +17,8 @@
 package vadl.iss.passes.safeResourceRead;
 
 import static java.util.Objects.requireNonNull;
-import static vadl.utils.GraphUtils.getSingleNode;
 
 import java.io.IOException;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -30,28 +28,25 @@ import java.util.Set;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import vadl.configuration.IssConfiguration;
+import vadl.iss.DenseDataFlowAnalysis;
 import vadl.iss.passes.AbstractIssPass;
 import vadl.iss.passes.safeResourceRead.nodes.ExprSaveNode;
 import vadl.pass.PassName;
 import vadl.pass.PassResults;
+import vadl.pass.PerDefinitionPass;
 import vadl.viam.Instruction;
 import vadl.viam.Resource;
 import vadl.viam.Specification;
 import vadl.viam.graph.Graph;
 import vadl.viam.graph.control.AbstractBeginNode;
 import vadl.viam.graph.control.AbstractEndNode;
-import vadl.viam.graph.control.BranchEndNode;
 import vadl.viam.graph.control.ControlNode;
-import vadl.viam.graph.control.ControlSplitNode;
 import vadl.viam.graph.control.DirectionalNode;
-import vadl.viam.graph.control.MergeNode;
 import vadl.viam.graph.control.ScheduledNode;
-import vadl.viam.graph.control.StartNode;
 import vadl.viam.graph.dependency.DependencyNode;
 import vadl.viam.graph.dependency.ExpressionNode;
 import vadl.viam.graph.dependency.ReadResourceNode;
 import vadl.viam.graph.dependency.WriteResourceNode;
-import vadl.viam.passes.CfgTraverser;
 import vadl.viam.passes.sideEffectScheduling.nodes.InstrExitNode;
 
 /**
@@ -65,7 +60,8 @@ import vadl.viam.passes.sideEffectScheduling.nodes.InstrExitNode;
  * all reads to these resources must be conservatively treated as potential conflicts
  * with all writes to the same resource.</p>
  */
-public class IssSafeResourceReadPass extends AbstractIssPass {
+public class IssSafeResourceReadPass extends AbstractIssPass
+    implements PerDefinitionPass<Instruction, IssSafeResourceReadPass.Result> {
 
   /**
    * Result of the IssSafeResourceReadPass execution.
@@ -108,12 +104,31 @@ public class IssSafeResourceReadPass extends AbstractIssPass {
   @Override
   public Result execute(PassResults passResults, Specification viam)
       throws IOException {
+    return (Result) requireNonNull(executePerDefinition(passResults, viam, null));
+  }
+
+  @Override
+  public List<Instruction> definitions(Specification viam) {
+    return viam.isa().map(isa -> isa.ownInstructions()).orElse(List.of());
+  }
+
+  @Override
+  public Result executeOn(Instruction instruction, PassResults passResults) {
+    // every instruction gets its own result, so instructions can be secured concurrently
     var result = new Result(new HashMap<>());
-    viam.isa().ifPresent(
-        isa -> isa.ownInstructions().forEach(
-            instruction -> new IssResourceReadSecurer(instruction, result).run()));
+    new IssResourceReadSecurer(instruction, result).run();
     return result;
   }
+
+  @Override
+  public Result mergeResults(List<DefinitionResult<Instruction, Result>> results) {
+    var merged = new Result(new HashMap<>());
+    for (var result : results) {
+      merged.readTempSpillLocations()
+          .putAll(requireNonNull(result.result()).readTempSpillLocations());
+    }
+    return merged;
+  }
 }
 
 /**
@@ -335,42 +350,59 @@ class IssResourceReadSecurer {
 /**
  * Performs dominator analysis on a control flow graph (CFG)
  * to compute dominator sets for control nodes.
+ * It is a forward must analysis in which every node adds itself to the
+ * dominators of its predecessors.
  */
-class IssDominatorAnalysis implements CfgTraverser {
-
-  Map<ControlNode, List<ControlNode>> dominatorSets = new HashMap<>();
-  ArrayDeque<Integer> splitDominatorIndexStack = new ArrayDeque<>();
-
-  // The current dominators during traversal
-  List<ControlNode> dominators = new ArrayList<>();
+class IssDominatorAnalysis extends DenseDataFlowAnalysis {
 
   /**
    * Computes the dominator sets for the given control flow graph.
+   * The dominators of a node are ordered from the start node to the node itself.
    *
    * @param cfg The control flow graph to compute dominator sets for.
    * @return A map of control nodes to their dominator sets.
    */
   static Map<ControlNode, List<ControlNode>> getDominatorSets(Graph cfg) {
     var analysis = new IssDominatorAnalysis();
-    var start = getSingleNode(cfg, StartNode.class);
-    analysis.traverseBranch(start);
-    return analysis.dominatorSets;
+    analysis.analyze(cfg);
+
+    var nodes = analysis.nodes();
+    var dominatorSets = new HashMap<ControlNode, List<ControlNode>>();
+    for (var node : nodes) {
+      // nodes are numbered in reverse postorder, so a dominator always has a lower index
+      // than the nodes it dominates
+      var dominators = new ArrayList<ControlNode>();
+      var set = analysis.outValue(node);
+      for (int i = nextSetBit(set, 0); i >= 0; i = nextSetBit(set, i + 1)) {
+        dominators.add(nodes.get(i));
+      }
+      dominatorSets.put(node, dominators);
+    }
+    return dominatorSets;
   }
 
   @Override
-  public void onControlNode(ControlNode n) {
-    if (n instanceof ControlSplitNode) {
-      // Push index of splitNode
-      splitDominatorIndexStack.push(dominators.size() - 1);
-    } else if (n instanceof BranchEndNode || n instanceof MergeNode) {
-      // Reset sub-branch dominators
-      dominators = dominators.subList(0, requireNonNull(splitDominatorIndexStack.peek()) + 1);
-    }
+  protected int universeSize() {
+    return nodes().size();
+  }
 
-    // Add itself to dominator list
-    dominators.add(n);
+  @Override
+  protected void boundary(long[] value) {
+    // nothing dominates the start node
+  }
 
-    // Copy to dominator sets
-    dominatorSets.put(n, new ArrayList<>(dominators));
+  @Override
+  protected void transfer(ControlNode node, long[] value) {
+    set(value, indexOf(node));
   }
-}
\ No newline at end of file
+
+  @Override
+  protected boolean isForward() {
+    return true;
+  }
+
+  @Override
+  protected boolean isMayAnalysis() {
+    return false;
+  }
+}
@@ -17,11 +17,15 @@
 package vadl.iss.passes.safeResourceRead.nodes;
 
 import java.util.List;
+import java.util.function.Consumer;
 import vadl.javaannotations.viam.Input;
+import vadl.viam.Constant;
 import vadl.viam.graph.GraphNodeVisitor;
 import vadl.viam.graph.GraphVisitor;
 import vadl.viam.graph.Node;
 import vadl.viam.graph.dependency.ExpressionNode;
+import vadl.viam.interpreter.BehaviorInterpreter;
+import vadl.viam.interpreter.Interpretable;
 
 /**
  * Represents an expression node that saves the value of another expression node.
@@ -32,7 +36,7 @@ import vadl.viam.graph.dependency.ExpressionNode;
  * being affected by the write operations.
  * </p>
  */
-public class ExprSaveNode extends ExpressionNode {
+public class ExprSaveNode extends ExpressionNode implements Interpretable {
 
   /**
    * The expression node whose value is to be saved.
@@ -54,6 +58,11 @@ public class ExprSaveNode extends ExpressionNode {
     return value;
   }
 
+  @Override
+  public Constant interpret(BehaviorInterpreter.Frame frame) {
+    return frame.evaluate(value);
+  }
+
   @Override
   public ExpressionNode copy() {
     return new ExprSaveNode(value.copy(ExpressionNode.class));
@@ -75,6 +84,12 @@ public class ExprSaveNode extends ExpressionNode {
     collection.add(value);
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    action.accept(value);
+  }
+
   @Override
   protected void applyOnInputsUnsafe(GraphVisitor.Applier<Node> visitor) {
     super.applyOnInputsUnsafe(visitor);
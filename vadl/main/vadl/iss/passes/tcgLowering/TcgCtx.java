@@ -205,7 +205,7 @@ public class TcgCtx extends DefinitionExtension<Instruction> {
 
     private TcgVRefNode createConstExprVar(ExpressionNode expr) {
       return toNode(TcgV.constant(
-          "const_" + TcgPassUtils.exprVarName(expr) + "_n" + expr.id,
+          "const_" + TcgPassUtils.exprVarName(expr) + "_n" + expr.id(),
           targetSize, expr
       ), expr);
     }
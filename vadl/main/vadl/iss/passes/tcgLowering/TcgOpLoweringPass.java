@@ -154,10 +154,13 @@ public class TcgOpLoweringPass extends AbstractIssPass {
     var optJmpSlot = !configuration().isSkip(IssConfiguration.IssOptsToSkip.OPT_JMP_SLOTS);
 
     viam.isa().get().ownInstructions()
-        .forEach(i ->
-            new TcgOpLoweringExecutor(i.expectExtension(TcgCtx.class).assignment(),
-                configuration().targetSize())
-                .runOn(i.behavior(), optJmpSlot));
+        .forEach(i -> {
+          new TcgOpLoweringExecutor(i.expectExtension(TcgCtx.class).assignment(),
+              configuration().targetSize())
+              .runOn(i.behavior(), optJmpSlot);
+          // most of the original nodes got replaced by tcg operations
+          i.behavior().compact();
+        });
 
     return null;
   }
@@ -1022,7 +1025,7 @@ class BuiltInTcgLoweringExecutor {
     @SuppressWarnings("UnusedMethod")
     private TcgVRefNode tmp(int i) {
       return localTmps.computeIfAbsent(i, (k) -> {
-        var name = "tmp_" + call.id + "_" + k;
+        var name = "tmp_" + call.id() + "_" + k;
         return graph().addWithInputs(new TcgVRefNode(TcgV.tmp(name, targetSize), null));
       });
     }
@@ -18,6 +18,7 @@ package vadl.iss.passes.tcgLowering.nodes;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import vadl.iss.passes.nodes.TcgVRefNode;
@@ -112,6 +113,13 @@ public abstract class TcgBinaryOpNode extends TcgOpNode {
     collection.add(arg2);
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    action.accept(arg1);
+    action.accept(arg2);
+  }
+
   @Override
   protected void applyOnInputsUnsafe(GraphVisitor.Applier<Node> visitor) {
     super.applyOnInputsUnsafe(visitor);
@@ -18,6 +18,7 @@ package vadl.iss.passes.tcgLowering.nodes;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import vadl.iss.passes.nodes.TcgVRefNode;
 import vadl.iss.passes.tcgLowering.TcgV;
@@ -133,6 +134,12 @@ public abstract sealed class TcgGetVar extends TcgOpNode
       collection.add(constValue);
     }
 
+    @Override
+    protected void forEachInput(Consumer<Node> action) {
+      super.forEachInput(action);
+      action.accept(constValue);
+    }
+
     @Override
     protected void applyOnInputsUnsafe(GraphVisitor.Applier<Node> visitor) {
       super.applyOnInputsUnsafe(visitor);
@@ -292,6 +299,12 @@ public abstract sealed class TcgGetVar extends TcgOpNode
       collection.add(index);
     }
 
+    @Override
+    protected void forEachInput(Consumer<Node> action) {
+      super.forEachInput(action);
+      action.accept(index);
+    }
+
     @Override
     protected void applyOnInputsUnsafe(GraphVisitor.Applier<Node> visitor) {
       super.applyOnInputsUnsafe(visitor);
@@ -18,6 +18,7 @@ package vadl.iss.passes.tcgLowering.nodes;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import vadl.iss.passes.nodes.TcgVRefNode;
 import vadl.javaannotations.viam.DataValue;
@@ -121,6 +122,12 @@ public class TcgGottoTb extends TcgNode {
     collection.add(targetPc);
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    action.accept(targetPc);
+  }
+
   @Override
   protected void collectData(List<Object> collection) {
     super.collectData(collection);
@@ -20,6 +20,7 @@ import com.google.common.collect.Streams;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -121,6 +122,15 @@ public class TcgHelperCall extends TcgNode {
     collection.addAll(args);
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    if (this.result != null) {
+      action.accept(result);
+    }
+    args.forEach(action);
+  }
+
   @Override
   protected void collectData(List<Object> collection) {
     super.collectData(collection);
@@ -28,13 +28,14 @@ import vadl.viam.graph.Node;
  * If the address is not yet translated to native machine code, it will trigger
  * the translation loop.
  *
- * <p>It translates to {@code lookup_and_goto_ptr();}
+ * <p>It translates to {@code gen_lookup_and_goto_ptr(ctx);}, which is defined in translate.c
+ * and emits {@code tcg_gen_lookup_and_goto_ptr()}.
  */
 public class TcgLookupAndGotoPtr extends TcgNode {
 
   @Override
   public String cCode(Function<Node, String> nodeToCCode) {
-    return "tcg_gen_lookup_and_goto_ptr();";
+    return "gen_lookup_and_goto_ptr(ctx);";
   }
 
   @Override
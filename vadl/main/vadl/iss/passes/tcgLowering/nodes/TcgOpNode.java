@@ -19,6 +19,7 @@ package vadl.iss.passes.tcgLowering.nodes;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import vadl.iss.passes.nodes.TcgVRefNode;
 import vadl.iss.passes.tcgLowering.Tcg_32_64;
@@ -74,6 +75,7 @@ public abstract class TcgOpNode extends TcgNode {
 
   public void setDest(NodeList<TcgVRefNode> res) {
     this.destinations = res;
+    dataChanged();
   }
 
   @Override
@@ -109,4 +111,10 @@ public abstract class TcgOpNode extends TcgNode {
     super.collectInputs(collection);
     collection.addAll(destinations);
   }
+
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    destinations.forEach(action);
+  }
 }
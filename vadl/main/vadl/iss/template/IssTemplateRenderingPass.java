@@ -122,6 +122,8 @@ public abstract class IssTemplateRenderingPass extends AbstractTemplateRendering
     vars.put("register_files", mapRegFiles(specification));
     vars.put("registers", mapRegs(specification));
     vars.put("insn_count", configuration().isInsnCounting());
+    vars.put("insn_count_tb",
+        configuration().insnCountMode() == IssConfiguration.InsnCountMode.TRANSLATION_BLOCK);
     vars.put("target_size", configuration().targetSize().width);
     vars.put("mem_info", getMemoryInfo(specification));
     return vars;
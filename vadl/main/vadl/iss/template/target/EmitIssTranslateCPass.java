@@ -18,12 +18,15 @@ package vadl.iss.template.target;
 
 import static vadl.error.Diagnostic.error;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import vadl.configuration.IssConfiguration;
 import vadl.iss.template.IssTemplateRenderingPass;
 import vadl.pass.PassResults;
 import vadl.template.AbstractMultiTemplateRenderingPass;
+import vadl.viam.Format;
+import vadl.viam.Instruction;
 import vadl.viam.Specification;
 
 /**
@@ -31,6 +34,8 @@ import vadl.viam.Specification;
  * translation functions and are generated by the {@link EmitIssInsnTransCIncPass}.
  * It also contains the {@code gen_intermediate_code} function, called by QEMU as
  * entry point to start the TCG generation.
+ * If the instructions have different widths, they are fetched in parcels of the narrowest
+ * width as needed by the decoder.
  */
 public class EmitIssTranslateCPass extends IssTemplateRenderingPass {
   public EmitIssTranslateCPass(IssConfiguration configuration) {
@@ -46,7 +51,14 @@ public class EmitIssTranslateCPass extends IssTemplateRenderingPass {
   protected Map<String, Object> createVariables(PassResults passResults,
                                                 Specification specification) {
     var vars = super.createVariables(passResults, specification);
-    vars.put("insn_width", getInstructionWidth(specification));
+    var insnWidth = getInstructionWidth(specification);
+    var insnParcel = getInstructionParcel(specification);
+    var variableWidth = !insnWidth.equals(insnParcel);
+    vars.put("insn_width", insnWidth);
+    vars.put("insn_parcel", insnParcel);
+    vars.put("variable_insn_width", variableWidth);
+    // the decoder stores the width of instructions of variable width in the context
+    vars.put("insn_length", variableWidth ? "ctx->insn_width" : insnWidth.get("int"));
     vars.put("mem_word_size", getMemoryWordSize(specification));
     vars.put("trans_includes",
         translationIncludes(passResults));
@@ -74,9 +86,31 @@ public class EmitIssTranslateCPass extends IssTemplateRenderingPass {
     );
   }
 
+  /**
+   * Returns the width of the widest instruction, which is the width of the decoded
+   * instruction word.
+   */
   private static Map<String, Object> getInstructionWidth(Specification specification) {
-    var refFormat = specification.isa().get().ownInstructions()
-        .get(0).format();
+    var refFormat = specification.isa().get().ownInstructions().stream()
+        .map(Instruction::format)
+        .max(Comparator.comparingInt(f -> f.type().bitWidth()))
+        .orElseThrow();
+    return widthVariables(refFormat);
+  }
+
+  /**
+   * Returns the width of the narrowest instruction, which is the width of the parcels
+   * the instructions are fetched in.
+   */
+  private static Map<String, Object> getInstructionParcel(Specification specification) {
+    var refFormat = specification.isa().get().ownInstructions().stream()
+        .map(Instruction::format)
+        .min(Comparator.comparingInt(f -> f.type().bitWidth()))
+        .orElseThrow();
+    return widthVariables(refFormat);
+  }
+
+  private static Map<String, Object> widthVariables(Format refFormat) {
     var width = refFormat.type().bitWidth();
 
     return switch (width) {
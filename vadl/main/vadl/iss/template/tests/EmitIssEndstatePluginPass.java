@@ -0,0 +1,98 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+
+package vadl.iss.template.tests;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import vadl.configuration.IssConfiguration;
+import vadl.iss.passes.tcgLowering.nodes.TcgStoreMemory;
+import vadl.iss.template.IssTemplateRenderingPass;
+import vadl.pass.PassResults;
+import vadl.viam.Constant;
+import vadl.viam.Encoding;
+import vadl.viam.Instruction;
+import vadl.viam.Specification;
+import vadl.viam.graph.dependency.WriteMemNode;
+
+/**
+ * Emits the {@code tests/tcg/plugins/endstate.c} QEMU plugin that prints the register state
+ * when the guest requests its exit through the HTIF {@code tohost} address.
+ * To keep the instrumentation cheap, the plugin only instruments instructions that write
+ * memory. They are recognized by the encodings of the store instructions of the ISA.
+ */
+public class EmitIssEndstatePluginPass extends IssTemplateRenderingPass {
+
+  public EmitIssEndstatePluginPass(IssConfiguration configuration) {
+    super(configuration);
+  }
+
+  @Override
+  protected String issTemplatePath() {
+    return "tests/tcg/plugins/endstate.c";
+  }
+
+  @Override
+  protected Map<String, Object> createVariables(PassResults passResults,
+                                                Specification specification) {
+    var vars = super.createVariables(passResults, specification);
+    vars.put("store_insns", storeInstructions(specification));
+    return vars;
+  }
+
+  /**
+   * Returns the name, byte size and the mask and value of the fixed encoding bits of
+   * all instructions that write memory. Instructions wider than 64 bits are omitted,
+   * so the plugin instruments them conservatively.
+   */
+  private static List<Map<String, Object>> storeInstructions(Specification specification) {
+    return specification.isa().get().ownInstructions().stream()
+        .filter(EmitIssEndstatePluginPass::writesMemory)
+        .filter(insn -> insn.format().type().bitWidth() <= 64)
+        .map(insn -> {
+          var mask = BigInteger.ZERO;
+          var value = BigInteger.ZERO;
+          for (Encoding.Field encField : insn.encoding().fieldEncodings()) {
+            var fixedValue = encField.constant().integer();
+            for (Constant.BitSlice.Part p : encField.formatField().bitSlice().parts().toList()) {
+              for (int i = p.lsb(); i <= p.msb(); i++) {
+                mask = mask.setBit(i);
+                if (fixedValue.testBit(i - p.lsb())) {
+                  value = value.setBit(i);
+                }
+              }
+            }
+          }
+          return Map.<String, Object>of(
+              "name", insn.simpleName(),
+              "size", insn.format().type().bitWidth() / 8,
+              "mask", "0x" + mask.toString(16) + "ULL",
+              "value", "0x" + value.toString(16) + "ULL"
+          );
+        })
+        .toList();
+  }
+
+  private static boolean writesMemory(Instruction insn) {
+    // depending on the lowering, stores are represented by TCG or VIAM nodes
+    return insn.behavior().getNodes(Set.of(TcgStoreMemory.class, WriteMemNode.class))
+        .findAny()
+        .isPresent();
+  }
+}
@@ -16,8 +16,6 @@
 
 package vadl.lcb.passes.isaMatching;
 
-import static vadl.viam.ViamError.ensurePresent;
-
 import java.io.IOException;
 import java.util.Collections;
 import java.util.IdentityHashMap;
@@ -26,6 +24,8 @@ import java.util.Map;
 import java.util.Objects;
 import javax.annotation.Nullable;
 import vadl.configuration.LcbConfiguration;
+import vadl.gcb.passes.BehaviorClassifier;
+import vadl.gcb.passes.BehaviorIndex;
 import vadl.gcb.passes.IsaMachineInstructionMatchingPass;
 import vadl.gcb.passes.IsaMatchingUtils;
 import vadl.gcb.passes.MachineInstructionLabel;
@@ -89,46 +89,45 @@ public class IsaPseudoInstructionMatchingPass extends Pass implements IsaMatchin
       return new Result(Collections.emptyMap(), Collections.emptyMap());
     }
 
-    isa.ownPseudoInstructions().forEach(pseudoInstruction -> {
-      if (findUnconditionalJump(supportedMachineInstructions.reverse(), pseudoInstruction)) {
-        pseudoInstruction.attachExtension(new PseudoInstructionCtx(PseudoInstructionLabel.J));
-      } else if (findLi(supportedMachineInstructions.reverse(), pseudoInstruction)) {
-        pseudoInstruction.attachExtension(new PseudoInstructionCtx(PseudoInstructionLabel.LI));
-      }
-    });
+    var flipped = supportedMachineInstructions.reverse();
+    var classifier = BehaviorClassifier.<PseudoInstructionLabel>builder()
+        .rule(PseudoInstructionLabel.J, b -> findUnconditionalJump(flipped, b))
+        .rule(PseudoInstructionLabel.LI, b -> findLi(flipped, b))
+        .build();
+
+    isa.ownPseudoInstructions().forEach(pseudoInstruction ->
+        classifier.classify(BehaviorIndex.of(pseudoInstruction.behavior()))
+            .ifPresent(rule -> pseudoInstruction.attachExtension(
+                new PseudoInstructionCtx(rule.label()))));
 
     var labels = createPseudoLabelMap(viam);
     return new Result(labels, flipIsaMatching(labels));
   }
 
   private boolean findLi(Map<Instruction, MachineInstructionLabel> flipped,
-                         PseudoInstruction pseudoInstruction) {
-    if (pseudoInstruction.behavior().getNodes(InstrCallNode.class).count() != 2) {
+                         BehaviorIndex behavior) {
+    var instrCallNodes = behavior.nodes(InstrCallNode.class);
+    if (instrCallNodes.size() != 2) {
       return false;
     }
 
-    var instrCallNodes =
-        pseudoInstruction.behavior().getNodes(InstrCallNode.class).toList();
     var firstNode = instrCallNodes.get(0);
     var secondNode = instrCallNodes.get(1);
 
-    return firstNode != null && secondNode != null
-        && flipped.get(firstNode.target()) == MachineInstructionLabel.LUI
+    return flipped.get(firstNode.target()) == MachineInstructionLabel.LUI
         && (flipped.get(secondNode.target()) == MachineInstructionLabel.ADDI_32
         || flipped.get(secondNode.target()) == MachineInstructionLabel.ADDI_64);
   }
 
   private boolean findUnconditionalJump(
       Map<Instruction, MachineInstructionLabel> flipped,
-      PseudoInstruction pseudoInstruction) {
-    if (pseudoInstruction.behavior().getNodes(InstrCallNode.class).count() != 1) {
+      BehaviorIndex behavior) {
+    var instrCallNodes = behavior.nodes(InstrCallNode.class);
+    if (instrCallNodes.size() != 1) {
       return false;
     }
 
-    var instrCallNode =
-        ensurePresent(pseudoInstruction.behavior().getNodes(InstrCallNode.class).findFirst(),
-            "instruction call node must exist");
-    var machineInstructionLabel = flipped.get(instrCallNode.target());
+    var machineInstructionLabel = flipped.get(instrCallNodes.get(0).target());
     return machineInstructionLabel == MachineInstructionLabel.JAL;
   }
 }
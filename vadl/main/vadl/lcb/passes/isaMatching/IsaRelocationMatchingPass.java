@@ -6,6 +6,8 @@ import java.util.List;
 import java.util.Map;
 import javax.annotation.Nullable;
 import vadl.configuration.LcbConfiguration;
+import vadl.gcb.passes.BehaviorClassifier;
+import vadl.gcb.passes.BehaviorIndex;
 import vadl.gcb.passes.IsaMatchingUtils;
 import vadl.gcb.valuetypes.RelocationCtx;
 import vadl.gcb.valuetypes.RelocationFunctionLabel;
@@ -24,6 +26,13 @@ import vadl.viam.graph.dependency.TruncateNode;
  * This pass has the task to classify a relocation into LO, HI or unknown.
  */
 public class IsaRelocationMatchingPass extends Pass implements IsaMatchingUtils {
+  private static final BehaviorClassifier<RelocationFunctionLabel> CLASSIFIER =
+      BehaviorClassifier.<RelocationFunctionLabel>builder()
+          .rule(RelocationFunctionLabel.HI, List.of(BuiltInTable.LSR),
+              IsaRelocationMatchingPass::findHi)
+          .rule(RelocationFunctionLabel.LO, IsaRelocationMatchingPass::findLo)
+          .build();
+
   public IsaRelocationMatchingPass(LcbConfiguration configuration) {
     super(configuration);
   }
@@ -51,31 +60,27 @@ public class IsaRelocationMatchingPass extends Pass implements IsaMatchingUtils
     }
 
     isa.ownRelocations().forEach(relocation -> {
-      if (findHi(relocation)) {
-        relocation.attachExtension(new RelocationCtx(RelocationFunctionLabel.HI));
-      } else if (findLo(relocation)) {
-        relocation.attachExtension(new RelocationCtx(RelocationFunctionLabel.LO));
-      } else {
-        relocation.attachExtension(new RelocationCtx(RelocationFunctionLabel.UNKNOWN));
-      }
+      // Only absolute relocations can be classified.
+      var label = relocation.isAbsolute()
+          ? CLASSIFIER.classify(BehaviorIndex.of(relocation.behavior()))
+          .map(BehaviorClassifier.Rule::label)
+          .orElse(RelocationFunctionLabel.UNKNOWN)
+          : RelocationFunctionLabel.UNKNOWN;
+      relocation.attachExtension(new RelocationCtx(label));
     });
 
     var labels = createRelocationFunctionLabelMap(viam);
     return new Result(labels);
   }
 
-  private boolean findHi(Relocation relocation) {
-    // Check whether there is a shift and a truncation.
-    return relocation.behavior().getNodes(BuiltInCall.class)
-        .anyMatch(x -> x.builtIn() == BuiltInTable.LSR)
-        && relocation.behavior().getNodes(TruncateNode.class).findAny().isPresent()
-        && relocation.isAbsolute();
+  private static boolean findHi(BehaviorIndex behavior) {
+    // Check whether there is a shift and a truncation. The shift is the trigger of the rule.
+    return behavior.has(TruncateNode.class);
   }
 
-  private boolean findLo(Relocation relocation) {
+  private static boolean findLo(BehaviorIndex behavior) {
     // Check whether there is no operation in the relocation but only a truncation.
-    return relocation.behavior().getNodes(BuiltInCall.class).toList().isEmpty()
-        && relocation.behavior().getNodes(TruncateNode.class).findAny().isPresent()
-        && relocation.isAbsolute();
+    return !behavior.has(BuiltInCall.class)
+        && behavior.has(TruncateNode.class);
   }
 }
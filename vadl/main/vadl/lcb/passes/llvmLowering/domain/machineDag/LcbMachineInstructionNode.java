@@ -84,5 +84,6 @@ public class LcbMachineInstructionNode extends AbstractFunctionCallNode {
 
   public void setOutputInstruction(Instruction instruction) {
     this.outputInstructionName = new OutputInstructionName(instruction.identifier.simpleName());
+    dataChanged();
   }
 }
@@ -48,6 +48,7 @@ public class LcbMachineInstructionParameterNode extends ExpressionNode {
 
   public void setInstructionOperand(TableGenInstructionOperand operand) {
     this.instructionOperand = operand;
+    dataChanged();
   }
 
   @Override
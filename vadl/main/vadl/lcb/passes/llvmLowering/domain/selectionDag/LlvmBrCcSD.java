@@ -17,6 +17,7 @@
 package vadl.lcb.passes.llvmLowering.domain.selectionDag;
 
 import java.util.List;
+import java.util.function.Consumer;
 import vadl.javaannotations.viam.DataValue;
 import vadl.javaannotations.viam.Input;
 import vadl.lcb.passes.llvmLowering.LlvmNodeLowerable;
@@ -110,6 +111,14 @@ public class LlvmBrCcSD extends ExpressionNode implements LlvmNodeLowerable {
     collection.add(immOffset);
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    action.accept(first);
+    action.accept(second);
+    action.accept(immOffset);
+  }
+
   @Override
   protected void collectData(List<Object> collection) {
     super.collectData(collection);
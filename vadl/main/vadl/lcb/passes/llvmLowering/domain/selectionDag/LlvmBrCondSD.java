@@ -17,6 +17,7 @@
 package vadl.lcb.passes.llvmLowering.domain.selectionDag;
 
 import java.util.List;
+import java.util.function.Consumer;
 import vadl.javaannotations.viam.Input;
 import vadl.lcb.passes.llvmLowering.LlvmNodeLowerable;
 import vadl.lcb.passes.llvmLowering.strategies.visitors.TableGenMachineInstructionVisitor;
@@ -86,6 +87,13 @@ public class LlvmBrCondSD extends ExpressionNode implements LlvmNodeLowerable {
     collection.add(immOffset);
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    action.accept(condition);
+    action.accept(immOffset);
+  }
+
   @Override
   public <T extends GraphNodeVisitor> void accept(T visitor) {
     if (visitor instanceof TableGenMachineInstructionVisitor v) {
@@ -17,6 +17,7 @@
 package vadl.lcb.passes.llvmLowering.domain.selectionDag;
 
 import java.util.List;
+import java.util.function.Consumer;
 import vadl.javaannotations.viam.Input;
 import vadl.lcb.passes.llvmLowering.LlvmNodeLowerable;
 import vadl.lcb.passes.llvmLowering.strategies.visitors.TableGenMachineInstructionVisitor;
@@ -78,6 +79,12 @@ public class LlvmBrSD extends ExpressionNode implements LlvmNodeLowerable {
     collection.add(bb);
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    action.accept(bb);
+  }
+
   @Override
   protected void collectData(List<Object> collection) {
     super.collectData(collection);
@@ -67,13 +67,14 @@ public class LlvmSetccSD extends BuiltInCall implements LlvmNodeLowerable {
 
   @Override
   public void setBuiltIn(BuiltInTable.BuiltIn builtIn) {
-    this.builtIn = builtIn;
     var condCode = LlvmCondCode.from(builtIn);
     if (condCode != null) {
       llvmCondCode = condCode;
     } else {
       throw new ViamError("not supported cond code");
     }
+    // updates the built-in and notifies the graph about the changed data
+    super.setBuiltIn(builtIn);
   }
 
   @Override
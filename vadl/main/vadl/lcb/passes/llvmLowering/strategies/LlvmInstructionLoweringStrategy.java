@@ -680,8 +680,7 @@ public abstract class LlvmInstructionLoweringStrategy {
               .help("Consider adding a constraint to register file for the given index."));
       // Update the type of the constant because it needs to be upcasted.
       // Heuristically, we take the type of the index because indices were also upcasted.
-      var constantValue = constRegisterValue.value();
-      constantValue.setType(constantNode.type());
+      var constantValue = constRegisterValue.value().withType(constantNode.type().asDataType());
       return new TableGenConstantOperand(constantNode, constantValue);
     } else {
       throw Diagnostic.error(
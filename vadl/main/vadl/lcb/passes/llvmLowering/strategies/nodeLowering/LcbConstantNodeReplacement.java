@@ -73,7 +73,7 @@ public class LcbConstantNodeReplacement
 
     var type = types.stream().findFirst().get();
     node.setType(type);
-    node.constant().setType(type);
+    node.setConstant(node.constant().asVal().withType(type));
     return node;
   }
 
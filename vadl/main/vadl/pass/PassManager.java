@@ -19,6 +19,7 @@ package vadl.pass;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
@@ -33,6 +34,8 @@ import vadl.viam.Specification;
  * The {@link PassManager} manages the execution of multiple {@link Pass}.
  * Note that it is possible to schedule the same {@link Pass} multiple times.
  * The execution of the passes happens in the same order as they were inserted.
+ * Passes that implement {@link PerDefinitionPass} are executed in parallel over their
+ * definitions, if the manager was created with more than one job.
  */
 public class PassManager {
 
@@ -42,6 +45,27 @@ public class PassManager {
    */
   private final PassResults passResults = new PassResults();
   private final List<PassStep> pipeline = new ArrayList<>();
+  private final int jobs;
+
+  /**
+   * Constructs a pass manager that executes all passes on the calling thread.
+   */
+  public PassManager() {
+    this(1);
+  }
+
+  /**
+   * Constructs a pass manager.
+   *
+   * @param jobs the number of threads used to execute {@link PerDefinitionPass}es.
+   *             If it is 1, all passes run on the calling thread.
+   */
+  public PassManager(int jobs) {
+    if (jobs < 1) {
+      throw new IllegalArgumentException("The number of jobs must be positive, got " + jobs);
+    }
+    this.jobs = jobs;
+  }
 
   private boolean hasDuplicatedPassKey(PassKey needle) {
     var keys = pipeline.stream().map(PassStep::key).collect(Collectors.toSet());
@@ -134,7 +158,20 @@ public class PassManager {
       }
     }
 
-    for (var step : affectedSteps) {
+    // the pool is only used by passes that process definitions independently
+    var pool = jobs > 1 ? new ForkJoinPool(jobs) : null;
+    try {
+      runSteps(affectedSteps, viam, pool);
+    } finally {
+      if (pool != null) {
+        pool.shutdown();
+      }
+    }
+  }
+
+  private void runSteps(List<PassStep> steps, Specification viam, @Nullable ForkJoinPool pool)
+      throws IOException {
+    for (var step : steps) {
       @SuppressWarnings("VariableDeclarationUsageDistance")
       var startTime = System.currentTimeMillis();
       logger.debug("Running pass with key: {}", step.key());
@@ -148,7 +185,7 @@ public class PassManager {
         continue;
       }
 
-      var passResult = execPass(pass, viam);
+      var passResult = execPass(pass, viam, pool);
       pass.verification(viam, passResult);
 
       // we always store the pass result, even if the result is `null`
@@ -163,8 +200,12 @@ public class PassManager {
 
 
   // executes the pass and dumps the VIAM if an exception occurs.
-  private @Nullable Object execPass(Pass pass, Specification viam) throws IOException {
+  private @Nullable Object execPass(Pass pass, Specification viam, @Nullable ForkJoinPool pool)
+      throws IOException {
     try {
+      if (pool != null && pass instanceof PerDefinitionPass<?, ?> perDefinitionPass) {
+        return perDefinitionPass.executePerDefinition(passResults, viam, pool);
+      }
       return pass.execute(passResults, viam);
     } catch (Exception e) {
       var config = pipeline.get(0).pass().configuration();
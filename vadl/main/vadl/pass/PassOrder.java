@@ -25,7 +25,10 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import javax.annotation.Nullable;
 import vadl.configuration.GeneralConfiguration;
+import vadl.dump.CollectBehaviorDotGraphPass;
 import vadl.dump.HtmlDumpPass;
+import vadl.utils.CompilationSession;
+import vadl.viam.passes.verification.DifferentialTestingPass;
 
 /**
  * This class defines the order in which the {@link PassManager} should run them.
@@ -34,8 +37,10 @@ public final class PassOrder {
 
   // a counter-map that keeps track of how many passes of each pass class exists.
   // this is used to generate a unique pass key if it is not given by the user.
-  private static final Map<Class<? extends Pass>, Integer> passCounter
-      = new ConcurrentHashMap<>();
+  // it is kept per compilation session, so concurrent compilations get the same keys.
+  private static final class PassCounter {
+    private final Map<Class<? extends Pass>, Integer> counts = new ConcurrentHashMap<>();
+  }
 
   // the actual list of pass steps
   // we use a linked list, as we add passes in between
@@ -197,8 +202,27 @@ public final class PassOrder {
     return this;
   }
 
+  /**
+   * Adds a {@link DifferentialTestingPass} after each pass, which checks that the passes do
+   * not change the semantics of the instruction behaviors.
+   *
+   * @param samples the number of random samples per changed behavior
+   */
+  public PassOrder addDifferentialTesting(int samples) {
+    addBetweenEach((prev, next) -> {
+      if (prev instanceof DifferentialTestingPass
+          || prev instanceof CollectBehaviorDotGraphPass
+          || prev instanceof HtmlDumpPass) {
+        return Optional.empty();
+      }
+      return Optional.of(new DifferentialTestingPass(prev.configuration(), samples));
+    });
+    return this;
+  }
+
   private PassStep createPassStep(@Nullable PassKey passKey, Pass pass) {
-    var currentId = passCounter.merge(pass.getClass(), 1, Integer::sum);
+    var passCounter = CompilationSession.current().state(PassCounter.class, PassCounter::new);
+    var currentId = passCounter.counts.merge(pass.getClass(), 1, Integer::sum);
     if (passKey == null) {
       passKey = new PassKey(pass.getClass().getName() + "-" + currentId);
     }
@@ -71,6 +71,7 @@ import vadl.iss.template.target.EmitIssGdbStubPass;
 import vadl.iss.template.target.EmitIssInsnTransCIncPass;
 import vadl.iss.template.target.EmitIssMachinePass;
 import vadl.iss.template.target.EmitIssTranslateCPass;
+import vadl.iss.template.tests.EmitIssEndstatePluginPass;
 import vadl.lcb.passes.isaMatching.IsaPseudoInstructionMatchingPass;
 import vadl.lcb.passes.isaMatching.IsaRelocationMatchingPass;
 import vadl.lcb.passes.llvmLowering.GenerateTableGenAbiSequenceInstructionRecordPass;
@@ -94,6 +95,7 @@ import vadl.lcb.template.lib.Target.MCTargetDesc.EmitInstPrinterHeaderFilePass;
 import vadl.rtl.passes.InstructionProgressGraphCreationPass;
 import vadl.rtl.passes.StageOrderingPass;
 import vadl.template.AbstractTemplateRenderingPass;
+import vadl.template.FormatRenderedFilesPass;
 import vadl.vdt.passes.VdtLoweringPass;
 import vadl.viam.Specification;
 import vadl.viam.passes.DuplicateWriteDetectionPass;
@@ -375,6 +377,9 @@ public class PassOrders {
     order.add(new vadl.lcb.template.lib.TargetParser.EmitTripleCppFilePass(configuration));
     order.add(new vadl.lcb.template.lib.Object.EmitElfCppFilePass(configuration));
 
+    // format all rendered files at once
+    order.add(new FormatRenderedFilesPass(configuration));
+
     return order;
   }
 
@@ -425,6 +430,8 @@ public class PassOrders {
     if (!config.isDryRun()) {
       // add iss template emitting passes to order
       addIssEmitPasses(order, config);
+      // format all rendered files at once
+      order.add(new FormatRenderedFilesPass(config));
     }
 
     return order;
@@ -451,7 +458,7 @@ public class PassOrders {
         .add(new EmitIssGdbStubPass(config))
 
         // plugin rendering
-        .add(issDefault("/tests/tcg/plugins/endstate.c", config))
+        .add(new EmitIssEndstatePluginPass(config))
         .add(issDefault("/tests/tcg/plugins/meson.build", config))
 
         // hardware rendering
@@ -0,0 +1,115 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.pass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import javax.annotation.Nullable;
+import vadl.viam.Definition;
+import vadl.viam.Specification;
+
+/**
+ * A contract for passes that process each definition (e.g. each instruction's behavior)
+ * independently of all other definitions.
+ * Such passes can be executed in parallel by the {@link PassManager}, if it was created
+ * with more than one job.
+ *
+ * <p>An implementing pass must forward its {@link Pass#execute(PassResults, Specification)}
+ * to {@link #executePerDefinition(PassResults, Specification, ForkJoinPool)} with a
+ * {@code null} pool, so it runs sequentially when executed on its own.
+ * {@link #executeOn(Definition, PassResults)} must only modify state that is local to the
+ * given definition. Shared definitions (e.g. called functions) might be read concurrently.</p>
+ *
+ * @param <D> the type of the processed definitions
+ * @param <R> the type of the result per definition
+ */
+public interface PerDefinitionPass<D extends Definition, R> {
+
+  /**
+   * Returns the definitions this pass is applied on.
+   * The order of the list determines the order of the results passed to
+   * {@link #mergeResults(List)}.
+   */
+  List<D> definitions(Specification viam);
+
+  /**
+   * Executes the pass on a single definition.
+   * This might be called concurrently for different definitions.
+   *
+   * @return the result for this definition, which is passed to {@link #mergeResults(List)}.
+   */
+  @Nullable
+  R executeOn(D definition, PassResults passResults);
+
+  /**
+   * Merges the results of all definitions to the result of the pass.
+   * It is called on the calling thread after all definitions were processed.
+   *
+   * @param results the results in the order of {@link #definitions(Specification)}
+   * @return the result of the pass
+   */
+  @Nullable
+  default Object mergeResults(List<DefinitionResult<D, R>> results) {
+    return null;
+  }
+
+  /**
+   * Executes the pass on all definitions and merges the results deterministically.
+   *
+   * @param pool the pool to execute the definitions on, or {@code null} to run them
+   *             sequentially on the calling thread.
+   * @return the merged result of the pass
+   */
+  @Nullable
+  default Object executePerDefinition(PassResults passResults, Specification viam,
+                                      @Nullable ForkJoinPool pool) {
+    var definitions = definitions(viam);
+    var results = new ArrayList<DefinitionResult<D, R>>(definitions.size());
+
+    if (pool == null || definitions.size() < 2) {
+      for (var definition : definitions) {
+        results.add(new DefinitionResult<>(definition, executeOn(definition, passResults)));
+      }
+      return mergeResults(results);
+    }
+
+    var tasks = new ArrayList<ForkJoinTask<R>>(definitions.size());
+    for (var definition : definitions) {
+      Callable<R> task = () -> executeOn(definition, passResults);
+      tasks.add(pool.submit(task));
+    }
+    // join in definition order, so the merged result does not depend on the scheduling
+    try {
+      for (int i = 0; i < definitions.size(); i++) {
+        results.add(new DefinitionResult<>(definitions.get(i), tasks.get(i).join()));
+      }
+    } catch (RuntimeException | Error e) {
+      tasks.forEach(t -> t.cancel(false));
+      throw e;
+    }
+    return mergeResults(results);
+  }
+
+  /**
+   * The result of a pass for a single definition.
+   */
+  record DefinitionResult<D extends Definition, R>(D definition, @Nullable R result) {
+  }
+}
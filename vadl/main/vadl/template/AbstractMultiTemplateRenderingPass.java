@@ -16,17 +16,14 @@
 
 package vadl.template;
 
-import static vadl.viam.ViamError.ensure;
-
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.time.Instant;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
@@ -136,6 +133,8 @@ public abstract class AbstractMultiTemplateRenderingPass extends Pass {
 
   /**
    * Allows a subclass defining a code formatter that formats the emitted file.
+   * The file is not formatted immediately, but by the {@link FormatRenderedFilesPass}
+   * that must run after this pass.
    * See {@link IssTemplateRenderingPass#getFormatter()} for an example.
    */
   public @Nullable CodeFormatter getFormatter() {
@@ -148,23 +147,30 @@ public abstract class AbstractMultiTemplateRenderingPass extends Pass {
       throws IOException {
 
     var inputs = createRenderInputs(passResults, viam);
+    // everything the rendering depends on is determined here, so the rendering stage
+    // may render and emit the files concurrently to subsequent passes.
+    var templatePath = getTemplatePath();
+    var copyrightNotice = enableCopyright() ? getCopyrightNotice() : null;
+    var formatter = availableFormatter();
     var emittedFiles = new ArrayList<Path>();
     for (var input : inputs) {
       var finalFilePath = createOutputPath(configuration(), subDir, input.outputPath);
       emittedFiles.add(finalFilePath);
 
-      var writer = createFileWriter(finalFilePath);
       if (this.subDir.equals("dump")) {
         ArtifactTracker.addDump(finalFilePath);
       } else {
         ArtifactTracker.addArtifact(finalFilePath);
       }
 
-      renderTemplate(input.variables, writer);
-      formatRenderedFile(finalFilePath);
+      var vars = normalizeVariables(input.variables);
+      RenderingStage.submit(templatePath, () -> {
+        var content = new StringWriter();
+        renderTemplate(templatePath, vars, copyrightNotice, content);
+        emitFile(finalFilePath, content.toString(), formatter);
+      });
     }
 
-
     return constructResult(emittedFiles);
   }
 
@@ -175,72 +181,106 @@ public abstract class AbstractMultiTemplateRenderingPass extends Pass {
     return new Result(emittedFiles);
   }
 
-  private void renderTemplate(Map<String, Object> vars,
-                              Writer writer) throws IOException {
-    var ctx = new Context();
+  private Map<String, Object> normalizeVariables(Map<String, Object> vars) {
     // check if variables have correct type.
     // for rendering, only primitive types, maps, and lists are valid.
     try {
-      vars = VariableNormalizer.normalizeAndCheckVariables(vars);
+      return VariableNormalizer.normalizeAndCheckVariables(vars);
     } catch (IllegalRenderTypeException e) {
       log.error("Illegal render type during rendering of {} in {}", getTemplatePath(),
           this.getClass().getSimpleName(), e);
       throw new RuntimeException(e);
     }
-    vars.forEach(ctx::setVariable);
+  }
 
-    // Wrap the original writer to prepend the copyright notice.
-    try (
-        Writer wrappedWriter = new PrependingWriter(writer, getCopyrightNotice())) {
+  private static void renderTemplate(String templatePath,
+                                     Map<String, Object> vars,
+                                     @Nullable String copyrightNotice,
+                                     Writer writer) throws IOException {
+    var ctx = new Context();
+    vars.forEach(ctx::setVariable);
 
-      // if copyright is enabled, we use the wrapped writer.
-      var actualWriter = enableCopyright() ? wrappedWriter : writer;
-      templateEngine.process(getTemplatePath(), ctx, actualWriter);
+    // Wrap the original writer to prepend the copyright notice if it is enabled.
+    try (Writer actualWriter = copyrightNotice != null
+        ? new PrependingWriter(writer, copyrightNotice)
+        : writer) {
+      templateEngine.process(templatePath, ctx, actualWriter);
       actualWriter.flush();
     }
   }
 
-  private void formatRenderedFile(Path filePath) {
+  private @Nullable CodeFormatter availableFormatter() {
     var formatter = getFormatter();
-    if (formatter != null) {
-      try {
-        formatter.format(filePath);
-      } catch (CodeFormatter.NotAvailableException | CodeFormatter.FormatFailureException e) {
-        log.debug("Failed to apply code formatter: {}", e.getMessage());
-      }
+    if (formatter != null && !formatter.isAvailable()) {
+      log.debug("Code formatter {} is not available", formatter.getClass().getSimpleName());
+      return null;
     }
+    return formatter;
   }
 
-  private Path createOutputPath(GeneralConfiguration configuration, String subDir,
-                                String outputPath) {
-    return Path.of(configuration.outputPath().toString(), subDir, outputPath);
-  }
-
-  private FileWriter createFileWriter(Path filePath)
+  /**
+   * Writes the rendered content to the given path and enqueues it for formatting.
+   * If {@link GeneralConfiguration#writeIfChanged()} is set, the file is only written if
+   * the content differs from the existing file.
+   * This keeps the modification time of unchanged files, so build systems don't
+   * rebuild them.
+   */
+  private void emitFile(Path filePath, String content, @Nullable CodeFormatter formatter)
       throws IOException {
-    var file = filePath.toFile();
+    var bytes = content.getBytes(Charset.defaultCharset());
+    Files.createDirectories(filePath.getParent());
+
+    if (!configuration().writeIfChanged()) {
+      Files.write(filePath, bytes);
+      if (formatter != null) {
+        DeferredFormatting.enqueue(formatter, configuration().outputPath(), filePath,
+            DeferredFormatting.hash(bytes));
+      }
+      ArtifactTracker.addEmission(true);
+      return;
+    }
+
+    if (formatter == null) {
+      // without formatter, we can compare the rendered content directly
+      var changed = !hasContent(filePath, bytes);
+      if (changed) {
+        Files.write(filePath, bytes);
+      }
+      ArtifactTracker.addEmission(changed);
+      return;
+    }
 
-    if (!file.getParentFile().exists()) {
-      ensure(file.getParentFile().mkdirs(), "Cannot create parent directories of %s", file);
+    // the existing file is formatted, so we compare the hash of the unformatted content
+    // it was formatted from
+    var hash = DeferredFormatting.hash(bytes);
+    var changed = !DeferredFormatting.isUpToDate(configuration().outputPath(), filePath, hash);
+    if (changed) {
+      Files.write(filePath, bytes);
+      DeferredFormatting.enqueue(formatter, configuration().outputPath(), filePath, hash);
     }
+    ArtifactTracker.addEmission(changed);
+  }
 
-    if (!file.exists()) {
-      ensure(file.createNewFile(), "Cannot create new file %s", file);
+  private static boolean hasContent(Path filePath, byte[] content) throws IOException {
+    if (!Files.isRegularFile(filePath) || Files.size(filePath) != content.length) {
+      return false;
     }
+    return Arrays.equals(Files.readAllBytes(filePath), content);
+  }
 
-    return new FileWriter(file, Charset.defaultCharset());
+  private Path createOutputPath(GeneralConfiguration configuration, String subDir,
+                                String outputPath) {
+    return Path.of(configuration.outputPath().toString(), subDir, outputPath);
   }
 
   @SuppressWarnings("LineLength")
   private String getCopyrightNotice() {
+    // the notice must not contain a timestamp, as otherwise every run would change all files
     String version = OpenVadlProperties.getVersion();
-    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yy/MM/dd HH:mm:ss")
-        .withZone(ZoneOffset.UTC);
-    String timestamp = formatter.format(Instant.now()) + " UTC";
     StringBuilder sb = new StringBuilder();
     return sb.append(lineComment())
         .append(" This file is machine generated by OpenVADL ")
-        .append(version).append(" on ").append(timestamp)
+        .append(version)
         .append("\n").append(lineComment())
         .append(" and is therefore not copyrightable and in the public domain.\n")
         .append(lineComment())
@@ -262,7 +302,8 @@ public abstract class AbstractMultiTemplateRenderingPass extends Pass {
     templateResolver.setTemplateMode(TemplateMode.TEXT);
     templateResolver.setCharacterEncoding("UTF8");
     templateResolver.setCheckExistence(true);
-    templateResolver.setCacheable(false);
+    // the engine is shared by all rendering passes, so every template is only parsed once
+    templateResolver.setCacheable(true);
     return templateResolver;
   }
 
@@ -0,0 +1,183 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.template;
+
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import vadl.cppCodeGen.formatting.CodeFormatter;
+import vadl.utils.CompilationSession;
+
+/**
+ * A store of rendered files that still have to be formatted.
+ * Instead of formatting every file right after it was rendered, the
+ * {@link AbstractMultiTemplateRenderingPass} enqueues it here, and the
+ * {@link FormatRenderedFilesPass} formats all of them in batches at the end of the pass order.
+ *
+ * <p>For every formatted file, the hash of its unformatted content is stored in a
+ * {@link #CACHE_FILE_NAME} file in the output directory.
+ * If a file is rendered with the same content in a later run, it has not changed since the
+ * last run, so it is neither written nor formatted again.</p>
+ *
+ * <p>The pending files and the loaded caches are kept per {@link CompilationSession},
+ * so a session only formats its own files and reloads the caches from disk.</p>
+ */
+public final class DeferredFormatting {
+
+  /**
+   * The name of the file that stores the content hashes of formatted files.
+   */
+  public static final String CACHE_FILE_NAME = ".vadl-format-cache";
+
+  private static final Logger log = LoggerFactory.getLogger(DeferredFormatting.class);
+
+  private record PendingFile(Path file, Path cacheFile, String hash) {
+  }
+
+  private static final class State {
+    private final Map<CodeFormatter, List<PendingFile>> pending = new LinkedHashMap<>();
+    // the loaded caches by their cache file
+    private final Map<Path, Properties> caches = new HashMap<>();
+  }
+
+  private DeferredFormatting() {
+  }
+
+  private static State state() {
+    return CompilationSession.current().state(State.class, State::new);
+  }
+
+  /**
+   * Computes the hash of the unformatted content of a file.
+   */
+  static String hash(byte[] content) {
+    return Hashing.sha256().hashBytes(content).toString();
+  }
+
+  /**
+   * Returns true if the file exists and was formatted from content with the given hash.
+   *
+   * @param outputPath the output directory of the generator that emitted the file
+   */
+  static boolean isUpToDate(Path outputPath, Path file, String hash)
+      throws IOException {
+    if (!Files.isRegularFile(file)) {
+      return false;
+    }
+    var state = state();
+    synchronized (state) {
+      return hash.equals(cache(state, cacheFile(outputPath)).getProperty(key(file)));
+    }
+  }
+
+  /**
+   * Enqueues a written file to be formatted by the given formatter.
+   *
+   * @param outputPath the output directory of the generator that emitted the file
+   * @param hash       the hash of the unformatted content of the file
+   */
+  static void enqueue(CodeFormatter formatter, Path outputPath, Path file,
+                      String hash) throws IOException {
+    var cacheFile = cacheFile(outputPath);
+    var state = state();
+    synchronized (state) {
+      // the hash is only stored again once the file was formatted successfully
+      cache(state, cacheFile).remove(key(file));
+      state.pending.computeIfAbsent(formatter, k -> new ArrayList<>())
+          .add(new PendingFile(file, cacheFile, hash));
+    }
+  }
+
+  /**
+   * Returns the number of files that are waiting to be formatted.
+   */
+  public static int pendingCount() {
+    var state = state();
+    synchronized (state) {
+      return state.pending.values().stream().mapToInt(List::size).sum();
+    }
+  }
+
+  /**
+   * Formats all pending files and stores the hashes of the successfully formatted files.
+   * The formatters are applied one after another, but each formatter may format its
+   * files concurrently (see {@link CodeFormatter#formatAll(List)}).
+   *
+   * @return the number of formatted files
+   */
+  public static int formatPending() throws IOException {
+    var state = state();
+    synchronized (state) {
+      var formatted = 0;
+      for (var entry : state.pending.entrySet()) {
+        var files = entry.getValue();
+        try {
+          entry.getKey().formatAll(files.stream().map(PendingFile::file).toList());
+        } catch (CodeFormatter.NotAvailableException | CodeFormatter.FormatFailureException e) {
+          log.debug("Failed to apply code formatter: {}", e.getMessage());
+          continue;
+        }
+        formatted += files.size();
+        for (var file : files) {
+          cache(state, file.cacheFile()).setProperty(key(file.file()), file.hash());
+        }
+      }
+      state.pending.clear();
+
+      for (var cache : state.caches.entrySet()) {
+        try (Writer writer = Files.newBufferedWriter(cache.getKey(), StandardCharsets.UTF_8)) {
+          cache.getValue().store(writer, "Generated by OpenVADL. Do not edit.");
+        }
+      }
+      return formatted;
+    }
+  }
+
+  private static Path cacheFile(Path outputPath) {
+    return outputPath.resolve(CACHE_FILE_NAME).toAbsolutePath().normalize();
+  }
+
+  private static String key(Path file) {
+    return file.toAbsolutePath().normalize().toString();
+  }
+
+  private static Properties cache(State state, Path cacheFile) throws IOException {
+    var cache = state.caches.get(cacheFile);
+    if (cache == null) {
+      cache = new Properties();
+      if (Files.isRegularFile(cacheFile)) {
+        try (Reader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+          cache.load(reader);
+        }
+      }
+      state.caches.put(cacheFile, cache);
+    }
+    return cache;
+  }
+}
@@ -0,0 +1,58 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.template;
+
+import java.io.IOException;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import vadl.configuration.GeneralConfiguration;
+import vadl.pass.Pass;
+import vadl.pass.PassName;
+import vadl.pass.PassResults;
+import vadl.viam.Specification;
+
+/**
+ * Formats all files that were rendered by previous {@link AbstractMultiTemplateRenderingPass}es
+ * and enqueued in the {@link DeferredFormatting}.
+ * It waits for the {@link RenderingStage} to finish and must be added after the last
+ * rendering pass of a pass order.
+ */
+public class FormatRenderedFilesPass extends Pass {
+
+  private static final Logger log = LoggerFactory.getLogger(FormatRenderedFilesPass.class);
+
+  public FormatRenderedFilesPass(GeneralConfiguration configuration) {
+    super(configuration);
+  }
+
+  @Override
+  public PassName getName() {
+    return PassName.of("Format Rendered Files");
+  }
+
+  @Override
+  public @Nullable Object execute(PassResults passResults, Specification viam)
+      throws IOException {
+    // all files must be rendered before they can be formatted
+    RenderingStage.awaitAll();
+    var pending = DeferredFormatting.pendingCount();
+    var formatted = DeferredFormatting.formatPending();
+    log.debug("Formatted {} of {} rendered files", formatted, pending);
+    return null;
+  }
+}
@@ -0,0 +1,178 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.template;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.Nullable;
+import vadl.utils.CompilationSession;
+
+/**
+ * The stage that renders templates and writes the rendered files.
+ * The {@link AbstractMultiTemplateRenderingPass} creates the variables of its templates
+ * sequentially, as they depend on the VIAM and previous pass results.
+ * The rendering itself and the file I/O only depend on these variables and are submitted
+ * to this stage.
+ *
+ * <p>If the parallelism is set to more than one (see {@link #setParallelism(int)}), the
+ * tasks run concurrently and {@link #awaitAll()} must be called before the rendered files
+ * are used (e.g. by the {@link FormatRenderedFilesPass}).
+ * Otherwise, every task runs directly when it is submitted.</p>
+ *
+ * <p>The stage also records the accumulated rendering time of each template.
+ * Its tasks and times are kept per {@link CompilationSession}, and the rendering threads
+ * are shut down when the session is closed.</p>
+ */
+public final class RenderingStage {
+
+  /**
+   * A rendering task that renders and emits a single file.
+   */
+  @FunctionalInterface
+  interface RenderTask {
+    void run() throws IOException;
+  }
+
+  private static final class State implements AutoCloseable {
+    private int parallelism = 1;
+    @Nullable
+    private ExecutorService executor;
+    private final List<Future<?>> pending = new ArrayList<>();
+    private final Map<String, Long> renderNanos = new LinkedHashMap<>();
+
+    @Override
+    public synchronized void close() {
+      if (executor != null) {
+        executor.shutdown();
+        executor = null;
+      }
+    }
+  }
+
+  private RenderingStage() {
+  }
+
+  private static State state() {
+    return CompilationSession.current().state(State.class, State::new);
+  }
+
+  /**
+   * Sets the number of threads used to render templates.
+   */
+  public static void setParallelism(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+    }
+    var state = state();
+    synchronized (state) {
+      if (state.executor != null && parallelism != state.parallelism) {
+        state.executor.shutdown();
+        state.executor = null;
+      }
+      state.parallelism = parallelism;
+    }
+  }
+
+  /**
+   * Submits a rendering task of the given template.
+   * If the stage is sequential, the task is executed immediately.
+   */
+  static void submit(String templatePath, RenderTask task) throws IOException {
+    var state = state();
+    synchronized (state) {
+      state.renderNanos.putIfAbsent(templatePath, 0L);
+      if (state.parallelism > 1) {
+        if (state.executor == null) {
+          state.executor = Executors.newFixedThreadPool(state.parallelism, runnable -> {
+            var thread = new Thread(runnable, "vadl-rendering");
+            thread.setDaemon(true);
+            return thread;
+          });
+        }
+        state.pending.add(state.executor.submit(() -> {
+          runTimed(state, templatePath, task);
+          return null;
+        }));
+        return;
+      }
+    }
+    runTimed(state, templatePath, task);
+  }
+
+  /**
+   * Waits for all submitted rendering tasks to finish.
+   *
+   * @throws IOException if a task failed to write its file
+   */
+  public static void awaitAll() throws IOException {
+    var state = state();
+    List<Future<?>> futures;
+    synchronized (state) {
+      futures = new ArrayList<>(state.pending);
+      state.pending.clear();
+    }
+    for (var future : futures) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for rendering tasks", e);
+      } catch (ExecutionException e) {
+        var cause = e.getCause();
+        if (cause instanceof IOException ioException) {
+          throw ioException;
+        } else if (cause instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        } else if (cause instanceof Error error) {
+          throw error;
+        }
+        throw new IllegalStateException(cause);
+      }
+    }
+  }
+
+  /**
+   * Returns the accumulated rendering time in nanoseconds per template,
+   * in the order the templates were first submitted.
+   */
+  public static Map<String, Long> renderTimes() {
+    var state = state();
+    synchronized (state) {
+      return new LinkedHashMap<>(state.renderNanos);
+    }
+  }
+
+  private static void runTimed(State state, String templatePath, RenderTask task)
+      throws IOException {
+    var start = System.nanoTime();
+    try {
+      task.run();
+    } finally {
+      var duration = System.nanoTime() - start;
+      synchronized (state) {
+        state.renderNanos.merge(templatePath, duration, Long::sum);
+      }
+    }
+  }
+}
@@ -21,13 +21,16 @@ import static vadl.types.Type.constructDataType;
 
 import com.google.common.collect.Streams;
 import com.google.errorprone.annotations.FormatMethod;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -380,6 +383,10 @@ public class BuiltInTable {
   public static final BuiltIn SUMULL =
       func("VADL::sumull", "*#", Type.relation(SIntType.class, UIntType.class, SIntType.class))
           .takesAllWithSameBitWidths()
+          .compute((Constant.Value a, Constant.Value b) -> Constant.Value.fromInteger(
+              a.trivialCastTo(Type.signedInt(a.type().bitWidth())).integer()
+                  .multiply(b.trivialCastTo(Type.unsignedInt(b.type().bitWidth())).integer()),
+              Type.signedInt(2 * a.type().bitWidth())))
           .returnsFromFirstAsDataType((a) -> Type.signedInt(2 * a.bitWidth()))
           .build();
 
@@ -589,22 +596,27 @@ public class BuiltInTable {
 
   /**
    * {@code function equ ( a : Bits<N>, b : Bits<N> ) -> Bool // <=> a = b }
+   *
+   * <p>The arguments are compared by their bits only, so it does not matter whether
+   * they are {@code Bits}, {@code SInt} or {@code UInt}.</p>
    */
   public static final BuiltIn EQU =
       func("VADL::equ", "=", Type.relation(BitsType.class, BitsType.class, BoolType.class))
           .takesAllWithSameBitWidths()
-          .compute((a, b) -> Constant.Value.fromBoolean(a.equals(b)))
+          .compute(Constant.Value::equ)
           .returns(Type.bool())
           .build();
 
 
   /**
    * {@code function neq ( a : Bits<N>, b : Bits<N> ) -> Bool // <=> a != b }
+   *
+   * <p>The arguments are compared by their bits only (see {@link #EQU}).</p>
    */
   public static final BuiltIn NEQ =
       func("VADL::neq", "!=", Type.relation(BitsType.class, BitsType.class, BoolType.class))
           .takesAllWithSameBitWidths()
-          .compute((a, b) -> Constant.Value.fromBoolean(!a.equals(b)))
+          .compute((Constant.Value a, Constant.Value b) -> a.equ(b).not())
           .returns(Type.bool())
           .build();
 
@@ -745,6 +757,7 @@ public class BuiltInTable {
   public static final BuiltIn ASR =
       func("VADL::asr", ">>", Type.relation(SIntType.class, UIntType.class, SIntType.class))
           .takesDefault()
+          .compute(Constant.Value::asr)
           .returnsFirstBitWidth(SIntType.class)
           .build();
 
@@ -1649,23 +1662,31 @@ public class BuiltInTable {
           name);
 
       return new BuiltIn(name, operator, signature, kind) {
+        // the return types of already checked argument types, as types are interned
+        private final Map<List<Type>, Type> checkedArgTypes = new ConcurrentHashMap<>();
+
         @Override
         public Optional<Constant> compute(List<Constant> args) {
           if (computeFunction == null) {
             return super.compute(args);
           }
 
-          var argTypes = args.stream()
-              .map(Constant::type)
-              .toList();
-          if (!takes(argTypes)) {
-            throw new ViamError("Types of arguments does not match type signature of " + signature)
-                .addContext("built-in", this)
-                .addContext("constants", List.of(args));
+          var argTypes = new ArrayList<Type>(args.size());
+          for (var arg : args) {
+            argTypes.add(arg.type());
           }
+          var returnType = checkedArgTypes.computeIfAbsent(argTypes, types -> {
+            if (!takes(types)) {
+              throw new ViamError(
+                  "Types of arguments does not match type signature of " + signature)
+                  .addContext("built-in", this)
+                  .addContext("constants", List.of(args));
+            }
+            return returns(types);
+          });
           return computeFunction.apply(args)
               .map(result -> result instanceof Constant.Value value
-                  ? value.trivialCastTo(returns(argTypes))
+                  ? value.trivialCastTo(returnType)
                   : result);
         }
 
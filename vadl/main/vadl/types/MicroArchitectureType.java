@@ -16,14 +16,18 @@
 
 package vadl.types;
 
-import javax.annotation.Nullable;
-
 /**
  * Types necessary for the Micro Architecture description.
  */
 public abstract class MicroArchitectureType extends Type {
 
-  private static @Nullable FetchResultType fetchResult;
+  /**
+   * Holds the instances, which are created thread-safe on first access.
+   */
+  private static final class Singletons {
+    private static final FetchResultType FETCH_RESULT = new FetchResultType();
+    private static final InstructionType INSTRUCTION = new InstructionType();
+  }
 
   /**
    * Get FetchResultType.
@@ -31,23 +35,15 @@ public abstract class MicroArchitectureType extends Type {
    * @return FetchResultType instance
    */
   public static FetchResultType fetchResult() {
-    if (fetchResult == null) {
-      fetchResult = new FetchResultType();
-    }
-    return fetchResult;
+    return Singletons.FETCH_RESULT;
   }
 
-  private static @Nullable InstructionType instruction;
-
   /**
    * Get InstructionType.
    *
    * @return InstructionType instance
    */
   public static InstructionType instruction() {
-    if (instruction == null) {
-      instruction = new InstructionType();
-    }
-    return instruction;
+    return Singletons.INSTRUCTION;
   }
 }
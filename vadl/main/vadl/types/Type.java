@@ -16,11 +16,11 @@
 
 package vadl.types;
 
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import javax.annotation.Nullable;
 import vadl.viam.ViamError;
 
@@ -30,7 +30,10 @@ import vadl.viam.ViamError;
  *
  * <p>It provides static methods to retrieve the instances of all
  * concrete types. So to retrieve a type, those methods must be used,
- * such that there is only a single instance per type.</p>
+ * such that there is only a single instance per type.
+ * The instances are interned by their structure in concurrent maps,
+ * so the methods are safe to be called from parallel passes.
+ * As there is only a single instance per type, types are compared by identity.</p>
  */
 public abstract class Type {
 
@@ -65,7 +68,7 @@ public abstract class Type {
     return name();
   }
 
-  private static final HashMap<Integer, BitsType> bitsTypes = new HashMap<>();
+  private static final Map<Integer, BitsType> bitsTypes = new ConcurrentHashMap<>();
 
   /**
    * Retrieves the BitsType instance with the specified bit width.
@@ -78,7 +81,18 @@ public abstract class Type {
         .computeIfAbsent(bitWidth, k -> new BitsType(bitWidth));
   }
 
-  private static @Nullable BoolType bool;
+  /**
+   * Holds the types without parameters.
+   * They are created on the first access of a type, which is thread-safe by the
+   * class initialization of the JVM.
+   */
+  private static final class Singletons {
+    private static final BoolType BOOL = new BoolType();
+    private static final BitSliceType BIT_SLICE = new BitSliceType();
+    private static final StatusType STATUS = new StatusType();
+    private static final VoidType VOID = new VoidType();
+    private static final StringType STRING = new StringType();
+  }
 
   /**
    * Retrieves the instance of the BoolType.
@@ -86,14 +100,11 @@ public abstract class Type {
    * @return an instance of BoolType
    */
   public static BoolType bool() {
-    if (bool == null) {
-      bool = new BoolType();
-    }
-    return bool;
+    return Singletons.BOOL;
   }
 
 
-  private static final HashMap<Integer, SIntType> signedIntTypes = new HashMap<>();
+  private static final Map<Integer, SIntType> signedIntTypes = new ConcurrentHashMap<>();
 
   /**
    * Retrieves the instance of SIntType with the specified bit width.
@@ -106,7 +117,7 @@ public abstract class Type {
         .computeIfAbsent(bitWidth, k -> new SIntType(bitWidth));
   }
 
-  private static final HashMap<Integer, UIntType> unsignedIntTyps = new HashMap<>();
+  private static final Map<Integer, UIntType> unsignedIntTyps = new ConcurrentHashMap<>();
 
   /**
    * Retrieves the instance of UIntType with the specified bit width.
@@ -129,21 +140,16 @@ public abstract class Type {
     return DummyType.INSTANCE;
   }
 
-  private static @Nullable BitSliceType bitSliceType = null;
-
   /**
    * Retrieves the instance of BitSliceType.
    *
    * @return the instance of BitSliceType
    */
   public static BitSliceType bitSlice() {
-    if (bitSliceType == null) {
-      bitSliceType = new BitSliceType();
-    }
-    return bitSliceType;
+    return Singletons.BIT_SLICE;
   }
 
-  private static final HashMap<Integer, TupleType> tupleTypes = new HashMap<>();
+  private static final Map<List<Type>, TupleType> tupleTypes = new ConcurrentHashMap<>();
 
   /**
    * Retrieves the tuple type with the specified subtypes.
@@ -152,52 +158,39 @@ public abstract class Type {
    * @return the tuple type with the specified subtypes
    */
   public static TupleType tuple(Type... types) {
-    var hashCode = Arrays.hashCode(types);
-    return tupleTypes
-        .computeIfAbsent(hashCode, k -> new TupleType(types));
+    return intern(tupleTypes, List.of(types), k -> new TupleType(types.clone()));
   }
 
-  private static @Nullable StatusType statusType = null;
-
   /**
    * Retrieves the status type instance.
    *
    * @return the status type instance
    */
   public static StatusType status() {
-    if (statusType == null) {
-      statusType = new StatusType();
-    }
-    return statusType;
+    return Singletons.STATUS;
   }
 
-  private static @Nullable VoidType voidType = null;
-
-
   /**
    * Retrieves the instance of VoidType.
    */
   public static VoidType void_() {
-    if (voidType == null) {
-      voidType = new VoidType();
-    }
-    return voidType;
+    return Singletons.VOID;
   }
 
-  private static @Nullable StringType stringType = null;
-
   /**
    * Retrieves the instance of StringType.
    */
   public static StringType string() {
-    if (stringType == null) {
-      stringType = new StringType();
-    }
-    return stringType;
+    return Singletons.STRING;
   }
 
 
-  private static final HashMap<Integer, RelationType> relationTypes = new HashMap<>();
+  private record RelationKey(List<Class<? extends Type>> argTypes,
+                             boolean hasVarArgs,
+                             Class<? extends Type> returnType) {
+  }
+
+  private static final Map<RelationKey, RelationType> relationTypes = new ConcurrentHashMap<>();
 
   /**
    * Retrieves the generic relation type.
@@ -222,9 +215,9 @@ public abstract class Type {
   public static RelationType relation(List<Class<? extends Type>> argTypes,
                                       boolean hasVarArgs,
                                       Class<? extends Type> returnType) {
-    var hashCode = Objects.hash(argTypes, hasVarArgs, returnType);
-    return relationTypes
-        .computeIfAbsent(hashCode, k -> new RelationType(argTypes, hasVarArgs, returnType));
+    var key = new RelationKey(List.copyOf(argTypes), hasVarArgs, returnType);
+    return intern(relationTypes, key,
+        k -> new RelationType(k.argTypes(), k.hasVarArgs(), k.returnType()));
   }
 
   /**
@@ -263,8 +256,11 @@ public abstract class Type {
     return relation(List.of(firstArg, secondArg), false, returnType);
   }
 
-  private static final HashMap<Integer, ConcreteRelationType> concreteRelationTypes =
-      new HashMap<>();
+  private record ConcreteRelationKey(List<Type> argTypes, Type returnType) {
+  }
+
+  private static final Map<ConcreteRelationKey, ConcreteRelationType> concreteRelationTypes =
+      new ConcurrentHashMap<>();
 
   /**
    * Retrieves the ConcreteRelationType based on the given argument types and return type.
@@ -275,9 +271,9 @@ public abstract class Type {
    */
   public static ConcreteRelationType concreteRelation(List<Type> argTypes,
                                                       Type returnType) {
-    var hashCode = Objects.hash(argTypes, returnType);
-    return concreteRelationTypes
-        .computeIfAbsent(hashCode, k -> new ConcreteRelationType(argTypes, returnType));
+    var key = new ConcreteRelationKey(List.copyOf(argTypes), returnType);
+    return intern(concreteRelationTypes, key,
+        k -> new ConcreteRelationType(k.argTypes(), k.returnType()));
   }
 
   /**
@@ -316,15 +312,24 @@ public abstract class Type {
     return concreteRelation(List.of(firstType, secondType), returnType);
   }
 
-  private static final HashMap<Integer, AlternativeType> alternativeTypes = new HashMap<>();
+  private static final Map<Set<Type>, AlternativeType> alternativeTypes =
+      new ConcurrentHashMap<>();
 
   /**
    * Retrieves the {@link AlternativeType} with the given types.
    */
   public static AlternativeType alternative(Set<Type> types) {
-    var hash = Objects.hash(types);
-    return alternativeTypes
-        .computeIfAbsent(hash, k -> new AlternativeType(types));
+    return intern(alternativeTypes, Set.copyOf(types), k -> new AlternativeType(k));
+  }
+
+  /**
+   * Returns the type interned for the given structural key, or creates it.
+   * The lookup does not lock if the type already exists.
+   */
+  private static <K, T extends Type> T intern(Map<K, T> types, K key,
+                                              Function<? super K, ? extends T> factory) {
+    var type = types.get(key);
+    return type != null ? type : types.computeIfAbsent(key, factory);
   }
 
 
@@ -0,0 +1,122 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.utils;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * Holds the state of a single compilation that must not be shared with other compilations
+ * in the same JVM, like the deferred diagnostics or the tracked artifacts.
+ *
+ * <p>Instead of static fields, such components store their state in the current session
+ * using {@link #state(Class, Supplier)}. If no session was opened, the global session is used,
+ * so a process that runs a single compilation (like a CLI command or a test) behaves
+ * as before.</p>
+ *
+ * <p>A session is bound to the thread that opened it and is inherited by the threads that
+ * are created while it is bound, like the workers of the pass manager or the rendering
+ * stage. Those threads must not outlive the session.</p>
+ */
+public final class CompilationSession implements AutoCloseable {
+
+  private static final CompilationSession GLOBAL = new CompilationSession("global", null);
+  private static final InheritableThreadLocal<CompilationSession> BOUND =
+      new InheritableThreadLocal<>();
+
+  private final String name;
+  @Nullable
+  private final CompilationSession previous;
+  private final Map<Class<?>, Object> states = new ConcurrentHashMap<>();
+
+  private CompilationSession(String name, @Nullable CompilationSession previous) {
+    this.name = name;
+    this.previous = previous;
+  }
+
+  /**
+   * Opens a new session and binds it to the current thread until it is closed.
+   *
+   * @param name the name of the session, e.g. the id of a compilation request
+   * @return the opened session that must be closed by the same thread
+   */
+  public static CompilationSession open(String name) {
+    var session = new CompilationSession(name, BOUND.get());
+    BOUND.set(session);
+    return session;
+  }
+
+  /**
+   * Returns the session bound to the current thread, or the global session if none is bound.
+   */
+  public static CompilationSession current() {
+    var session = BOUND.get();
+    return session != null ? session : GLOBAL;
+  }
+
+  public String name() {
+    return name;
+  }
+
+  /**
+   * Returns the state of the given class in this session, which is created by the factory
+   * on the first access.
+   * The factory must not access other states of the session.
+   */
+  public <T> T state(Class<T> stateClass, Supplier<? extends T> factory) {
+    return stateClass.cast(states.computeIfAbsent(stateClass, k -> factory.get()));
+  }
+
+  /**
+   * Returns the state of the given class in this session if it was already created.
+   */
+  public <T> Optional<T> findState(Class<T> stateClass) {
+    return Optional.ofNullable(states.get(stateClass)).map(stateClass::cast);
+  }
+
+  /**
+   * Unbinds the session from the current thread and closes all states that are
+   * {@link AutoCloseable}.
+   */
+  @Override
+  public void close() {
+    if (this == GLOBAL) {
+      throw new IllegalStateException("The global session cannot be closed");
+    }
+    if (BOUND.get() == this) {
+      BOUND.set(previous);
+    }
+    for (var state : states.values()) {
+      if (state instanceof AutoCloseable closeable) {
+        try {
+          closeable.close();
+        } catch (Exception e) {
+          throw new IllegalStateException("Failed to close state of session " + name, e);
+        }
+      }
+    }
+    states.clear();
+  }
+
+  @Override
+  public String toString() {
+    return "CompilationSession{ name='" + name + "' }";
+  }
+}
@@ -24,7 +24,9 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -53,6 +55,14 @@ public record SourceLocation(
   public static final SourceLocation INVALID_SOURCE_LOCATION =
       new SourceLocation(INVALID_MEMORY, 0);
 
+  private record InternTable(URI uri, Map<SourceLocation, SourceLocation> locations) {
+  }
+
+  // the canonical locations of each source file in a compilation session, see intern()
+  private static final class InternTables {
+    private final Map<URI, InternTable> tables = new ConcurrentHashMap<>();
+  }
+
   public SourceLocation(URI uri, Position begin, Position end) {
     this(uri, begin, end, null);
   }
@@ -77,6 +87,33 @@ public record SourceLocation(
     return isValid() ? this : defaultLocation;
   }
 
+  /**
+   * Returns the canonical instance of this location.
+   * Equal locations of the same file share one instance, including the uri and the
+   * macro expansion location. This is used to reduce the memory of graphs that contain
+   * many nodes with the same location (e.g. after inlining).
+   *
+   * <p>The canonical locations are kept per {@link CompilationSession}, so they are
+   * dropped when the session is closed.</p>
+   */
+  public SourceLocation intern() {
+    if (this == INVALID_SOURCE_LOCATION) {
+      return this;
+    }
+    var internTables = CompilationSession.current()
+        .state(InternTables.class, InternTables::new).tables;
+    var table = internTables.computeIfAbsent(uri,
+        key -> new InternTable(key, new ConcurrentHashMap<>()));
+    var existing = table.locations().get(this);
+    if (existing != null) {
+      return existing;
+    }
+    var canonical = new SourceLocation(table.uri(), begin, end,
+        expandedFrom == null ? null : expandedFrom.intern());
+    var previous = table.locations().putIfAbsent(canonical, canonical);
+    return previous != null ? previous : canonical;
+  }
+
   /**
    * Joins multiple source location together.
    *
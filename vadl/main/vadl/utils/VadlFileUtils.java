@@ -36,9 +36,9 @@ import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import javax.annotation.Nullable;
 import org.apache.commons.io.FileUtils;
@@ -266,8 +266,8 @@ public class VadlFileUtils {
 
   /// DELETION API ///
 
-  // A set of directories to delete on exit
-  private static final Set<File> dirsToDeleteOnExit = new HashSet<>();
+  // A set of directories to delete on exit, registered by all compilations of the JVM
+  private static final Set<File> dirsToDeleteOnExit = ConcurrentHashMap.newKeySet();
   // a thread that is applied as a shutdown hook.
   // it will delete all directories in the dirsToDeleteOnExit set
   private static final Thread deleteExecutorThread = new Thread(() -> {
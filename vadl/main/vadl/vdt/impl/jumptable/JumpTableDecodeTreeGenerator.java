@@ -0,0 +1,359 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.vdt.impl.jumptable;
+
+import com.google.common.collect.Iterables;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+import javax.annotation.Nullable;
+import vadl.vdt.impl.theiling.InnerNodeImpl;
+import vadl.vdt.impl.theiling.LeafNodeImpl;
+import vadl.vdt.model.DecodeTreeGenerator;
+import vadl.vdt.model.Node;
+import vadl.vdt.utils.Bit;
+import vadl.vdt.utils.BitPattern;
+import vadl.vdt.utils.BitVector;
+import vadl.vdt.utils.Instruction;
+
+/**
+ * Generates a decode tree whose decisions are contiguous bit ranges, so that every inner node
+ * can be emitted as {@code switch ((insn >> lo) & mask)} and compiled to a jump table.
+ *
+ * <p>In contrast to the {@link vadl.vdt.impl.theiling.TheilingDecodeTreeGenerator}, which
+ * decides on all bits that are significant for every instruction at once, this generator picks
+ * the range that minimizes the expected cost of decoding an instruction, together with the bits
+ * that have the same value in all remaining instructions. The cost of a decision
+ * is one jump if its case values are dense enough for a jump table, and the steps of a binary
+ * search over the cases otherwise. The expected cost weights every instruction by its
+ * (optional) frequency and is computed with a fixed lookahead, deeper levels are estimated by
+ * the entropy of the remaining instructions.
+ *
+ * <p>Like the Theiling algorithm, this implementation is limited to fixed-width instruction
+ * patterns, see {@link vadl.vdt.impl.multiwidth.MultiWidthDecodeTreeGenerator} for instructions of
+ * different widths.
+ * An instruction that is subsumed by the others becomes the fallback of the decisions below
+ * the point where it was split off.
+ */
+public class JumpTableDecodeTreeGenerator implements DecodeTreeGenerator<Instruction> {
+
+  /**
+   * The widest bit range of a single decision, which limits a jump table to 256 entries.
+   */
+  public static final int DEFAULT_MAX_BITS = 8;
+
+  /**
+   * The minimal ratio of case values to the size of the value range, for which a decision is
+   * assumed to be compiled to a jump table. This corresponds to the largest table growth that
+   * GCC accepts when optimizing for speed.
+   */
+  public static final double DEFAULT_MIN_DENSITY = 0.125;
+
+  private static final int LOOKAHEAD = 2;
+  private static final double EPSILON = 1e-9;
+
+  private final ToDoubleFunction<Instruction> weights;
+  private final int maxBits;
+  private final double minDensity;
+
+  /**
+   * Creates a generator that assumes all instructions to be equally frequent.
+   */
+  public JumpTableDecodeTreeGenerator() {
+    this(insn -> 1.0);
+  }
+
+  /**
+   * Creates a generator that weights the instructions by the given frequencies.
+   */
+  public JumpTableDecodeTreeGenerator(ToDoubleFunction<Instruction> weights) {
+    this(weights, DEFAULT_MAX_BITS, DEFAULT_MIN_DENSITY);
+  }
+
+  /**
+   * Creates a generator.
+   *
+   * @param weights    the relative frequency of an instruction, must not be negative
+   * @param maxBits    the widest bit range of a single decision
+   * @param minDensity the minimal density of case values to assume a jump table
+   */
+  public JumpTableDecodeTreeGenerator(ToDoubleFunction<Instruction> weights, int maxBits,
+                                      double minDensity) {
+    if (maxBits < 1) {
+      throw new IllegalArgumentException("The maximal number of bits must be at least 1");
+    }
+    this.weights = weights;
+    this.maxBits = maxBits;
+    this.minDensity = minDensity;
+  }
+
+  @Override
+  public Node generate(Collection<Instruction> instructions) {
+    validate(instructions);
+
+    // the patterns are wider than the instructions, if those have different widths
+    int insnWidth = instructions.iterator().next().pattern().width();
+    return generateInternal(BitVector.ones(insnWidth), List.copyOf(instructions), null);
+  }
+
+  private Node generateInternal(BitVector ggMask, List<Instruction> instructions,
+                                @Nullable Node fallback) {
+
+    BitVector common = commonMask(ggMask, instructions);
+
+    if (common.isZero() && instructions.size() == 1) {
+      return new LeafNodeImpl(instructions.get(0));
+    }
+
+    if (common.isZero()) {
+      // the instruction without remaining significant bits is subsumed by all others
+      // and is decoded whenever none of them matches
+      final var defaultInsn = getDefault(ggMask, instructions);
+      fallback = new LeafNodeImpl(defaultInsn);
+      instructions = instructions.stream()
+          .filter(i -> i != defaultInsn)
+          .toList();
+      common = commonMask(ggMask, instructions);
+
+      if (common.isZero()) {
+        throw new IllegalArgumentException("Overlapping instructions found: " + instructions);
+      }
+    }
+
+    final Decision decision = bestDecision(ggMask, common, instructions, LOOKAHEAD);
+
+    final Map<BitPattern, Node> children = new LinkedHashMap<>();
+    final var subGMask = ggMask.andNot(decision.mask);
+
+    for (Map.Entry<BitPattern, List<Instruction>> entry : decision.partition.entrySet()) {
+      children.put(entry.getKey(), generateInternal(subGMask, entry.getValue(), fallback));
+    }
+
+    return new InnerNodeImpl(decision.mask, children, fallback);
+  }
+
+  /**
+   * A candidate decision on the bit range {@code [lo, lo + bits)} and the constant bits in the
+   * mask, together with the resulting partition and its expected cost.
+   */
+  private record Decision(BitVector mask, int lo, int bits,
+                          Map<BitPattern, List<Instruction>> partition, double cost) {
+  }
+
+  /**
+   * Finds the bit range with the lowest expected cost. On equal costs, the wider range is
+   * preferred, as it resolves more bits in the same jump.
+   *
+   * <p>Bits that have the same value in all instructions are added to every decision. They
+   * don't split the instructions but must be checked, which is done by a single comparison
+   * before the switch instead of a decision on their own.
+   */
+  private Decision bestDecision(BitVector ggMask, BitVector common,
+                                List<Instruction> instructions, int lookahead) {
+    final int width = common.width();
+    final double total = totalWeight(instructions);
+    final BitVector constant = constantMask(common, instructions);
+
+    Decision best = null;
+    for (int lo = 0; lo < width; lo++) {
+      for (int bits = 1; bits <= maxBits && lo + bits <= width; bits++) {
+        if (!isSet(common, lo + bits - 1)) {
+          break;
+        }
+
+        final var range = rangeMask(width, lo, bits);
+        final var mask = range.or(constant);
+        final var partition = partition(mask, instructions);
+        final var subGMask = ggMask.andNot(mask);
+
+        double cost = decisionCost(instructions, range, lo);
+        for (List<Instruction> subset : partition.values()) {
+          cost += probability(subset, instructions.size(), total)
+              * expectedCost(subGMask, subset, lookahead - 1);
+        }
+
+        if (best == null || cost < best.cost - EPSILON
+            || (cost < best.cost + EPSILON && bits > best.bits)) {
+          best = new Decision(mask, lo, bits, partition, cost);
+        }
+      }
+    }
+
+    if (best == null) {
+      throw new IllegalStateException("No decision found for " + instructions);
+    }
+    return best;
+  }
+
+  private double expectedCost(BitVector ggMask, List<Instruction> instructions, int lookahead) {
+    final var common = commonMask(ggMask, instructions);
+
+    if (instructions.size() == 1) {
+      // the remaining bits of a single instruction can always be checked in one decision
+      // for the supported instruction widths
+      return common.isZero() ? 0 : 1;
+    }
+
+    if (lookahead <= 0 || common.isZero()) {
+      return Math.max(1, entropy(instructions) / maxBits);
+    }
+
+    return bestDecision(ggMask, common, instructions, lookahead).cost;
+  }
+
+  /**
+   * Returns the number of steps needed to take a decision on the given range. A dense switch
+   * is a single indirect jump, a sparse one is compiled to a binary search.
+   */
+  private double decisionCost(List<Instruction> instructions, BitVector range, int lo) {
+    final var cases = partition(range, instructions).keySet();
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    for (BitPattern decision : cases) {
+      final long value = decision.toBitVector().toValue().shiftRight(lo).longValue();
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+    }
+
+    if ((double) cases.size() / (max - min + 1) >= minDensity) {
+      return 1;
+    }
+    return Math.ceil(Math.log(cases.size() + 1) / Math.log(2));
+  }
+
+  /**
+   * The weighted entropy of the instructions in bits, i.e. a lower bound of the bits that must
+   * be decided on to identify an instruction.
+   */
+  private double entropy(List<Instruction> instructions) {
+    final double total = totalWeight(instructions);
+    double entropy = 0;
+    for (Instruction instruction : instructions) {
+      final double p = probability(List.of(instruction), instructions.size(), total);
+      if (p > 0) {
+        entropy -= p * Math.log(p) / Math.log(2);
+      }
+    }
+    return entropy;
+  }
+
+  private double totalWeight(List<Instruction> instructions) {
+    double total = 0;
+    for (Instruction instruction : instructions) {
+      total += weights.applyAsDouble(instruction);
+    }
+    return total;
+  }
+
+  private double probability(List<Instruction> subset, int count, double total) {
+    if (total <= 0) {
+      // no weights given for these instructions, so all are equally likely
+      return (double) subset.size() / count;
+    }
+    return totalWeight(subset) / total;
+  }
+
+  private Map<BitPattern, List<Instruction>> partition(BitVector mask,
+                                                       List<Instruction> instructions) {
+    final Map<BitPattern, List<Instruction>> partition = new LinkedHashMap<>();
+    for (Instruction instruction : instructions) {
+      final BitPattern part = instruction.pattern().restrict(mask);
+      partition.computeIfAbsent(part, k -> new ArrayList<>()).add(instruction);
+    }
+    return partition;
+  }
+
+  private Instruction getDefault(BitVector ggMask, List<Instruction> instructions) {
+    final var m = instructions.stream()
+        .filter(i -> !i.pattern().significantBits().intersects(ggMask))
+        .toList();
+
+    if (m.size() != 1) {
+      throw new IllegalArgumentException("Overlapping instructions found: " + m);
+    }
+    return m.get(0);
+  }
+
+  /**
+   * Returns the bits of the common mask that have the same value in all instructions.
+   */
+  private BitVector constantMask(BitVector common, List<Instruction> instructions) {
+    final var first = instructions.get(0).pattern().toBitVector();
+    var differing = BitVector.zeros(common.width());
+    for (Instruction instruction : instructions) {
+      differing = differing.or(instruction.pattern().toBitVector().xor(first));
+    }
+    return common.andNot(differing);
+  }
+
+  private BitVector commonMask(BitVector ggMask, List<Instruction> instructions) {
+    return ggMask.andAll(Iterables.transform(instructions, i -> i.pattern().significantBits()));
+  }
+
+  /**
+   * Returns whether the bit with the given significance (0 is the least significant bit)
+   * is set.
+   */
+  private static boolean isSet(BitVector vector, int bit) {
+    return vector.testBit(vector.width() - (bit + 1));
+  }
+
+  private static BitVector rangeMask(int width, int lo, int bits) {
+    final Bit[] mask = new Bit[width];
+    for (int i = 0; i < width; i++) {
+      final int bit = width - (i + 1);
+      mask[i] = new Bit(bit >= lo && bit < lo + bits);
+    }
+    return new BitVector(mask);
+  }
+
+  /**
+   * Validate some basic constraints on the instructions, which are required for the algorithm to
+   * work.
+   *
+   * @param instructions the instructions to validate
+   */
+  private void validate(Collection<Instruction> instructions) {
+    if (instructions.isEmpty()) {
+      throw new IllegalArgumentException("Instructions cannot be empty");
+    }
+
+    final int expectedWidth = instructions.iterator().next().pattern().width();
+
+    for (Instruction instruction : instructions) {
+      if (instruction.width() <= 0) {
+        throw new IllegalArgumentException("Instruction width must be greater than 0");
+      }
+
+      if (instruction.width() > instruction.pattern().width()) {
+        throw new IllegalArgumentException(
+            "Instruction width must not exceed the fixed bit pattern width");
+      }
+
+      if (instruction.pattern().width() != expectedWidth) {
+        throw new IllegalArgumentException("All instruction patterns must have the same width");
+      }
+
+      if (weights.applyAsDouble(instruction) < 0) {
+        throw new IllegalArgumentException("Instruction weight must not be negative");
+      }
+    }
+  }
+}
@@ -0,0 +1,138 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.vdt.impl.multiwidth;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import vadl.vdt.model.DecodeTreeGenerator;
+import vadl.vdt.model.Node;
+import vadl.vdt.utils.BitPattern;
+import vadl.vdt.utils.Instruction;
+import vadl.vdt.utils.PBit;
+
+/**
+ * Generates a decode tree for instructions of different widths, like an ISA with compressed
+ * instructions, by extending all patterns to the widest instruction and building the tree with
+ * a fixed-width generator.
+ *
+ * <p>Instructions are fetched in parcels of the narrowest width and are stored in little-endian
+ * order, so the first parcel holds the least significant bits of every instruction. The bits
+ * beyond the width of an instruction are <i>don't care</i> in its extended pattern.
+ * As the generators only decide on bits that are significant in all remaining instructions,
+ * the decisions above instructions of different widths only test bits of the narrowest of them.
+ * These decisions are the length-decoding stage of the tree: the instructions are validated to
+ * differ in the bits of the narrower one, so the width is known before a decision needs the bits
+ * of a later parcel. A decoder therefore only has to fetch the parcels of the bits tested
+ * on its path (see {@link vadl.vdt.target.iss.IssDecisionTreeCodeGenerator}).
+ *
+ * <p>The {@link Instruction#width()} of the instructions in the tree is their actual width,
+ * while the width of their patterns is the width of the widest instruction.
+ */
+public class MultiWidthDecodeTreeGenerator implements DecodeTreeGenerator<Instruction> {
+
+  private final DecodeTreeGenerator<Instruction> generator;
+
+  /**
+   * Creates a generator that builds the tree over the extended patterns with the given
+   * fixed-width generator.
+   */
+  public MultiWidthDecodeTreeGenerator(DecodeTreeGenerator<Instruction> generator) {
+    this.generator = generator;
+  }
+
+  @Override
+  public Node generate(Collection<Instruction> instructions) {
+    if (instructions.isEmpty()) {
+      throw new IllegalArgumentException("Instructions cannot be empty");
+    }
+
+    final int minWidth = instructions.stream().mapToInt(Instruction::width).min().orElseThrow();
+    final int maxWidth = instructions.stream().mapToInt(Instruction::width).max().orElseThrow();
+
+    if (minWidth == maxWidth) {
+      return generator.generate(instructions);
+    }
+
+    validate(instructions, minWidth);
+
+    final List<Instruction> extended = new ArrayList<>(instructions.size());
+    for (Instruction instruction : instructions) {
+      extended.add(new Instruction(instruction.source(), instruction.width(),
+          extend(instruction.pattern(), maxWidth)));
+    }
+    return generator.generate(extended);
+  }
+
+  /**
+   * Extends the pattern to the given width by adding <i>don't care</i> bits as the most
+   * significant bits.
+   */
+  private static BitPattern extend(BitPattern pattern, int width) {
+    final PBit[] bits = new PBit[width];
+    final int offset = width - pattern.width();
+    for (int i = 0; i < width; i++) {
+      bits[i] = i < offset ? new PBit(PBit.Value.DONT_CARE) : pattern.get(i - offset);
+    }
+    return new BitPattern(bits);
+  }
+
+  /**
+   * Validates that all widths are multiples of the parcel width and that the width of an
+   * instruction can be decided from the bits of the narrower instructions.
+   */
+  private static void validate(Collection<Instruction> instructions, int parcelWidth) {
+    for (Instruction instruction : instructions) {
+      if (instruction.width() != instruction.pattern().width()) {
+        throw new IllegalArgumentException(
+            "Instruction width must match the fixed bit pattern width");
+      }
+      if (instruction.width() % parcelWidth != 0) {
+        throw new IllegalArgumentException(
+            "Instruction width %d of %s is not a multiple of the narrowest width %d".formatted(
+                instruction.width(), instruction.source().simpleName(), parcelWidth));
+      }
+    }
+
+    for (Instruction a : instructions) {
+      for (Instruction b : instructions) {
+        if (a.width() < b.width() && overlap(a.pattern(), b.pattern())) {
+          throw new IllegalArgumentException(
+              "Cannot decide the width of %s (%d bit) and %s (%d bit) from their first %d bits"
+                  .formatted(a.source().simpleName(), a.width(), b.source().simpleName(),
+                      b.width(), a.width()));
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns whether an encoding can match both patterns in the bits of the narrower
+   * pattern {@code a}, i.e. whether no bit that is significant in both has different values.
+   */
+  private static boolean overlap(BitPattern a, BitPattern b) {
+    final int offset = b.width() - a.width();
+    for (int i = 0; i < a.width(); i++) {
+      final var bitA = a.get(i).getValue();
+      final var bitB = b.get(i + offset).getValue();
+      if (bitA != PBit.Value.DONT_CARE && bitB != PBit.Value.DONT_CARE && bitA != bitB) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
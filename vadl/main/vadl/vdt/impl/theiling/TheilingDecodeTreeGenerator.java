@@ -16,7 +16,7 @@
 
 package vadl.vdt.impl.theiling;
 
-import java.math.BigInteger;
+import com.google.common.collect.Iterables;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
@@ -28,11 +28,9 @@ import java.util.Set;
 import org.apache.commons.lang3.tuple.ImmutableTriple;
 import vadl.vdt.model.DecodeTreeGenerator;
 import vadl.vdt.model.Node;
-import vadl.vdt.utils.Bit;
 import vadl.vdt.utils.BitPattern;
 import vadl.vdt.utils.BitVector;
 import vadl.vdt.utils.Instruction;
-import vadl.vdt.utils.PBit;
 
 /**
  * Uses the Theiling algorithm to generate a decode tree.
@@ -40,8 +38,10 @@ import vadl.vdt.utils.PBit;
  * <p>See: <a
  * href="https://doi.org/10.1145/384198.384213">Generating Decision Trees For Decoding Binaries (Henrik Theiling)</a>
  *
- * <p>This implementation is limited to fixed-width instructions and does not support overlapping
- * instruction patterns (Except of subsumed instructions, through default nodes).
+ * <p>This implementation is limited to fixed-width instruction patterns and does not support
+ * overlapping instruction patterns (Except of subsumed instructions, through default nodes).
+ * Instructions of different widths are supported by
+ * {@link vadl.vdt.impl.multiwidth.MultiWidthDecodeTreeGenerator}.
  */
 public class TheilingDecodeTreeGenerator implements DecodeTreeGenerator<Instruction> {
 
@@ -50,7 +50,8 @@ public class TheilingDecodeTreeGenerator implements DecodeTreeGenerator<Instruct
     validate(instructions);
 
     // Initially, the mask is set to consider all bits
-    int insnWidth = instructions.iterator().next().width();
+    // the patterns are wider than the instructions, if those have different widths
+    int insnWidth = instructions.iterator().next().pattern().width();
     return generateInternal(fullMask(insnWidth), instructions);
   }
 
@@ -58,19 +59,16 @@ public class TheilingDecodeTreeGenerator implements DecodeTreeGenerator<Instruct
 
     // Step 1: compute a bit mask of bits that are significant for all patterns. Only the bits
     // set in the gMask are considered.
-    BitVector mask = ggMask;
-    for (Instruction instruction : instructions) {
-      mask = mask.and(mask(instruction));
-    }
+    BitVector mask = ggMask.andAll(Iterables.transform(instructions, this::mask));
 
     // Step 2: possibly terminate: insn set must be a singleton
-    if (mask.toValue().equals(BigInteger.ZERO) && instructions.size() == 1) {
+    if (mask.isZero() && instructions.size() == 1) {
       return new LeafNodeImpl(instructions.iterator().next());
     }
 
     // Step 3: Decide about default node (for subsumed instructions)
     Optional<Node> defaultNode = Optional.empty();
-    if (mask.toValue().equals(BigInteger.ZERO)) {
+    if (mask.isZero()) {
       final var result = getDefault(ggMask, instructions);
 
       defaultNode = Optional.of(new LeafNodeImpl(result.getLeft()));
@@ -83,12 +81,11 @@ public class TheilingDecodeTreeGenerator implements DecodeTreeGenerator<Instruct
 
     // Step 5: Recurse on the partition subsets
     final Map<BitPattern, Node> children = new LinkedHashMap<>();
+    final var subGMask = ggMask.andNot(mask);
 
     for (Map.Entry<BitPattern, Collection<Instruction>> entry : partition.entrySet()) {
       final BitPattern decision = entry.getKey();
       final Collection<Instruction> subset = entry.getValue();
-
-      final var subGMask = ggMask.and(mask.not());
       children.put(decision, generateInternal(subGMask, subset));
     }
 
@@ -118,15 +115,7 @@ public class TheilingDecodeTreeGenerator implements DecodeTreeGenerator<Instruct
    * @return The decision bits
    */
   private BitPattern partition(BitVector mask, Instruction instruction) {
-    final PBit[] decisionBits = new PBit[instruction.width()];
-    for (int i = 0; i < instruction.width(); i++) {
-      if (mask.get(i).value()) {
-        decisionBits[i] = instruction.pattern().get(i);
-      } else {
-        decisionBits[i] = new PBit(PBit.Value.DONT_CARE);
-      }
-    }
-    return new BitPattern(decisionBits);
+    return instruction.pattern().restrict(mask);
   }
 
   private ImmutableTriple<Instruction, Collection<Instruction>, BitVector> getDefault(
@@ -135,8 +124,7 @@ public class TheilingDecodeTreeGenerator implements DecodeTreeGenerator<Instruct
     // Compute the set of bit patterns that have empty remaining bit masks
     final Set<Instruction> m = new LinkedHashSet<>();
     for (Instruction instruction : instructions) {
-      var k = mask(instruction).and(ggMask);
-      if (k.toValue().equals(BigInteger.ZERO)) {
+      if (!mask(instruction).intersects(ggMask)) {
         m.add(instruction);
       }
     }
@@ -151,12 +139,9 @@ public class TheilingDecodeTreeGenerator implements DecodeTreeGenerator<Instruct
         .toList();
 
     // Compute the new mask for the subsumed instructions (Similar to Step 1)
-    var newMask = ggMask;
-    for (var insn : subsumed) {
-      newMask = newMask.and(mask(insn));
-    }
+    var newMask = ggMask.andAll(Iterables.transform(subsumed, this::mask));
 
-    if (newMask.toValue().equals(BigInteger.ZERO)) {
+    if (newMask.isZero()) {
       throw new IllegalArgumentException("Overlapping instructions found: " + subsumed);
     }
 
@@ -171,19 +156,11 @@ public class TheilingDecodeTreeGenerator implements DecodeTreeGenerator<Instruct
    * @return The mask
    */
   private BitVector mask(Instruction instruction) {
-    final Bit[] maskBits = new Bit[instruction.width()];
-    for (int i = 0; i < instruction.width(); i++) {
-      maskBits[i] = new Bit(instruction.pattern().get(i).getValue() != PBit.Value.DONT_CARE);
-    }
-    return new BitVector(maskBits);
+    return instruction.pattern().significantBits();
   }
 
   private BitVector fullMask(int width) {
-    final Bit[] bits = new Bit[width];
-    for (int i = 0; i < width; i++) {
-      bits[i] = new Bit(true);
-    }
-    return new BitVector(bits);
+    return BitVector.ones(width);
   }
 
   /**
@@ -200,7 +177,7 @@ public class TheilingDecodeTreeGenerator implements DecodeTreeGenerator<Instruct
       throw new IllegalArgumentException("Instructions cannot be empty");
     }
 
-    final int expectedWidth = instructions.iterator().next().width();
+    final int expectedWidth = instructions.iterator().next().pattern().width();
 
     for (Instruction instruction : instructions) {
 
@@ -212,13 +189,13 @@ public class TheilingDecodeTreeGenerator implements DecodeTreeGenerator<Instruct
         throw new IllegalArgumentException("Instruction width must be greater than 0");
       }
 
-      if (instruction.width() != instruction.pattern().width()) {
+      if (instruction.width() > instruction.pattern().width()) {
         throw new IllegalArgumentException(
-            "Instruction width must match the fixed bit pattern width");
+            "Instruction width must not exceed the fixed bit pattern width");
       }
 
-      if (instruction.width() != expectedWidth) {
-        throw new IllegalArgumentException("All instructions must have the same width");
+      if (instruction.pattern().width() != expectedWidth) {
+        throw new IllegalArgumentException("All instruction patterns must have the same width");
       }
     }
   }
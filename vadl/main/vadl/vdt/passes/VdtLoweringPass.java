@@ -21,10 +21,16 @@ import java.math.BigInteger;
 import java.util.List;
 import javax.annotation.Nullable;
 import vadl.configuration.IssConfiguration;
+import vadl.error.DeferredDiagnosticStore;
+import vadl.error.Diagnostic;
 import vadl.iss.passes.AbstractIssPass;
 import vadl.pass.PassName;
 import vadl.pass.PassResults;
+import vadl.utils.SourceLocation;
+import vadl.vdt.impl.jumptable.JumpTableDecodeTreeGenerator;
+import vadl.vdt.impl.multiwidth.MultiWidthDecodeTreeGenerator;
 import vadl.vdt.impl.theiling.TheilingDecodeTreeGenerator;
+import vadl.vdt.model.DecodeTreeGenerator;
 import vadl.vdt.model.Node;
 import vadl.vdt.utils.BitPattern;
 import vadl.vdt.utils.Instruction;
@@ -36,6 +42,7 @@ import vadl.viam.ViamError;
 
 /**
  * Lowering pass that creates the VDT (VADL Decode Tree) from the VIAM definition.
+ * The generator of the tree is selected by {@link IssConfiguration#decodeTreeAlgorithm()}.
  */
 public class VdtLoweringPass extends AbstractIssPass {
 
@@ -67,7 +74,34 @@ public class VdtLoweringPass extends AbstractIssPass {
         .map(this::prepareInstruction)
         .toList();
 
-    return new TheilingDecodeTreeGenerator().generate(insns);
+    // instructions of different widths are decoded by extending them to the widest one
+    return new MultiWidthDecodeTreeGenerator(generator(isa.ownInstructions())).generate(insns);
+  }
+
+  /**
+   * Returns the decode tree generator selected by the configuration.
+   *
+   * @param insns the instructions of the ISA, to check the names of the decode weights
+   * @return the generator
+   */
+  private DecodeTreeGenerator<Instruction> generator(List<vadl.viam.Instruction> insns) {
+    return switch (configuration().decodeTreeAlgorithm()) {
+      case THEILING -> new TheilingDecodeTreeGenerator();
+      case JUMP_TABLE -> {
+        var weights = configuration().decodeWeights();
+        var names = insns.stream().map(vadl.viam.Instruction::simpleName).toList();
+        for (var name : weights.keySet()) {
+          if (!names.contains(name)) {
+            DeferredDiagnosticStore.add(
+                Diagnostic.warning("Decode weight of unknown instruction " + name,
+                    SourceLocation.INVALID_SOURCE_LOCATION));
+          }
+        }
+        // instructions without an explicit weight are assumed to be equally frequent
+        yield new JumpTableDecodeTreeGenerator(
+            insn -> weights.getOrDefault(insn.source().simpleName(), 1.0));
+      }
+    };
   }
 
   /**
@@ -26,6 +26,8 @@ import vadl.vdt.target.common.dto.DecisionTreeStatistics;
 /**
  * Calculate general statistics about the structure of a decision tree, such as the number of nodes,
  * the number of leaf nodes, the maximum depth, the minimum depth, and the average depth.
+ * The histograms of the leaf depths and the fan-outs of the inner nodes allow comparing the
+ * shape of trees built by different generators.
  */
 public class DecisionTreeStatsCalculator implements Visitor<DecisionTreeStatistics> {
 
@@ -48,6 +50,7 @@ public class DecisionTreeStatsCalculator implements Visitor<DecisionTreeStatisti
     stats.setMaxDepth(0);
     stats.setMinDepth(Integer.MAX_VALUE);
     stats.setAvgDepth(0);
+    stats.getFanOutHistogram().merge(node.children().size(), 1, Integer::sum);
 
     for (Node child : node.children()) {
       DecisionTreeStatistics childStats = Objects.requireNonNull(child.accept(this));
@@ -61,6 +64,11 @@ public class DecisionTreeStatsCalculator implements Visitor<DecisionTreeStatisti
 
       double avgDepth = (childStats.getAvgDepth() + 1) * childStats.getNumberOfLeafNodes();
       stats.setAvgDepth(stats.getAvgDepth() + avgDepth);
+
+      childStats.getDepthHistogram().forEach((depth, count) ->
+          stats.getDepthHistogram().merge(depth + 1, count, Integer::sum));
+      childStats.getFanOutHistogram().forEach((fanOut, count) ->
+          stats.getFanOutHistogram().merge(fanOut, count, Integer::sum));
     }
 
     stats.setMinDepth(stats.getMinDepth() + 1);
@@ -79,6 +87,7 @@ public class DecisionTreeStatsCalculator implements Visitor<DecisionTreeStatisti
     stats.setMinDepth(0);
     stats.setAvgDepth(0);
     stats.setMaxInstructionWidth(node.instruction().width());
+    stats.getDepthHistogram().put(0, 1);
     return stats;
   }
 }
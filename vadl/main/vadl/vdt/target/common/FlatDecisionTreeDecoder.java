@@ -0,0 +1,317 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+
+package vadl.vdt.target.common;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import vadl.vdt.impl.theiling.InnerNodeImpl;
+import vadl.vdt.model.InnerNode;
+import vadl.vdt.model.LeafNode;
+import vadl.vdt.model.Node;
+import vadl.vdt.utils.BitPattern;
+import vadl.vdt.utils.BitVector;
+import vadl.vdt.utils.Instruction;
+import vadl.vdt.utils.PBit;
+
+/**
+ * A decoder that flattens the decision tree into primitive transition tables. In contrast to
+ * the {@link DecisionTreeDecoder}, which tests the child patterns of every node one after the
+ * other, each node is decided by a single table lookup. Useful to decode large instruction
+ * streams in tests and tools.
+ *
+ * <p>Instruction words are passed as {@code long}, where bit {@code i} is the bit of
+ * significance {@code 2^i}, so instructions of up to 64 bits are supported.
+ *
+ * <p>The bits of a node mask that have the same value in all children are checked by a single
+ * comparison, like in the generated decoder of the ISS. The remaining bits index the table of
+ * the node. As they are not necessarily contiguous, they are gathered from their contiguous
+ * runs as {@code (insn >>> shift) & mask}. Nodes whose tables would exceed
+ * {@value #MAX_TABLE_BITS} index bits are decided by testing their children in order.
+ */
+public class FlatDecisionTreeDecoder {
+
+  /**
+   * The maximal number of bits a node table is indexed by.
+   */
+  public static final int MAX_TABLE_BITS = 16;
+
+  // A target is the index of an inner node if non-negative,
+  // the complement of a leaf index if negative, or NO_MATCH.
+  private static final int NO_MATCH = Integer.MIN_VALUE;
+
+  private final int root;
+  private final Instruction[] leaves;
+
+  // the arrays below are indexed by inner node
+  private final long[] guardMasks;
+  private final long[] guardValues;
+  private final int[] fallbacks;
+  // the table start or -1 if the node is decided by testing its children
+  private final int[] tableStarts;
+  // the runs of node i are [runStarts[i], runStarts[i + 1])
+  private final int[] runStarts;
+  // the children of node i are [childStarts[i], childStarts[i + 1])
+  private final int[] childStarts;
+
+  private final int[] runShifts;
+  private final long[] runMasks;
+  private final int[] runOffsets;
+
+  private final long[] childMasks;
+  private final long[] childValues;
+  private final int[] childTargets;
+
+  private final int[] tables;
+
+  /**
+   * Flattens the given decision tree.
+   *
+   * @param tree the decision tree
+   * @throws IllegalArgumentException if the instructions are wider than 64 bits or the tree
+   *                                  contains unsupported nodes
+   */
+  public FlatDecisionTreeDecoder(Node tree) {
+    final var builder = new Builder();
+    this.root = builder.target(tree);
+    // nodes are appended to the list while their parents are visited
+    for (int i = 0; i < builder.nodes.size(); i++) {
+      final InnerNodeImpl node = builder.nodes.get(i);
+      if (node.getFallback() != null) {
+        builder.target(node.getFallback());
+      }
+      node.getChildren().values().forEach(builder::target);
+    }
+
+    final int nodeCount = builder.nodes.size();
+    this.leaves = builder.leaves.toArray(new Instruction[0]);
+    this.guardMasks = new long[nodeCount];
+    this.guardValues = new long[nodeCount];
+    this.fallbacks = new int[nodeCount];
+    this.tableStarts = new int[nodeCount];
+    this.runStarts = new int[nodeCount + 1];
+    this.childStarts = new int[nodeCount + 1];
+
+    final var runs = new ArrayList<long[]>();
+    final var children = new ArrayList<long[]>();
+    final var table = new ArrayList<Integer>();
+
+    for (int i = 0; i < nodeCount; i++) {
+      final InnerNodeImpl node = builder.nodes.get(i);
+      final long mask = toLong(node.getMask());
+
+      fallbacks[i] = node.getFallback() != null ? builder.target(node.getFallback()) : NO_MATCH;
+
+      // the children in the order they are tested by the node
+      childStarts[i] = children.size();
+      boolean outsideMask = false;
+      for (Map.Entry<BitPattern, Node> entry : node.getChildren().entrySet()) {
+        final long childMask = significantBits(entry.getKey());
+        outsideMask |= (childMask & ~mask) != 0;
+        children.add(
+            new long[] {childMask, value(entry.getKey()), builder.target(entry.getValue())});
+      }
+      childStarts[i + 1] = children.size();
+
+      // bits of the mask that are significant and equal in all children
+      long guardMask = mask;
+      long guardValue = 0;
+      for (int c = childStarts[i]; c < childStarts[i + 1]; c++) {
+        final long[] child = children.get(c);
+        guardMask &= child[0];
+        if (c == childStarts[i]) {
+          guardValue = child[1];
+        }
+        guardMask &= ~(child[1] ^ guardValue);
+      }
+      guardMasks[i] = guardMask;
+      guardValues[i] = guardValue & guardMask;
+
+      final long indexMask = mask & ~guardMask;
+      runStarts[i] = runs.size();
+      if (outsideMask || Long.bitCount(indexMask) > MAX_TABLE_BITS) {
+        tableStarts[i] = -1;
+        runStarts[i + 1] = runs.size();
+        continue;
+      }
+
+      // split the index bits into contiguous runs
+      int offset = 0;
+      long remaining = indexMask;
+      while (remaining != 0) {
+        final int shift = Long.numberOfTrailingZeros(remaining);
+        final int width = Long.numberOfTrailingZeros(~(remaining >>> shift));
+        final long runMask = width == 64 ? -1L : (1L << width) - 1;
+        runs.add(new long[] {shift, runMask, offset});
+        remaining &= ~(runMask << shift);
+        offset += width;
+      }
+      runStarts[i + 1] = runs.size();
+
+      // each entry is the first child matching the index bits
+      tableStarts[i] = table.size();
+      for (int index = 0; index < 1 << offset; index++) {
+        final long insn = deposit(runs, runStarts[i], runStarts[i + 1], index) | guardValues[i];
+        int target = fallbacks[i];
+        for (int c = childStarts[i]; c < childStarts[i + 1]; c++) {
+          final long[] child = children.get(c);
+          if ((insn & child[0]) == child[1]) {
+            target = (int) child[2];
+            break;
+          }
+        }
+        table.add(target);
+      }
+    }
+
+    this.runShifts = runs.stream().mapToInt(r -> (int) r[0]).toArray();
+    this.runMasks = runs.stream().mapToLong(r -> r[1]).toArray();
+    this.runOffsets = runs.stream().mapToInt(r -> (int) r[2]).toArray();
+    this.childMasks = children.stream().mapToLong(c -> c[0]).toArray();
+    this.childValues = children.stream().mapToLong(c -> c[1]).toArray();
+    this.childTargets = children.stream().mapToInt(c -> (int) c[2]).toArray();
+    this.tables = table.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  /**
+   * Decodes the given instruction word.
+   *
+   * @param insn the instruction word, with the least significant bit of the instruction at
+   *             bit 0
+   * @return the decoded instruction
+   * @throws IllegalArgumentException if no instruction matches
+   */
+  public Instruction decode(long insn) {
+    int target = root;
+    while (target >= 0) {
+      final int node = target;
+      if ((insn & guardMasks[node]) != guardValues[node]) {
+        target = fallbacks[node];
+      } else if (tableStarts[node] >= 0) {
+        int index = 0;
+        for (int r = runStarts[node]; r < runStarts[node + 1]; r++) {
+          index |= (int) ((insn >>> runShifts[r]) & runMasks[r]) << runOffsets[r];
+        }
+        target = tables[tableStarts[node] + index];
+      } else {
+        target = fallbacks[node];
+        for (int c = childStarts[node]; c < childStarts[node + 1]; c++) {
+          if ((insn & childMasks[c]) == childValues[c]) {
+            target = childTargets[c];
+            break;
+          }
+        }
+      }
+    }
+    if (target == NO_MATCH) {
+      throw new IllegalArgumentException("No decision found for 0x" + Long.toHexString(insn));
+    }
+    return leaves[~target];
+  }
+
+  /**
+   * Decodes the given instruction word, like {@link DecisionTreeDecoder#decide(BitVector)}.
+   *
+   * @param insn the instruction word
+   * @return the decoded instruction
+   * @throws IllegalArgumentException if no instruction matches
+   */
+  public Instruction decide(BitVector insn) {
+    return decode(insn.toValue().longValue());
+  }
+
+  /**
+   * Returns the number of table entries of all nodes.
+   */
+  public int tableSize() {
+    return tables.length;
+  }
+
+  private static long deposit(List<long[]> runs, int from, int to, int index) {
+    long insn = 0;
+    for (int r = from; r < to; r++) {
+      final long[] run = runs.get(r);
+      insn |= ((index >>> run[2]) & run[1]) << run[0];
+    }
+    return insn;
+  }
+
+  private static long toLong(BitVector vector) {
+    checkWidth(vector.width());
+    long result = 0;
+    for (int i = 0; i < vector.width(); i++) {
+      if (vector.testBit(i)) {
+        result |= 1L << (vector.width() - 1 - i);
+      }
+    }
+    return result;
+  }
+
+  private static long significantBits(BitPattern pattern) {
+    return toLong(pattern.significantBits());
+  }
+
+  private static long value(BitPattern pattern) {
+    checkWidth(pattern.width());
+    long result = 0;
+    for (int i = 0; i < pattern.width(); i++) {
+      if (pattern.get(i).getValue() == PBit.Value.ONE) {
+        result |= 1L << (pattern.width() - 1 - i);
+      }
+    }
+    return result;
+  }
+
+  private static void checkWidth(int width) {
+    if (width > 64) {
+      throw new IllegalArgumentException(
+          "Instructions of %d bits are wider than 64 bits".formatted(width));
+    }
+  }
+
+  /**
+   * Assigns indices to the nodes of the tree in the order they are reached.
+   */
+  private static class Builder {
+    private final List<InnerNodeImpl> nodes = new ArrayList<>();
+    private final List<Instruction> leaves = new ArrayList<>();
+    private final Map<Node, Integer> targets = new IdentityHashMap<>();
+
+    private int target(Node node) {
+      final Integer known = targets.get(node);
+      if (known != null) {
+        return known;
+      }
+      final int target;
+      if (node instanceof LeafNode leaf) {
+        leaves.add(leaf.instruction());
+        target = ~(leaves.size() - 1);
+      } else if (node instanceof InnerNodeImpl inner) {
+        nodes.add(inner);
+        target = nodes.size() - 1;
+      } else if (node instanceof InnerNode) {
+        throw new IllegalArgumentException("Node type not supported: " + node.getClass());
+      } else {
+        throw new IllegalArgumentException("Unknown node type: " + node.getClass());
+      }
+      targets.put(node, target);
+      return target;
+    }
+  }
+}
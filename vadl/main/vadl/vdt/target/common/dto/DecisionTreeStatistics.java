@@ -16,6 +16,9 @@
 
 package vadl.vdt.target.common.dto;
 
+import java.util.SortedMap;
+import java.util.TreeMap;
+
 /**
  * Holds statistics about a decision tree.
  */
@@ -30,6 +33,11 @@ public class DecisionTreeStatistics {
 
   private int maxInstructionWidth;
 
+  // number of leaf nodes by their depth
+  private SortedMap<Integer, Integer> depthHistogram = new TreeMap<>();
+  // number of inner nodes by their number of children
+  private SortedMap<Integer, Integer> fanOutHistogram = new TreeMap<>();
+
   public int getNumberOfNodes() {
     return numberOfNodes;
   }
@@ -78,6 +86,22 @@ public class DecisionTreeStatistics {
     this.maxInstructionWidth = maxInstructionWidth;
   }
 
+  public SortedMap<Integer, Integer> getDepthHistogram() {
+    return depthHistogram;
+  }
+
+  public void setDepthHistogram(SortedMap<Integer, Integer> depthHistogram) {
+    this.depthHistogram = depthHistogram;
+  }
+
+  public SortedMap<Integer, Integer> getFanOutHistogram() {
+    return fanOutHistogram;
+  }
+
+  public void setFanOutHistogram(SortedMap<Integer, Integer> fanOutHistogram) {
+    this.fanOutHistogram = fanOutHistogram;
+  }
+
   @Override
   public String toString() {
     return "{\n"
@@ -87,6 +111,8 @@ public class DecisionTreeStatistics {
         + "  minDepth: " + minDepth + ",\n"
         + "  avgDepth: " + avgDepth + "\n"
         + "  maxInsnWidth: " + maxInstructionWidth + "\n"
+        + "  depthHistogram: " + depthHistogram + "\n"
+        + "  fanOutHistogram: " + fanOutHistogram + "\n"
         + "}";
   }
 }
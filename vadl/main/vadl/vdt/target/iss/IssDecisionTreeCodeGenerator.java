@@ -20,11 +20,13 @@ import static vadl.utils.StringBuilderUtils.join;
 import static vadl.vdt.target.common.DecisionTreeStatsCalculator.statistics;
 
 import java.math.BigInteger;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.TreeSet;
 import vadl.cppCodeGen.CppTypeMap;
 import vadl.cppCodeGen.common.AccessFunctionCodeGenerator;
 import vadl.types.BitsType;
@@ -43,11 +45,22 @@ import vadl.viam.Format;
 
 /**
  * Generate C/C++ code for a decision tree from an in-memory representation of the decision tree.
+ *
+ * <p>If the instructions have different widths, {@code decode_insn} is called with the first
+ * parcel (of the narrowest width) and fetches the following parcels with
+ * {@code fetch_insn_parcel} only on the paths that test their bits. The width of the decoded
+ * instruction is stored in {@code ctx->insn_width}.
  */
 public class IssDecisionTreeCodeGenerator implements Visitor<Void> {
 
   private final CodeGeneratorAppendable appendable = new StringBuilderAppendable();
 
+  // only set if the instructions have different widths
+  private int parcelWidth;
+  private String insnWordCType = "";
+  // the number of bits fetched on the path of the current node
+  private int fetchedWidth;
+
   /**
    * Generate the code for the given decision tree.
    *
@@ -76,9 +89,15 @@ public class IssDecisionTreeCodeGenerator implements Visitor<Void> {
 
     // Step 2: Generate code to extract the fields from the instruction word to the DTOs
 
-    final String insnWordCType = CppTypeMap.getCppTypeNameByVadlType(getInsnWordType(tree));
+    insnWordCType = CppTypeMap.getCppTypeNameByVadlType(getInsnWordType(tree));
     generateFormatExtractors(insnWordCType, formats);
 
+    final var widths = getInstructionWidths(tree);
+    if (widths.size() > 1) {
+      parcelWidth = widths.get(0);
+      fetchedWidth = parcelWidth;
+    }
+
     // Step 3: Generate code for the decoding decision tree
 
     appendable.append("static bool decode_insn(")
@@ -127,37 +146,107 @@ public class IssDecisionTreeCodeGenerator implements Visitor<Void> {
     final BigInteger mask = n.getMask().toValue();
     final Map<BitPattern, Node> children = n.getChildren();
 
-    appendable.append("switch (insn & 0x")
-        .append(mask.toString(16))
-        .append(") {\n");
+    fetch(mask.bitLength());
+    final int fetchedAtNode = fetchedWidth;
+
+    // Bits of the mask that are equal in all cases are checked by a single comparison and only
+    // the remaining bits are switched on. If those are contiguous, they are shifted down, so the
+    // case values are dense and the switch can be compiled to a jump table.
+    final List<BigInteger> caseValues = children.keySet().stream()
+        .map(p -> p.toBitVector().toValue())
+        .toList();
+    BigInteger varying = BigInteger.ZERO;
+    for (BigInteger caseValue : caseValues) {
+      varying = varying.or(caseValue.xor(caseValues.get(0)));
+    }
+    final int shift = varying.getLowestSetBit();
+    final BigInteger range = shift < 0 ? BigInteger.ZERO
+        : BigInteger.ONE.shiftLeft(varying.bitLength()).subtract(BigInteger.ONE.shiftLeft(shift));
+    final boolean dense = shift >= 0 && range.andNot(mask).signum() == 0;
+    final BigInteger guard = dense ? mask.andNot(range) : BigInteger.ZERO;
+
+    if (guard.signum() != 0) {
+      appendable.append("if ((insn & 0x").append(guard.toString(16))
+          .append(") == 0x").append(caseValues.get(0).and(guard).toString(16))
+          .append(") {\n");
+      appendable.indent();
+    }
+
+    if (dense && shift > 0) {
+      appendable.append("switch ((insn >> ").append(shift).append(") & 0x")
+          .append(range.shiftRight(shift).toString(16))
+          .append(") {\n");
+    } else {
+      appendable.append("switch (insn & 0x")
+          .append((dense ? range : mask).toString(16))
+          .append(") {\n");
+    }
 
     appendable.indent();
 
     for (Map.Entry<BitPattern, Node> entry : children.entrySet()) {
-      final BigInteger caseValue = entry.getKey().toBitVector().toValue();
+      BigInteger caseValue = entry.getKey().toBitVector().toValue();
+      if (dense) {
+        caseValue = caseValue.and(range).shiftRight(shift);
+      }
       appendable.append("case 0x").append(caseValue.toString(16))
           .append(":\n");
 
       appendable.indent();
       entry.getValue().accept(this);
       appendable.unindent();
+      fetchedWidth = fetchedAtNode;
     }
 
-    if (n.getFallback() != null) {
-      appendable.append("default:\n");
-      appendable.indent();
-      n.getFallback().accept(this);
-      appendable.unindent();
+    appendable.append("default:\n");
+    appendable.indent();
+    if (guard.signum() != 0) {
+      // the fallback is generated once after the guard, which is also reached from here
+      appendable.append("break;\n");
     } else {
-      appendable.append("default:\n").indent().append("return false;\n").unindent();
+      generateFallback(n);
+      fetchedWidth = fetchedAtNode;
     }
+    appendable.unindent();
 
     appendable.unindent();
     appendable.append("}\n");
 
+    if (guard.signum() != 0) {
+      appendable.unindent();
+      appendable.append("}\n");
+      generateFallback(n);
+      fetchedWidth = fetchedAtNode;
+    }
+
     return null;
   }
 
+  /**
+   * Fetches the parcels up to the given width, if they are not fetched on the current path yet.
+   *
+   * @param width the number of least significant bits of the instruction that are needed
+   */
+  private void fetch(int width) {
+    if (parcelWidth == 0) {
+      return;
+    }
+    while (fetchedWidth < width) {
+      appendable.append("insn |= (").append(insnWordCType).append(") fetch_insn_parcel(ctx, ")
+          .append(fetchedWidth / parcelWidth).append(") << ").append(fetchedWidth)
+          .append(";\n");
+      fetchedWidth += parcelWidth;
+    }
+  }
+
+  private void generateFallback(InnerNodeImpl node) {
+    if (node.getFallback() != null) {
+      node.getFallback().accept(this);
+    } else {
+      appendable.append("return false;\n");
+    }
+  }
+
   /**
    * A leaf node represents an instruction. We generate the code to extract the fields from the
    * instruction word and call the translation function for the instruction.
@@ -173,6 +262,11 @@ public class IssDecisionTreeCodeGenerator implements Visitor<Void> {
 
     final Instruction insn = lf.instruction();
 
+    fetch(insn.width());
+    if (parcelWidth != 0) {
+      appendable.append("ctx->insn_width = ").append(insn.width()).append(";\n");
+    }
+
     // Extract the fields from the instruction word
     appendable.append("extract_")
         .append(insn.source().format().simpleName().toLowerCase(Locale.US))
@@ -369,6 +463,26 @@ public class IssDecisionTreeCodeGenerator implements Visitor<Void> {
     }
   }
 
+  /**
+   * Get the distinct widths of the instructions in the decision tree in ascending order.
+   *
+   * @param tree the decision tree
+   * @return the instruction widths
+   */
+  private List<Integer> getInstructionWidths(Node tree) {
+    final var widths = new TreeSet<Integer>();
+    final var worklist = new ArrayDeque<Node>(List.of(tree));
+    while (!worklist.isEmpty()) {
+      final var node = worklist.pop();
+      if (node instanceof LeafNode lf) {
+        widths.add(lf.instruction().width());
+      } else if (node instanceof InnerNode in) {
+        worklist.addAll(in.children());
+      }
+    }
+    return List.copyOf(widths);
+  }
+
   /**
    * Get the set of different formats of the instructions.
    *
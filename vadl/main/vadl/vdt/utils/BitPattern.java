@@ -16,29 +16,65 @@
 
 package vadl.vdt.utils;
 
-import java.util.Objects;
 import java.util.function.Predicate;
 
 /**
  * Represents a bit pattern, which is a vector of bits where each bit can be either 0, 1 or <i>don't
  * care</i>.
+ *
+ * <p>The pattern is stored as two packed bit vectors: a mask of the significant (not
+ * <i>don't care</i>) bits and the values of these bits. Value bits that are not significant
+ * are always 0.</p>
  */
 public class BitPattern implements Vector<PBit>, Predicate<BitVector> {
 
-  private final PBit[] bits;
+  private static final PBit ZERO = new PBit(PBit.Value.ZERO);
+  private static final PBit ONE = new PBit(PBit.Value.ONE);
+  private static final PBit DONT_CARE = new PBit(PBit.Value.DONT_CARE);
 
+  private final BitVector mask;
+  private final BitVector value;
+
+  /**
+   * Creates a new bit pattern from the given pattern bits.
+   *
+   * @param bits the bits of the pattern
+   */
   public BitPattern(PBit[] bits) {
-    this.bits = bits;
+    final long[] maskWords = new long[BitVector.wordCount(bits.length)];
+    final long[] valueWords = new long[maskWords.length];
+    for (int i = 0; i < bits.length; i++) {
+      switch (bits[i].getValue()) {
+        case ONE -> {
+          maskWords[i >>> 6] |= 1L << i;
+          valueWords[i >>> 6] |= 1L << i;
+        }
+        case ZERO -> maskWords[i >>> 6] |= 1L << i;
+        default -> {
+          // don't care
+        }
+      }
+    }
+    this.mask = new BitVector(maskWords, bits.length);
+    this.value = new BitVector(valueWords, bits.length);
+  }
+
+  private BitPattern(BitVector mask, BitVector value) {
+    this.mask = mask;
+    this.value = value;
   }
 
   @Override
   public int width() {
-    return bits.length;
+    return mask.width();
   }
 
   @Override
   public PBit get(int i) {
-    return bits[i];
+    if (!mask.testBit(i)) {
+      return DONT_CARE;
+    }
+    return value.testBit(i) ? ONE : ZERO;
   }
 
   @Override
@@ -46,10 +82,8 @@ public class BitPattern implements Vector<PBit>, Predicate<BitVector> {
     if (bitVector.width() != width()) {
       return false;
     }
-    for (int i = 0; i < width(); i++) {
-      if (get(i).getValue() != PBit.Value.DONT_CARE && (
-          (get(i).getValue() == PBit.Value.ONE && !bitVector.get(i).value()) || (
-              get(i).getValue() == PBit.Value.ZERO && bitVector.get(i).value()))) {
+    for (int i = 0; i < mask.wordCount(); i++) {
+      if (((bitVector.word(i) ^ value.word(i)) & mask.word(i)) != 0) {
         return false;
       }
     }
@@ -66,15 +100,20 @@ public class BitPattern implements Vector<PBit>, Predicate<BitVector> {
    * @return The bit pattern
    */
   public static BitPattern fromString(String pattern, int width) {
-    final PBit[] bits = new PBit[width];
     if (pattern.length() != width) {
       throw new IllegalArgumentException("Pattern length must match width");
     }
+    final long[] maskWords = new long[BitVector.wordCount(width)];
+    final long[] valueWords = new long[maskWords.length];
     for (int i = 0; i < pattern.length(); i++) {
-      bits[i] = new PBit(pattern.charAt(i) == '1' ? PBit.Value.ONE
-          : (pattern.charAt(i) == '0' ? PBit.Value.ZERO : PBit.Value.DONT_CARE));
+      if (pattern.charAt(i) == '1') {
+        maskWords[i >>> 6] |= 1L << i;
+        valueWords[i >>> 6] |= 1L << i;
+      } else if (pattern.charAt(i) == '0') {
+        maskWords[i >>> 6] |= 1L << i;
+      }
     }
-    return new BitPattern(bits);
+    return new BitPattern(new BitVector(maskWords, width), new BitVector(valueWords, width));
   }
 
   /**
@@ -85,11 +124,28 @@ public class BitPattern implements Vector<PBit>, Predicate<BitVector> {
    * @return the bit vector
    */
   public BitVector toBitVector() {
-    Bit[] veBits = new Bit[width()];
-    for (int i = 0; i < veBits.length; i++) {
-      veBits[i] = new Bit(bits[i].getValue() == PBit.Value.ONE);
-    }
-    return new BitVector(veBits);
+    return value;
+  }
+
+  /**
+   * Returns the mask of significant bits, i.e. a bit vector where each bit is set if the
+   * corresponding bit of the pattern is not <i>don't care</i>.
+   *
+   * @return the mask of significant bits
+   */
+  public BitVector significantBits() {
+    return mask;
+  }
+
+  /**
+   * Restricts the pattern to the bits set in the given mask. All other bits become
+   * <i>don't care</i>.
+   *
+   * @param restriction the mask of bits to keep
+   * @return the restricted bit pattern
+   */
+  public BitPattern restrict(BitVector restriction) {
+    return new BitPattern(mask.and(restriction), value.and(restriction));
   }
 
   /**
@@ -98,21 +154,12 @@ public class BitPattern implements Vector<PBit>, Predicate<BitVector> {
    * @return {@code true} if all bits are <i>don't care</i>, {@code false} otherwise
    */
   public boolean doesMatchAll() {
-    for (int i = 0; i < width(); i++) {
-      if (get(i).getValue() != PBit.Value.DONT_CARE) {
-        return false;
-      }
-    }
-    return true;
+    return mask.isZero();
   }
 
   @Override
   public int hashCode() {
-    int result = 1;
-    for (int i = 0; i < width(); i++) {
-      result = 31 * result + Objects.hashCode(get(i));
-    }
-    return result;
+    return 31 * mask.hashCode() + value.hashCode();
   }
 
   @Override
@@ -124,23 +171,14 @@ public class BitPattern implements Vector<PBit>, Predicate<BitVector> {
       return false;
     }
     final BitPattern other = (BitPattern) obj;
-    if (width() != other.width()) {
-      return false;
-    }
-    for (int i = 0; i < width(); i++) {
-      if (!Objects.equals(get(i), other.get(i))) {
-        return false;
-      }
-    }
-    return true;
+    return mask.equals(other.mask) && value.equals(other.value);
   }
 
   @Override
   public String toString() {
-    final StringBuilder sb = new StringBuilder();
+    final StringBuilder sb = new StringBuilder(width());
     for (int i = 0; i < width(); i++) {
-      sb.append(get(i).getValue() == PBit.Value.ONE ? '1' : (
-          get(i).getValue() == PBit.Value.ZERO ? '0' : '-'));
+      sb.append(!mask.testBit(i) ? '-' : (value.testBit(i) ? '1' : '0'));
     }
     return sb.toString();
   }
@@ -17,14 +17,22 @@
 package vadl.vdt.utils;
 
 import java.math.BigInteger;
-import java.util.Objects;
+import java.util.Arrays;
 
 /**
  * Represents a bit vector, i.e. a sequence of bits.
+ *
+ * <p>The bits are packed into 64-bit words, where bit {@code i} of the vector is stored at
+ * bit {@code i % 64} of word {@code i / 64}. Unused bits of the last word are always zero,
+ * so bitwise operations, equality and zero checks work on whole words.</p>
  */
 public class BitVector implements Vector<Bit>, BitWise<BitVector> {
 
-  private final Bit[] bits;
+  private static final Bit ZERO = new Bit(false);
+  private static final Bit ONE = new Bit(true);
+
+  private final long[] words;
+  private final int width;
 
   /**
    * Creates a new bit vector from the given bits.
@@ -32,7 +40,47 @@ public class BitVector implements Vector<Bit>, BitWise<BitVector> {
    * @param bits the bits of the vector
    */
   public BitVector(Bit[] bits) {
-    this.bits = bits;
+    this(new long[wordCount(bits.length)], bits.length);
+    for (int i = 0; i < bits.length; i++) {
+      if (bits[i].value()) {
+        words[i >>> 6] |= 1L << i;
+      }
+    }
+  }
+
+  /**
+   * Creates a new bit vector from the given packed words.
+   * The words are not copied, so they must not be modified afterwards.
+   */
+  BitVector(long[] words, int width) {
+    this.words = words;
+    this.width = width;
+  }
+
+  static int wordCount(int width) {
+    return (width + 63) >>> 6;
+  }
+
+  /**
+   * Creates a bit vector of the given width with all bits set to 0.
+   *
+   * @param width the width of the bit vector to create
+   * @return the bit vector
+   */
+  public static BitVector zeros(int width) {
+    return new BitVector(new long[wordCount(width)], width);
+  }
+
+  /**
+   * Creates a bit vector of the given width with all bits set to 1.
+   *
+   * @param width the width of the bit vector to create
+   * @return the bit vector
+   */
+  public static BitVector ones(int width) {
+    final long[] words = new long[wordCount(width)];
+    Arrays.fill(words, -1L);
+    return new BitVector(clearUnused(words, width), width);
   }
 
   /**
@@ -43,11 +91,13 @@ public class BitVector implements Vector<Bit>, BitWise<BitVector> {
    * @return the bit vector
    */
   public static BitVector fromValue(BigInteger value, int width) {
-    final Bit[] bits = new Bit[width];
+    final long[] words = new long[wordCount(width)];
     for (int i = 0; i < width; i++) {
-      bits[i] = new Bit(value.testBit(i));
+      if (value.testBit(i)) {
+        words[i >>> 6] |= 1L << i;
+      }
     }
-    return new BitVector(bits);
+    return new BitVector(words, width);
   }
 
   /**
@@ -59,18 +109,16 @@ public class BitVector implements Vector<Bit>, BitWise<BitVector> {
    * @return the bit vector
    */
   public static BitVector fromString(String value, int width) {
-    final Bit[] bits = new Bit[width];
-    for (int i = 0; i < width; i++) {
-      if (i < value.length()) {
-        if (value.charAt(i) != '0' && value.charAt(i) != '1') {
-          throw new IllegalArgumentException("Invalid character in value");
-        }
-        bits[i] = new Bit(value.charAt(i) == '1');
-      } else {
-        bits[i] = new Bit(false);
+    final long[] words = new long[wordCount(width)];
+    for (int i = 0; i < width && i < value.length(); i++) {
+      if (value.charAt(i) != '0' && value.charAt(i) != '1') {
+        throw new IllegalArgumentException("Invalid character in value");
+      }
+      if (value.charAt(i) == '1') {
+        words[i >>> 6] |= 1L << i;
       }
     }
-    return new BitVector(bits);
+    return new BitVector(words, width);
   }
 
   /**
@@ -81,7 +129,7 @@ public class BitVector implements Vector<Bit>, BitWise<BitVector> {
   public BigInteger toValue() {
     BigInteger value = BigInteger.ZERO;
     for (int i = 0; i < width(); i++) {
-      if (get(width() - (i + 1)).value()) {
+      if (testBit(width() - (i + 1))) {
         value = value.setBit(i);
       }
     }
@@ -90,48 +138,134 @@ public class BitVector implements Vector<Bit>, BitWise<BitVector> {
 
   @Override
   public int width() {
-    return bits.length;
+    return width;
   }
 
   @Override
   public Bit get(int i) {
-    return bits[i];
+    return testBit(i) ? ONE : ZERO;
+  }
+
+  /**
+   * Returns the value of the bit at the given index.
+   *
+   * @param i the index of the bit
+   * @return {@code true} if the bit is set
+   */
+  public boolean testBit(int i) {
+    if (i < 0 || i >= width) {
+      throw new IndexOutOfBoundsException("Index " + i + " out of bounds for width " + width);
+    }
+    return (words[i >>> 6] & (1L << i)) != 0;
+  }
+
+  /**
+   * Returns whether all bits are 0.
+   */
+  public boolean isZero() {
+    for (long word : words) {
+      if (word != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the number of bits that are set.
+   */
+  public int bitCount() {
+    int count = 0;
+    for (long word : words) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  /**
+   * Returns whether this and the other bit vector have at least one set bit in common.
+   * This is equivalent to {@code !and(other).isZero()}, without creating a new vector.
+   */
+  public boolean intersects(BitVector other) {
+    checkWidth(other);
+    for (int i = 0; i < words.length; i++) {
+      if ((words[i] & other.words[i]) != 0) {
+        return true;
+      }
+    }
+    return false;
   }
 
   @Override
   public BitVector and(BitVector other) {
-    final Bit[] result = new Bit[width()];
-    for (int i = 0; i < width(); i++) {
-      result[i] = get(i).and(other.get(i));
+    checkWidth(other);
+    final long[] result = new long[words.length];
+    for (int i = 0; i < words.length; i++) {
+      result[i] = words[i] & other.words[i];
+    }
+    return new BitVector(result, width);
+  }
+
+  /**
+   * Computes the conjunction of this and all given bit vectors.
+   * In contrast to chained {@link #and(BitVector)} calls, only a single vector is created.
+   *
+   * @param others the bit vectors to combine with this one
+   * @return the conjunction of all bit vectors
+   */
+  public BitVector andAll(Iterable<BitVector> others) {
+    final long[] result = words.clone();
+    for (BitVector other : others) {
+      checkWidth(other);
+      for (int i = 0; i < result.length; i++) {
+        result[i] &= other.words[i];
+      }
     }
-    return new BitVector(result);
+    return new BitVector(result, width);
+  }
+
+  /**
+   * Computes {@code this & ~other} without creating the intermediate negated vector.
+   *
+   * @param other the bit vector whose set bits are cleared
+   * @return the resulting bit vector
+   */
+  public BitVector andNot(BitVector other) {
+    checkWidth(other);
+    final long[] result = new long[words.length];
+    for (int i = 0; i < words.length; i++) {
+      result[i] = words[i] & ~other.words[i];
+    }
+    return new BitVector(result, width);
   }
 
   @Override
   public BitVector or(BitVector other) {
-    final Bit[] result = new Bit[width()];
-    for (int i = 0; i < width(); i++) {
-      result[i] = get(i).or(other.get(i));
+    checkWidth(other);
+    final long[] result = new long[words.length];
+    for (int i = 0; i < words.length; i++) {
+      result[i] = words[i] | other.words[i];
     }
-    return new BitVector(result);
+    return new BitVector(result, width);
   }
 
   @Override
   public BitVector xor(BitVector other) {
-    final Bit[] result = new Bit[width()];
-    for (int i = 0; i < width(); i++) {
-      result[i] = get(i).xor(other.get(i));
+    checkWidth(other);
+    final long[] result = new long[words.length];
+    for (int i = 0; i < words.length; i++) {
+      result[i] = words[i] ^ other.words[i];
     }
-    return new BitVector(result);
+    return new BitVector(result, width);
   }
 
   @Override
   public BitVector not() {
-    final Bit[] result = new Bit[width()];
-    for (int i = 0; i < width(); i++) {
-      result[i] = get(i).not();
+    final long[] result = new long[words.length];
+    for (int i = 0; i < words.length; i++) {
+      result[i] = ~words[i];
     }
-    return new BitVector(result);
+    return new BitVector(clearUnused(result, width), width);
   }
 
   /**
@@ -142,14 +276,18 @@ public class BitVector implements Vector<Bit>, BitWise<BitVector> {
    * @return the shifted bit vector
    */
   public BitVector shiftLeft(int n, boolean fill) {
-    final Bit[] result = new Bit[width()];
+    final long[] result = new long[words.length];
     for (int i = n; i < width(); i++) {
-      result[i - n] = get(i);
+      if (testBit(i)) {
+        result[(i - n) >>> 6] |= 1L << (i - n);
+      }
     }
-    for (int i = width() - n; i < width(); i++) {
-      result[i] = fill ? new Bit(true) : new Bit(false);
+    if (fill) {
+      for (int i = Math.max(width() - n, 0); i < width(); i++) {
+        result[i >>> 6] |= 1L << i;
+      }
     }
-    return new BitVector(result);
+    return new BitVector(result, width);
   }
 
   /**
@@ -160,23 +298,48 @@ public class BitVector implements Vector<Bit>, BitWise<BitVector> {
    * @return the shifted bit vector
    */
   public BitVector shiftRight(int n, boolean fill) {
-    final Bit[] result = new Bit[width()];
-    for (int i = 0; i < n; i++) {
-      result[i] = fill ? new Bit(true) : new Bit(false);
+    final long[] result = new long[words.length];
+    if (fill) {
+      for (int i = 0; i < Math.min(n, width()); i++) {
+        result[i >>> 6] |= 1L << i;
+      }
     }
     for (int i = n; i < width(); i++) {
-      result[i] = get(i - n);
+      if (testBit(i - n)) {
+        result[i >>> 6] |= 1L << i;
+      }
+    }
+    return new BitVector(result, width);
+  }
+
+  /**
+   * Returns the packed word at the given index.
+   */
+  long word(int index) {
+    return words[index];
+  }
+
+  int wordCount() {
+    return words.length;
+  }
+
+  private void checkWidth(BitVector other) {
+    if (other.width != width) {
+      throw new IllegalArgumentException(
+          "Bit vector widths do not match: " + width + " != " + other.width);
     }
-    return new BitVector(result);
+  }
+
+  private static long[] clearUnused(long[] words, int width) {
+    if ((width & 63) != 0) {
+      words[words.length - 1] &= (1L << width) - 1;
+    }
+    return words;
   }
 
   @Override
   public int hashCode() {
-    int result = 1;
-    for (int i = 0; i < width(); i++) {
-      result = 31 * result + Objects.hashCode(get(i));
-    }
-    return result;
+    return 31 * Arrays.hashCode(words) + width;
   }
 
   @Override
@@ -188,22 +351,14 @@ public class BitVector implements Vector<Bit>, BitWise<BitVector> {
       return false;
     }
     final BitVector other = (BitVector) obj;
-    if (width() != other.width()) {
-      return false;
-    }
-    for (int i = 0; i < width(); i++) {
-      if (!Objects.equals(get(i), other.get(i))) {
-        return false;
-      }
-    }
-    return true;
+    return width == other.width && Arrays.equals(words, other.words);
   }
 
   @Override
   public String toString() {
-    final StringBuilder builder = new StringBuilder();
+    final StringBuilder builder = new StringBuilder(width());
     for (int i = 0; i < width(); i++) {
-      builder.append(get(i).value() ? '1' : '0');
+      builder.append(testBit(i) ? '1' : '0');
     }
     return builder.toString();
   }
@@ -26,12 +26,15 @@ import java.util.Arrays;
 import java.util.IntSummaryStatistics;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.function.BiFunction;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.jetbrains.annotations.Contract;
 import vadl.types.BitsType;
 import vadl.types.BoolType;
@@ -49,7 +52,7 @@ import vadl.viam.graph.dependency.ConstantNode;
  */
 public abstract class Constant {
 
-  private Type type;
+  private final Type type;
 
   public Constant(Type type) {
     this.type = type;
@@ -59,10 +62,6 @@ public abstract class Constant {
     return type;
   }
 
-  public void setType(Type type) {
-    this.type = type;
-  }
-
   public Constant.Value asVal() {
     ensure(this instanceof Value, "Constant is not a value");
     return (Constant.Value) this;
@@ -102,9 +101,26 @@ public abstract class Constant {
    * The value itself is represented as two's complement; thus BigInteger value is
    * only a data container, not the actual number.
    * The {@link #integer()} returns the integer value depending on the constant's type.
+   *
+   * <p>Values are immutable. Small values are cached per type,
+   * so the same instance might be returned by multiple calls of the factory methods.</p>
+   *
+   * <p>Values of at most 64 bits are stored in a {@code long}, and all operations on two such
+   * values are computed on primitives. Wider values use the {@link BigInteger}
+   * data container.</p>
    */
   public static class Value extends Constant {
-    // not really an integer, just a data container
+    // the range of integers that are cached per type
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 255;
+    private static final Map<DataType, Value[]> cache = new ConcurrentHashMap<>();
+
+    // the two's complement bits if the value is stored in a long,
+    // otherwise the lowest 64 bits of the data container
+    private final long bits;
+    // not really an integer, just a data container.
+    // null if the value is stored in bits
+    @Nullable
     private final BigInteger value;
 
     /**
@@ -114,8 +130,9 @@ public abstract class Constant {
      *
      * <p>All public construction overloads of {@link #of} take an integer as input.</p>
      */
-    private Value(BigInteger value, DataType type) {
+    private Value(long bits, @Nullable BigInteger value, DataType type) {
       super(type);
+      this.bits = bits;
       this.value = value;
     }
 
@@ -128,7 +145,38 @@ public abstract class Constant {
       if (value.signum() < 0 || value.bitLength() > type.bitWidth()) {
         throw new ViamError("Internal error; value not in two's complement.");
       }
-      return new Value(value, type);
+      return withContainer(value, type);
+    }
+
+    /**
+     * Constructor for the given two's complement bits, interpreted as unsigned
+     * 64-bit number. They must fit in the given type.
+     */
+    private static Value fromBits(long bits, DataType type) {
+      if (type.bitWidth() > Long.SIZE) {
+        return new Value(bits, unsigned(bits), type);
+      }
+      return new Value(bits, null, type);
+    }
+
+    /**
+     * Creates the value with the given data container, which is stored in a {@code long}
+     * if it fits.
+     */
+    private static Value withContainer(BigInteger value, DataType type) {
+      if (type.bitWidth() <= Long.SIZE && value.bitLength() <= Long.SIZE) {
+        return new Value(value.longValue(), null, type);
+      }
+      return new Value(value.longValue(), value, type);
+    }
+
+    /**
+     * Returns an equal value that uses the {@link BigInteger} data container, even if
+     * it fits in a {@code long}.
+     * This is only used to test the primitive operations against the {@link BigInteger} ones.
+     */
+    static Value withBigIntegerContainer(Value value) {
+      return new Value(value.bits, value.container(), value.type());
     }
 
     /**
@@ -143,10 +191,17 @@ public abstract class Constant {
      * So the {@code integer} argument might be negative.
      */
     public static Value fromInteger(BigInteger integer, DataType type) {
+      if (integer.bitLength() < Long.SIZE) {
+        return of(integer.longValue(), type);
+      }
+      return create(integer, type);
+    }
+
+    private static Value create(BigInteger integer, DataType type) {
       if (type instanceof BoolType) {
         // hard code boolean value
         var val = integer.compareTo(BigInteger.ZERO) == 0 ? integer : BigInteger.ONE;
-        return new Value(val, type);
+        return withContainer(val, type);
       } else if (type instanceof BitsType bitsType) {
         if (bitsType.getClass() == BitsType.class) {
           // for bitsType, it must just fit into the bit width, but it has no
@@ -164,18 +219,69 @@ public abstract class Constant {
                   minValueOf(bitsType), maxValueOf(bitsType)));
         }
         var value = twosComplement(integer, type.bitWidth());
-        return new Value(value, type);
+        return withContainer(value, type);
       } else {
         throw new ViamError("Only BitsType and BoolType are supported, but got %s".formatted(type));
       }
     }
 
+    /**
+     * Like {@link #create(BigInteger, DataType)}, but computed on primitives if the
+     * type is at most 64 bits wide.
+     * Invalid values are passed to {@link #create(BigInteger, DataType)}, so the error
+     * is the same.
+     */
+    private static Value create(long integer, DataType type) {
+      var width = type.bitWidth();
+      if (type instanceof BoolType) {
+        return new Value(integer == 0 ? 0 : 1, null, type);
+      } else if (type instanceof BitsType bitsType && width <= Long.SIZE) {
+        boolean fits;
+        if (bitsType.getClass() == BitsType.class) {
+          fits = bitLength(integer) <= width;
+        } else if (bitsType.isSigned()) {
+          fits = width == Long.SIZE
+              || (-(1L << (width - 1)) <= integer && integer < (1L << (width - 1)));
+        } else {
+          fits = integer >= 0 && (width == Long.SIZE || integer < (1L << width));
+        }
+        if (fits) {
+          return new Value(integer & mask64(width), null, type);
+        }
+      }
+      return create(BigInteger.valueOf(integer), type);
+    }
+
     public static Value of(long value, DataType type) {
-      return fromInteger(BigInteger.valueOf(value), type);
+      if (CACHE_LOW <= value && value <= CACHE_HIGH) {
+        return cached((int) value, type);
+      }
+      return create(value, type);
     }
 
     public static Value of(boolean value) {
-      return fromInteger(BigInteger.valueOf(value ? 1 : 0), Type.bool());
+      return cached(value ? 1 : 0, Type.bool());
+    }
+
+    /**
+     * Returns the cached value of the given integer, which must be in the cached range,
+     * or creates it if it is not yet cached.
+     * Only valid values are cached, so an integer that does not fit in the type
+     * always reaches {@link #create(long, DataType)}, which throws.
+     * Concurrent calls might create the same value twice, which is fine as values are
+     * immutable.
+     */
+    private static Value cached(int integer, DataType type) {
+      var values = cache.get(type);
+      if (values == null) {
+        values = cache.computeIfAbsent(type, k -> new Value[CACHE_HIGH - CACHE_LOW + 1]);
+      }
+      var value = values[integer - CACHE_LOW];
+      if (value == null) {
+        value = create(integer, type);
+        values[integer - CACHE_LOW] = value;
+      }
+      return value;
     }
 
     public static Value of(String value, DataType type) {
@@ -201,7 +307,7 @@ public abstract class Constant {
      * type.
      */
     public BigInteger unsignedInteger() {
-      return value;
+      return container();
     }
 
     /**
@@ -213,24 +319,57 @@ public abstract class Constant {
      * @return the integer value represented by this value object
      */
     public BigInteger integer() {
-      if (type() instanceof BoolType) {
-        return this.value;
-      } else {
-        return BigIntUtils.fromTwosComplement(value, type().bitWidth(), type().isSigned());
+      if (value != null) {
+        return type() instanceof BoolType
+            ? value
+            : BigIntUtils.fromTwosComplement(value, type().bitWidth(), type().isSigned());
+      }
+      if (isSignedType()) {
+        return BigInteger.valueOf(longValue());
       }
+      return bits >= 0 ? BigInteger.valueOf(bits) : unsigned(bits);
     }
 
     public int intValue() {
-      return integer().intValue();
+      return (int) longValue();
     }
 
+    /**
+     * Returns the lowest 64 bits of the {@link #integer()}.
+     */
     public long longValue() {
-      return integer().longValue();
+      if (value != null) {
+        return integer().longValue();
+      }
+      return isSignedType() ? signExtend64(bits, type().bitWidth()) : bits;
     }
 
     public boolean bool() {
       ensure(type() instanceof BoolType, "constant must be of bool type");
-      return this.value.bitLength() != 0;
+      return value == null ? bits != 0 : value.bitLength() != 0;
+    }
+
+    private boolean isSignedType() {
+      return type().isSigned() && !(type() instanceof BoolType);
+    }
+
+    /**
+     * Returns the data container of this value.
+     */
+    private BigInteger container() {
+      return value != null ? value : unsigned(bits);
+    }
+
+    /**
+     * Returns whether this and the other value are stored in a {@code long}, so an
+     * operation on them can be computed on primitives.
+     */
+    private boolean bothInLong(Value other) {
+      return value == null && other.value == null;
+    }
+
+    private boolean isZero() {
+      return value == null ? bits == 0 : value.signum() == 0;
     }
 
     @Override
@@ -243,7 +382,18 @@ public abstract class Constant {
      * with the same size as the current type.
      */
     public Value toBits() {
-      return fromTwosComplement(value, Type.bits(type().bitWidth()));
+      return retype(Type.bits(type().bitWidth()));
+    }
+
+    /**
+     * Returns a value with the same data container but the given type, which
+     * must have the same bit width.
+     */
+    private Value retype(DataType newType) {
+      if (value == null && newType.bitWidth() <= Long.SIZE) {
+        return new Value(bits, null, newType);
+      }
+      return fromTwosComplement(container(), newType);
     }
 
     /**
@@ -257,12 +407,15 @@ public abstract class Constant {
 
       if (sourceType.isTrivialCastTo(targetType)) {
         // same memory representation
-        return fromTwosComplement(value, targetType);
+        return retype(targetType);
       } else if (targetType instanceof BoolType) {
         // != 0 for casts to boolean
-        return of(!this.integer().equals(BigInteger.ZERO));
+        return of(!isZero());
       } else if (targetType.bitWidth() < sourceType.bitWidth()) {
         // the current type is larger (so we just truncate)
+        if (value == null) {
+          return fromBits(bits & mask64(targetType.bitWidth()), targetType);
+        }
         var truncatedValue = value
             .and(mask(targetType.bitWidth(), 0));
         return Value.fromTwosComplement(truncatedValue, targetType);
@@ -293,9 +446,13 @@ public abstract class Constant {
       ensure(type().isTrivialCastTo(other.type()), "Types don't match, %s vs %s", type(),
           other.type());
 
+      if (bothInLong(other)) {
+        return addInLong(other, withCarrySet);
+      }
+
       // a + b + c where c is the carry flag
       var c = withCarrySet ? BigInteger.ONE : BigInteger.ZERO;
-      var result = value.add(other.value).add(c);
+      var result = container().add(other.container()).add(c);
 
       var truncated = result.and(mask(type().bitWidth(), 0));
 
@@ -321,6 +478,30 @@ public abstract class Constant {
       );
     }
 
+    /**
+     * The {@link #add(Value, boolean)} of values that are stored in a {@code long}.
+     */
+    private Constant.Tuple addInLong(Constant.Value other, boolean withCarrySet) {
+      var width = type().bitWidth();
+      var sum = bits + other.bits;
+      var result = sum + (withCarrySet ? 1 : 0);
+      var truncated = result & mask64(width);
+
+      var isZero = truncated == 0;
+      var isNegative = testBit(result, width - 1);
+      // a carry out of the msb. for 64 bits the carry is lost in the long,
+      // so it is detected by an unsigned wrap around
+      var isCarry = width < Long.SIZE
+          ? (result >>> width) != 0
+          : Long.compareUnsigned(sum, bits) < 0 || Long.compareUnsigned(result, sum) < 0;
+      var isOverflow = this.isSignBit() == other.isSignBit() && (this.isSignBit() != isNegative);
+
+      return new Constant.Tuple(
+          fromBits(truncated, type()),
+          Constant.Tuple.status(isNegative, isZero, isCarry, isOverflow)
+      );
+    }
+
     /**
      * Subtracts the given value from this value.
      *
@@ -422,17 +603,25 @@ public abstract class Constant {
         var a = this.trivialCastTo(divType);
         var b = other.trivialCastTo(divType);
 
-        var newValue = a.integer()
-            .multiply(b.integer()); // multiply with other value
-
         var newType = Type.constructDataType(divType.getClass(), 2 * divType.bitWidth());
         Objects.requireNonNull(newType);
 
+        if (bothInLong(other) && 2 * divType.bitWidth() < Long.SIZE) {
+          // the product of the integers fits in a long
+          return of(a.longValue() * b.longValue(), newType);
+        }
+
+        var newValue = a.integer()
+            .multiply(b.integer()); // multiply with other value
+
         return fromInteger(newValue, newType);
+      } else if (bothInLong(other)) {
+        // the lowest 64 bits of the product do not depend on the higher bits
+        return fromBits((bits * other.bits) & mask64(type().bitWidth()), type());
       } else {
         // for the non-long version we truncate the result
-        var newValue = value
-            .multiply(other.value)
+        var newValue = container()
+            .multiply(other.container())
             .and(mask(type().bitWidth(), 0)); // truncate result
         return fromTwosComplement(newValue, type());
       }
@@ -454,6 +643,18 @@ public abstract class Constant {
       var a = this.trivialCastTo(divType);
       var b = other.trivialCastTo(divType);
 
+      // division by zero and the overflow of the minimal 64-bit signed value
+      // are handled by BigInteger
+      if (bothInLong(other) && other.bits != 0) {
+        var x = a.longValue();
+        var y = b.longValue();
+        if (!signed) {
+          return fromUnsignedLong(Long.divideUnsigned(x, y), divType);
+        } else if (x != Long.MIN_VALUE || y != -1) {
+          return of(x / y, divType);
+        }
+      }
+
       var newIntegerValue = a.integer()
           .divide(b.integer());
       return fromInteger(newIntegerValue, divType);
@@ -475,11 +676,36 @@ public abstract class Constant {
       var a = this.trivialCastTo(divType);
       var b = other.trivialCastTo(divType);
 
+      // a modulus that is not positive is handled (rejected) by BigInteger
+      if (bothInLong(other) && other.bits != 0) {
+        var x = a.longValue();
+        var y = b.longValue();
+        if (!signed) {
+          return fromUnsignedLong(Long.remainderUnsigned(x, y), divType);
+        } else if (y > 0) {
+          return of(Math.floorMod(x, y), divType);
+        }
+      }
+
       var newIntegerValue = a.integer()
           .mod(b.integer());
       return fromInteger(newIntegerValue, divType);
     }
 
+    /**
+     * Returns a constant with the same bit representation but the given type.
+     * In contrast to {@link #trivialCastTo(Type)}, the new type might have another bit width.
+     */
+    public Constant.Value withType(DataType newType) {
+      if (type() == newType) {
+        return this;
+      }
+      if (value == null) {
+        return fromBits(bits, newType);
+      }
+      return new Value(bits, value, newType);
+    }
+
     /**
      * Converts the constant to the given type, which must be a trivial cast.
      * The value remains the same, but the constant type changes.
@@ -490,7 +716,7 @@ public abstract class Constant {
       if (type() == newType) {
         return this;
       }
-      return fromTwosComplement(value, (DataType) newType);
+      return retype((DataType) newType);
     }
 
     /**
@@ -510,7 +736,9 @@ public abstract class Constant {
      * Checks if the sign bit of the value is set.
      */
     public boolean isSignBit() {
-      return value.testBit(type().bitWidth() - 1);
+      return value == null
+          ? testBit(bits, type().bitWidth() - 1)
+          : value.testBit(type().bitWidth() - 1);
     }
 
     /**
@@ -519,6 +747,9 @@ public abstract class Constant {
      * @return the bitwise negation value of the current value object
      */
     public Constant.Value not() {
+      if (value == null) {
+        return fromBits(~bits & mask64(type().bitWidth()), type());
+      }
       var mask = mask(type().bitWidth(), 0);
       var notResult = value.xor(mask);
       return fromTwosComplement(notResult, type());
@@ -549,7 +780,10 @@ public abstract class Constant {
      */
     public Constant.Value and(Constant.Value other) {
       ensureSameWidth(other);
-      var andResult = this.value.and(other.value);
+      if (bothInLong(other)) {
+        return fromBits(bits & other.bits, type());
+      }
+      var andResult = container().and(other.container());
       return Constant.Value.fromTwosComplement(andResult, type());
     }
 
@@ -558,7 +792,10 @@ public abstract class Constant {
      */
     public Constant.Value xor(Constant.Value other) {
       ensureSameWidth(other);
-      var xorResult = this.value.xor(other.value);
+      if (bothInLong(other)) {
+        return fromBits(bits ^ other.bits, type());
+      }
+      var xorResult = container().xor(other.container());
       return Constant.Value.fromTwosComplement(xorResult, type());
     }
 
@@ -567,7 +804,10 @@ public abstract class Constant {
      */
     public Constant.Value or(Constant.Value other) {
       ensureSameWidth(other);
-      var orResult = this.value.or(other.value);
+      if (bothInLong(other)) {
+        return fromBits(bits | other.bits, type());
+      }
+      var orResult = container().or(other.container());
       return Constant.Value.fromTwosComplement(orResult, type());
     }
 
@@ -575,42 +815,59 @@ public abstract class Constant {
      * Performs singed or and unsigned less comparison.
      */
     public Constant.Value lth(Constant.Value other, boolean singed) {
-      return compare(other, singed, (a, b) -> a.compareTo(b) < 0);
+      return compare(other, singed, c -> c < 0);
     }
 
     /**
      * Performs singed or and unsigned less equals comparison.
      */
     public Constant.Value leq(Constant.Value other, boolean singed) {
-      return compare(other, singed, (a, b) -> a.compareTo(b) <= 0);
+      return compare(other, singed, c -> c <= 0);
     }
 
     /**
      * Performs singed or and unsigned greater comparison.
      */
     public Constant.Value gth(Constant.Value other, boolean singed) {
-      return compare(other, singed, (a, b) -> a.compareTo(b) > 0);
+      return compare(other, singed, c -> c > 0);
     }
 
     /**
      * Performs singed or and unsigned less equals comparison.
      */
     public Constant.Value geq(Constant.Value other, boolean singed) {
-      return compare(other, singed, (a, b) -> a.compareTo(b) >= 0);
+      return compare(other, singed, c -> c >= 0);
+    }
+
+    /**
+     * Checks whether this and the other value have the same bits, regardless of
+     * their types. Both operands must have the same width.
+     */
+    public Constant.Value equ(Constant.Value other) {
+      ensureSameWidth(other);
+      if (bothInLong(other)) {
+        return Constant.Value.fromBoolean(bits == other.bits);
+      }
+      return Constant.Value.fromBoolean(container().equals(other.container()));
     }
 
     private Constant.Value compare(Constant.Value other, boolean singed,
-                                   BiFunction<BigInteger, BigInteger, Boolean> cmp) {
-      boolean result;
-      if (singed) {
-        var thisBigInt = BigIntUtils.fromTwosComplement(value, type().bitWidth(), true);
+                                   IntPredicate cmp) {
+      int result;
+      if (bothInLong(other)) {
+        result = singed
+            ? Long.compare(signExtend64(bits, type().bitWidth()),
+            signExtend64(other.bits, other.type().bitWidth()))
+            : Long.compareUnsigned(bits, other.bits);
+      } else if (singed) {
+        var thisBigInt = BigIntUtils.fromTwosComplement(container(), type().bitWidth(), true);
         var otherBigInt =
-            BigIntUtils.fromTwosComplement(other.value, other.type().bitWidth(), true);
-        result = cmp.apply(thisBigInt, otherBigInt);
+            BigIntUtils.fromTwosComplement(other.container(), other.type().bitWidth(), true);
+        result = thisBigInt.compareTo(otherBigInt);
       } else {
-        result = cmp.apply(value, other.value);
+        result = container().compareTo(other.container());
       }
-      return Constant.Value.fromBoolean(result);
+      return Constant.Value.fromBoolean(cmp.test(result));
     }
 
     /**
@@ -623,23 +880,58 @@ public abstract class Constant {
       ensure(other.type().getClass() == UIntType.class,
           "LSL shift argument must be an unsigned integer.");
 
-      var newValue = value
-          .shiftLeft(other.intValue()) // shift value by other
+      var shift = other.intValue();
+      if (value == null && shift >= 0) {
+        var shifted = shift < Long.SIZE ? bits << shift : 0;
+        return fromBits(shifted & mask64(type().bitWidth()), type());
+      }
+
+      var newValue = container()
+          .shiftLeft(shift) // shift value by other
           .and(mask(type().bitWidth(), 0)); // truncate value
       return fromTwosComplement(newValue, type());
     }
 
     /**
-     * Performs a logical shift left of this constant value by the specified amount
-     * of the other value (which must be an unsigned integer).
-     * The resulting type is the same as this type, the result is truncated on overflow.
+     * Performs a logical shift right of this constant value by the specified amount
+     * of the other value (an unsigned integer or bits, which are read as unsigned).
+     * The resulting type is the same as this type.
      */
     public Constant.Value lsr(Constant.Value other) {
+      other = other.trivialCastTo(Type.unsignedInt(other.type().bitWidth()));
       ensure(other.type().getClass() == UIntType.class,
           "LSR shift argument must be an unsigned integer.");
 
-      var newValue = value
-          .shiftRight(other.intValue());
+      var shift = other.intValue();
+      if (value == null && shift >= 0) {
+        return fromBits(shift < Long.SIZE ? bits >>> shift : 0, type());
+      }
+
+      var newValue = container()
+          .shiftRight(shift);
+      return fromTwosComplement(newValue, type());
+    }
+
+    /**
+     * Performs an arithmetic shift right of this constant value by the specified amount
+     * of the other value (which must be an unsigned integer).
+     * The resulting type is the same as this type.
+     */
+    public Constant.Value asr(Constant.Value other) {
+      other = other.trivialCastTo(Type.unsignedInt(other.type().bitWidth()));
+      ensure(other.type().getClass() == UIntType.class,
+          "ASR shift argument must be an unsigned integer.");
+
+      var shift = other.intValue();
+      var width = type().bitWidth();
+      if (value == null && shift >= 0) {
+        var shifted = signExtend64(bits, width) >> Math.min(shift, Long.SIZE - 1);
+        return fromBits(shifted & mask64(width), type());
+      }
+
+      var newValue = BigIntUtils.fromTwosComplement(container(), width, true)
+          .shiftRight(shift) // arithmetic shift of the signed value
+          .and(mask(width, 0)); // back to two's complement
       return fromTwosComplement(newValue, type());
     }
 
@@ -657,6 +949,10 @@ public abstract class Constant {
         return this;
       }
 
+      if (value == null) {
+        return fromBits(bits & mask64(newType.bitWidth()), newType);
+      }
+
       var mask = mask(newType.bitWidth(), 0);
       var result = value.and(mask);
       return fromTwosComplement(result, newType);
@@ -685,6 +981,9 @@ public abstract class Constant {
       ensure(type().bitWidth() <= newType.bitWidth(),
           "Value's bit-width must be less or equal to result type: %s", newType);
       // just create new constant with the new (bigger type)
+      if (value == null) {
+        return fromBits(bits, newType);
+      }
       return fromTwosComplement(value, newType);
     }
 
@@ -695,17 +994,23 @@ public abstract class Constant {
       ensure(type().bitWidth() <= newType.bitWidth(),
           "Value's bit-width must be less or equal to result type: %s", newType);
 
-      var signSet = value.testBit(type().bitWidth() - 1);
+      var signSet = isSignBit();
 
+      if (value == null && newType.bitWidth() <= Long.SIZE) {
+        var extension = signSet ? mask64(newType.bitWidth()) & ~mask64(type().bitWidth()) : 0;
+        return fromBits(bits | extension, newType);
+      }
+
+      var container = container();
       if (signSet) {
         var lenDiff = newType.bitWidth() - type().bitWidth();
         var shiftLeft = type().bitWidth();
         var bitMask = mask(lenDiff, shiftLeft);
-        var result = value.or(bitMask);
+        var result = container.or(bitMask);
         return fromTwosComplement(result, newType);
       } else {
         // sign not set -> no sign extension
-        return fromTwosComplement(value, newType);
+        return fromTwosComplement(container, newType);
       }
     }
 
@@ -741,11 +1046,11 @@ public abstract class Constant {
     }
 
     public Constant.Value zero(DataType type) {
-      return fromInteger(BigInteger.ZERO, type);
+      return of(0, type);
     }
 
     public Constant.Value one(DataType type) {
-      return fromInteger(BigInteger.ONE, type);
+      return of(1, type);
     }
 
 
@@ -762,13 +1067,17 @@ public abstract class Constant {
       }
 
       Value value1 = (Value) o;
-      return value.equals(value1.value);
+      if (bothInLong(value1)) {
+        return bits == value1.bits;
+      }
+      return container().equals(value1.container());
     }
 
     @Override
     public int hashCode() {
       int result = super.hashCode();
-      result = 31 * result + value.hashCode();
+      // the lowest bits are the same for both data containers
+      result = 31 * result + Long.hashCode(bits);
       return result;
     }
 
@@ -819,11 +1128,13 @@ public abstract class Constant {
           return "Invalid radix %s".formatted(radix);
       }
 
+      var str = value == null
+          ? Long.toUnsignedString(bits, radix)
+          : value.toString(radix);
       if (type() instanceof BoolType) {
-        return prefix + this.value.toString(radix);
+        return prefix + str;
       }
 
-      var str = this.value.toString(radix);
       if (padding) {
         if (padFactor > 0) {
           var padSize = (type().bitWidth() / padFactor) - str.length();
@@ -841,6 +1152,35 @@ public abstract class Constant {
       ensure(type().bitWidth() == other.type().bitWidth(),
           "Type has not the same bit width as %s", other);
     }
+
+    /**
+     * Creates the value of the given integer, which is interpreted as unsigned 64-bit number.
+     */
+    private static Value fromUnsignedLong(long integer, DataType type) {
+      return integer >= 0 ? of(integer, type) : fromInteger(unsigned(integer), type);
+    }
+
+    private static BigInteger unsigned(long bits) {
+      var result = BigInteger.valueOf(bits & Long.MAX_VALUE);
+      return bits < 0 ? result.setBit(Long.SIZE - 1) : result;
+    }
+
+    private static long mask64(int width) {
+      return width >= Long.SIZE ? -1L : (1L << width) - 1;
+    }
+
+    private static long signExtend64(long bits, int width) {
+      var shift = Long.SIZE - width;
+      return shift <= 0 ? bits : (bits << shift) >> shift;
+    }
+
+    private static boolean testBit(long bits, int index) {
+      return index < Long.SIZE && ((bits >>> index) & 1) != 0;
+    }
+
+    private static int bitLength(long integer) {
+      return Long.SIZE - Long.numberOfLeadingZeros(integer < 0 ? ~integer : integer);
+    }
   }
 
   /**
@@ -60,6 +60,17 @@ public class Graph {
 
   List<Node> nodes;
 
+  private final UniqueNodeIndex uniqueNodeIndex = new UniqueNodeIndex(this);
+  private final NodeClassIndex nodeClassIndex = new NodeClassIndex(this);
+
+  // the next numeric id of an included node, independent of its slot in the node list
+  private int nextId;
+  private int deadSlots;
+  // incremented on every compaction, so node iterators can detect it
+  int compactions;
+  // incremented on every change of the nodes, their edges or their data
+  private long modificationCount;
+
   private static final int INITIAL_GRAPH_SIZE = 32;
 
   /**
@@ -82,6 +93,7 @@ public class Graph {
   protected Graph(String name, List<Node> nodes, Definition parentDefinition) {
     this.name = name;
     this.nodes = nodes;
+    this.nextId = nodes.size();
     this.parentDefinition = parentDefinition;
   }
 
@@ -114,11 +126,15 @@ public class Graph {
    * Gets all nodes of a specific type of this graph.
    * It has the same properties as {@link #getNodes}
    *
+   * <p>The nodes are looked up in a per-class index that is created on the first query
+   * of the class, so the cost is proportional to the number of matching nodes.</p>
+   *
    * @param clazz of node type
    * @return iterable of all nodes of type clazz
    */
   public final <T> Stream<T> getNodes(Class<T> clazz) {
-    return getNodes().filter(clazz::isInstance).map(clazz::cast);
+    return Streams.stream(new NodeIter.ClassSnapshotIter<>(this, clazz,
+        nodeClassIndex.slotsOf(clazz)));
   }
 
   /**
@@ -219,54 +235,27 @@ public class Graph {
    * @return the duplicated node if found
    */
   public <T extends Node> @Nullable T findDuplicate(T node) {
-    // TODO: Implementation of this might cause performance issues
-    // TODO: We should differ between leafs and none-leafs, and also maintain a leafs cache
     node.ensure(node instanceof UniqueNode, "Only UniqueNodes might be used to find duplicates");
+    //noinspection unchecked
+    return (T) uniqueNodeIndex.find(node);
+  }
 
-    var inputs = node.inputList();
-
-    // if it is leaf
-    if (inputs.isEmpty()) {
-      //noinspection unchecked
-      return (T) getNodes(node.getClass())
-          .filter(node::equalData)
-          .findFirst()
-          .orElse(null);
-    }
-
-    // if node is not yet in graph, the usage number of the input might be 0
-    var minUsageNumber = node.graph() == null ? 0 : 1;
-    var minCount = Integer.MAX_VALUE;
-    Node minNode = null;
-
-    for (Node input : inputs) {
-      if (input.usageCount() <= minUsageNumber) {
-        // there will be no duplicated node, as only this
-        // node is user of some of its inputs
-        return null;
-      }
+  /**
+   * Returns the structural hash index of all {@link UniqueNode}s in this graph.
+   * Its hit and miss counters show how often {@link #findDuplicate(Node)} was successful.
+   */
+  public UniqueNodeIndex uniqueNodeIndex() {
+    return uniqueNodeIndex;
+  }
 
-      if (input.usageCount() < minCount) {
-        minCount = input.usageCount();
-        minNode = input;
-      }
+  /**
+   * Invalidates the structural hash key of the given node after its inputs or data changed.
+   * This is only called by the node itself.
+   */
+  void keyChanged(Node node) {
+    if (node instanceof UniqueNode) {
+      uniqueNodeIndex.invalidate(node);
     }
-
-    requireNonNull(minNode);
-    //noinspection unchecked
-    return (T) minNode.usages()
-        .filter(user ->
-            user != node
-                // check if class, input and data is the same
-                // the input is just checked for same references, as
-                // those must have been added before anyways (with unique).
-                && node.getClass() == user.getClass()
-                && node.equalInputs(user)
-                && node.equalData(user)
-                && user.graph() == this
-        )
-        .findFirst()
-        .orElse(null);
   }
 
   /**
@@ -314,10 +303,15 @@ public class Graph {
    * @param node to be included.
    */
   protected void include(Node node) {
-    node.ensure(node.id.isInit(), "cannot include node that is other than in Init state");
-    int id = nodes.size();
+    node.ensure(node.isUninitialized(), "cannot include node that is other than in Init state");
+    int slot = nodes.size();
     nodes.add(node);
-    node.id.turnActive(id);
+    node.turnActive(nextId++, slot);
+    nodeClassIndex.included(node, slot);
+    if (node instanceof UniqueNode) {
+      uniqueNodeIndex.insert(node);
+    }
+    modified();
   }
 
   /**
@@ -328,8 +322,69 @@ public class Graph {
    */
   protected void remove(Node node) {
     node.ensure(node.isActiveIn(this), "node is not active in this graph %s", this);
-    nodes.set(node.id().numericId(), null);
-    node.id().turnDeleted();
+    nodes.set(node.slot(), null);
+    deadSlots++;
+    node.turnDeleted();
+    uniqueNodeIndex.remove(node);
+    modified();
+  }
+
+  /**
+   * Returns the number of modifications of this graph.
+   * The count grows whenever a node is added or removed, an edge changes or
+   * the data of a node is set. If it is the same at two points in time, the graph
+   * was not modified in between.
+   * Moving nodes by {@link #compact()} is not a modification.
+   */
+  public long modificationCount() {
+    return modificationCount;
+  }
+
+  /**
+   * Records a modification of the graph.
+   * This is called by the nodes on edge or data changes.
+   */
+  void modified() {
+    modificationCount++;
+  }
+
+  /**
+   * Removes the slots of deleted nodes from the node list of this graph.
+   * The {@link Node.Id} of all nodes in the graph stay the same, only their internal
+   * position changes.
+   * This is useful after passes that deleted a large part of the graph, as
+   * {@link #getNodes()} has to skip every deleted slot.
+   *
+   * <p>The graph must not be compacted while nodes are streamed,
+   * otherwise the stream throws a {@link java.util.ConcurrentModificationException}.</p>
+   */
+  public void compact() {
+    if (deadSlots == 0) {
+      return;
+    }
+    var liveNodes = new ArrayList<Node>(nodes.size() - deadSlots);
+    for (var node : nodes) {
+      if (node == null) {
+        continue;
+      }
+      // deinitialized nodes keep their slot but do not own it anymore
+      if (node.isActiveIn(this)) {
+        node.moveToSlot(liveNodes.size());
+      }
+      liveNodes.add(node);
+    }
+    nodes = liveNodes;
+    deadSlots = 0;
+    compactions++;
+    nodeClassIndex.clear();
+  }
+
+  /**
+   * Returns the number of slots in the node list that belong to deleted nodes.
+   * They are removed by {@link #compact()}.
+   */
+  public int deadSlotCount() {
+    return deadSlots;
   }
 
   /**
@@ -361,7 +416,7 @@ public class Graph {
       return;
     }
     node.safeDelete();
-    node.inputs().forEach(this::deleteIfUnusedRecursively);
+    node.forEachInput(this::deleteIfUnusedRecursively);
   }
 
   // helper method to add node to graph
@@ -403,27 +458,29 @@ public class Graph {
    * Checks if all inputs were added to the graph.
    */
   private void ensureInputsAdded(Node node) {
-    for (var input : node.inputList()) {
-      if (!input.isActive()) {
-        throw new ViamGraphError(
-            "Failed to add `%s` as its input node `%s` is not yet initialized. %s",
-            node, input, "You might want use Graph#addWithInputs()")
-            .addContext(node)
-            .addContext(this)
-            .addLocation(sourceLocation)
-            .addContext("inputNode", input)
-            .shrinkStacktrace(1);
-      }
-      if (!(input.graph() == this)) {
-        throw new ViamGraphError(
-            "Failed to add `%s` as its input node `%s` is part on another graph `%s`.",
-            node, input, input.graph() == null ? null : input.graph().name)
-            .addContext(node)
-            .addContext(this)
-            .addContext("inputNode", input)
-            .addContext("graphOfInput", requireNonNull(input.graph()))
-            .shrinkStacktrace(1);
-      }
+    node.forEachInput(input -> ensureInputAdded(node, input));
+  }
+
+  private void ensureInputAdded(Node node, Node input) {
+    if (!input.isActive()) {
+      throw new ViamGraphError(
+          "Failed to add `%s` as its input node `%s` is not yet initialized. %s",
+          node, input, "You might want use Graph#addWithInputs()")
+          .addContext(node)
+          .addContext(this)
+          .addLocation(sourceLocation)
+          .addContext("inputNode", input)
+          .shrinkStacktrace(1);
+    }
+    if (!(input.graph() == this)) {
+      throw new ViamGraphError(
+          "Failed to add `%s` as its input node `%s` is part on another graph `%s`.",
+          node, input, input.graph() == null ? null : input.graph().name)
+          .addContext(node)
+          .addContext(this)
+          .addContext("inputNode", input)
+          .addContext("graphOfInput", requireNonNull(input.graph()))
+          .shrinkStacktrace(1);
     }
   }
 
@@ -561,9 +618,8 @@ public class Graph {
    */
   @Deprecated
   public void deinitializeNodes() {
-    this.nodes.stream().filter(Objects::nonNull).filter(node -> node.id() != null)
-        .map(node -> node.id)
-        .forEach(Node.Id::deactivate);
+    this.nodes.stream().filter(Objects::nonNull)
+        .forEach(Node::deactivate);
   }
 
   /**
@@ -0,0 +1,106 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.viam.graph;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * An estimation of the heap memory used by the nodes of a {@link Graph}.
+ * It is shown in the HTML dump to find graphs that dominate the memory usage.
+ *
+ * <p>The sizes are estimated for a 64-bit JVM with compressed object pointers,
+ * which is the default for heaps below 32 GB.
+ * Node lists and data values (e.g. constants and types) are not included.</p>
+ *
+ * @param nodeCount       the number of nodes in the graph
+ * @param nodeBytes       the estimated size of all node objects
+ * @param usageBytes      the estimated size of all usage arrays
+ * @param sourceLocations the number of distinct source location objects
+ */
+public record GraphFootprint(
+    int nodeCount,
+    long nodeBytes,
+    long usageBytes,
+    int sourceLocations
+) {
+
+  private static final int OBJECT_HEADER = 12;
+  private static final int ARRAY_HEADER = 16;
+  private static final int REFERENCE = 4;
+
+  private static final ClassValue<Long> shallowSizes = new ClassValue<>() {
+    @Override
+    protected Long computeValue(Class<?> type) {
+      long size = OBJECT_HEADER;
+      for (var current = type; current != null; current = current.getSuperclass()) {
+        for (Field field : current.getDeclaredFields()) {
+          if (!Modifier.isStatic(field.getModifiers())) {
+            size += sizeOf(field.getType());
+          }
+        }
+      }
+      return align(size);
+    }
+  };
+
+  /**
+   * Estimates the footprint of the given graph.
+   */
+  public static GraphFootprint of(Graph graph) {
+    int nodeCount = 0;
+    long nodeBytes = 0;
+    long usageBytes = 0;
+    Set<Object> locations = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (var node : graph.getNodes().toList()) {
+      nodeCount++;
+      nodeBytes += shallowSizes.get(node.getClass());
+      if (node.usageCapacity() > 0) {
+        usageBytes += align(ARRAY_HEADER + (long) REFERENCE * node.usageCapacity());
+      }
+      locations.add(node.sourceLocation());
+    }
+    return new GraphFootprint(nodeCount, nodeBytes, usageBytes, locations.size());
+  }
+
+  /**
+   * Returns the estimated size of all nodes including their usage arrays.
+   */
+  public long totalBytes() {
+    return nodeBytes + usageBytes;
+  }
+
+  private static long sizeOf(Class<?> type) {
+    if (type == long.class || type == double.class) {
+      return 8;
+    } else if (type == int.class || type == float.class) {
+      return 4;
+    } else if (type == short.class || type == char.class) {
+      return 2;
+    } else if (type == byte.class || type == boolean.class) {
+      return 1;
+    }
+    return REFERENCE;
+  }
+
+  private static long align(long size) {
+    return (size + 7) & ~7L;
+  }
+}
@@ -19,6 +19,7 @@ package vadl.viam.graph;
 import com.google.errorprone.annotations.FormatMethod;
 import com.google.errorprone.annotations.FormatString;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
@@ -39,11 +40,22 @@ import vadl.viam.graph.dependency.DependencyNode;
  */
 public abstract class Node implements WithSourceLocation {
 
-  public final Id id;
-  private @Nullable Graph graph;
+  private static final Node[] NO_USAGES = new Node[0];
+
+  // the id is stored inline, id() returns an immutable view of it
+  private IdState idState;
+  private int numericId;
+  // the last view returned by id(), replaced when the id changes
+  private @Nullable Id idView;
+  // the position of the node in the graph's node list.
+  // it is equal to the numeric id until the graph gets compacted.
+  private int slot;
 
+  private @Nullable Graph graph;
 
-  private ArrayList<Node> usages;
+  // most nodes have no or a single usage, so the array is allocated on the first usage
+  private Node[] usages;
+  private int usageCount;
   private @Nullable Node predecessor;
 
   private SourceLocation sourceLocation;
@@ -53,18 +65,42 @@ public abstract class Node implements WithSourceLocation {
    * no usages and no predecessor.
    */
   public Node() {
-    this.id = new Id();
-    this.usages = new ArrayList<>();
+    this.idState = IdState.INIT;
+    this.numericId = -1;
+    this.slot = -1;
+    this.usages = NO_USAGES;
     this.predecessor = null;
     this.sourceLocation = SourceLocation.INVALID_SOURCE_LOCATION;
   }
 
+  /**
+   * Returns the current id of this node.
+   * The returned {@link Id} is a snapshot, it does not change when the node's state changes.
+   * The view is cached until the id changes, so repeated calls do not allocate.
+   */
   public Id id() {
-    return this.id;
+    var view = idView;
+    if (view == null || view.state != idState || view.numericId != numericId) {
+      view = new Id(idState, numericId);
+      idView = view;
+    }
+    return view;
+  }
+
+  /**
+   * Returns the numeric id of this node without creating its {@link Id} view.
+   *
+   * @throws ViamGraphError if the node was never added to a graph
+   */
+  public int numericId() {
+    if (idState == IdState.INIT) {
+      throw new ViamGraphError("id in Init state has no numeric id");
+    }
+    return numericId;
   }
 
   public boolean isActive() {
-    return this.id.isActive();
+    return idState == IdState.ACTIVE;
   }
 
   public boolean isActiveIn(@Nullable Graph graph) {
@@ -72,11 +108,11 @@ public abstract class Node implements WithSourceLocation {
   }
 
   public boolean isDeleted() {
-    return this.id.isDeleted();
+    return idState == IdState.DELETED;
   }
 
   public boolean isUninitialized() {
-    return this.id.isInit();
+    return idState == IdState.INIT;
   }
 
   @Override
@@ -85,7 +121,7 @@ public abstract class Node implements WithSourceLocation {
   }
 
   public void setSourceLocation(SourceLocation sourceLocation) {
-    this.sourceLocation = sourceLocation;
+    this.sourceLocation = sourceLocation.intern();
   }
 
   /**
@@ -93,7 +129,7 @@ public abstract class Node implements WithSourceLocation {
    */
   public void setSourceLocationIfNotSet(SourceLocation sourceLocation) {
     if (this.sourceLocation.equals(SourceLocation.INVALID_SOURCE_LOCATION)) {
-      this.sourceLocation = sourceLocation;
+      this.sourceLocation = sourceLocation.intern();
     }
   }
 
@@ -108,7 +144,7 @@ public abstract class Node implements WithSourceLocation {
       return false;
     }
 
-    return inputList().isEmpty();
+    return inputCount() == 0;
   }
 
   /**
@@ -181,6 +217,44 @@ public abstract class Node implements WithSourceLocation {
     return collection;
   }
 
+  /**
+   * Calls the action for each input of this node, without collecting them in a list first.
+   * The inputs must not be changed by the action.
+   *
+   * <p><b>IMPORTANT</b>:
+   * <li>This must be overridden by every node that has inputs
+   * (annotated with {@link vadl.javaannotations.viam.Input}).</li>
+   * <li>The subclass must call {@code super.forEachInput(action)} before
+   * visiting its own inputs!</li>
+   * <li>Optional inputs must only be visited if they are non-null</li>
+   *
+   * @param action to call for each input.
+   */
+  protected void forEachInput(Consumer<Node> action) { /* nothing to visit */
+  }
+
+  /**
+   * Returns the number of inputs of this node.
+   */
+  public final int inputCount() {
+    var counter = new InputCounter();
+    forEachInput(counter);
+    return counter.count;
+  }
+
+  /**
+   * Counts the visited nodes. It does not escape {@link #inputCount()}, so the JIT
+   * can remove its allocation.
+   */
+  private static final class InputCounter implements Consumer<Node> {
+    private int count;
+
+    @Override
+    public void accept(Node node) {
+      count++;
+    }
+  }
+
   /**
    * Returns an iterable of all successor edges of this node.
    */
@@ -211,6 +285,22 @@ public abstract class Node implements WithSourceLocation {
     return collection;
   }
 
+  /**
+   * Calls the action for each successor of this node, without collecting them in a list first.
+   * The successors must not be changed by the action.
+   *
+   * <p><b>IMPORTANT</b>:
+   * <li>This must be overridden by every node that has successors
+   * (annotated with {@link vadl.javaannotations.viam.Successor})</li>
+   * <li>The subclass must call {@code super.forEachSuccessor(action)} before
+   * visiting its own successors!</li>
+   * <li>Optional successors must only be visited if they are non-null</li>
+   *
+   * @param action to call for each successor.
+   */
+  protected void forEachSuccessor(Consumer<Node> action) { /* nothing to visit */
+  }
+
   /**
    * Collects all data in the provided list.
    *
@@ -237,7 +327,7 @@ public abstract class Node implements WithSourceLocation {
    * {@link vadl.javaannotations.viam.Input}.
    */
   public final Stream<Node> usages() {
-    return usages.stream();
+    return Arrays.stream(usages, 0, usageCount);
   }
 
   /**
@@ -257,7 +347,12 @@ public abstract class Node implements WithSourceLocation {
   }
 
   public final int usageCount() {
-    return usages.size();
+    return usageCount;
+  }
+
+  // the allocated length of the usage array, used to estimate the memory of the node
+  final int usageCapacity() {
+    return usages.length;
   }
 
   public final boolean hasUsages() {
@@ -383,8 +478,8 @@ public abstract class Node implements WithSourceLocation {
   protected void initialize(Graph graph) {
     graph.include(this);
     this.graph = graph;
-    inputs().forEach(e -> e.addUsage(this));
-    successors().forEach(e -> e.setPredecessor(this));
+    forEachInput(e -> e.addUsage(this));
+    forEachSuccessor(e -> e.setPredecessor(this));
   }
 
   /**
@@ -411,8 +506,8 @@ public abstract class Node implements WithSourceLocation {
     ensure(isDeleted(), "Deletion of obsolete children is only possible for deleted nodes");
     var deletedNode = this;
     Consumer<Node> tryToDelete = (Node i) -> {
-      var usagesOk = i.usages.isEmpty()
-          || (i.usageCount() == 1 && i.usages.get(0) == deletedNode);
+      var usagesOk = i.usageCount == 0
+          || (i.usageCount == 1 && i.usages[0] == deletedNode);
       var predecessorOk = i.predecessor == null || i.predecessor == deletedNode;
       if (usagesOk && predecessorOk && i.isActiveIn(graph)) {
         i.safeDelete();
@@ -565,7 +660,10 @@ public abstract class Node implements WithSourceLocation {
    * of a given node.
    */
   protected final void addUsage(Node usage) {
-    usages.add(usage);
+    if (usageCount == usages.length) {
+      usages = Arrays.copyOf(usages, Math.max(1, usageCount * 2));
+    }
+    usages[usageCount++] = usage;
   }
 
   /**
@@ -580,7 +678,23 @@ public abstract class Node implements WithSourceLocation {
     // This is because a general pass algorithm would iterate over all inputs,
     // so removing all of them on the first occurrence would lead to an inconsistent state
     // were this is an input of some node, but it is not contained in the usages list
-    return usages.remove(usage);
+    var index = indexOfUsage(usage);
+    if (index < 0) {
+      return false;
+    }
+    // keep the order of the remaining usages
+    System.arraycopy(usages, index + 1, usages, index, usageCount - index - 1);
+    usages[--usageCount] = null;
+    return true;
+  }
+
+  private int indexOfUsage(Node usage) {
+    for (int i = 0; i < usageCount; i++) {
+      if (usages[i] == usage) {
+        return i;
+      }
+    }
+    return -1;
   }
 
   protected final void setPredecessor(@Nullable Node predecessor) {
@@ -607,6 +721,9 @@ public abstract class Node implements WithSourceLocation {
     ensure(newInput == null || newInput.isActiveIn(graph),
         "cannot transfer usage to inactive node %s", newInput);
     if (oldInput != newInput) {
+      markModified();
+      // the inputs are part of the node's structural hash key
+      ensureGraph().keyChanged(this);
       if (oldInput != null && !oldInput.isUninitialized()) {
         boolean result = oldInput.removeUsage(this);
         ensure(result, "Old input (%s) hadn't a usage of this", oldInput);
@@ -638,6 +755,7 @@ public abstract class Node implements WithSourceLocation {
         "failed to set removed %s as predecessor from %s and adding it to %s", this, oldSuccessor,
         newSuccessor);
     if (oldSuccessor != newSuccessor) {
+      markModified();
       if (oldSuccessor != null && oldSuccessor.predecessor != null) {
         ensure(newSuccessor == null || oldSuccessor.predecessor == this,
             "the old successor (%s) of this node has another predecessor: %s", oldSuccessor,
@@ -653,6 +771,25 @@ public abstract class Node implements WithSourceLocation {
     }
   }
 
+  /**
+   * Records a modification of the node's data in its graph (see
+   * {@link Graph#modificationCount()}) and re-keys the node in the graph's
+   * {@link UniqueNodeIndex}.
+   * Setters of fields that are collected by {@link #collectData(List)} must call this.
+   */
+  protected final void dataChanged() {
+    if (isActive()) {
+      markModified();
+      ensureGraph().keyChanged(this);
+    }
+  }
+
+  private void markModified() {
+    if (graph != null) {
+      graph.modified();
+    }
+  }
+
   /**
    * This checks if the inputs are equal to the other
    * node `o`.
@@ -698,7 +835,7 @@ public abstract class Node implements WithSourceLocation {
         ? "<%s>".formatted(
         dataList.stream().map(Objects::toString).collect(Collectors.joining(", "))) :
         "";
-    return "(%s) %s%s".formatted(id, nodeName(), data);
+    return "(%s) %s%s".formatted(id(), nodeName(), data);
   }
 
 
@@ -707,8 +844,7 @@ public abstract class Node implements WithSourceLocation {
    */
   private void clearInputsUsageOfThis() {
     ensure(isActive(), "node must be active on input clear");
-    inputs().forEach(e -> e.removeUsage(this)
-    );
+    forEachInput(e -> e.removeUsage(this));
   }
 
   /**
@@ -716,7 +852,7 @@ public abstract class Node implements WithSourceLocation {
    */
   private void clearSuccessorsUsageOfThis() {
     ensure(isActive(), "node must be active on successor clear");
-    successors().forEach(e -> e.setPredecessor(null));
+    forEachSuccessor(e -> e.setPredecessor(null));
   }
 
   /// GRAPH VERIFICATION METHODS
@@ -781,9 +917,9 @@ public abstract class Node implements WithSourceLocation {
   public abstract <T extends GraphNodeVisitor> void accept(T visitor);
 
   private void verifyAllEdges() {
-    inputs().forEach(this::verifyInput);
+    forEachInput(this::verifyInput);
     usages().forEach(this::verifyUsage);
-    successors().forEach(this::verifySuccessor);
+    forEachSuccessor(this::verifySuccessor);
     verifyPredecessor();
   }
 
@@ -818,7 +954,7 @@ public abstract class Node implements WithSourceLocation {
     ensure(input.graph() == graph, "input is not in same graph %s", input);
 
     // check if input has this node registered as input
-    ensure(input.usages.contains(this), "this node is not a user of input %s", input);
+    ensure(input.indexOfUsage(this) >= 0, "this node is not a user of input %s", input);
   }
 
   private void verifyUsage(Node usage) {
@@ -890,7 +1026,7 @@ public abstract class Node implements WithSourceLocation {
 
   protected final void ensureDeleteIsPossible() {
     ensure(isActive(), "cannot delete: node is not active");
-    ensure(this.usages.isEmpty(), "cannot delete: user of this node exist");
+    ensure(usageCount == 0, "cannot delete: user of this node exist");
     ensure(predecessor == null, "cannot delete: predecessor exist");
   }
 
@@ -900,32 +1036,61 @@ public abstract class Node implements WithSourceLocation {
    * empty list of usages indicates that the node is a root node.
    */
   public void clearUsages() {
-    usages.clear();
+    usages = NO_USAGES;
+    usageCount = 0;
+  }
+
+  /// ID STATE
+
+  void turnActive(int numericId, int slot) {
+    ensure(idState == IdState.INIT, "cannot turn active from %s state", idState);
+    this.idState = IdState.ACTIVE;
+    this.numericId = numericId;
+    this.slot = slot;
+  }
+
+  void turnDeleted() {
+    ensure(idState == IdState.ACTIVE, "cannot turn deleted from %s state", idState);
+    this.idState = IdState.DELETED;
   }
 
   /**
-   * The node's id class. It can be in Init, Active and Deleted state.
+   * When copying a {@link Node} it must be possible to reset the id so the node can added to
+   * a different graph.
+   * This leaves the node in an inconsistent state within the graph.
+   * Take a look at {@link Graph#deinitializeNodes()} for more information.
    */
-  public class Id {
-    private IdState state;
-    private int numericId;
+  void deactivate() {
+    idState = IdState.INIT;
+    numericId = -1;
+    slot = -1;
+  }
 
-    private Id() {
-      state = IdState.INIT;
-      numericId = -1;
-    }
+  int slot() {
+    return slot;
+  }
 
-    /**
-     * When copying a {@link Node} it must be possible to reset the id so the node can added to
-     * a different graph.
-     *
-     * @deprecated as it leaves the node in an inconsistent state within the graph.
-     *     Take a look at {@link Graph#deinitializeNodes()} for more information.
-     */
-    @Deprecated
-    public void deactivate() {
-      state = IdState.INIT;
-      numericId = -1;
+  void moveToSlot(int slot) {
+    this.slot = slot;
+  }
+
+  private enum IdState {
+    INIT,
+    ACTIVE,
+    DELETED
+  }
+
+  /**
+   * The node's id. It can be in Init, Active and Deleted state.
+   * The state itself is stored in the node, this is just an immutable view of it.
+   */
+  public static final class Id {
+    private final IdState state;
+    private final int numericId;
+
+    private Id(IdState state, int numericId) {
+      this.state = state;
+      this.numericId = numericId;
     }
 
     boolean isInit() {
@@ -940,19 +1105,15 @@ public abstract class Node implements WithSourceLocation {
       return state == IdState.DELETED;
     }
 
-    protected void turnActive(int numericId) {
-      ensure(state == IdState.INIT, "cannot turn active from %s state", state);
-      this.state = IdState.ACTIVE;
-      this.numericId = numericId;
-    }
-
-    protected void turnDeleted() {
-      ensure(state == IdState.ACTIVE, "cannot turn deleted from %s state", state);
-      this.state = IdState.DELETED;
-    }
-
+    /**
+     * Returns the numeric id of the node.
+     *
+     * @throws ViamGraphError if the node was never added to a graph
+     */
     public int numericId() {
-      ensure(state != IdState.INIT, "id in Init state has no numeric id");
+      if (state == IdState.INIT) {
+        throw new ViamGraphError("id in Init state has no numeric id");
+      }
       return numericId;
     }
 
@@ -973,13 +1134,6 @@ public abstract class Node implements WithSourceLocation {
       return Objects.hash(state, numericId);
     }
 
-    private enum IdState {
-      INIT,
-      ACTIVE,
-      DELETED
-    }
-
-
     @Override
     public String toString() {
       return switch (state) {
@@ -0,0 +1,118 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.viam.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A lazily maintained index from node classes to the slots of all nodes of this class
+ * in a {@link Graph}.
+ * The index of a class is created when it is queried the first time by
+ * {@link Graph#getNodes(Class)}.
+ * Afterwards, every included node is appended to the indexes of all its super types.
+ *
+ * <p>Slots of deleted nodes are not removed from the index, but are skipped
+ * during iteration, as the graph sets them to {@code null}.
+ * The whole index is dropped when the graph is compacted.</p>
+ */
+final class NodeClassIndex {
+
+  private final Graph graph;
+  private final Map<Class<?>, SlotList> slotsByClass = new HashMap<>();
+  // caches for every concrete node class the slot lists a new node must be added to
+  private final Map<Class<?>, List<SlotList>> targetsByNodeClass = new HashMap<>();
+
+  NodeClassIndex(Graph graph) {
+    this.graph = graph;
+  }
+
+  /**
+   * Returns the slots of all nodes that are instances of the given class.
+   * If the class was not queried before, the index is built by scanning the graph.
+   */
+  synchronized SlotList slotsOf(Class<?> clazz) {
+    var slots = slotsByClass.get(clazz);
+    if (slots == null) {
+      slots = new SlotList();
+      var nodes = graph.nodes;
+      for (int i = 0; i < nodes.size(); i++) {
+        if (clazz.isInstance(nodes.get(i))) {
+          slots.add(i);
+        }
+      }
+      slotsByClass.put(clazz, slots);
+      // a new class might be a target for existing node classes
+      targetsByNodeClass.clear();
+    }
+    return slots;
+  }
+
+  /**
+   * Adds the slot of the newly included node to all matching class indexes.
+   */
+  synchronized void included(Node node, int slot) {
+    if (slotsByClass.isEmpty()) {
+      return;
+    }
+    var targets = targetsByNodeClass.computeIfAbsent(node.getClass(), this::targetsOf);
+    for (var slots : targets) {
+      slots.add(slot);
+    }
+  }
+
+  synchronized void clear() {
+    slotsByClass.clear();
+    targetsByNodeClass.clear();
+  }
+
+  private List<SlotList> targetsOf(Class<?> nodeClass) {
+    var targets = new ArrayList<SlotList>();
+    slotsByClass.forEach((clazz, slots) -> {
+      if (clazz.isAssignableFrom(nodeClass)) {
+        targets.add(slots);
+      }
+    });
+    return targets;
+  }
+
+  /**
+   * An append-only list of node slots.
+   */
+  static final class SlotList {
+    private int[] slots = new int[8];
+    private int size;
+
+    void add(int slot) {
+      if (size == slots.length) {
+        slots = Arrays.copyOf(slots, size * 2);
+      }
+      slots[size++] = slot;
+    }
+
+    int get(int index) {
+      return slots[index];
+    }
+
+    int size() {
+      return size;
+    }
+  }
+}
@@ -16,6 +16,7 @@
 
 package vadl.viam.graph;
 
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -35,16 +36,19 @@ public interface NodeIter<T> extends Iterator<T> {
   class SnapshotIter implements NodeIter<Node> {
 
     private final int sizeAtCreation;
+    private final int compactionsAtCreation;
     protected int currentIndex;
     protected final Graph graph;
 
     public SnapshotIter(Graph graph) {
       this.graph = graph;
       sizeAtCreation = graph.nodes.size();
+      compactionsAtCreation = graph.compactions;
     }
 
     @Override
     public boolean hasNext() {
+      checkNotCompacted(graph, compactionsAtCreation);
       while (currentIndex < sizeAtCreation && graph.nodes.get(currentIndex) == null) {
         currentIndex++;  // Skip null entries
       }
@@ -61,4 +65,54 @@ public interface NodeIter<T> extends Iterator<T> {
       return node;
     }
   }
+
+  /**
+   * This iterator iterates over a snapshot of all nodes of a given class, using the
+   * slots provided by the graph's class index.
+   * It has the same properties as the {@link SnapshotIter}.
+   */
+  class ClassSnapshotIter<T> implements NodeIter<T> {
+
+    private final Graph graph;
+    private final Class<T> clazz;
+    private final NodeClassIndex.SlotList slots;
+    private final int sizeAtCreation;
+    private final int compactionsAtCreation;
+    private int currentIndex;
+
+    ClassSnapshotIter(Graph graph, Class<T> clazz, NodeClassIndex.SlotList slots) {
+      this.graph = graph;
+      this.clazz = clazz;
+      this.slots = slots;
+      this.sizeAtCreation = slots.size();
+      this.compactionsAtCreation = graph.compactions;
+    }
+
+    @Override
+    public boolean hasNext() {
+      checkNotCompacted(graph, compactionsAtCreation);
+      while (currentIndex < sizeAtCreation
+          && graph.nodes.get(slots.get(currentIndex)) == null) {
+        currentIndex++;  // Skip deleted nodes
+      }
+      return currentIndex < sizeAtCreation;
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException("No more nodes available");
+      }
+      var node = graph.nodes.get(slots.get(currentIndex));
+      currentIndex++;
+      return clazz.cast(node);
+    }
+  }
+
+  private static void checkNotCompacted(Graph graph, int compactionsAtCreation) {
+    if (graph.compactions != compactionsAtCreation) {
+      throw new ConcurrentModificationException(
+          "Graph %s was compacted while iterating its nodes".formatted(graph.name));
+    }
+  }
 }
@@ -0,0 +1,201 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.viam.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+
+/**
+ * A structural hash index (value numbering) over all {@link UniqueNode}s of a {@link Graph}.
+ * It is used by {@link Graph#findDuplicate(Node)} to find an existing equal node in
+ * constant time instead of scanning the graph.
+ *
+ * <p>The key of a node is computed from its class, the identities of its inputs and
+ * the values collected by {@link Node#collectData(List)}.
+ * The graph keeps the index up to date when a node is included or removed.
+ * When the inputs or the data of a node change (see {@link Node#dataChanged()}), the node
+ * is invalidated and re-keyed by the next lookup, as the setters may update their
+ * fields only after the change was reported.
+ * A lookup still checks every candidate for structural equality before it is returned.</p>
+ */
+public final class UniqueNodeIndex {
+
+  private final Graph graph;
+  private final Map<Integer, List<Node>> buckets = new HashMap<>();
+  // the key of each node at the time it was (re-)indexed
+  private final Map<Node, Integer> keys = new IdentityHashMap<>();
+  // the nodes whose inputs or data changed since they were indexed
+  private final Set<Node> invalidated = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  private long hits;
+  private long misses;
+
+  UniqueNodeIndex(Graph graph) {
+    this.graph = graph;
+  }
+
+  /**
+   * Returns the number of lookups that found a duplicate.
+   */
+  public long hits() {
+    return hits;
+  }
+
+  /**
+   * Returns the number of lookups that did not find a duplicate.
+   */
+  public long misses() {
+    return misses;
+  }
+
+  /**
+   * Returns the number of indexed nodes.
+   */
+  public int size() {
+    return keys.size() + invalidated.size();
+  }
+
+  /**
+   * Adds the node to the index. If the node is already indexed, it is re-keyed.
+   */
+  void insert(Node node) {
+    remove(node);
+    var key = keyOf(node);
+    keys.put(node, key);
+    buckets.computeIfAbsent(key, k -> new ArrayList<>(1)).add(node);
+  }
+
+  /**
+   * Marks the key of the node as outdated. The node is re-keyed by the next lookup.
+   */
+  void invalidate(Node node) {
+    remove(node);
+    invalidated.add(node);
+  }
+
+  /**
+   * Removes the node from the index. Nothing happens if the node is not indexed.
+   */
+  void remove(Node node) {
+    invalidated.remove(node);
+    var key = keys.remove(node);
+    if (key == null) {
+      return;
+    }
+    var bucket = buckets.get(key);
+    if (bucket == null) {
+      return;
+    }
+    // the node must be removed by identity
+    for (int i = 0; i < bucket.size(); i++) {
+      if (bucket.get(i) == node) {
+        bucket.remove(i);
+        break;
+      }
+    }
+    if (bucket.isEmpty()) {
+      buckets.remove(key);
+    }
+  }
+
+  /**
+   * Finds an active node in the graph that has the same class, inputs and data as
+   * the given node.
+   *
+   * @param node the node to search a duplicate for
+   * @return the duplicate if it exists, otherwise null
+   */
+  @Nullable
+  Node find(Node node) {
+    rekeyInvalidated();
+    var key = keyOf(node);
+    var bucket = buckets.get(key);
+    if (bucket != null) {
+      // iterate over a copy, as stale candidates are re-keyed during the lookup
+      for (var candidate : List.copyOf(bucket)) {
+        if (candidate == node) {
+          continue;
+        }
+        if (!candidate.isActive() || candidate.graph() != graph) {
+          // the node was moved to another graph (e.g. by deinitialization)
+          remove(candidate);
+          continue;
+        }
+        if (keyOf(candidate) != key) {
+          // the data of the candidate was mutated since it was indexed
+          insert(candidate);
+          continue;
+        }
+        if (candidate.getClass() == node.getClass()
+            && node.equalInputs(candidate)
+            && node.equalData(candidate)) {
+          hits++;
+          return candidate;
+        }
+      }
+    }
+    misses++;
+    return null;
+  }
+
+  private void rekeyInvalidated() {
+    if (invalidated.isEmpty()) {
+      return;
+    }
+    for (var node : List.copyOf(invalidated)) {
+      if (node.isActive() && node.graph() == graph) {
+        insert(node);
+      } else {
+        invalidated.remove(node);
+      }
+    }
+  }
+
+  private static int keyOf(Node node) {
+    var inputHash = new InputHash(node.getClass().hashCode());
+    node.forEachInput(inputHash);
+    return 31 * inputHash.hash + node.dataList().hashCode();
+  }
+
+  /**
+   * Combines the identity hashes of the visited inputs, as inputs are compared by reference.
+   */
+  private static final class InputHash implements Consumer<Node> {
+    private int hash;
+
+    InputHash(int hash) {
+      this.hash = hash;
+    }
+
+    @Override
+    public void accept(Node input) {
+      hash = 31 * hash + System.identityHashCode(input);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "UniqueNodeIndex{ size=" + size() + ", hits=" + hits + ", misses=" + misses + "}";
+  }
+}
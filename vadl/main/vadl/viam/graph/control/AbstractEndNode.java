@@ -17,6 +17,7 @@
 package vadl.viam.graph.control;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import vadl.javaannotations.viam.Input;
 import vadl.viam.graph.GraphVisitor;
@@ -49,6 +50,12 @@ public abstract class AbstractEndNode extends ControlNode {
     collection.addAll(sideEffects);
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    sideEffects.forEach(action);
+  }
+
   @Override
   protected void applyOnInputsUnsafe(GraphVisitor.Applier<Node> visitor) {
     super.applyOnInputsUnsafe(visitor);
@@ -17,6 +17,7 @@
 package vadl.viam.graph.control;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import vadl.javaannotations.viam.Successor;
 import vadl.viam.graph.GraphVisitor;
@@ -45,6 +46,12 @@ public abstract class ControlSplitNode extends ControlNode {
     collection.addAll(branches);
   }
 
+  @Override
+  protected void forEachSuccessor(Consumer<Node> action) {
+    super.forEachSuccessor(action);
+    branches.forEach(action);
+  }
+
   @Override
   protected void applyOnSuccessorsUnsafe(GraphVisitor.Applier<Node> visitor) {
     super.applyOnSuccessorsUnsafe(visitor);
@@ -17,6 +17,7 @@
 package vadl.viam.graph.control;
 
 import java.util.List;
+import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import vadl.javaannotations.viam.Successor;
@@ -131,6 +132,14 @@ public abstract class DirectionalNode extends ControlNode {
     }
   }
 
+  @Override
+  protected void forEachSuccessor(Consumer<Node> action) {
+    super.forEachSuccessor(action);
+    if (this.next != null) {
+      action.accept(next);
+    }
+  }
+
   @Override
   public void applyOnSuccessorsUnsafe(GraphVisitor.Applier<Node> visitor) {
     super.applyOnSuccessorsUnsafe(visitor);
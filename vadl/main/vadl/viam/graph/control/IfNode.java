@@ -17,6 +17,7 @@
 package vadl.viam.graph.control;
 
 import java.util.List;
+import java.util.function.Consumer;
 import vadl.javaannotations.viam.Input;
 import vadl.viam.graph.GraphNodeVisitor;
 import vadl.viam.graph.GraphVisitor;
@@ -85,7 +86,7 @@ public class IfNode extends ControlSplitNode {
 
   @Override
   public String toString() {
-    return "%s(t: %s, f: %s)".formatted(super.toString(), trueBranch().id, falseBranch().id);
+    return "%s(t: %s, f: %s)".formatted(super.toString(), trueBranch().id(), falseBranch().id());
   }
 
   @Override
@@ -94,6 +95,12 @@ public class IfNode extends ControlSplitNode {
     collection.add(condition);
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    action.accept(condition);
+  }
+
   @Override
   protected void applyOnInputsUnsafe(GraphVisitor.Applier<Node> visitor) {
     super.applyOnInputsUnsafe(visitor);
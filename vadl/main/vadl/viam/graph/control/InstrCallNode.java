@@ -17,6 +17,7 @@
 package vadl.viam.graph.control;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import vadl.javaannotations.viam.DataValue;
@@ -84,6 +85,7 @@ public class InstrCallNode extends DirectionalNode {
 
   public void setTarget(Instruction instruction) {
     this.target = instruction;
+    dataChanged();
   }
 
   /**
@@ -158,6 +160,12 @@ public class InstrCallNode extends DirectionalNode {
     collection.addAll(arguments);
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    arguments.forEach(action);
+  }
+
   @Override
   protected void applyOnInputsUnsafe(GraphVisitor.Applier<Node> visitor) {
     super.applyOnInputsUnsafe(visitor);
@@ -17,6 +17,7 @@
 package vadl.viam.graph.control;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import vadl.javaannotations.viam.Input;
 import vadl.viam.graph.GraphVisitor;
@@ -54,6 +55,12 @@ public class MergeNode extends AbstractBeginNode {
     collection.addAll(branchEnds);
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    branchEnds.forEach(action);
+  }
+
   @Override
   protected void applyOnInputsUnsafe(GraphVisitor.Applier<Node> visitor) {
     super.applyOnInputsUnsafe(visitor);
@@ -65,7 +72,7 @@ public class MergeNode extends AbstractBeginNode {
   @Override
   public String toString() {
     var ids = branchEnds.stream()
-        .map(e -> "%s".formatted(e.id))
+        .map(e -> "%s".formatted(e.id()))
         .collect(Collectors.joining(", "));
     return "%s(%s)".formatted(super.toString(), ids);
   }
@@ -17,6 +17,7 @@
 package vadl.viam.graph.control;
 
 import java.util.List;
+import java.util.function.Consumer;
 import vadl.javaannotations.viam.Input;
 import vadl.types.Type;
 import vadl.viam.graph.GraphNodeVisitor;
@@ -59,6 +60,12 @@ public class ReturnNode extends AbstractEndNode {
     collection.add(value);
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    action.accept(value);
+  }
+
   @Override
   public Node copy() {
     return new ReturnNode((ExpressionNode) value.copy());
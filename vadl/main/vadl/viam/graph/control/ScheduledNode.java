@@ -17,6 +17,7 @@
 package vadl.viam.graph.control;
 
 import java.util.List;
+import java.util.function.Consumer;
 import vadl.javaannotations.viam.Input;
 import vadl.viam.graph.GraphNodeVisitor;
 import vadl.viam.graph.GraphVisitor;
@@ -36,6 +37,11 @@ public class ScheduledNode extends DirectionalNode {
     this.node = node;
   }
 
+  private ScheduledNode(DependencyNode node, ControlNode next) {
+    super(next);
+    this.node = node;
+  }
+
   public DependencyNode node() {
     return node;
   }
@@ -48,7 +54,7 @@ public class ScheduledNode extends DirectionalNode {
 
   @Override
   public Node shallowCopy() {
-    return new ScheduledNode(node);
+    return new ScheduledNode(node, next());
   }
 
   @Override
@@ -62,6 +68,12 @@ public class ScheduledNode extends DirectionalNode {
     collection.add(node);
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    action.accept(node);
+  }
+
   @Override
   protected void applyOnInputsUnsafe(GraphVisitor.Applier<Node> visitor) {
     super.applyOnInputsUnsafe(visitor);
@@ -17,6 +17,7 @@
 package vadl.viam.graph.dependency;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import vadl.javaannotations.viam.Input;
 import vadl.types.Type;
@@ -44,6 +45,7 @@ public abstract class AbstractFunctionCallNode extends ExpressionNode {
 
   public void setArgs(NodeList<ExpressionNode> args) {
     this.args = args;
+    dataChanged();
   }
 
   /**
@@ -62,6 +64,12 @@ public abstract class AbstractFunctionCallNode extends ExpressionNode {
     collection.addAll(args);
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    args.forEach(action);
+  }
+
   @Override
   protected void applyOnInputsUnsafe(GraphVisitor.Applier<Node> visitor) {
     super.applyOnInputsUnsafe(visitor);
@@ -46,6 +46,7 @@ public class AsmBuiltInCall extends AbstractFunctionCallNode {
    */
   public void setAsmBuiltIn(BuiltIn asmBuiltIn) {
     this.asmBuiltIn = asmBuiltIn;
+    dataChanged();
   }
 
   /**
@@ -69,6 +69,7 @@ public class BuiltInCall extends AbstractFunctionCallNode implements Canonicaliz
    */
   public void setBuiltIn(BuiltIn builtIn) {
     this.builtIn = builtIn;
+    dataChanged();
   }
 
   /**
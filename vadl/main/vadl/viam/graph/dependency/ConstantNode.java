@@ -47,6 +47,7 @@ public class ConstantNode extends ExpressionNode {
    */
   public void setConstant(Constant constant) {
     this.constant = constant;
+    dataChanged();
   }
 
   /**
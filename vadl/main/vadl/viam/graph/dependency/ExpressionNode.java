@@ -41,6 +41,7 @@ public abstract class ExpressionNode extends DependencyNode {
 
   public void setType(Type type) {
     this.type = type;
+    dataChanged();
   }
 
   public boolean isConstant() {
@@ -75,6 +75,7 @@ public class ReadRegFileNode extends ReadResourceNode implements HasRegisterFile
 
   public void setStaticCounterAccess(@Nonnull Counter.RegisterFileCounter staticCounterAccess) {
     this.staticCounterAccess = staticCounterAccess;
+    dataChanged();
   }
 
   @Override
@@ -76,6 +76,7 @@ public class ReadRegNode extends ReadResourceNode {
 
   public void setStaticCounterAccess(@Nonnull Counter.RegisterCounter staticCounterAccess) {
     this.staticCounterAccess = staticCounterAccess;
+    dataChanged();
   }
 
   @Override
@@ -18,6 +18,7 @@ package vadl.viam.graph.dependency;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 import javax.annotation.Nullable;
 import vadl.javaannotations.viam.Input;
 import vadl.types.DataType;
@@ -85,6 +86,14 @@ public abstract class ReadResourceNode extends ExpressionNode {
     }
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    if (this.address != null) {
+      action.accept(address);
+    }
+  }
+
   @Override
   public void applyOnInputsUnsafe(GraphVisitor.Applier<Node> visitor) {
     super.applyOnInputsUnsafe(visitor);
@@ -17,6 +17,7 @@
 package vadl.viam.graph.dependency;
 
 import java.util.List;
+import java.util.function.Consumer;
 import vadl.javaannotations.viam.Input;
 import vadl.types.BoolType;
 import vadl.viam.graph.GraphNodeVisitor;
@@ -59,6 +60,14 @@ public class SelectNode extends ExpressionNode {
     collection.add(falseCase);
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    action.accept(condition);
+    action.accept(trueCase);
+    action.accept(falseCase);
+  }
+
   @Override
   protected void applyOnInputsUnsafe(GraphVisitor.Applier<Node> visitor) {
     super.applyOnInputsUnsafe(visitor);
@@ -69,7 +78,7 @@ public class SelectNode extends ExpressionNode {
 
   @Override
   public String toString() {
-    return "%s(%s, %s)".formatted(super.toString(), trueCase.id, falseCase.id);
+    return "%s(%s, %s)".formatted(super.toString(), trueCase.id(), falseCase.id());
   }
 
   @Override
@@ -17,6 +17,7 @@
 package vadl.viam.graph.dependency;
 
 import java.util.List;
+import java.util.function.Consumer;
 import vadl.javaannotations.viam.DataValue;
 import vadl.javaannotations.viam.Input;
 import vadl.types.DataType;
@@ -66,6 +67,7 @@ public class SliceNode extends ExpressionNode {
 
   public void setSlice(Constant.BitSlice slice) {
     this.slice = slice;
+    dataChanged();
   }
 
   @Override
@@ -99,6 +101,12 @@ public class SliceNode extends ExpressionNode {
     collection.add(value);
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    action.accept(value);
+  }
+
   @Override
   protected void applyOnInputsUnsafe(GraphVisitor.Applier<Node> visitor) {
     super.applyOnInputsUnsafe(visitor);
@@ -103,6 +103,7 @@ public class WriteRegFileNode extends WriteResourceNode implements HasRegisterFi
 
   public void setStaticCounterAccess(@Nonnull Counter.RegisterFileCounter staticCounterAccess) {
     this.staticCounterAccess = staticCounterAccess;
+    dataChanged();
   }
 
   @Override
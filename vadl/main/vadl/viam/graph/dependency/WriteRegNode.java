@@ -100,6 +100,7 @@ public class WriteRegNode extends WriteResourceNode {
 
   public void setStaticCounterAccess(@Nonnull Counter.RegisterCounter staticCounterAccess) {
     this.staticCounterAccess = staticCounterAccess;
+    dataChanged();
   }
 
   @Override
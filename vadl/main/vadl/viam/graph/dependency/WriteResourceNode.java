@@ -18,6 +18,7 @@ package vadl.viam.graph.dependency;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 import javax.annotation.Nullable;
 import vadl.javaannotations.viam.Input;
 import vadl.types.DataType;
@@ -45,6 +46,7 @@ public abstract class WriteResourceNode extends SideEffectNode {
 
   public void setAddress(ExpressionNode address) {
     this.address = address;
+    dataChanged();
   }
 
   public boolean hasAddress() {
@@ -116,6 +118,15 @@ public abstract class WriteResourceNode extends SideEffectNode {
     collection.add(value);
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    if (this.address != null) {
+      action.accept(address);
+    }
+    action.accept(value);
+  }
+
   @Override
   public void applyOnInputsUnsafe(GraphVisitor.Applier<Node> visitor) {
     super.applyOnInputsUnsafe(visitor);
@@ -84,16 +84,16 @@ public class DotGraphVisualizer implements GraphVisualizer<String, Graph> {
 
       node.inputs().filter(this::nodeFilter).forEach((input) -> {
         dotBuilder.append("     ")
-            .append(wrapStr(input.id))
+            .append(wrapStr(input.id()))
             .append(" -> ")
-            .append(wrapStr(node.id))
+            .append(wrapStr(node.id()))
             .append("[dir=back arrowtail=empty];\n");
       });
 
       node.successors().filter(this::nodeFilter).forEach(successor -> {
 
         dotBuilder.append("     ")
-            .append(wrapStr(node.id))
+            .append(wrapStr(node.id()))
             .append(" -> ")
             .append(wrapStr(successor.id()))
             .append("[color=red];\n");
@@ -0,0 +1,445 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.viam.interpreter;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import vadl.types.BoolType;
+import vadl.types.DataType;
+import vadl.types.Type;
+import vadl.viam.Constant;
+import vadl.viam.Format;
+import vadl.viam.Function;
+import vadl.viam.Memory;
+import vadl.viam.Resource;
+import vadl.viam.graph.Graph;
+import vadl.viam.graph.Node;
+import vadl.viam.graph.ViamGraphError;
+import vadl.viam.graph.control.AbstractBeginNode;
+import vadl.viam.graph.control.AbstractEndNode;
+import vadl.viam.graph.control.BranchEndNode;
+import vadl.viam.graph.control.ControlNode;
+import vadl.viam.graph.control.IfNode;
+import vadl.viam.graph.control.InstrEndNode;
+import vadl.viam.graph.control.MergeNode;
+import vadl.viam.graph.control.ReturnNode;
+import vadl.viam.graph.control.ScheduledNode;
+import vadl.viam.graph.control.StartNode;
+import vadl.viam.graph.dependency.BuiltInCall;
+import vadl.viam.graph.dependency.ConstantNode;
+import vadl.viam.graph.dependency.ExpressionNode;
+import vadl.viam.graph.dependency.FieldAccessRefNode;
+import vadl.viam.graph.dependency.FieldRefNode;
+import vadl.viam.graph.dependency.FuncCallNode;
+import vadl.viam.graph.dependency.FuncParamNode;
+import vadl.viam.graph.dependency.LetNode;
+import vadl.viam.graph.dependency.ProcCallNode;
+import vadl.viam.graph.dependency.ReadMemNode;
+import vadl.viam.graph.dependency.ReadRegFileNode;
+import vadl.viam.graph.dependency.ReadRegNode;
+import vadl.viam.graph.dependency.SelectNode;
+import vadl.viam.graph.dependency.SideEffectNode;
+import vadl.viam.graph.dependency.SignExtendNode;
+import vadl.viam.graph.dependency.SliceNode;
+import vadl.viam.graph.dependency.TruncateNode;
+import vadl.viam.graph.dependency.TupleGetFieldNode;
+import vadl.viam.graph.dependency.WriteMemNode;
+import vadl.viam.graph.dependency.WriteRegFileNode;
+import vadl.viam.graph.dependency.WriteRegNode;
+import vadl.viam.graph.dependency.ZeroExtendNode;
+
+/**
+ * Executes the behavior of an instruction on a concrete {@link MachineState}.
+ *
+ * <p>All expressions are computed with the {@link Constant.Value} operations, and built-in
+ * calls use the compute functions of the {@link vadl.types.BuiltInTable}, so the interpreter
+ * has the same semantics as the constant evaluation of the {@link
+ * vadl.viam.passes.canonicalization.Canonicalizer}.
+ * As in VADL, all reads observe the state before the instruction. Writes are collected
+ * and applied to the state when the behavior ends.
+ * Memory accesses of multiple words are little endian.</p>
+ *
+ * <p>The value of each node is cached per execution, so every node is evaluated at most
+ * once. Nodes of other generators can be supported by implementing {@link Interpretable}.
+ * Use {@link #supports(Graph)} to check if a behavior can be interpreted.</p>
+ */
+public class BehaviorInterpreter {
+
+  private static final List<Class<?>> SUPPORTED_NODES = List.of(
+      // control flow
+      AbstractBeginNode.class, IfNode.class, BranchEndNode.class, InstrEndNode.class,
+      ReturnNode.class, ScheduledNode.class,
+      // expressions
+      ConstantNode.class, FieldRefNode.class, FieldAccessRefNode.class, FuncParamNode.class,
+      FuncCallNode.class, ReadRegNode.class, ReadRegFileNode.class, ReadMemNode.class,
+      LetNode.class, SelectNode.class, SliceNode.class, TruncateNode.class,
+      ZeroExtendNode.class, SignExtendNode.class, TupleGetFieldNode.class,
+      // side effects
+      WriteRegNode.class, WriteRegFileNode.class, WriteMemNode.class, ProcCallNode.class
+  );
+
+  private final Graph behavior;
+  private final int size;
+  @Nullable
+  private final StartNode start;
+  @Nullable
+  private final ReturnNode returnNode;
+  private final Map<BranchEndNode, MergeNode> merges = new IdentityHashMap<>();
+  // interpreters of called functions, shared by all interpreters of one behavior
+  private final Map<Graph, BehaviorInterpreter> callees;
+
+  private BehaviorInterpreter(Graph behavior, Map<Graph, BehaviorInterpreter> callees) {
+    this.behavior = behavior;
+    this.callees = callees;
+    this.size = behavior.getNodes().mapToInt(n -> n.numericId()).max().orElse(0) + 1;
+    this.start = behavior.getNodes(StartNode.class).findFirst().orElse(null);
+    this.returnNode = behavior.getNodes(ReturnNode.class).findFirst().orElse(null);
+    behavior.getNodes(MergeNode.class).forEach(merge -> {
+      merges.put(merge.trueBranchEnd(), merge);
+      merges.put(merge.falseBranchEnd(), merge);
+    });
+  }
+
+  /**
+   * Creates an interpreter for the given behavior.
+   * The behavior must not be modified while the interpreter is used.
+   */
+  public static BehaviorInterpreter of(Graph behavior) {
+    return new BehaviorInterpreter(behavior, new HashMap<>());
+  }
+
+  /**
+   * Checks whether all nodes of the behavior and the functions it calls are supported
+   * by the interpreter.
+   */
+  public static boolean supports(Graph behavior) {
+    return behavior.getNodes().allMatch(node -> {
+      if (node instanceof Interpretable) {
+        return true;
+      } else if (node instanceof FuncCallNode call) {
+        return supports(call.function().behavior());
+      } else if (node instanceof FieldAccessRefNode ref) {
+        return supports(ref.fieldAccess().accessFunction().behavior());
+      } else if (node instanceof BuiltInCall) {
+        // subclasses of other generators have their own semantics
+        return node.getClass() == BuiltInCall.class;
+      }
+      return SUPPORTED_NODES.stream().anyMatch(c -> c.isInstance(node));
+    });
+  }
+
+  /**
+   * Returns the format fields that are read by the behavior, including the ones read by
+   * field accesses.
+   */
+  public static Set<Format.Field> fields(Graph behavior) {
+    var fields = new LinkedHashSet<Format.Field>();
+    behavior.getNodes().forEach(node -> {
+      if (node instanceof FieldRefNode ref) {
+        fields.add(ref.formatField());
+      } else if (node instanceof FieldAccessRefNode ref) {
+        fields.addAll(fields(ref.fieldAccess().accessFunction().behavior()));
+      }
+    });
+    return fields;
+  }
+
+  public Graph behavior() {
+    return behavior;
+  }
+
+  /**
+   * Executes the behavior on the given state and applies its writes.
+   *
+   * @param state  the machine state that is read and written
+   * @param fields the values of the format fields read by the behavior
+   */
+  public void run(MachineState state, Map<Format.Field, Constant.Value> fields) {
+    var frame = new Frame(this, state, fields, List.of());
+    ControlNode current = start;
+    if (current == null) {
+      throw new ViamGraphError("Behavior has no start node").addContext(behavior);
+    }
+    while (current != null) {
+      current = frame.step(current);
+    }
+    frame.commit();
+  }
+
+  /**
+   * Calls the function behavior with the given arguments and returns its result.
+   */
+  private Constant call(List<Constant> arguments, Frame caller) {
+    if (returnNode == null) {
+      throw new ViamGraphError("Function behavior has no return node").addContext(behavior);
+    }
+    var frame = new Frame(this, caller.state, caller.fields, arguments);
+    return frame.evaluate(returnNode.value());
+  }
+
+  private BehaviorInterpreter callee(Function function) {
+    return callees.computeIfAbsent(function.behavior(),
+        graph -> new BehaviorInterpreter(graph, callees));
+  }
+
+  /**
+   * The execution of a behavior. It holds the values of all evaluated nodes and the
+   * writes that are applied when the execution ends.
+   */
+  public static final class Frame {
+    private final BehaviorInterpreter interpreter;
+    private final MachineState state;
+    private final Map<Format.Field, Constant.Value> fields;
+    private final List<Constant> arguments;
+    private final Constant[] values;
+    @Nullable
+    private boolean[] executed;
+    private final List<Write> writes = new ArrayList<>();
+
+    private record Write(Resource resource, long address, Constant.Value value) {
+    }
+
+    private Frame(BehaviorInterpreter interpreter, MachineState state,
+                  Map<Format.Field, Constant.Value> fields, List<Constant> arguments) {
+      this.interpreter = interpreter;
+      this.state = state;
+      this.fields = fields;
+      this.arguments = arguments;
+      this.values = new Constant[interpreter.size];
+    }
+
+    /**
+     * Returns the state before the execution. It does not contain the writes of
+     * the running behavior.
+     */
+    public MachineState state() {
+      return state;
+    }
+
+    /**
+     * Returns the value of the given node, which is evaluated if it was not yet.
+     */
+    public Constant evaluate(ExpressionNode node) {
+      var id = node.numericId();
+      var value = values[id];
+      if (value == null) {
+        value = compute(node);
+        if (value instanceof Constant.Value result && node.type() instanceof DataType type) {
+          value = MachineState.fit(result, type);
+        }
+        values[id] = value;
+      }
+      return value;
+    }
+
+    /**
+     * Returns the value of the given node, which must evaluate to a {@link Constant.Value}.
+     */
+    public Constant.Value value(ExpressionNode node) {
+      var value = evaluate(node);
+      if (value instanceof Constant.Value result) {
+        return result;
+      }
+      throw new ViamGraphError("Expected a value but got %s", value).addContext(node);
+    }
+
+    /**
+     * Reads the given number of words from the memory, starting at the address.
+     */
+    public Constant.Value readMemory(Memory memory, int words, Constant.Value address) {
+      var base = MachineState.address(memory, address);
+      var result = state.read(memory, base);
+      for (int i = 1; i < words; i++) {
+        result = state.read(memory, base + i).concat(result);
+      }
+      return result;
+    }
+
+    /**
+     * Returns the value of a condition, which might also be a {@code Bits<1>}.
+     */
+    private boolean condition(ExpressionNode node) {
+      var value = value(node);
+      return value.type() instanceof BoolType
+          ? value.bool() : value.unsignedInteger().signum() != 0;
+    }
+
+    private Constant compute(ExpressionNode node) {
+      if (node instanceof Interpretable interpretable) {
+        return interpretable.interpret(this);
+      } else if (node instanceof ConstantNode constant) {
+        return constant.constant();
+      } else if (node instanceof BuiltInCall call && node.getClass() == BuiltInCall.class) {
+        return builtIn(call);
+      } else if (node instanceof FieldRefNode ref) {
+        var value = fields.get(ref.formatField());
+        if (value == null) {
+          throw new ViamGraphError("No value for field %s", ref.formatField()).addContext(node);
+        }
+        return value;
+      } else if (node instanceof FieldAccessRefNode ref) {
+        return interpreter.callee(ref.fieldAccess().accessFunction()).call(List.of(), this);
+      } else if (node instanceof FuncParamNode param) {
+        return argument(param);
+      } else if (node instanceof FuncCallNode call) {
+        var args = call.arguments().stream().map(this::evaluate).toList();
+        return interpreter.callee(call.function()).call(args, this);
+      } else if (node instanceof ReadRegNode read) {
+        return state.read(read.register(), 0);
+      } else if (node instanceof ReadRegFileNode read) {
+        var registerFile = read.registerFile();
+        return state.read(registerFile,
+            MachineState.address(registerFile, value(read.address())));
+      } else if (node instanceof ReadMemNode read) {
+        return readMemory(read.memory(), read.words(), value(read.address()));
+      } else if (node instanceof LetNode let) {
+        return evaluate(let.expression());
+      } else if (node instanceof SelectNode select) {
+        return condition(select.condition())
+            ? evaluate(select.trueCase()) : evaluate(select.falseCase());
+      } else if (node instanceof SliceNode slice) {
+        return slice(value(slice.value()), slice.bitSlice());
+      } else if (node instanceof TruncateNode truncate) {
+        return value(truncate.value()).truncate(truncate.type().asDataType());
+      } else if (node instanceof ZeroExtendNode extend) {
+        return value(extend.value()).zeroExtend(extend.type().asDataType());
+      } else if (node instanceof SignExtendNode extend) {
+        return value(extend.value()).signExtend(extend.type().asDataType());
+      } else if (node instanceof TupleGetFieldNode get) {
+        var tuple = evaluate(get.expression());
+        if (tuple instanceof Constant.Tuple result) {
+          return result.get(get.index());
+        }
+        throw new ViamGraphError("Expected a tuple but got %s", tuple).addContext(node);
+      }
+      throw new ViamGraphError("Node is not supported by the interpreter").addContext(node);
+    }
+
+    private Constant builtIn(BuiltInCall call) {
+      var args = new ArrayList<Constant>(call.arguments().size());
+      for (var arg : call.arguments()) {
+        args.add(evaluate(arg));
+      }
+      return call.builtIn().compute(args)
+          .orElseThrow(() -> new ViamGraphError("Built-in %s cannot be computed",
+              call.builtIn().name()).addContext(call));
+    }
+
+    private Constant argument(FuncParamNode param) {
+      var parameters = ((Function) interpreter.behavior.parentDefinition()).parameters();
+      for (int i = 0; i < parameters.length; i++) {
+        if (parameters[i] == param.parameter()) {
+          return arguments.get(i);
+        }
+      }
+      throw new ViamGraphError("Unknown parameter %s", param.parameter()).addContext(param);
+    }
+
+    private static Constant.Value slice(Constant.Value value, Constant.BitSlice slice) {
+      var bits = value.unsignedInteger();
+      var result = BigInteger.ZERO;
+      for (var part : (Iterable<Constant.BitSlice.Part>) slice.parts()::iterator) {
+        var mask = BigInteger.ONE.shiftLeft(part.size()).subtract(BigInteger.ONE);
+        result = result.shiftLeft(part.size()).or(bits.shiftRight(part.lsb()).and(mask));
+      }
+      return Constant.Value.fromInteger(result, Type.bits(slice.bitSize()));
+    }
+
+    /**
+     * Executes the control node and returns the next one, or {@code null} if the
+     * behavior ends.
+     */
+    @Nullable
+    private ControlNode step(ControlNode node) {
+      if (node instanceof IfNode ifNode) {
+        return condition(ifNode.condition()) ? ifNode.trueBranch() : ifNode.falseBranch();
+      } else if (node instanceof AbstractEndNode end) {
+        end.sideEffects().forEach(this::execute);
+        return end instanceof BranchEndNode branchEnd
+            ? interpreter.merges.get(branchEnd) : null;
+      } else if (node instanceof ScheduledNode scheduled) {
+        if (scheduled.node() instanceof SideEffectNode sideEffect) {
+          execute(sideEffect);
+        }
+        return scheduled.next();
+      } else if (node instanceof AbstractBeginNode begin) {
+        return begin.next();
+      }
+      throw new ViamGraphError("Node is not supported by the interpreter").addContext(node);
+    }
+
+    private void execute(SideEffectNode sideEffect) {
+      // a scheduled side effect is also referenced by its end node
+      if (executed == null) {
+        executed = new boolean[values.length];
+      }
+      var id = sideEffect.numericId();
+      if (executed[id]) {
+        return;
+      }
+      executed[id] = true;
+
+      var condition = sideEffect.nullableCondition();
+      if (condition != null && !condition(condition)) {
+        return;
+      }
+      if (sideEffect instanceof WriteRegNode write) {
+        writes.add(new Write(write.register(), 0, value(write.value())));
+      } else if (sideEffect instanceof WriteRegFileNode write) {
+        var registerFile = write.registerFile();
+        writes.add(new Write(registerFile,
+            MachineState.address(registerFile, value(write.address())),
+            value(write.value())));
+      } else if (sideEffect instanceof WriteMemNode write) {
+        writeMemory(write.memory(), write.words(), value(write.address()),
+            value(write.value()));
+      } else if (sideEffect instanceof ProcCallNode call) {
+        state.call(call.procedure(), call.arguments().stream().map(this::evaluate).toList());
+      } else {
+        throw new ViamGraphError("Node is not supported by the interpreter")
+            .addContext(sideEffect);
+      }
+    }
+
+    private void writeMemory(Memory memory, int words, Constant.Value address,
+                             Constant.Value value) {
+      var base = MachineState.address(memory, address);
+      var wordType = memory.resultType();
+      var wordSize = memory.wordSize();
+      var bits = MachineState.fit(value, Type.bits(words * wordSize)).unsignedInteger();
+      var mask = BigInteger.ONE.shiftLeft(wordSize).subtract(BigInteger.ONE);
+      for (int i = 0; i < words; i++) {
+        var word = bits.shiftRight(i * wordSize).and(mask);
+        writes.add(new Write(memory, base + i,
+            Constant.Value.fromInteger(word, Type.bits(wordSize)).withType(wordType)));
+      }
+    }
+
+    private void commit() {
+      for (var write : writes) {
+        state.write(write.resource(), write.address(), write.value());
+      }
+    }
+  }
+}
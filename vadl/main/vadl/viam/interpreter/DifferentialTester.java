@@ -0,0 +1,236 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.viam.interpreter;
+
+import java.math.BigInteger;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import vadl.types.BoolType;
+import vadl.types.DataType;
+import vadl.types.Type;
+import vadl.viam.Constant;
+import vadl.viam.Format;
+import vadl.viam.Resource;
+import vadl.viam.graph.Graph;
+
+/**
+ * Checks whether two behaviors of the same instruction have the same semantics by
+ * executing them with the {@link BehaviorInterpreter} on random machine states and
+ * random field values.
+ * This is used to find passes that change the semantics of a behavior, without the
+ * need of a solver or a generated simulator.
+ *
+ * <p>Each sample is derived from the seed of the tester, so a found mismatch can be
+ * reproduced. A quarter of all random values are edge cases like {@code 0}, {@code 1},
+ * {@code -1} and the minimal signed value.</p>
+ */
+public class DifferentialTester {
+
+  private final long seed;
+  private final int samples;
+  private final Map<Resource, Long> resourceSeeds = new IdentityHashMap<>();
+
+  /**
+   * Creates a tester that runs the given number of samples per comparison.
+   */
+  public DifferentialTester(long seed, int samples) {
+    this.seed = seed;
+    this.samples = samples;
+  }
+
+  /**
+   * The observable outcome of a behavior execution.
+   *
+   * @param writes the written locations and their new values
+   * @param calls  the called procedures
+   * @param error  the error that aborted the execution, or {@code null}
+   */
+  public record Outcome(
+      Map<MachineState.Location, Constant.Value> writes,
+      List<MachineState.Call> calls,
+      @Nullable RuntimeException error
+  ) {
+
+    boolean sameAs(Outcome other) {
+      return error == null && other.error == null
+          && writes.equals(other.writes) && calls.equals(other.calls);
+    }
+
+    @Override
+    public String toString() {
+      if (error != null) {
+        return "error " + error;
+      }
+      return "writes " + writes + ", calls " + calls;
+    }
+  }
+
+  /**
+   * A sample for which the compared behaviors have a different outcome.
+   *
+   * @param sampleSeed the seed of the random machine state
+   * @param fields     the field values of the sample
+   * @param expected   the outcome of the original behavior
+   * @param actual     the outcome of the compared behavior
+   */
+  public record Mismatch(
+      long sampleSeed,
+      Map<Format.Field, Constant.Value> fields,
+      Outcome expected,
+      Outcome actual
+  ) {
+    @Override
+    public String toString() {
+      var fieldValues = fields.entrySet().stream()
+          .map(e -> e.getKey().simpleName() + "=" + e.getValue().hexadecimal())
+          .collect(Collectors.joining(", "));
+      return "Sample 0x%s with fields [%s]%n  expected: %s%n  actual:   %s"
+          .formatted(Long.toHexString(sampleSeed), fieldValues, expected, actual);
+    }
+  }
+
+  /**
+   * The result of a comparison.
+   *
+   * @param samples  the number of compared samples. Samples on which the original behavior
+   *                 fails (e.g. by a division by zero) are not compared.
+   * @param mismatch the first found mismatch, or {@code null} if all samples matched
+   */
+  public record Result(int samples, @Nullable Mismatch mismatch) {
+    public boolean equivalent() {
+      return mismatch == null;
+    }
+  }
+
+  /**
+   * Compares the behaviors on the configured number of samples.
+   * Both behaviors must be supported by the interpreter.
+   *
+   * @param expected the original behavior
+   * @param actual   the behavior that must have the same semantics
+   * @return the result of the comparison
+   * @see BehaviorInterpreter#supports(Graph)
+   */
+  public Result compare(Graph expected, Graph actual) {
+    var expectedInterpreter = BehaviorInterpreter.of(expected);
+    var actualInterpreter = BehaviorInterpreter.of(actual);
+    var fields = new LinkedHashSet<>(BehaviorInterpreter.fields(expected));
+    fields.addAll(BehaviorInterpreter.fields(actual));
+
+    var random = new SplittableRandom(seed);
+    var compared = 0;
+    for (int i = 0; i < samples; i++) {
+      var sampleSeed = random.nextLong();
+      var sampleRandom = new SplittableRandom(sampleSeed);
+      var fieldValues = new LinkedHashMap<Format.Field, Constant.Value>();
+      for (var field : fields) {
+        fieldValues.put(field, randomValue(field.type(), sampleRandom.nextLong()));
+      }
+      MachineState.Initializer initializer = (resource, address) ->
+          randomValue(resource.resultType(),
+              sampleSeed + resourceSeed(resource) + address * 0x9e3779b97f4a7c15L);
+
+      var expectedOutcome = run(expectedInterpreter, initializer, fieldValues);
+      if (expectedOutcome.error() != null) {
+        // the sample is not defined for the original behavior
+        continue;
+      }
+      compared++;
+      var actualOutcome = run(actualInterpreter, initializer, fieldValues);
+      if (!expectedOutcome.sameAs(actualOutcome)) {
+        return new Result(compared,
+            new Mismatch(sampleSeed, fieldValues, expectedOutcome, actualOutcome));
+      }
+    }
+    return new Result(compared, null);
+  }
+
+  private static Outcome run(BehaviorInterpreter interpreter,
+                             MachineState.Initializer initializer,
+                             Map<Format.Field, Constant.Value> fields) {
+    var state = new MachineState(initializer);
+    try {
+      interpreter.run(state, fields);
+      return new Outcome(state.writes(), state.calls(), null);
+    } catch (RuntimeException e) {
+      return new Outcome(Map.of(), List.of(), e);
+    }
+  }
+
+  private long resourceSeed(Resource resource) {
+    return resourceSeeds.computeIfAbsent(resource,
+        r -> mix(r.identifier.name().hashCode()));
+  }
+
+  /**
+   * Returns a random value of the given type, derived from the given seed.
+   */
+  static Constant.Value randomValue(DataType type, long seed) {
+    var bits = mix(seed);
+    if (type instanceof BoolType) {
+      return Constant.Value.of((bits & 1) != 0);
+    }
+    var width = type.bitWidth();
+    var kind = (int) (bits >>> 60);
+    if (width > Long.SIZE) {
+      var container = switch (kind) {
+        case 0 -> BigInteger.ZERO;
+        case 1 -> BigInteger.ONE;
+        case 2 -> BigInteger.ONE.shiftLeft(width).subtract(BigInteger.ONE);
+        case 3 -> BigInteger.ONE.shiftLeft(width - 1);
+        default -> randomBits(width, bits);
+      };
+      return Constant.Value.fromInteger(container, Type.bits(width)).withType(type);
+    }
+    var value = switch (kind) {
+      case 0 -> 0L;
+      case 1 -> 1L;
+      case 2 -> -1L;
+      case 3 -> 1L << (width - 1);
+      default -> mix(bits);
+    };
+    if (width < Long.SIZE) {
+      value &= (1L << width) - 1;
+    }
+    return Constant.Value.of(value, Type.bits(width)).withType(type);
+  }
+
+  private static BigInteger randomBits(int width, long seed) {
+    var result = BigInteger.ZERO;
+    var next = seed;
+    for (int remaining = width; remaining > 0; remaining -= Long.SIZE) {
+      next = mix(next);
+      var chunk = Math.min(remaining, Long.SIZE);
+      result = result.shiftLeft(chunk)
+          .or(new BigInteger(Long.toUnsignedString(next)).shiftRight(Long.SIZE - chunk));
+    }
+    return result;
+  }
+
+  // the finalizer of the SplitMix64 generator
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -0,0 +1,37 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.viam.interpreter;
+
+import vadl.viam.Constant;
+
+/**
+ * Marks expression nodes that are not part of the core VIAM but can be executed by the
+ * {@link BehaviorInterpreter}, e.g. nodes introduced by generator specific passes.
+ * The interpreter calls {@link #interpret(BehaviorInterpreter.Frame)} instead of its
+ * built-in handling of the node.
+ */
+public interface Interpretable {
+
+  /**
+   * Returns the value of this node.
+   *
+   * <p>The implementation must not modify the graph. It may read the machine state
+   * and evaluate its inputs using the given frame.</p>
+   */
+  Constant interpret(BehaviorInterpreter.Frame frame);
+
+}
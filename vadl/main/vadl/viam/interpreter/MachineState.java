@@ -0,0 +1,187 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.viam.interpreter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import vadl.types.DataType;
+import vadl.types.SIntType;
+import vadl.viam.Constant;
+import vadl.viam.Procedure;
+import vadl.viam.RegisterFile;
+import vadl.viam.Resource;
+import vadl.viam.ViamError;
+
+/**
+ * A concrete machine state used by the {@link BehaviorInterpreter}.
+ *
+ * <p>The state is sparse. Only locations that were written are stored, all other
+ * locations get their value from the {@link Initializer}. So a new random state is as cheap
+ * as a new initializer, which is what the {@link DifferentialTester} relies on.
+ * Constant registers of a {@link RegisterFile} (e.g. a zero register) always read
+ * their constant value and ignore writes.</p>
+ */
+public class MachineState {
+
+  /**
+   * Provides the value of a location that was not written yet.
+   * It must always return the same value for the same location.
+   */
+  @FunctionalInterface
+  public interface Initializer {
+    Constant.Value valueOf(Resource resource, long address);
+  }
+
+  /**
+   * A location in the machine state. Resources without address use the address {@code 0}.
+   * Memory locations address a single word of the memory.
+   */
+  public record Location(Resource resource, long address) {
+    @Override
+    public String toString() {
+      return resource.hasAddress()
+          ? resource.simpleName() + "(" + Long.toUnsignedString(address) + ")"
+          : resource.simpleName();
+    }
+  }
+
+  /**
+   * A call of a {@link Procedure}, e.g. an exception raise.
+   */
+  public record Call(Procedure procedure, List<Constant> arguments) {
+    @Override
+    public String toString() {
+      return procedure.simpleName() + arguments;
+    }
+  }
+
+  private final Initializer initializer;
+  private final Map<Location, Constant.Value> writes = new LinkedHashMap<>();
+  private final List<Call> calls = new ArrayList<>();
+
+  public MachineState(Initializer initializer) {
+    this.initializer = initializer;
+  }
+
+  /**
+   * Returns the value of the location.
+   */
+  public Constant.Value read(Resource resource, long address) {
+    if (resource instanceof RegisterFile registerFile) {
+      var constant = constantRegister(registerFile, address);
+      if (constant != null) {
+        return constant;
+      }
+    }
+    var written = writes.get(new Location(resource, address));
+    if (written != null) {
+      return written;
+    }
+    return initializer.valueOf(resource, address);
+  }
+
+  /**
+   * Writes the value to the location. A value whose width differs from the
+   * resource's result type is truncated or extended by {@link #extend(Constant.Value, DataType)}.
+   */
+  public void write(Resource resource, long address, Constant.Value value) {
+    if (resource instanceof RegisterFile registerFile
+        && constantRegister(registerFile, address) != null) {
+      return;
+    }
+    writes.put(new Location(resource, address), extend(value, resource.resultType()));
+  }
+
+  /**
+   * Records a call of a procedure. The arguments are fitted into the parameter types.
+   */
+  public void call(Procedure procedure, List<Constant> arguments) {
+    var parameters = procedure.parameters();
+    var fitted = new ArrayList<Constant>(arguments.size());
+    for (int i = 0; i < arguments.size(); i++) {
+      var argument = arguments.get(i);
+      if (i < parameters.length && argument instanceof Constant.Value value
+          && parameters[i].type() instanceof DataType type) {
+        argument = fit(value, type);
+      }
+      fitted.add(argument);
+    }
+    calls.add(new Call(procedure, fitted));
+  }
+
+  /**
+   * Returns all written locations in the order of their first write.
+   */
+  public Map<Location, Constant.Value> writes() {
+    return Collections.unmodifiableMap(writes);
+  }
+
+  public List<Call> calls() {
+    return Collections.unmodifiableList(calls);
+  }
+
+  /**
+   * Returns the location address of the given address value, which is fitted into the
+   * address type of the resource.
+   */
+  static long address(Resource resource, Constant.Value address) {
+    var addressType = resource.addressType();
+    ViamError.ensure(addressType != null && addressType.bitWidth() <= Long.SIZE,
+        "Only resources with addresses of at most 64 bits are supported: %s", resource);
+    return fit(address, addressType).longValue();
+  }
+
+  /**
+   * Fits the bits of the value into the given type by truncation or zero extension.
+   */
+  public static Constant.Value fit(Constant.Value value, DataType type) {
+    var width = value.type().bitWidth();
+    if (width == type.bitWidth()) {
+      return value.withType(type);
+    } else if (width > type.bitWidth()) {
+      return value.truncate(type);
+    } else {
+      return value.zeroExtend(type);
+    }
+  }
+
+  /**
+   * Like {@link #fit(Constant.Value, DataType)}, but a narrower signed integer is sign
+   * extended. The lowered ISS behaviors rely on this, as their values live in
+   * registers of the target size, where a signed extract is already sign extended.
+   */
+  static Constant.Value extend(Constant.Value value, DataType type) {
+    if (value.type() instanceof SIntType && value.type().bitWidth() < type.bitWidth()) {
+      return value.signExtend(type);
+    }
+    return fit(value, type);
+  }
+
+  @Nullable
+  private static Constant.Value constantRegister(RegisterFile registerFile, long address) {
+    for (var constraint : registerFile.constraints()) {
+      if (constraint.address().longValue() == address) {
+        return constraint.value();
+      }
+    }
+    return null;
+  }
+}
@@ -16,15 +16,25 @@
 
 package vadl.viam.passes.algebraic_simplication;
 
+import static java.util.Objects.requireNonNull;
+
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Stream;
 import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import vadl.configuration.GeneralConfiguration;
 import vadl.pass.Pass;
 import vadl.pass.PassName;
 import vadl.pass.PassResults;
+import vadl.pass.PerDefinitionPass;
+import vadl.viam.Definition;
+import vadl.viam.Function;
+import vadl.viam.Instruction;
+import vadl.viam.PseudoInstruction;
 import vadl.viam.Specification;
+import vadl.viam.ViamError;
+import vadl.viam.graph.Graph;
 import vadl.viam.graph.dependency.BuiltInCall;
 import vadl.viam.passes.algebraic_simplication.rules.AlgebraicSimplificationRule;
 import vadl.viam.passes.algebraic_simplication.rules.impl.AdditionWithZeroSimplificationRule;
@@ -41,10 +51,14 @@ import vadl.viam.passes.algebraic_simplication.rules.impl.RemainderWithZeroSimpl
 /**
  * It looks at all the {@link BuiltInCall} nodes and tries to match a static set of rules.
  * If a rule matches then the {@link BuiltInCall} will be simplified.
- * It will repeat the process until nothing changes.
+ * It will repeat the process on the affected nodes until nothing changes.
+ * The number of times each rule fired is logged on debug level.
  * It will only consider machine instructions.
  */
-public class AlgebraicSimplificationPass extends Pass {
+public class AlgebraicSimplificationPass extends Pass
+    implements PerDefinitionPass<Definition, List<WorklistRewriter.RuleStatistics>> {
+  private static final Logger log = LoggerFactory.getLogger(AlgebraicSimplificationPass.class);
+
   public static final List<AlgebraicSimplificationRule> rules = new ArrayList<>();
 
   static {
@@ -72,22 +86,59 @@ public class AlgebraicSimplificationPass extends Pass {
   @Nullable
   @Override
   public Object execute(PassResults passResults, Specification viam) {
-    viam.isa().map(isa -> isa.ownInstructions().stream())
-        .orElse(Stream.empty())
-        .forEach(instruction -> new AlgebraicSimplifier(rules).run(instruction.behavior()));
+    return executePerDefinition(passResults, viam, null);
+  }
 
-    viam.isa()
-        .map(isa -> isa.ownPseudoInstructions().stream())
-        .orElse(Stream.empty())
-        .forEach(instruction -> new AlgebraicSimplifier(rules).run(instruction.behavior()));
+  @Override
+  public List<Definition> definitions(Specification viam) {
+    var definitions = new ArrayList<Definition>();
+    viam.isa().ifPresent(isa -> {
+      definitions.addAll(isa.ownInstructions());
+      definitions.addAll(isa.ownPseudoInstructions());
+      isa.ownFormats().stream()
+          .flatMap(x -> x.fieldAccesses().stream())
+          .forEach(x -> definitions.add(x.accessFunction()));
+    });
+    return definitions;
+  }
 
-    viam.isa()
-        .map(isa -> isa.ownFormats().stream())
-        .orElse(Stream.empty())
-        .flatMap(x -> x.fieldAccesses().stream())
-        .map(x -> x.accessFunction().behavior())
-        .forEach(x -> new AlgebraicSimplifier(rules).run(x));
+  @Override
+  public List<WorklistRewriter.RuleStatistics> executeOn(Definition definition,
+                                                         PassResults passResults) {
+    Graph behavior;
+    if (definition instanceof Instruction instruction) {
+      behavior = instruction.behavior();
+    } else if (definition instanceof PseudoInstruction pseudoInstruction) {
+      behavior = pseudoInstruction.behavior();
+    } else if (definition instanceof Function function) {
+      behavior = function.behavior();
+    } else {
+      throw new ViamError("Unexpected definition: %s", definition);
+    }
+    var simplifier = new AlgebraicSimplifier(rules);
+    simplifier.run(behavior);
+    return simplifier.statistics();
+  }
 
+  @Nullable
+  @Override
+  public Object mergeResults(
+      List<DefinitionResult<Definition, List<WorklistRewriter.RuleStatistics>>> results) {
+    if (log.isDebugEnabled()) {
+      var fireCounts = new int[rules.size()];
+      var nanos = new long[rules.size()];
+      for (var result : results) {
+        var stats = requireNonNull(result.result());
+        for (int i = 0; i < stats.size(); i++) {
+          fireCounts[i] += stats.get(i).fireCount();
+          nanos[i] += stats.get(i).nanos();
+        }
+      }
+      for (int i = 0; i < rules.size(); i++) {
+        log.debug("{}", new WorklistRewriter.RuleStatistics(
+            rules.get(i).getClass().getSimpleName(), fireCounts[i], nanos[i]));
+      }
+    }
     return null;
   }
 }
@@ -17,10 +17,7 @@
 package vadl.viam.passes.algebraic_simplication;
 
 import java.util.List;
-import java.util.Optional;
-import vadl.utils.Pair;
 import vadl.viam.graph.Graph;
-import vadl.viam.graph.Node;
 import vadl.viam.passes.algebraic_simplication.rules.AlgebraicSimplificationRule;
 
 /**
@@ -32,12 +29,15 @@ import vadl.viam.passes.algebraic_simplication.rules.AlgebraicSimplificationRule
  * non VIAM nodes should not be applied when running the {@link AlgebraicSimplificationPass}.
  * The passes with special requirements can individually define which
  * {@link AlgebraicSimplificationRule} applies.
+ *
+ * <p>The rules are applied by a {@link WorklistRewriter}, so after a replacement only
+ * the affected nodes are visited again.</p>
  */
 public class AlgebraicSimplifier {
-  private final List<AlgebraicSimplificationRule> rules;
+  private final WorklistRewriter<AlgebraicSimplificationRule> rewriter;
 
   public AlgebraicSimplifier(List<AlgebraicSimplificationRule> rules) {
-    this.rules = rules;
+    this.rewriter = new WorklistRewriter<>(rules, AlgebraicSimplificationRule::simplify);
   }
 
   /**
@@ -46,28 +46,13 @@ public class AlgebraicSimplifier {
    * @param graph where the simplification should be applied on.
    */
   public void run(Graph graph) {
-    rules.forEach(rule -> {
-      boolean hasChanged;
-
-      do {
-        hasChanged = false;
-
-        var result = graph.getNodes()
-            .filter(Node::isActive)
-            // When `normalize` returns an Optional
-            // then create a `Pair`
-            .map(node -> rule.simplify(node).map(y -> new Pair<>(node, y)))
-            .flatMap(Optional::stream)
-            .toList();
-
-        for (var pair : result) {
-          var oldNode = pair.left();
-          var newNode = pair.right();
+    rewriter.run(graph);
+  }
 
-          oldNode.replaceAndDelete(newNode);
-          hasChanged = true;
-        }
-      } while (hasChanged);
-    });
+  /**
+   * Returns the fire counts and timings of all rules over all {@link #run(Graph)} calls.
+   */
+  public List<WorklistRewriter.RuleStatistics> statistics() {
+    return rewriter.statistics();
   }
 }
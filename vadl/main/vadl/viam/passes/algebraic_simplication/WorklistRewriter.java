@@ -0,0 +1,147 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.viam.passes.algebraic_simplication;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import vadl.viam.graph.Graph;
+import vadl.viam.graph.Node;
+
+/**
+ * A worklist driven rewrite engine that applies a list of rewrite rules on a {@link Graph}
+ * until no rule matches anymore.
+ *
+ * <p>Initially, all nodes of the graph are on the worklist. For each node, all rules
+ * are tried in the given order. If a rule replaces the node, only the replacement,
+ * its usages and the inputs of the replaced node are added to the worklist again.
+ * So in contrast to rescanning the whole graph after each change,
+ * the cost is proportional to the number of changes.</p>
+ *
+ * <p>The rewriter keeps track of how often each rule fired and how much time was spent in
+ * each rule over all {@link #run(Graph)} calls.</p>
+ *
+ * @param <R> the type of the rewrite rules
+ */
+public class WorklistRewriter<R> {
+
+  private final List<R> rules;
+  private final BiFunction<R, Node, Optional<Node>> applier;
+  private final int[] fireCounts;
+  private final long[] nanos;
+
+  /**
+   * Constructs the rewriter.
+   *
+   * @param rules   the rules that are applied in the given order on each node.
+   * @param applier applies a rule on a node and returns the replacement if the rule matched.
+   */
+  public WorklistRewriter(List<R> rules, BiFunction<R, Node, Optional<Node>> applier) {
+    this.rules = rules;
+    this.applier = applier;
+    this.fireCounts = new int[rules.size()];
+    this.nanos = new long[rules.size()];
+  }
+
+  /**
+   * Applies all rules on the given graph until nothing changes anymore.
+   *
+   * @param graph where the rules should be applied on.
+   * @return true if the graph was changed.
+   */
+  public boolean run(Graph graph) {
+    var worklist = new ArrayDeque<Node>();
+    Set<Node> onWorklist = Collections.newSetFromMap(new IdentityHashMap<>());
+    graph.getNodes().forEach(node -> {
+      worklist.add(node);
+      onWorklist.add(node);
+    });
+
+    var changed = false;
+    while (!worklist.isEmpty()) {
+      var node = worklist.poll();
+      onWorklist.remove(node);
+      if (!node.isActiveIn(graph)) {
+        // deleted by a previous rewrite
+        continue;
+      }
+
+      for (int i = 0; i < rules.size(); i++) {
+        var start = System.nanoTime();
+        var replacement = applier.apply(rules.get(i), node);
+        nanos[i] += System.nanoTime() - start;
+
+        if (replacement.isEmpty()) {
+          continue;
+        }
+
+        // the inputs might become unused or simplifiable after the replacement
+        var inputs = node.inputs().toList();
+        var result = node.replaceAndDelete(replacement.get());
+        if (result == node) {
+          // the rule produced an equal node, so nothing changed
+          continue;
+        }
+        fireCounts[i]++;
+        changed = true;
+
+        enqueue(result, worklist, onWorklist);
+        result.usages().forEach(usage -> enqueue(usage, worklist, onWorklist));
+        inputs.forEach(input -> enqueue(input, worklist, onWorklist));
+        break;
+      }
+    }
+    return changed;
+  }
+
+  private static void enqueue(Node node, ArrayDeque<Node> worklist, Set<Node> onWorklist) {
+    if (node.isActive() && onWorklist.add(node)) {
+      worklist.add(node);
+    }
+  }
+
+  /**
+   * Returns the statistics of each rule, in the order of the rules.
+   */
+  public List<RuleStatistics> statistics() {
+    var result = new ArrayList<RuleStatistics>(rules.size());
+    for (int i = 0; i < rules.size(); i++) {
+      result.add(new RuleStatistics(rules.get(i).getClass().getSimpleName(), fireCounts[i],
+          nanos[i]));
+    }
+    return result;
+  }
+
+  /**
+   * The number of times a rule fired and the time spent in it.
+   *
+   * @param rule      the simple class name of the rule
+   * @param fireCount how often the rule replaced a node
+   * @param nanos     the time spent in the rule, including non-matching applications
+   */
+  public record RuleStatistics(String rule, int fireCount, long nanos) {
+    @Override
+    public String toString() {
+      return "%s: fired %d times in %.3f ms".formatted(rule, fireCount, nanos / 1_000_000.0);
+    }
+  }
+}
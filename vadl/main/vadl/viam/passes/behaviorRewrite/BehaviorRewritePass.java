@@ -21,6 +21,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import vadl.configuration.GeneralConfiguration;
 import vadl.pass.Pass;
 import vadl.pass.PassName;
@@ -35,6 +37,8 @@ import vadl.viam.passes.behaviorRewrite.rules.impl.MergeSMullAndTruncateToMulSim
  * This pass should provide more generic rewrites than {@link AlgebraicSimplificationPass}.
  */
 public class BehaviorRewritePass extends Pass {
+  private static final Logger log = LoggerFactory.getLogger(BehaviorRewritePass.class);
+
   public static final List<BehaviorRewriteSimplificationRule> rules = new ArrayList<>();
 
   static {
@@ -54,9 +58,12 @@ public class BehaviorRewritePass extends Pass {
   @Nullable
   @Override
   public Object execute(PassResults passResults, Specification viam) throws IOException {
+    var simplifier = new BehaviorRewriteSimplifier(rules);
     viam.isa().map(isa -> isa.ownInstructions().stream())
         .orElse(Stream.empty())
-        .forEach(instruction -> new BehaviorRewriteSimplifier(rules).run(instruction.behavior()));
+        .forEach(instruction -> simplifier.run(instruction.behavior()));
+
+    simplifier.statistics().forEach(stats -> log.debug("{}", stats));
 
     return null;
   }
@@ -17,11 +17,9 @@
 package vadl.viam.passes.behaviorRewrite;
 
 import java.util.List;
-import java.util.Optional;
-import vadl.utils.Pair;
 import vadl.viam.graph.Graph;
-import vadl.viam.graph.Node;
 import vadl.viam.passes.algebraic_simplication.AlgebraicSimplifier;
+import vadl.viam.passes.algebraic_simplication.WorklistRewriter;
 import vadl.viam.passes.behaviorRewrite.rules.BehaviorRewriteSimplificationRule;
 
 /**
@@ -36,10 +34,10 @@ import vadl.viam.passes.behaviorRewrite.rules.BehaviorRewriteSimplificationRule;
  * {@link BehaviorRewritePass} applies.
  */
 public class BehaviorRewriteSimplifier {
-  private final List<BehaviorRewriteSimplificationRule> rules;
+  private final WorklistRewriter<BehaviorRewriteSimplificationRule> rewriter;
 
   public BehaviorRewriteSimplifier(List<BehaviorRewriteSimplificationRule> rules) {
-    this.rules = rules;
+    this.rewriter = new WorklistRewriter<>(rules, BehaviorRewriteSimplificationRule::simplify);
   }
 
   /**
@@ -48,28 +46,13 @@ public class BehaviorRewriteSimplifier {
    * @param graph where the simplification should be applied on.
    */
   public void run(Graph graph) {
-    rules.forEach(rule -> {
-      boolean hasChanged;
-
-      do {
-        hasChanged = false;
-
-        var result = graph.getNodes()
-            .filter(Node::isActive)
-            // When `normalize` returns an Optional
-            // then create a `Pair`
-            .map(node -> rule.simplify(node).map(y -> new Pair<>(node, y)))
-            .flatMap(Optional::stream)
-            .toList();
-
-        for (var pair : result) {
-          var oldNode = pair.left();
-          var newNode = pair.right();
+    rewriter.run(graph);
+  }
 
-          oldNode.replaceAndDelete(newNode);
-          hasChanged = true;
-        }
-      } while (hasChanged);
-    });
+  /**
+   * Returns the fire counts and timings of all rules over all {@link #run(Graph)} calls.
+   */
+  public List<WorklistRewriter.RuleStatistics> statistics() {
+    return rewriter.statistics();
   }
 }
@@ -16,13 +16,16 @@
 
 package vadl.viam.passes.canonicalization;
 
+import java.util.List;
 import javax.annotation.Nullable;
 import vadl.configuration.GeneralConfiguration;
 import vadl.pass.Pass;
 import vadl.pass.PassName;
 import vadl.pass.PassResults;
+import vadl.pass.PerDefinitionPass;
 import vadl.utils.ViamUtils;
 import vadl.viam.DefProp;
+import vadl.viam.Definition;
 import vadl.viam.Specification;
 import vadl.viam.graph.dependency.BuiltInCall;
 
@@ -31,7 +34,7 @@ import vadl.viam.graph.dependency.BuiltInCall;
  * then it replaces it with the result. It will repeat the process until nothing changes.
  * It will only consider machine instructions.
  */
-public class CanonicalizationPass extends Pass {
+public class CanonicalizationPass extends Pass implements PerDefinitionPass<Definition, Void> {
   public CanonicalizationPass(GeneralConfiguration configuration) {
     super(configuration);
   }
@@ -44,13 +47,20 @@ public class CanonicalizationPass extends Pass {
   @Nullable
   @Override
   public Object execute(PassResults passResults, Specification viam) {
+    return executePerDefinition(passResults, viam, null);
+  }
 
-    ViamUtils.findDefinitionsByFilter(viam,
-            definition -> definition instanceof DefProp.WithBehavior)
-        .stream()
-        .flatMap(d -> ((DefProp.WithBehavior) d).behaviors().stream())
-        .forEach(Canonicalizer::canonicalize);
+  @Override
+  public List<Definition> definitions(Specification viam) {
+    return List.copyOf(ViamUtils.findDefinitionsByFilter(viam,
+        definition -> definition instanceof DefProp.WithBehavior));
+  }
 
+  @Nullable
+  @Override
+  public Void executeOn(Definition definition, PassResults passResults) {
+    ((DefProp.WithBehavior) definition).behaviors()
+        .forEach(Canonicalizer::canonicalize);
     return null;
   }
 }
@@ -16,19 +16,21 @@
 
 package vadl.viam.passes.functionInliner;
 
+import static java.util.Objects.requireNonNull;
 import static vadl.utils.GraphUtils.getSingleNode;
 
 import com.google.common.collect.Streams;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.IdentityHashMap;
-import java.util.stream.Stream;
+import java.util.List;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import vadl.configuration.GeneralConfiguration;
 import vadl.pass.Pass;
 import vadl.pass.PassName;
 import vadl.pass.PassResults;
+import vadl.pass.PerDefinitionPass;
 import vadl.utils.Pair;
 import vadl.viam.Instruction;
 import vadl.viam.Relocation;
@@ -44,7 +46,8 @@ import vadl.viam.graph.dependency.FuncParamNode;
  * Also, the given {@link Specification} will be mutated in-place. However, the pass
  * saves the original uninlined instruction's behaviors as pass result.
  */
-public class FunctionInlinerPass extends Pass {
+public class FunctionInlinerPass extends Pass
+    implements PerDefinitionPass<Instruction, UninlinedGraph> {
   public FunctionInlinerPass(GeneralConfiguration configuration) {
     super(configuration);
   }
@@ -64,20 +67,24 @@ public class FunctionInlinerPass extends Pass {
   @Nullable
   @Override
   public Object execute(PassResults passResults, Specification viam) throws IOException {
-    IdentityHashMap<Instruction, UninlinedGraph> behaviors = new IdentityHashMap<>();
-
-    instructions(viam, behaviors);
+    return executePerDefinition(passResults, viam, null);
+  }
 
-    return new Output(behaviors);
+  @Override
+  public List<Instruction> definitions(Specification viam) {
+    return viam.isa().map(isa -> isa.ownInstructions()).orElse(List.of());
   }
 
-  private void instructions(Specification viam,
-                            IdentityHashMap<Instruction, UninlinedGraph> behaviors) {
+  @Override
+  public UninlinedGraph executeOn(Instruction instruction, PassResults passResults) {
+    return handleMainBehavior(instruction);
+  }
 
-    viam.isa().map(isa -> isa.ownInstructions().stream()).orElse(Stream.empty())
-        .forEach(instruction -> {
-          behaviors.put(instruction, handleMainBehavior(instruction));
-        });
+  @Override
+  public Object mergeResults(List<DefinitionResult<Instruction, UninlinedGraph>> results) {
+    IdentityHashMap<Instruction, UninlinedGraph> behaviors = new IdentityHashMap<>();
+    results.forEach(r -> behaviors.put(r.definition(), requireNonNull(r.result())));
+    return new Output(behaviors);
   }
 
   private UninlinedGraph handleMainBehavior(Instruction instruction) {
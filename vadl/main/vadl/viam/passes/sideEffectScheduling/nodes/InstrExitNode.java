@@ -17,10 +17,12 @@
 package vadl.viam.passes.sideEffectScheduling.nodes;
 
 import java.util.List;
+import java.util.function.Consumer;
 import vadl.javaannotations.viam.Input;
 import vadl.viam.graph.GraphNodeVisitor;
 import vadl.viam.graph.GraphVisitor;
 import vadl.viam.graph.Node;
+import vadl.viam.graph.control.ControlNode;
 import vadl.viam.graph.control.DirectionalNode;
 import vadl.viam.graph.dependency.WriteResourceNode;
 
@@ -46,6 +48,11 @@ public class InstrExitNode extends DirectionalNode {
     this.pcWrite = pcWrite;
   }
 
+  private InstrExitNode(WriteResourceNode pcWrite, ControlNode next) {
+    super(next);
+    this.pcWrite = pcWrite;
+  }
+
   /**
    * Returns the {@link WriteResourceNode} associated with this node.
    *
@@ -66,13 +73,13 @@ public class InstrExitNode extends DirectionalNode {
   }
 
   /**
-   * Creates a shallow copy of this node, reusing the same {@code pcWrite} node.
+   * Creates a shallow copy of this node, reusing the same {@code pcWrite} and next node.
    *
    * @return A new {@code InstrExitNode} that is a shallow copy of this node.
    */
   @Override
   public Node shallowCopy() {
-    return new InstrExitNode(pcWrite);
+    return new InstrExitNode(pcWrite, next());
   }
 
   /**
@@ -98,6 +105,12 @@ public class InstrExitNode extends DirectionalNode {
     collection.add(pcWrite);
   }
 
+  @Override
+  protected void forEachInput(Consumer<Node> action) {
+    super.forEachInput(action);
+    action.accept(pcWrite);
+  }
+
   /**
    * Applies the given visitor to this node's inputs in an unsafe manner.
    * This method updates the {@code pcWrite} node by applying the visitor.
@@ -0,0 +1,127 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.viam.passes.verification;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import vadl.configuration.GeneralConfiguration;
+import vadl.pass.Pass;
+import vadl.pass.PassName;
+import vadl.pass.PassResults;
+import vadl.viam.Instruction;
+import vadl.viam.InstructionSetArchitecture;
+import vadl.viam.Specification;
+import vadl.viam.ViamError;
+import vadl.viam.graph.Graph;
+import vadl.viam.interpreter.BehaviorInterpreter;
+import vadl.viam.interpreter.DifferentialTester;
+
+/**
+ * A pass that checks that the previous passes did not change the semantics of any
+ * instruction behavior.
+ * It keeps a copy of each behavior, and compares the copy with the current behavior
+ * using the {@link DifferentialTester} if the behavior was modified since the last run of
+ * this pass. It fails if a mismatch was found.
+ *
+ * <p>The pass is added after every pass of an order by
+ * {@link vadl.pass.PassOrder#addDifferentialTesting(int)}.
+ * Behaviors that contain nodes the {@link BehaviorInterpreter} does not support
+ * (e.g. after lowering to TCG) are not checked anymore.
+ * Called functions are always executed in their current form.</p>
+ */
+public class DifferentialTestingPass extends Pass {
+  private static final Logger log = LoggerFactory.getLogger(DifferentialTestingPass.class);
+
+  // a fixed seed, so that found mismatches are reproducible
+  private static final long SEED = 0x5eed_1eafL;
+
+  /**
+   * The behavior of an instruction when this pass ran.
+   *
+   * @param behavior          the instruction's behavior graph
+   * @param modificationCount the {@link Graph#modificationCount()} of the behavior
+   * @param copy              a copy of the behavior that is not modified by other passes
+   */
+  record Snapshot(Graph behavior, long modificationCount, Graph copy) {
+  }
+
+  /**
+   * The result of the pass, used by the next run of the pass.
+   */
+  public record Result(Map<Instruction, Snapshot> snapshots) {
+  }
+
+  private final int samples;
+
+  public DifferentialTestingPass(GeneralConfiguration configuration, int samples) {
+    super(configuration);
+    this.samples = samples;
+  }
+
+  @Override
+  public PassName getName() {
+    return PassName.of("Differential Testing");
+  }
+
+  @Override
+  public Result execute(PassResults passResults, Specification viam) throws IOException {
+    var previous = passResults.allResultsOf(DifferentialTestingPass.class, Result.class)
+        .reduce((first, second) -> second)
+        .map(Result::snapshots)
+        .orElse(Map.of());
+    var lastPass = passResults.lastExecution().pass().getName().value();
+    var tester = new DifferentialTester(SEED, samples);
+
+    var instructions = viam.isa()
+        .map(InstructionSetArchitecture::ownInstructions)
+        .orElse(List.of());
+    var snapshots = new IdentityHashMap<Instruction, Snapshot>();
+    for (var instruction : instructions) {
+      var behavior = instruction.behavior();
+      var snapshot = previous.get(instruction);
+      if (snapshot != null && snapshot.behavior() == behavior
+          && snapshot.modificationCount() == behavior.modificationCount()) {
+        snapshots.put(instruction, snapshot);
+        continue;
+      }
+      if (!BehaviorInterpreter.supports(behavior)) {
+        log.debug("Stop differential testing of {} after {}", instruction.simpleName(),
+            lastPass);
+        continue;
+      }
+      if (snapshot != null) {
+        var result = tester.compare(snapshot.copy(), behavior);
+        if (!result.equivalent()) {
+          throw new ViamError("%s changed the semantics of instruction %s.%n%s",
+              lastPass, instruction.simpleName(), result.mismatch())
+              .addContext(instruction);
+        }
+        if (result.samples() == 0) {
+          log.warn("No sample could be compared for {} after {}",
+              instruction.simpleName(), lastPass);
+        }
+      }
+      snapshots.put(instruction, new Snapshot(behavior, behavior.modificationCount(),
+          behavior.copy()));
+    }
+    return new Result(snapshots);
+  }
+}
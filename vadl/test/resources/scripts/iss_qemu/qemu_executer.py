@@ -26,12 +26,18 @@ class QEMUExecuter:
         self.qemu_exec = config.ref if ref else config.sim
         self.timeout = timeout
 
+    def plugin_arg(self) -> str:
+        # with the tohost address, the plugin skips all other writes early
+        if self.compinfo.tohost_addr is None:
+            return str(self.config.stateplugin)
+        return f"{self.config.stateplugin},tohost={self.compinfo.tohost_addr:#x}"
+
     async def execute(self) -> bool:
         try:
             self.process = await asyncio.create_subprocess_exec(
                 self.qemu_exec.path,
                 "-nographic",
-                "-plugin", self.config.stateplugin,
+                "-plugin", self.plugin_arg(),
                 "-d", "plugin",
                 *self.qemu_exec.args.split(),
                 self.compinfo.elf,
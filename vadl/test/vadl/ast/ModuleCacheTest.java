@@ -0,0 +1,119 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.ast;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import vadl.utils.CompilationSession;
+
+/**
+ * Tests that imports of the same module are served by the {@link ModuleCache}.
+ */
+public class ModuleCacheTest {
+
+  private static List<ImportDefinition> imports(Ast ast) {
+    return ast.definitions.stream()
+        .filter(ImportDefinition.class::isInstance)
+        .map(ImportDefinition.class::cast)
+        .toList();
+  }
+
+  @Test
+  void sameModuleIsParsedOncePerCompilation(@TempDir Path dir) throws IOException {
+    Files.writeString(dir.resolve("lib.vadl"), """
+        constant A = 1
+        constant B = 2
+        """);
+    var main = Files.writeString(dir.resolve("main.vadl"), """
+        import lib::A
+        import lib::B
+        constant C = A + B
+        """);
+
+    var imports = imports(VadlParser.parse(main));
+    assertSame(imports.get(0).moduleAst, imports.get(1).moduleAst);
+
+    // a new compilation must not see the module of the previous one
+    var reparsed = imports(VadlParser.parse(main));
+    assertNotSame(imports.get(0).moduleAst, reparsed.get(0).moduleAst);
+  }
+
+  @Test
+  void changedModuleIsParsedAgain(@TempDir Path dir) throws IOException {
+    var lib = dir.resolve("lib.vadl");
+    Files.writeString(lib, "constant A = 1\n");
+    var main = Files.writeString(dir.resolve("main.vadl"), "import lib::A\n");
+
+    ModuleCache.setShareAcrossCompilations(true);
+    try {
+      var first = imports(VadlParser.parse(main)).get(0).moduleAst;
+      assertSame(first, imports(VadlParser.parse(main)).get(0).moduleAst);
+
+      Files.writeString(lib, "constant A = 2\n");
+      assertNotSame(first, imports(VadlParser.parse(main)).get(0).moduleAst);
+    } finally {
+      ModuleCache.setShareAcrossCompilations(false);
+    }
+  }
+
+  @Test
+  void changedTransitiveImportIsParsedAgain(@TempDir Path dir) throws IOException {
+    var base = dir.resolve("base.vadl");
+    Files.writeString(base, "constant A = 1\n");
+    Files.writeString(dir.resolve("lib.vadl"), """
+        import base::A
+        constant B = A
+        """);
+    var main = Files.writeString(dir.resolve("main.vadl"), "import lib::B\n");
+
+    ModuleCache.setShareAcrossCompilations(true);
+    try {
+      var first = imports(VadlParser.parse(main)).get(0).moduleAst;
+      assertSame(first, imports(VadlParser.parse(main)).get(0).moduleAst);
+
+      // lib itself is unchanged, but the module it imports is not
+      Files.writeString(base, "constant A = 2\n");
+      assertNotSame(first, imports(VadlParser.parse(main)).get(0).moduleAst);
+    } finally {
+      ModuleCache.setShareAcrossCompilations(false);
+    }
+  }
+
+  @Test
+  void modulesAreNotSharedBetweenSessions(@TempDir Path dir) throws IOException {
+    Files.writeString(dir.resolve("lib.vadl"), "constant A = 1\n");
+    var main = Files.writeString(dir.resolve("main.vadl"), "import lib::A\n");
+
+    Ast first;
+    try (var session = CompilationSession.open("first")) {
+      ModuleCache.setShareAcrossCompilations(true);
+      first = imports(VadlParser.parse(main)).get(0).moduleAst;
+      assertSame(first, imports(VadlParser.parse(main)).get(0).moduleAst);
+    }
+    try (var session = CompilationSession.open("second")) {
+      ModuleCache.setShareAcrossCompilations(true);
+      assertNotSame(first, imports(VadlParser.parse(main)).get(0).moduleAst);
+    }
+  }
+}
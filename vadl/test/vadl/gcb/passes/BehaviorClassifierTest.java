@@ -0,0 +1,102 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.gcb.passes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import vadl.types.BuiltInTable;
+import vadl.types.DataType;
+import vadl.types.Type;
+import vadl.viam.Constant;
+import vadl.viam.graph.NodeList;
+import vadl.viam.graph.control.ReturnNode;
+import vadl.viam.graph.control.StartNode;
+import vadl.viam.graph.dependency.BuiltInCall;
+import vadl.viam.graph.dependency.ConstantNode;
+import vadl.viam.graph.dependency.ExpressionNode;
+import vadl.viam.helper.TestGraph;
+
+class BehaviorClassifierTest {
+
+  private static BehaviorIndex behaviorWith(BuiltInTable.BuiltIn builtIn) {
+    var graph = new TestGraph("BehaviorClassifierTest");
+    var call = new BuiltInCall(builtIn, new NodeList<ExpressionNode>(
+        new ConstantNode(Constant.Value.of(1, DataType.bits(32))),
+        new ConstantNode(Constant.Value.of(2, DataType.bits(32)))
+    ), Type.bits(32));
+    var returnNode = new ReturnNode(call);
+    graph.addWithInputs(returnNode);
+    graph.addWithInputs(new StartNode(returnNode));
+    return BehaviorIndex.of(graph);
+  }
+
+  @Test
+  void classify_shouldOnlyCheckTriggeredRules() {
+    var checked = new ArrayList<String>();
+    var classifier = BehaviorClassifier.<String>builder()
+        .rule("sub", List.of(BuiltInTable.SUB), b -> checked.add("sub"))
+        .rule("add", List.of(BuiltInTable.ADD), b -> checked.add("add"))
+        .rule("any", b -> checked.add("any"))
+        .build();
+
+    var rule = classifier.classify(behaviorWith(BuiltInTable.ADD));
+
+    assertTrue(rule.isPresent());
+    assertEquals("add", rule.get().label());
+    assertEquals(List.of("add"), checked);
+  }
+
+  @Test
+  void classify_shouldRespectPriority() {
+    var classifier = BehaviorClassifier.<String>builder()
+        .rule("untriggered", b -> b.has(ReturnNode.class))
+        .rule("add", List.of(BuiltInTable.ADD), b -> true)
+        .build();
+
+    assertEquals("untriggered",
+        classifier.classify(behaviorWith(BuiltInTable.ADD)).orElseThrow().label());
+  }
+
+  @Test
+  void classify_shouldReturnEmptyWhenNoRuleMatches() {
+    var classifier = BehaviorClassifier.<String>builder()
+        .rule("add", List.of(BuiltInTable.ADD), b -> false)
+        .rule("sub", List.of(BuiltInTable.SUB), b -> true)
+        .build();
+
+    assertFalse(classifier.classify(behaviorWith(BuiltInTable.ADD)).isPresent());
+  }
+
+  @Test
+  void index_shouldGroupCallsAndOperands() {
+    var index = behaviorWith(BuiltInTable.ADD);
+
+    assertEquals(1, index.calls(BuiltInTable.ADD).size());
+    assertEquals(0, index.calls(BuiltInTable.SUB).size());
+    assertEquals(2, index.count(ConstantNode.class));
+    assertEquals(3, index.count(ExpressionNode.class));
+    var call = index.calls(BuiltInTable.ADD).get(0);
+    assertTrue(index.operands(call, BehaviorIndex.Operand.ANY, BehaviorIndex.Operand.ANY));
+    assertFalse(index.operands(call, BehaviorIndex.Operand.REGISTER_FILE,
+        BehaviorIndex.Operand.ANY));
+  }
+}
@@ -0,0 +1,126 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+
+package vadl.iss;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static vadl.viam.helper.TestGraphUtils.ifMerge;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import vadl.viam.graph.control.ControlNode;
+import vadl.viam.helper.TestGraph;
+
+/**
+ * Tests the fixed point iteration of the {@link DenseDataFlowAnalysis} on a small liveness
+ * analysis over the variables {@code x} and {@code y}.
+ */
+public class DenseDataFlowAnalysisTest {
+
+  private static final int X = 0;
+  private static final int Y = 1;
+
+  /**
+   * A backward may analysis where each node uses or defines some variables.
+   */
+  private static class Liveness extends DenseDataFlowAnalysis {
+    final Map<ControlNode, Integer> uses = new HashMap<>();
+    final Map<ControlNode, Integer> defs = new HashMap<>();
+
+    @Override
+    protected int universeSize() {
+      return 2;
+    }
+
+    @Override
+    protected void boundary(long[] value) {
+    }
+
+    @Override
+    protected void transfer(ControlNode node, long[] value) {
+      var def = defs.get(node);
+      if (def != null) {
+        clear(value, def);
+      }
+      var use = uses.get(node);
+      if (use != null) {
+        set(value, use);
+      }
+    }
+
+    @Override
+    protected boolean isForward() {
+      return false;
+    }
+
+    @Override
+    protected boolean isMayAnalysis() {
+      return true;
+    }
+  }
+
+  private static long[] setOf(int... elements) {
+    var set = new long[1];
+    for (var element : elements) {
+      DenseDataFlowAnalysis.set(set, element);
+    }
+    return set;
+  }
+
+  @Test
+  void liveness_AcrossIfAndMerge() {
+    var graph = new TestGraph("liveness");
+    var cfg = ifMerge(graph);
+    var liveness = new Liveness();
+    // x is used at the end of the true branch, y after the merge.
+    // the false branch defines y.
+    liveness.uses.put(cfg.trueEnd(), X);
+    liveness.uses.put(cfg.end(), Y);
+    liveness.defs.put(cfg.falseBegin(), Y);
+
+    liveness.analyze(graph);
+
+    assertArrayEquals(setOf(Y), liveness.inValue(cfg.merge()));
+    // the values of the merge flow back into both branch ends
+    assertArrayEquals(setOf(Y), liveness.outValue(cfg.trueEnd()));
+    assertArrayEquals(setOf(X, Y), liveness.inValue(cfg.trueEnd()));
+    assertArrayEquals(setOf(Y), liveness.outValue(cfg.falseEnd()));
+    assertArrayEquals(setOf(), liveness.inValue(cfg.falseBegin()));
+    // the if node joins both branches
+    assertArrayEquals(setOf(X, Y), liveness.outValue(cfg.ifNode()));
+    assertArrayEquals(setOf(X, Y), liveness.inValue(cfg.start()));
+  }
+
+  @Test
+  void analyze_TwoGraphs_ResetsNodes() {
+    var liveness = new Liveness();
+    var first = new TestGraph("first");
+    ifMerge(first);
+    liveness.analyze(first);
+    assertEquals(8, liveness.nodes().size());
+
+    var second = new TestGraph("second");
+    var cfg = ifMerge(second);
+    liveness.uses.put(cfg.end(), Y);
+    liveness.analyze(second);
+
+    assertEquals(8, liveness.nodes().size());
+    assertArrayEquals(setOf(Y), liveness.inValue(cfg.start()));
+  }
+}
@@ -0,0 +1,66 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+
+package vadl.iss.passes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import vadl.iss.DenseDataFlowAnalysis;
+import vadl.iss.passes.nodes.TcgVRefNode;
+import vadl.iss.passes.tcgLowering.TcgV;
+import vadl.iss.passes.tcgLowering.Tcg_32_64;
+
+/**
+ * Tests the bit matrix of the {@link InterferenceGraph} with variables in several words.
+ */
+public class InterferenceGraphTest {
+
+  private static List<TcgVRefNode> variables(int count) {
+    var variables = new ArrayList<TcgVRefNode>();
+    for (int i = 0; i < count; i++) {
+      variables.add(new TcgVRefNode(TcgV.tmp("t" + i, Tcg_32_64.i64), null));
+    }
+    return variables;
+  }
+
+  @Test
+  void edges_AcrossWordBoundaries() {
+    var variables = variables(130);
+    var graph = new InterferenceGraph(variables);
+    var v0 = variables.get(0);
+    var v63 = variables.get(63);
+    var v64 = variables.get(64);
+    var v129 = variables.get(129);
+
+    graph.addEdge(v0, v129);
+    var others = new long[DenseDataFlowAnalysis.wordsFor(variables.size())];
+    DenseDataFlowAnalysis.set(others, 0);
+    DenseDataFlowAnalysis.set(others, 64);
+    graph.addEdges(v63, others);
+
+    assertEquals(Set.of(v129, v63), graph.getInterferences(v0));
+    assertEquals(Set.of(v0, v64), graph.getInterferences(v63));
+    assertEquals(Set.of(v63), graph.getInterferences(v64));
+    assertEquals(Set.of(v0), graph.getInterferences(v129));
+    assertEquals(Set.of(), graph.getInterferences(variables.get(1)));
+    assertEquals(List.of(v0, v63, v64, v129), List.copyOf(graph.getVariables()));
+  }
+}
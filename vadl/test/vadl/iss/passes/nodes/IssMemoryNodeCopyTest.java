@@ -0,0 +1,65 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+
+package vadl.iss.passes.nodes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static vadl.utils.GraphUtils.getSingleNode;
+import static vadl.viam.helper.TestGraphUtils.bitsNode;
+import static vadl.viam.helper.TestGraphUtils.bool;
+
+import org.junit.jupiter.api.Test;
+import vadl.iss.passes.tcgLowering.TcgExtend;
+import vadl.iss.passes.tcgLowering.Tcg_8_16_32_64;
+import vadl.types.DataType;
+import vadl.viam.Identifier;
+import vadl.viam.Memory;
+import vadl.viam.graph.dependency.ConstantNode;
+import vadl.viam.graph.dependency.ReadMemNode;
+import vadl.viam.graph.dependency.WriteMemNode;
+import vadl.viam.helper.TestGraph;
+
+/**
+ * Tests that the ISS memory nodes keep their class and data when they are copied.
+ */
+public class IssMemoryNodeCopyTest {
+
+  private final Memory memory =
+      new Memory(Identifier.noLocation("MEM"), DataType.bits(64), DataType.bits(8));
+
+  @Test
+  void copy_LoadAndStore_KeepIssNodes() {
+    var graph = new TestGraph("copy");
+    var load = graph.addWithInputs(new IssLoadNode(
+        new ReadMemNode(memory, 4, bitsNode(0x100, 64), DataType.bits(32)),
+        TcgExtend.SIGN, Tcg_8_16_32_64.i32, DataType.bits(64)));
+    graph.addWithInputs(new IssStoreNode(
+        new WriteMemNode(memory, 2, bitsNode(0x200, 64), bitsNode(7, 16),
+            new ConstantNode(bool(true))),
+        Tcg_8_16_32_64.i16));
+
+    var copy = graph.copy();
+
+    var copiedLoad = getSingleNode(copy, IssLoadNode.class);
+    assertEquals(TcgExtend.SIGN, copiedLoad.tcgExtend());
+    assertEquals(Tcg_8_16_32_64.i32, copiedLoad.loadSize());
+    assertEquals(DataType.bits(64), copiedLoad.type());
+    assertEquals(Tcg_8_16_32_64.i16, getSingleNode(copy, IssStoreNode.class).storeSize());
+    assertInstanceOf(IssLoadNode.class, load.copy());
+  }
+}
@@ -0,0 +1,53 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+
+package vadl.iss.passes.safeResourceRead;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static vadl.viam.helper.TestGraphUtils.ifMerge;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import vadl.viam.graph.control.ControlNode;
+import vadl.viam.helper.TestGraph;
+
+/**
+ * Tests the {@link IssDominatorAnalysis} on a control flow graph with a single if-else.
+ */
+public class IssDominatorAnalysisTest {
+
+  @Test
+  void dominators_OfMergeAndBranchEnds() {
+    var graph = new TestGraph("dominators");
+    var cfg = ifMerge(graph);
+
+    var dominators = IssDominatorAnalysis.getDominatorSets(graph);
+
+    // no branch dominates the merge
+    assertEquals(List.<ControlNode>of(cfg.start(), cfg.ifNode(), cfg.merge()),
+        dominators.get(cfg.merge()));
+    assertEquals(List.<ControlNode>of(cfg.start(), cfg.ifNode(), cfg.merge(), cfg.end()),
+        dominators.get(cfg.end()));
+    // each branch end is only dominated by its own branch
+    assertEquals(
+        List.<ControlNode>of(cfg.start(), cfg.ifNode(), cfg.trueBegin(), cfg.trueEnd()),
+        dominators.get(cfg.trueEnd()));
+    assertEquals(
+        List.<ControlNode>of(cfg.start(), cfg.ifNode(), cfg.falseBegin(), cfg.falseEnd()),
+        dominators.get(cfg.falseEnd()));
+  }
+}
@@ -0,0 +1,50 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lcb.passes.llvmLowering.domain.selectionDag;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+import vadl.types.BuiltInTable;
+import vadl.types.DataType;
+import vadl.types.Type;
+import vadl.viam.Constant;
+import vadl.viam.graph.Graph;
+import vadl.viam.graph.NodeList;
+import vadl.viam.graph.dependency.ConstantNode;
+import vadl.viam.graph.dependency.ExpressionNode;
+
+class LlvmSetccSDTest {
+
+  @Test
+  void setBuiltIn_shouldUpdateCondCodeAndModifyGraph() {
+    var graph = new Graph("test");
+    var setcc = graph.addWithInputs(new LlvmSetccSD(BuiltInTable.SLTH,
+        new NodeList<ExpressionNode>(
+            new ConstantNode(Constant.Value.of(1, DataType.bits(32))),
+            new ConstantNode(Constant.Value.of(2, DataType.bits(32)))),
+        Type.bool()));
+    var count = graph.modificationCount();
+
+    setcc.setBuiltIn(BuiltInTable.ULTH);
+
+    assertEquals(BuiltInTable.ULTH, setcc.builtIn());
+    assertEquals(LlvmCondCode.SETULT, setcc.llvmCondCode());
+    assertNotEquals(count, graph.modificationCount());
+  }
+}
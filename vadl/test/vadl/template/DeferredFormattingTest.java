@@ -0,0 +1,141 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.template;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import vadl.cppCodeGen.formatting.CodeFormatter;
+import vadl.utils.CompilationSession;
+
+/**
+ * Tests the batched formatting and the content hash cache of {@link DeferredFormatting}.
+ */
+public class DeferredFormattingTest {
+
+  /**
+   * Upper-cases all files and records the batches it was called with.
+   */
+  private static class UpperCaseFormatter implements CodeFormatter {
+    final List<List<Path>> batches = new ArrayList<>();
+
+    @Override
+    public boolean isAvailable() {
+      return true;
+    }
+
+    @Override
+    public void format(Path file) throws FormatFailureException {
+      formatAll(List.of(file));
+    }
+
+    @Override
+    public void formatAll(List<Path> files) throws FormatFailureException {
+      batches.add(files);
+      try {
+        for (var file : files) {
+          Files.writeString(file, Files.readString(file).toUpperCase());
+        }
+      } catch (IOException e) {
+        throw new FormatFailureException("failed", e);
+      }
+    }
+  }
+
+  @Test
+  void formatPending_TwoFiles_SingleBatchAndCached(@TempDir Path outputPath)
+      throws IOException {
+    var formatter = new UpperCaseFormatter();
+    var fileA = outputPath.resolve("a.c");
+    var fileB = outputPath.resolve("b.c");
+    Files.writeString(fileA, "int a;");
+    Files.writeString(fileB, "int b;");
+    var hashA = DeferredFormatting.hash("int a;".getBytes(StandardCharsets.UTF_8));
+    var hashB = DeferredFormatting.hash("int b;".getBytes(StandardCharsets.UTF_8));
+
+    assertFalse(DeferredFormatting.isUpToDate(outputPath, fileA, hashA));
+    DeferredFormatting.enqueue(formatter, outputPath, fileA, hashA);
+    DeferredFormatting.enqueue(formatter, outputPath, fileB, hashB);
+    assertEquals(2, DeferredFormatting.pendingCount());
+
+    assertEquals(2, DeferredFormatting.formatPending());
+    assertEquals(0, DeferredFormatting.pendingCount());
+    assertEquals(List.of(List.of(fileA, fileB)), formatter.batches);
+    assertEquals("INT A;", Files.readString(fileA));
+
+    assertTrue(DeferredFormatting.isUpToDate(outputPath, fileA, hashA));
+    assertTrue(DeferredFormatting.isUpToDate(outputPath, fileB, hashB));
+    assertFalse(DeferredFormatting.isUpToDate(outputPath, fileA, hashB));
+    assertTrue(Files.exists(outputPath.resolve(DeferredFormatting.CACHE_FILE_NAME)));
+  }
+
+  @Test
+  void formatPending_FormatterFails_NotCached(@TempDir Path outputPath) throws IOException {
+    CodeFormatter failing = new UpperCaseFormatter() {
+      @Override
+      public void formatAll(List<Path> files) throws FormatFailureException {
+        throw new FormatFailureException("failed");
+      }
+    };
+    var file = outputPath.resolve("a.c");
+    Files.writeString(file, "int a;");
+    var hash = DeferredFormatting.hash("int a;".getBytes(StandardCharsets.UTF_8));
+
+    DeferredFormatting.enqueue(failing, outputPath, file, hash);
+    assertEquals(0, DeferredFormatting.formatPending());
+    assertFalse(DeferredFormatting.isUpToDate(outputPath, file, hash));
+  }
+
+  @Test
+  void formatPending_TwoSessions_OnlyOwnFilesFormatted(@TempDir Path outputPath)
+      throws IOException {
+    var formatter = new UpperCaseFormatter();
+    var fileA = outputPath.resolve("a.c");
+    var fileB = outputPath.resolve("b.c");
+    Files.writeString(fileA, "int a;");
+    Files.writeString(fileB, "int b;");
+    var hashA = DeferredFormatting.hash("int a;".getBytes(StandardCharsets.UTF_8));
+    var hashB = DeferredFormatting.hash("int b;".getBytes(StandardCharsets.UTF_8));
+
+    try (var first = CompilationSession.open("first")) {
+      DeferredFormatting.enqueue(formatter, outputPath, fileA, hashA);
+      try (var second = CompilationSession.open("second")) {
+        DeferredFormatting.enqueue(formatter, outputPath, fileB, hashB);
+        assertEquals(1, DeferredFormatting.pendingCount());
+        assertEquals(1, DeferredFormatting.formatPending());
+      }
+      assertEquals(1, DeferredFormatting.pendingCount());
+      assertEquals("int a;", Files.readString(fileA));
+      assertEquals(1, DeferredFormatting.formatPending());
+    }
+    assertEquals(List.of(List.of(fileB), List.of(fileA)), formatter.batches);
+
+    // a new session reloads the cache that both sessions have written
+    try (var third = CompilationSession.open("third")) {
+      assertTrue(DeferredFormatting.isUpToDate(outputPath, fileA, hashA));
+    }
+  }
+}
@@ -0,0 +1,100 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+public class TypeTest {
+
+  @Test
+  void tuple_SameStructure_SameInstance() {
+    assertSame(Type.tuple(Type.bits(8), Type.bool()), Type.tuple(Type.bits(8), Type.bool()));
+    assertNotSame(Type.tuple(Type.bits(8), Type.bool()), Type.tuple(Type.bool(), Type.bits(8)));
+    assertNotSame(Type.tuple(Type.bits(8)), Type.tuple(Type.bits(8), Type.bits(8)));
+  }
+
+  @Test
+  void relation_SameStructure_SameInstance() {
+    assertSame(Type.relation(BitsType.class, BoolType.class),
+        Type.relation(List.of(BitsType.class), false, BoolType.class));
+    assertNotSame(Type.relation(List.of(BitsType.class), true, BoolType.class),
+        Type.relation(List.of(BitsType.class), false, BoolType.class));
+    assertSame(Type.concreteRelation(Type.bits(8), Type.bool()),
+        Type.concreteRelation(List.of(Type.bits(8)), Type.bool()));
+    assertNotSame(Type.concreteRelation(Type.bits(8), Type.bool()),
+        Type.concreteRelation(Type.bits(16), Type.bool()));
+  }
+
+  @Test
+  void alternative_SameElements_SameInstance() {
+    assertSame(Type.alternative(Set.of(Type.bits(8), Type.bool())),
+        Type.alternative(Set.of(Type.bool(), Type.bits(8))));
+    assertNotSame(Type.alternative(Set.of(Type.bits(8))),
+        Type.alternative(Set.of(Type.bits(8), Type.bool())));
+  }
+
+  @Test
+  void alternative_MutatedArgument_InternedTypeUnchanged() {
+    var types = new HashSet<Type>(List.of(Type.bits(77), Type.bool()));
+    var alternative = Type.alternative(types);
+    var name = alternative.name();
+
+    types.add(Type.bits(78));
+
+    assertEquals(name, alternative.name());
+    assertSame(alternative, Type.alternative(Set.of(Type.bool(), Type.bits(77))));
+  }
+
+  @Test
+  void factories_Concurrent_SameInstance() throws InterruptedException, ExecutionException {
+    var executor = Executors.newFixedThreadPool(8);
+    try {
+      var tasks = new ArrayList<Callable<List<Type>>>();
+      for (int i = 0; i < 8; i++) {
+        tasks.add(() -> List.of(
+            Type.bool(),
+            Type.status(),
+            Type.tuple(Type.signedInt(17), Type.unsignedInt(17)),
+            Type.concreteRelation(Type.bits(17), Type.bits(17), Type.bits(17))
+        ));
+      }
+      var results = executor.invokeAll(tasks);
+      var expected = results.get(0).get();
+      for (var result : results) {
+        var types = result.get();
+        for (int i = 0; i < expected.size(); i++) {
+          assertSame(expected.get(i), types.get(i));
+        }
+      }
+      assertEquals(Type.bits(17), Type.concreteRelation(Type.bits(17), Type.bits(17),
+          Type.bits(17)).resultType());
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,153 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import vadl.configuration.GeneralConfiguration;
+import vadl.dump.ArtifactTracker;
+import vadl.error.DeferredDiagnosticStore;
+import vadl.error.Diagnostic;
+import vadl.pass.Pass;
+import vadl.pass.PassName;
+import vadl.pass.PassOrder;
+import vadl.pass.PassResults;
+import vadl.viam.Specification;
+
+/**
+ * Tests that the state of a {@link CompilationSession} is isolated from other sessions.
+ */
+public class CompilationSessionTest {
+
+  @Test
+  void openedSession_isCurrentUntilClosed() {
+    var before = CompilationSession.current();
+    try (var session = CompilationSession.open("test")) {
+      assertSame(session, CompilationSession.current());
+      try (var nested = CompilationSession.open("nested")) {
+        assertSame(nested, CompilationSession.current());
+      }
+      assertSame(session, CompilationSession.current());
+    }
+    assertSame(before, CompilationSession.current());
+  }
+
+  @Test
+  void stores_areIsolatedBetweenSessions() {
+    try (var first = CompilationSession.open("first")) {
+      ArtifactTracker.addArtifact(Path.of("first.txt"));
+      ArtifactTracker.addEmission(true);
+      DeferredDiagnosticStore.add(
+          Diagnostic.warning("first", SourceLocation.INVALID_SOURCE_LOCATION));
+
+      try (var second = CompilationSession.open("second")) {
+        assertTrue(ArtifactTracker.getArtifactPathsPaths().isEmpty());
+        assertEquals(0, ArtifactTracker.getWrittenCount());
+        assertTrue(DeferredDiagnosticStore.isEmpty());
+        ArtifactTracker.addArtifact(Path.of("second.txt"));
+      }
+
+      assertEquals(List.of(Path.of("first.txt")), ArtifactTracker.getArtifactPathsPaths());
+      assertEquals(1, ArtifactTracker.getWrittenCount());
+      assertEquals(1, DeferredDiagnosticStore.getAll().size());
+    }
+  }
+
+  @Test
+  void closedSession_closesItsStates() {
+    var closed = new AtomicBoolean();
+    try (var session = CompilationSession.open("test")) {
+      session.state(AutoCloseable.class, () -> () -> closed.set(true));
+      assertFalse(closed.get());
+    }
+    assertTrue(closed.get());
+  }
+
+  @Test
+  void createdThreads_inheritSession() throws Exception {
+    try (var session = CompilationSession.open("test")) {
+      var executor = Executors.newSingleThreadExecutor();
+      try {
+        assertSame(session, executor.submit(CompilationSession::current).get());
+      } finally {
+        executor.shutdown();
+      }
+    }
+  }
+
+  @Test
+  void internedLocations_areIsolatedBetweenSessions() {
+    var uri = URI.create("memory://test.vadl");
+    SourceLocation first;
+    try (var session = CompilationSession.open("first")) {
+      first = new SourceLocation(uri, 3).intern();
+      assertSame(first, new SourceLocation(uri, 3).intern());
+    }
+    try (var session = CompilationSession.open("second")) {
+      var second = new SourceLocation(uri, 3).intern();
+      assertEquals(first, second);
+      assertNotSame(first, second);
+    }
+  }
+
+  @Test
+  void generatedPassKeys_areIsolatedBetweenSessions() {
+    var configuration = new GeneralConfiguration(Path.of("build/test-output"), false);
+    String first;
+    try (var session = CompilationSession.open("first")) {
+      first = new PassOrder().add(new NoopPass(configuration))
+          .passSteps().get(0).key().value();
+    }
+    try (var session = CompilationSession.open("second")) {
+      var order = new PassOrder()
+          .add(new NoopPass(configuration))
+          .add(new NoopPass(configuration));
+      assertEquals(first, order.passSteps().get(0).key().value());
+      assertNotEquals(first, order.passSteps().get(1).key().value());
+    }
+  }
+
+  private static class NoopPass extends Pass {
+    NoopPass(GeneralConfiguration configuration) {
+      super(configuration);
+    }
+
+    @Override
+    public PassName getName() {
+      return PassName.of("Noop");
+    }
+
+    @Nullable
+    @Override
+    public Object execute(PassResults passResults, Specification viam) throws IOException {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,148 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.vdt.impl.jumptable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import vadl.vdt.AbstractDecisionTreeTest;
+import vadl.vdt.impl.theiling.TheilingDecodeTreeGenerator;
+import vadl.vdt.model.InnerNode;
+import vadl.vdt.model.LeafNode;
+import vadl.vdt.model.Node;
+import vadl.vdt.target.common.DecisionTreeDecoder;
+import vadl.vdt.utils.BitVector;
+import vadl.vdt.utils.Instruction;
+
+class JumpTableDecodeTreeGeneratorTest extends AbstractDecisionTreeTest {
+
+  @Test
+  void testGenerate_denseRange() {
+
+    /* GIVEN */
+    final var instructions = createInsns(
+        List.of("100", "101", "110", "111", "010", "011", "000", "001"));
+
+    /* WHEN */
+    final Node dt = new JumpTableDecodeTreeGenerator().generate(instructions);
+
+    /* THEN */
+    final var stats = getStats(dt);
+    assertEquals(9, stats.getNumberOfNodes());
+    assertEquals(1, stats.getMaxDepth());
+    assertEquals(1, stats.getFanOutHistogram().get(8).intValue());
+    assertDecodes(dt, instructions);
+  }
+
+  @Test
+  void testGenerate_subsumedInstruction() {
+
+    /* GIVEN */
+    final var instructions = createInsns(List.of("1---", "1010", "0---"));
+
+    /* WHEN */
+    final Node dt = new JumpTableDecodeTreeGenerator().generate(instructions);
+
+    /* THEN */
+    assertDecodes(dt, instructions);
+    // the subsumed instruction is the fallback of the decisions below its split
+    assertSame(instructions.get(0).source(),
+        new DecisionTreeDecoder(dt).decide(BitVector.fromString("1011", 4)).source());
+  }
+
+  @Test
+  void testGenerate_overlapping() {
+    final var instructions = createInsns(List.of("1--", "-1-"));
+    assertThrows(IllegalArgumentException.class,
+        () -> new JumpTableDecodeTreeGenerator().generate(instructions));
+  }
+
+  @Test
+  void testGenerate_riscV() throws IOException {
+
+    /* GIVEN */
+    final List<Instruction> riscV = parseQemuDecoding("rv64i.decode");
+
+    /* WHEN */
+    final Node jumpTable = new JumpTableDecodeTreeGenerator().generate(riscV);
+    final Node theiling = new TheilingDecodeTreeGenerator().generate(riscV);
+
+    /* THEN */
+    assertDecodes(jumpTable, riscV);
+
+    final var stats = getStats(jumpTable);
+    assertEquals(riscV.size(), stats.getNumberOfLeafNodes(),
+        "Expected one leaf node per instruction");
+    assertEquals(70, stats.getNumberOfNodes());
+    assertEquals(3, stats.getMaxDepth());
+    assertEquals(2.35, Math.round(stats.getAvgDepth() * 100.0) / 100.0);
+    assertEquals(Map.of(1, 3, 2, 27, 3, 21), stats.getDepthHistogram());
+
+    // Theiling's decisions are shallower, but sparse.
+    final var theilingStats = getStats(theiling);
+    assertEquals(Map.of(1, 3, 2, 42, 3, 6), theilingStats.getDepthHistogram());
+  }
+
+  @Test
+  void testGenerate_weights() {
+
+    /* GIVEN */
+    final var instructions = createInsns(Map.of(
+        "a", "0-1101",
+        "b", "0101-0",
+        "frequent", "11-000"));
+    final var frequent = instructions.stream()
+        .filter(i -> i.source().simpleName().equals("frequent"))
+        .findFirst()
+        .orElseThrow();
+
+    /* WHEN */
+    final Node unweighted = new JumpTableDecodeTreeGenerator().generate(instructions);
+    final Node weighted = new JumpTableDecodeTreeGenerator(i -> i == frequent ? 100.0 : 1.0)
+        .generate(instructions);
+
+    /* THEN */
+    assertDecodes(weighted, instructions);
+    assertEquals(3, depth(unweighted, frequent));
+    assertEquals(2, depth(weighted, frequent));
+  }
+
+  private int depth(Node tree, Instruction insn) {
+    var encoding = insn.pattern().toBitVector();
+    var node = tree;
+    int depth = 0;
+    while (node instanceof InnerNode inner) {
+      node = inner.decide(encoding);
+      depth++;
+    }
+    assertSame(insn, ((LeafNode) node).instruction());
+    return depth;
+  }
+
+  private void assertDecodes(Node tree, List<Instruction> instructions) {
+    var decoder = new DecisionTreeDecoder(tree);
+    for (Instruction insn : instructions) {
+      assertSame(insn.source(), decoder.decide(insn.pattern().toBitVector()).source(),
+          "Wrong decoding of " + insn.source().simpleName());
+    }
+  }
+}
@@ -0,0 +1,95 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+
+package vadl.vdt.impl.multiwidth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import vadl.vdt.AbstractDecisionTreeTest;
+import vadl.vdt.impl.jumptable.JumpTableDecodeTreeGenerator;
+import vadl.vdt.impl.theiling.TheilingDecodeTreeGenerator;
+import vadl.vdt.model.DecodeTreeGenerator;
+import vadl.vdt.model.Node;
+import vadl.vdt.target.common.DecisionTreeDecoder;
+import vadl.vdt.utils.BitVector;
+import vadl.vdt.utils.Instruction;
+
+class MultiWidthDecodeTreeGeneratorTest extends AbstractDecisionTreeTest {
+
+  // the two least significant bits decide the width, like the compressed RISC-V extension
+  private static final Map<String, String> PATTERNS = Map.of(
+      "c_a", "0-00",
+      "c_b", "1-00",
+      "c_c", "--01",
+      "wide_a", "0---0011",
+      "wide_b", "1---0011",
+      "wide_c", "----1011"
+  );
+
+  @Test
+  void testGenerate_theiling() {
+    assertDecodesAll(new TheilingDecodeTreeGenerator());
+  }
+
+  @Test
+  void testGenerate_jumpTable() {
+    assertDecodesAll(new JumpTableDecodeTreeGenerator());
+  }
+
+  @Test
+  void testGenerate_ambiguousWidth() {
+    final var instructions = createInsns(List.of("--0-", "----0000"));
+    assertThrows(IllegalArgumentException.class,
+        () -> new MultiWidthDecodeTreeGenerator(new TheilingDecodeTreeGenerator())
+            .generate(instructions));
+  }
+
+  @Test
+  void testGenerate_widthNotMultipleOfParcel() {
+    final var instructions = createInsns(List.of("---0", "-----1"));
+    assertThrows(IllegalArgumentException.class,
+        () -> new MultiWidthDecodeTreeGenerator(new TheilingDecodeTreeGenerator())
+            .generate(instructions));
+  }
+
+  private void assertDecodesAll(DecodeTreeGenerator<Instruction> generator) {
+
+    /* GIVEN */
+    final var instructions = createInsns(PATTERNS);
+
+    /* WHEN */
+    final Node dt = new MultiWidthDecodeTreeGenerator(generator).generate(instructions);
+
+    /* THEN */
+    final var decoder = new DecisionTreeDecoder(dt);
+    for (Instruction insn : instructions) {
+      // the bits following a narrow instruction are arbitrary
+      final var encoding = ("1111" + PATTERNS.get(insn.source().simpleName()))
+          .substring(insn.width() - 4)
+          .replace('-', '0');
+      final var decoded = decoder.decide(BitVector.fromString(encoding, 8));
+      assertSame(insn.source(), decoded.source(),
+          "Wrong decoding of " + insn.source().simpleName());
+      assertEquals(insn.width(), decoded.width());
+    }
+  }
+}
@@ -0,0 +1,107 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+
+package vadl.vdt.target.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import vadl.vdt.AbstractDecisionTreeTest;
+import vadl.vdt.impl.jumptable.JumpTableDecodeTreeGenerator;
+import vadl.vdt.impl.theiling.TheilingDecodeTreeGenerator;
+import vadl.vdt.model.Node;
+import vadl.vdt.utils.BitVector;
+import vadl.vdt.utils.Instruction;
+
+class FlatDecisionTreeDecoderTest extends AbstractDecisionTreeTest {
+
+  @Test
+  void testDecode_riscV() throws IOException {
+    final List<Instruction> riscV = parseQemuDecoding("rv64i.decode");
+    assertSameDecisions(new TheilingDecodeTreeGenerator().generate(riscV), riscV);
+    assertSameDecisions(new JumpTableDecodeTreeGenerator().generate(riscV), riscV);
+  }
+
+  @Test
+  void testDecode_wideNode() {
+
+    /* GIVEN */
+    final var instructions = createInsns(List.of("0".repeat(20), "1".repeat(20)));
+
+    /* WHEN */
+    final Node dt = new TheilingDecodeTreeGenerator().generate(instructions);
+    final var decoder = new FlatDecisionTreeDecoder(dt);
+
+    /* THEN */
+    // the node is decided by testing its children instead of a table with 2^20 entries
+    assertEquals(0, decoder.tableSize());
+    assertSameDecisions(dt, instructions);
+  }
+
+  @Test
+  void testDecode_noMatch() {
+    final var instructions = createInsns(List.of("10-", "11-"));
+    final var decoder =
+        new FlatDecisionTreeDecoder(new TheilingDecodeTreeGenerator().generate(instructions));
+    assertThrows(IllegalArgumentException.class, () -> decoder.decode(0b010));
+  }
+
+  /**
+   * Asserts that the flattened decoder decides like the {@link DecisionTreeDecoder} for the
+   * encodings of all instructions and for random instruction words.
+   */
+  private void assertSameDecisions(Node tree, List<Instruction> instructions) {
+    final var expected = new DecisionTreeDecoder(tree);
+    final var actual = new FlatDecisionTreeDecoder(tree);
+    final int width = instructions.get(0).width();
+
+    for (Instruction insn : instructions) {
+      assertSame(insn.source(), actual.decide(insn.pattern().toBitVector()).source(),
+          "Wrong decoding of " + insn.source().simpleName());
+    }
+
+    final var random = new Random(42);
+    for (int i = 0; i < 10_000; i++) {
+      final long word = random.nextLong() & ((1L << width) - 1);
+      final var encoding = BitVector.fromString(toBinaryString(word, width), width);
+      Instruction decision;
+      try {
+        decision = expected.decide(encoding);
+      } catch (RuntimeException e) {
+        decision = null;
+      }
+      if (decision == null) {
+        assertThrows(IllegalArgumentException.class, () -> actual.decode(word));
+      } else {
+        assertSame(decision, actual.decode(word), "Wrong decoding of 0x" + Long.toHexString(word));
+      }
+    }
+  }
+
+  private static String toBinaryString(long value, int width) {
+    final var result = new StringBuilder();
+    for (int i = width - 1; i >= 0; i--) {
+      result.append((value >>> i) & 1);
+    }
+    return result.toString();
+  }
+}
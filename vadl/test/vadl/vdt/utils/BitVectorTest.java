@@ -0,0 +1,82 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.vdt.utils;
+
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BitVectorTest {
+
+  // 70 bits, so the vectors span two words
+  private static final String A = "1010" + "0".repeat(60) + "110011";
+  private static final String B = "0110" + "1".repeat(60) + "010101";
+
+  @Test
+  void testBitwiseOperations_multipleWords() {
+
+    /* GIVEN */
+    final var a = BitVector.fromString(A, A.length());
+    final var b = BitVector.fromString(B, B.length());
+
+    /* THEN */
+    Assertions.assertEquals("0010" + "0".repeat(60) + "010001", a.and(b).toString());
+    Assertions.assertEquals("1110" + "1".repeat(60) + "110111", a.or(b).toString());
+    Assertions.assertEquals("1100" + "1".repeat(60) + "100110", a.xor(b).toString());
+    Assertions.assertEquals("0101" + "1".repeat(60) + "001100", a.not().toString());
+    Assertions.assertEquals("1000" + "0".repeat(60) + "100010", a.andNot(b).toString());
+    Assertions.assertEquals(a.and(b), a.andAll(List.of(b)));
+    Assertions.assertEquals(6, a.bitCount());
+    Assertions.assertTrue(a.intersects(b));
+    Assertions.assertFalse(a.intersects(a.not()));
+    Assertions.assertTrue(a.and(a.not()).isZero());
+    Assertions.assertEquals(BitVector.ones(70), a.or(a.not()));
+  }
+
+  @Test
+  void testEquality_packedAndBitConstructor() {
+
+    /* GIVEN */
+    final Bit[] bits = new Bit[A.length()];
+    for (int i = 0; i < bits.length; i++) {
+      bits[i] = new Bit(A.charAt(i) == '1');
+    }
+
+    /* THEN */
+    final var a = BitVector.fromString(A, A.length());
+    Assertions.assertEquals(a, new BitVector(bits));
+    Assertions.assertEquals(a.hashCode(), new BitVector(bits).hashCode());
+    Assertions.assertNotEquals(BitVector.zeros(64), BitVector.zeros(65));
+  }
+
+  @Test
+  void testBitPattern_testAndRestrict() {
+
+    /* GIVEN */
+    final var pattern = BitPattern.fromString("1-0" + "-".repeat(64) + "01-", 70);
+    final var mask = BitVector.fromString("1" + "0".repeat(66) + "110", 70);
+
+    /* THEN */
+    Assertions.assertTrue(pattern.test(BitVector.fromString("100" + "1".repeat(64) + "011", 70)));
+    Assertions.assertFalse(pattern.test(BitVector.fromString("100" + "1".repeat(64) + "111", 70)));
+    Assertions.assertEquals("1" + "-".repeat(66) + "01-", pattern.restrict(mask).toString());
+    Assertions.assertEquals("1" + "0".repeat(67) + "10", pattern.toBitVector().toString());
+    Assertions.assertEquals(4, pattern.significantBits().bitCount());
+    Assertions.assertFalse(pattern.doesMatchAll());
+    Assertions.assertTrue(pattern.restrict(BitVector.zeros(70)).doesMatchAll());
+  }
+}
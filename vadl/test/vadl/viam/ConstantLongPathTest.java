@@ -0,0 +1,200 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.viam;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.constraints.IntRange;
+import vadl.types.DataType;
+import vadl.types.Type;
+
+/**
+ * Checks that the operations on values stored in a {@code long} compute the same
+ * results as the operations on the {@link BigInteger} data container.
+ * Each operation is applied to the value and to an equal value with a
+ * {@link BigInteger} data container
+ * (see {@link Constant.Value#withBigIntegerContainer(Constant.Value)}).
+ */
+public class ConstantLongPathTest {
+
+  @Property
+  void arithmetic(@ForAll @IntRange(min = 1, max = 64) int width,
+                  @ForAll @IntRange(min = 0, max = 2) int kind,
+                  @ForAll long a, @ForAll long b, @ForAll boolean flag) {
+    var type = type(kind, width);
+    var x = value(a, type);
+    var y = value(b, type);
+
+    assertEquivalent(x, y, (l, r) -> l.add(r, flag));
+    assertEquivalent(x, y, (l, r) -> l.subtract(r, Constant.Value.SubMode.X86_LIKE, flag));
+    assertEquivalent(x, y, (l, r) -> l.subtract(r, Constant.Value.SubMode.ARM_LIKE, flag));
+    assertEquivalent(x, y, (l, r) -> l.multiply(r, false, flag));
+    assertEquivalent(x, y, (l, r) -> l.multiply(r, true, flag));
+    assertEquivalent(x, y, (l, r) -> l.divide(r, flag));
+    assertEquivalent(x, y, (l, r) -> l.modulo(r, flag));
+    assertEquivalent(x, Constant.Value::negate);
+  }
+
+  @Property
+  void division_EdgeCases(@ForAll @IntRange(min = 1, max = 64) int width,
+                          @ForAll @IntRange(min = 0, max = 2) int kind,
+                          @ForAll @IntRange(min = -2, max = 2) int divisor,
+                          @ForAll boolean minimal, @ForAll long a, @ForAll boolean signed) {
+    var type = type(kind, width);
+    // the minimal signed value and small divisors (zero, minus one) are the edge cases
+    var x = minimal ? value(1L << (width - 1), type) : value(a, type);
+    var y = value(divisor, type);
+
+    assertEquivalent(x, y, (l, r) -> l.divide(r, signed));
+    assertEquivalent(x, y, (l, r) -> l.modulo(r, signed));
+  }
+
+  @Property
+  void bitwiseAndComparison(@ForAll @IntRange(min = 1, max = 64) int width,
+                            @ForAll @IntRange(min = 0, max = 2) int kind,
+                            @ForAll long a, @ForAll long b, @ForAll boolean signed) {
+    var type = type(kind, width);
+    var x = value(a, type);
+    var y = value(b, type);
+
+    assertEquivalent(x, y, Constant.Value::and);
+    assertEquivalent(x, y, Constant.Value::or);
+    assertEquivalent(x, y, Constant.Value::xor);
+    assertEquivalent(x, y, (l, r) -> l.lth(r, signed));
+    assertEquivalent(x, y, (l, r) -> l.leq(r, signed));
+    assertEquivalent(x, y, (l, r) -> l.gth(r, signed));
+    assertEquivalent(x, y, (l, r) -> l.geq(r, signed));
+    assertEquivalent(x, y, (l, r) -> Constant.Value.of(l.equals(r)));
+    assertEquivalent(x, y, Constant.Value::equ);
+    assertEquivalent(x, Constant.Value::not);
+  }
+
+  @Property
+  void shifts(@ForAll @IntRange(min = 1, max = 64) int width,
+              @ForAll @IntRange(min = 0, max = 2) int kind,
+              @ForAll long a, @ForAll @IntRange(min = 0, max = 70) int shift) {
+    var type = type(kind, width);
+    var x = value(a, type);
+    var amountType = Type.unsignedInt(7);
+    var amount = Constant.Value.of(shift, amountType);
+
+    assertEquivalent(x, amount, Constant.Value::lsl);
+    assertEquivalent(x, amount, Constant.Value::lsr);
+  }
+
+  @Property
+  void conversions(@ForAll @IntRange(min = 1, max = 64) int width,
+                   @ForAll @IntRange(min = 0, max = 2) int kind,
+                   @ForAll @IntRange(min = 1, max = 128) int targetWidth,
+                   @ForAll @IntRange(min = 0, max = 2) int targetKind,
+                   @ForAll long a) {
+    var type = type(kind, width);
+    var target = type(targetKind, targetWidth);
+    var x = value(a, type);
+
+    assertEquivalent(x, v -> v.truncate(target));
+    assertEquivalent(x, v -> v.zeroExtend(target));
+    assertEquivalent(x, v -> v.signExtend(target));
+    assertEquivalent(x, v -> v.castTo(target));
+    assertEquivalent(x, v -> v.castTo(Type.bool()));
+    assertEquivalent(x, v -> v.withType(target));
+    assertEquivalent(x, Constant.Value::toBits);
+    assertEquivalent(x, v -> v.concat(value(a, target)));
+  }
+
+  @Property
+  void accessors(@ForAll @IntRange(min = 1, max = 64) int width,
+                 @ForAll @IntRange(min = 0, max = 2) int kind,
+                 @ForAll long a) {
+    var x = value(a, type(kind, width));
+    var big = Constant.Value.withBigIntegerContainer(x);
+
+    assertEquals(big.integer(), x.integer());
+    assertEquals(big.unsignedInteger(), x.unsignedInteger());
+    assertEquals(big.longValue(), x.longValue());
+    assertEquals(big.intValue(), x.intValue());
+    assertEquals(big.isSignBit(), x.isSignBit());
+    assertEquals(big.hexadecimal(), x.hexadecimal());
+    assertEquals(big.binary(), x.binary());
+    assertEquals(big.decimal(), x.decimal());
+    assertEquals(big, x);
+    assertEquals(big.hashCode(), x.hashCode());
+    // the integer creates the same value again
+    assertEquals(x, Constant.Value.fromInteger(x.integer(), x.type()));
+  }
+
+  @Property
+  void creation(@ForAll @IntRange(min = 1, max = 64) int width,
+                @ForAll @IntRange(min = 0, max = 2) int kind,
+                @ForAll long a) {
+    var type = type(kind, width);
+    // values that do not fit in the type must fail in both paths
+    assertEquals(
+        outcome(() -> Constant.Value.fromInteger(BigInteger.valueOf(a), type)),
+        outcome(() -> Constant.Value.of(a, type)));
+  }
+
+  private static DataType type(int kind, int width) {
+    return switch (kind) {
+      case 0 -> Type.bits(width);
+      case 1 -> Type.signedInt(width);
+      default -> Type.unsignedInt(width);
+    };
+  }
+
+  /**
+   * Creates a value of the given type from the lowest bits of {@code bits}.
+   */
+  private static Constant.Value value(long bits, DataType type) {
+    var width = type.bitWidth();
+    var masked = width >= Long.SIZE ? bits : bits & ((1L << width) - 1);
+    return Constant.Value.of(masked, Type.bits(width)).trivialCastTo(type);
+  }
+
+  private static void assertEquivalent(Constant.Value x,
+                                       Function<Constant.Value, Constant> operation) {
+    var big = Constant.Value.withBigIntegerContainer(x);
+    assertEquals(outcome(() -> operation.apply(big)), outcome(() -> operation.apply(x)),
+        "operation on " + x);
+  }
+
+  private static void assertEquivalent(Constant.Value x, Constant.Value y,
+                                       BiFunction<Constant.Value, Constant.Value, Constant>
+                                           operation) {
+    var bigX = Constant.Value.withBigIntegerContainer(x);
+    var bigY = Constant.Value.withBigIntegerContainer(y);
+    assertEquals(outcome(() -> operation.apply(bigX, bigY)), outcome(() -> operation.apply(x, y)),
+        "operation on " + x + " and " + y);
+  }
+
+  /**
+   * Returns the result of the operation, or the class of the thrown exception.
+   */
+  private static Object outcome(Supplier<?> operation) {
+    try {
+      return operation.get();
+    } catch (ViamError | ArithmeticException e) {
+      return e.getClass();
+    }
+  }
+}
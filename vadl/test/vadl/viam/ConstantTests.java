@@ -20,6 +20,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static vadl.utils.BigIntUtils.mask;
@@ -37,6 +39,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import vadl.types.BuiltInTable;
 import vadl.types.DataType;
 import vadl.types.Type;
 
@@ -44,6 +47,34 @@ import vadl.types.Type;
 public class ConstantTests {
 
 
+  @Test
+  public void smallValuesAreShared() {
+    assertSame(Constant.Value.of(1, Type.bits(32)), Constant.Value.of(1, Type.bits(32)));
+    assertSame(Constant.Value.of(-1, Type.signedInt(8)),
+        Constant.Value.fromInteger(BigInteger.ONE.negate(), Type.signedInt(8)));
+    assertSame(Constant.Value.of(true), Constant.Value.fromBoolean(true));
+    assertNotSame(Constant.Value.of(1, Type.bits(32)), Constant.Value.of(1, Type.bits(64)));
+    assertNotSame(Constant.Value.of(1000, Type.bits(32)), Constant.Value.of(1000, Type.bits(32)));
+  }
+
+  @Test
+  public void smallValuesAreValidated() {
+    assertThrows(ViamError.class, () -> Constant.Value.of(-1, Type.unsignedInt(8)));
+    assertThrows(ViamError.class, () -> Constant.Value.of(16, Type.bits(4)));
+    // the failed creation must not be cached
+    assertThrows(ViamError.class, () -> Constant.Value.of(16, Type.bits(4)));
+    assertEquals(15, Constant.Value.of(15, Type.bits(4)).integer().intValue());
+  }
+
+  @Test
+  public void withTypeKeepsOriginal() {
+    var value = Constant.Value.of(3, Type.bits(8));
+    var wide = value.withType(Type.bits(16));
+    assertEquals(Type.bits(8), value.type());
+    assertEquals(Type.bits(16), wide.type());
+    assertEquals(3, wide.integer().intValue());
+  }
+
   // Bitslice tests
 
   @Test
@@ -750,6 +781,31 @@ public class ConstantTests {
     );
   }
 
+  @Test
+  void equ_differentTypesWithSameBits_shouldBeEqual() {
+    // equal bits of differently typed values are equal
+    assertEquals(bool(true), BuiltInTable.EQU.compute(List.of(bits(5, 8), intU(5, 8)))
+        .orElseThrow());
+    assertEquals(bool(false), BuiltInTable.NEQ.compute(List.of(bits(5, 8), intU(5, 8)))
+        .orElseThrow());
+    assertEquals(bool(true), BuiltInTable.EQU.compute(List.of(bits(0xFD, 8), intS(-3, 8)))
+        .orElseThrow());
+    assertEquals(bool(false), BuiltInTable.EQU.compute(List.of(bits(5, 8), intS(-3, 8)))
+        .orElseThrow());
+    // values that do not fit in a long
+    assertEquals(bool(true),
+        Constant.Value.of(5, Type.bits(80)).equ(Constant.Value.of(5, Type.unsignedInt(80))));
+  }
+
+  @Test
+  void lsr_bitsAmount_shouldShiftByUnsignedAmount() {
+    assertEquals(bits(0x0F, 8), bits(0xF0, 8).lsr(bits(4, 8)));
+    assertEquals(bits(0x0F, 8), bits(0xF0, 8).lsr(intU(4, 8)));
+    // the amount is not sign extended
+    assertEquals(bits(0, 8), bits(0xF0, 8).lsr(bits(0xFF, 8)));
+    assertEquals(bits(1, 80),
+        Constant.Value.of(1, Type.bits(80)).lsl(intU(79, 7)).lsr(bits(79, 7)));
+  }
 
   // Helper functions
 
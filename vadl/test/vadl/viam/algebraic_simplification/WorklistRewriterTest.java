@@ -0,0 +1,80 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.viam.algebraic_simplification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import vadl.viam.graph.Node;
+import vadl.viam.helper.TestGraph;
+import vadl.viam.helper.TestNodes.WithDataUnique;
+import vadl.viam.helper.TestNodes.WithInputUnique;
+import vadl.viam.passes.algebraic_simplication.WorklistRewriter;
+
+/**
+ * Tests the {@link WorklistRewriter} on simple test graphs.
+ */
+public class WorklistRewriterTest {
+
+  // folds `WithInput(WithData(x))` to `WithData(x + 1)`
+  private static final Function<Node, Optional<Node>> FOLD = node -> {
+    if (node instanceof WithInputUnique withInput
+        && withInput.input instanceof WithDataUnique data) {
+      return Optional.of(new WithDataUnique(data.val + 1));
+    }
+    return Optional.empty();
+  };
+
+  private static final Function<Node, Optional<Node>> NEVER = node -> Optional.empty();
+
+  @Test
+  void run_NestedChain_FoldsToSingleNode() {
+    var graph = new TestGraph("chain");
+    Node node = new WithDataUnique(0);
+    for (int i = 0; i < 5; i++) {
+      node = new WithInputUnique(node);
+    }
+    graph.addWithInputs(node);
+
+    var rewriter = new WorklistRewriter<>(List.of(NEVER, FOLD), Function::apply);
+    assertTrue(rewriter.run(graph));
+
+    var nodes = graph.getNodes().toList();
+    assertEquals(1, nodes.size());
+    assertEquals(5, ((WithDataUnique) nodes.get(0)).val);
+    graph.verify();
+
+    var stats = rewriter.statistics();
+    assertEquals(0, stats.get(0).fireCount());
+    assertEquals(5, stats.get(1).fireCount());
+  }
+
+  @Test
+  void run_NothingMatches_Unchanged() {
+    var graph = new TestGraph("unchanged");
+    graph.add(new WithDataUnique(1));
+
+    var rewriter = new WorklistRewriter<>(List.of(FOLD), Function::apply);
+    assertFalse(rewriter.run(graph));
+    assertEquals(1, graph.getNodes().count());
+  }
+}
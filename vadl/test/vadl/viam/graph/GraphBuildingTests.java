@@ -24,13 +24,23 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static vadl.utils.GraphUtils.getSingleNode;
 import static vadl.viam.graph.GraphMatchers.activeIn;
 
+import java.util.ConcurrentModificationException;
+import java.util.List;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import vadl.types.DataType;
+import vadl.viam.Constant;
+import vadl.viam.graph.control.InstrEndNode;
+import vadl.viam.graph.control.ScheduledNode;
+import vadl.viam.graph.control.StartNode;
+import vadl.viam.graph.dependency.ConstantNode;
 import vadl.viam.graph.visualize.DotGraphVisualizer;
 import vadl.viam.helper.TestGraph;
 import vadl.viam.helper.TestNodes;
@@ -193,6 +203,23 @@ public class GraphBuildingTests {
     assertNotSame(x.input2, y.input2);
   }
 
+  @Test
+  void copy_ScheduledNode_KeepsSuccessor() {
+    var end = testGraph.addWithInputs(new InstrEndNode(new NodeList<>()));
+    var constant = testGraph.add(new ConstantNode(Constant.Value.of(1, DataType.bits(32))));
+    var scheduled = testGraph.add(new ScheduledNode(constant));
+    scheduled.setNext(end);
+    testGraph.add(new StartNode(scheduled));
+
+    var copiedTestGraph = testGraph.copy();
+
+    var copied = getSingleNode(copiedTestGraph, ScheduledNode.class);
+    assertNotSame(scheduled, copied);
+    assertSame(getSingleNode(copiedTestGraph, InstrEndNode.class), copied.next());
+    assertSame(getSingleNode(copiedTestGraph, ConstantNode.class), copied.node());
+    copiedTestGraph.verify();
+  }
+
   @Test
   void replaceNode_Success() {
     testGraph.add(new Plain());
@@ -238,4 +265,167 @@ public class GraphBuildingTests {
     assertTrue(replace.isDeleted());
     assertTrue(second.isDeleted());
   }
+
+  @Test
+  void findDuplicate_AfterReplaceInput_Success() {
+    var d1 = testGraph.add(new WithDataUnique(1));
+    var d2 = testGraph.add(new WithDataUnique(2));
+    var n1 = testGraph.add(new WithInputUnique(d1));
+
+    n1.replaceInput(d1, d2);
+
+    var n2 = testGraph.addWithInputs(new WithInputUnique(new WithDataUnique(2)));
+    assertEquals(n1, n2);
+    // both the data node and the node with input were found in the index
+    assertEquals(2, testGraph.uniqueNodeIndex().hits());
+    testGraph.verify();
+  }
+
+  @Test
+  void findDuplicate_AfterMutatedConstant_Success() {
+    var constant = testGraph.add(new ConstantNode(Constant.Value.of(1, DataType.bits(32))));
+
+    constant.setConstant(Constant.Value.of(2, DataType.bits(32)));
+
+    // the mutated node must be found under its new key, but not under the old one
+    var duplicate =
+        testGraph.add(new ConstantNode(Constant.Value.of(2, DataType.bits(32))));
+    assertSame(constant, duplicate);
+    var other = testGraph.add(new ConstantNode(Constant.Value.of(1, DataType.bits(32))));
+    assertNotSame(constant, other);
+    assertEquals(1, testGraph.uniqueNodeIndex().hits());
+    assertEquals(2, testGraph.uniqueNodeIndex().size());
+  }
+
+  @Test
+  void findDuplicate_AfterDelete_Success() {
+    var d1 = testGraph.add(new WithDataUnique(1));
+    d1.safeDelete();
+
+    var d2 = testGraph.add(new WithDataUnique(1));
+    assertNotSame(d1, d2);
+    assertThat(d2, activeIn(testGraph));
+    assertEquals(0, testGraph.uniqueNodeIndex().hits());
+    assertEquals(1, testGraph.uniqueNodeIndex().size());
+  }
+
+  @Test
+  void compact_KeepsIds_Success() {
+    var p1 = testGraph.add(new Plain());
+    var d1 = testGraph.add(new WithDataUnique(1));
+    var p2 = testGraph.add(new Plain());
+    var idBefore = d1.id().numericId();
+
+    p1.safeDelete();
+    p2.safeDelete();
+    assertEquals(2, testGraph.deadSlotCount());
+
+    testGraph.compact();
+
+    assertEquals(0, testGraph.deadSlotCount());
+    assertEquals(idBefore, d1.id().numericId());
+    assertEquals(List.of(d1), testGraph.getNodes().toList());
+
+    // new nodes never reuse ids of deleted ones
+    var p3 = testGraph.add(new Plain());
+    assertEquals(3, p3.id().numericId());
+    p3.safeDelete();
+    testGraph.verify();
+  }
+
+  @Test
+  void id_CachedUntilChanged_Success() {
+    var node = new Plain();
+    var initId = node.id();
+    assertThrows(ViamGraphError.class, node::numericId);
+
+    testGraph.add(node);
+    var activeId = node.id();
+    assertNotEquals(initId, activeId);
+    assertSame(activeId, node.id());
+    assertEquals(activeId.numericId(), node.numericId());
+
+    node.safeDelete();
+    assertNotEquals(activeId, node.id());
+    assertSame(node.id(), node.id());
+  }
+
+  @Test
+  void compact_WhileIterating_Failure() {
+    testGraph.add(new Plain()).safeDelete();
+    testGraph.add(new Plain());
+    assertThrows(ConcurrentModificationException.class,
+        () -> testGraph.getNodes().forEach(n -> testGraph.compact()));
+  }
+
+  @Test
+  void usages_GrowAndShrink_Success() {
+    var p1 = testGraph.add(new Plain());
+    var users = List.of(
+        testGraph.add(new WithTwoInputs(p1, p1)),
+        testGraph.add(new WithTwoInputs(p1, p1)),
+        testGraph.add(new WithTwoInputs(p1, p1)));
+    assertEquals(6, p1.usageCount());
+
+    users.get(1).safeDelete();
+    assertEquals(4, p1.usageCount());
+    // the remaining usages keep their order
+    assertEquals(List.of(users.get(0), users.get(0), users.get(2), users.get(2)),
+        p1.usages().toList());
+
+    users.get(0).safeDelete();
+    users.get(2).safeDelete();
+    assertEquals(0, p1.usageCount());
+    testGraph.verify();
+  }
+
+  @Test
+  void footprint_CountsNodesAndUsages_Success() {
+    var p1 = testGraph.add(new Plain());
+    testGraph.add(new WithTwoInputs(p1, p1));
+
+    var footprint = GraphFootprint.of(testGraph);
+    assertEquals(2, footprint.nodeCount());
+    assertEquals(1, footprint.sourceLocations());
+    assertTrue(footprint.nodeBytes() > 0);
+    assertTrue(footprint.usageBytes() > 0);
+  }
+
+  @Test
+  void getNodesOfClass_IndexUpdated_Success() {
+    var p1 = testGraph.add(new Plain());
+    assertEquals(List.of(p1), testGraph.getNodes(Plain.class).toList());
+
+    var d1 = testGraph.add(new WithDataUnique(1));
+    var p2 = testGraph.add(new Plain());
+    assertEquals(List.of(p1, p2), testGraph.getNodes(Plain.class).toList());
+    assertEquals(List.of(p1, d1, p2), testGraph.getNodes(Node.class).toList());
+
+    p1.safeDelete();
+    assertEquals(List.of(p2), testGraph.getNodes(Plain.class).toList());
+    assertEquals(List.of(d1), testGraph.getNodes(UniqueNode.class).toList());
+  }
+
+  @Test
+  void modificationCount_OnlyChangesOnModification_Success() {
+    var p1 = testGraph.add(new Plain());
+    var p2 = testGraph.add(new Plain());
+    var node = testGraph.add(new WithTwoInputs(p1, p1));
+
+    var count = testGraph.modificationCount();
+    testGraph.verify();
+    testGraph.dotGraph();
+    testGraph.compact();
+    assertEquals(count, testGraph.modificationCount());
+
+    node.replaceInput(p1, p2);
+    assertNotEquals(count, testGraph.modificationCount());
+
+    count = testGraph.modificationCount();
+    node.replaceInput(p1, p2);
+    assertEquals(count, testGraph.modificationCount());
+
+    node.safeDelete();
+    assertNotEquals(count, testGraph.modificationCount());
+  }
 }
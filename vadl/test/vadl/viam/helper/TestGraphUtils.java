@@ -19,7 +19,14 @@ package vadl.viam.helper;
 import vadl.types.BuiltInTable;
 import vadl.types.Type;
 import vadl.viam.Constant;
+import vadl.viam.graph.Graph;
 import vadl.viam.graph.NodeList;
+import vadl.viam.graph.control.BeginNode;
+import vadl.viam.graph.control.BranchEndNode;
+import vadl.viam.graph.control.IfNode;
+import vadl.viam.graph.control.InstrEndNode;
+import vadl.viam.graph.control.MergeNode;
+import vadl.viam.graph.control.StartNode;
 import vadl.viam.graph.dependency.BuiltInCall;
 import vadl.viam.graph.dependency.ConstantNode;
 import vadl.viam.graph.dependency.ExpressionNode;
@@ -79,6 +86,33 @@ public class TestGraphUtils {
     return Constant.Value.of(val);
   }
 
+  /**
+   * The control nodes of a graph with a single if-else, see {@link #ifMerge(Graph)}.
+   */
+  public record IfMerge(StartNode start, IfNode ifNode,
+                        BeginNode trueBegin, BranchEndNode trueEnd,
+                        BeginNode falseBegin, BranchEndNode falseEnd,
+                        MergeNode merge, InstrEndNode end) {
+  }
+
+  /**
+   * Adds the control flow {@code start -> if (true|false) -> merge -> end} to the
+   * empty graph. Both branches are empty.
+   */
+  public static IfMerge ifMerge(Graph graph) {
+    var trueEnd = graph.addWithInputs(new BranchEndNode(new NodeList<>()));
+    var trueBegin = graph.addWithInputs(new BeginNode(trueEnd));
+    var falseEnd = graph.addWithInputs(new BranchEndNode(new NodeList<>()));
+    var falseBegin = graph.addWithInputs(new BeginNode(falseEnd));
+    var merge = graph.addWithInputs(new MergeNode(new NodeList<>(trueEnd, falseEnd)));
+    var ifNode = graph.addWithInputs(
+        new IfNode(new ConstantNode(bool(true)), trueBegin, falseBegin));
+    var end = graph.addWithInputs(new InstrEndNode(new NodeList<>()));
+    merge.setNext(end);
+    var start = graph.addWithInputs(new StartNode(ifNode));
+    return new IfMerge(start, ifNode, trueBegin, trueEnd, falseBegin, falseEnd, merge, end);
+  }
+
   public static Constant.Tuple.Status status(boolean negative, boolean zero, boolean carry,
                                              boolean overflow) {
     return new Constant.Tuple.Status(negative, zero, carry, overflow);
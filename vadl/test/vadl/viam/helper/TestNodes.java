@@ -17,6 +17,7 @@
 package vadl.viam.helper;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import vadl.javaannotations.viam.DataValue;
 import vadl.javaannotations.viam.Input;
@@ -115,6 +116,12 @@ public class TestNodes {
       collection.add(input);
     }
 
+    @Override
+    protected void forEachInput(Consumer<Node> action) {
+      super.forEachInput(action);
+      action.accept(input);
+    }
+
     @Override
     public void applyOnInputsUnsafe(GraphVisitor.Applier<Node> visitor) {
       super.applyOnInputsUnsafe(visitor);
@@ -169,6 +176,12 @@ public class TestNodes {
       collection.add(successor);
     }
 
+    @Override
+    protected void forEachSuccessor(Consumer<Node> action) {
+      super.forEachSuccessor(action);
+      action.accept(successor);
+    }
+
     @Override
     public Node copy() {
       return new WithSuccessor(successor.copy());
@@ -218,6 +231,13 @@ public class TestNodes {
       collection.add(input2);
     }
 
+    @Override
+    protected void forEachInput(Consumer<Node> action) {
+      super.forEachInput(action);
+      action.accept(input1);
+      action.accept(input2);
+    }
+
     @Override
     public void applyOnInputsUnsafe(GraphVisitor.Applier<Node> visitor) {
       super.applyOnInputsUnsafe(visitor);
@@ -272,6 +292,12 @@ public class TestNodes {
       collection.addAll(inputs);
     }
 
+    @Override
+    protected void forEachInput(Consumer<Node> action) {
+      super.forEachInput(action);
+      inputs.forEach(action);
+    }
+
     @Override
     public void applyOnInputsUnsafe(GraphVisitor.Applier<Node> visitor) {
       super.applyOnInputsUnsafe(visitor);
@@ -0,0 +1,137 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.viam.interpreter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import vadl.AbstractTest;
+import vadl.TestUtils;
+import vadl.configuration.GeneralConfiguration;
+import vadl.configuration.IssConfiguration;
+import vadl.iss.passes.IssTcgSchedulingPass;
+import vadl.pass.PassOrders;
+import vadl.pass.exception.DuplicatedPassKeyException;
+import vadl.types.BuiltInTable;
+import vadl.types.Type;
+import vadl.viam.Constant;
+import vadl.viam.Format;
+import vadl.viam.Instruction;
+import vadl.viam.RegisterFile;
+import vadl.viam.graph.dependency.BuiltInCall;
+
+public class DifferentialTesterTest extends AbstractTest {
+
+  private static final int SAMPLES = 200;
+
+  private Instruction add() {
+    var spec = runAndGetViamSpecification("sys/risc-v/rv64im.vadl");
+    return TestUtils.findDefinitionByNameIn("RV3264I::ADD", spec, Instruction.class);
+  }
+
+  private static Map<Format.Field, Constant.Value> fields(Instruction instruction, long rd,
+                                                        long rs1, long rs2) {
+    var values = new HashMap<Format.Field, Constant.Value>();
+    for (var field : BehaviorInterpreter.fields(instruction.behavior())) {
+      var value = switch (field.simpleName()) {
+        case "rd" -> rd;
+        case "rs1" -> rs1;
+        case "rs2" -> rs2;
+        default -> 0L;
+      };
+      values.put(field, Constant.Value.of(value, field.type()));
+    }
+    return values;
+  }
+
+  @Test
+  void interpreter_shouldWriteSumOfRegisters() {
+    var add = add();
+    assertTrue(BehaviorInterpreter.supports(add.behavior()));
+
+    var state = new MachineState((resource, address) ->
+        Constant.Value.of(resource instanceof RegisterFile ? address * 10 : 0,
+            resource.resultType()));
+    BehaviorInterpreter.of(add.behavior()).run(state, fields(add, 3, 1, 2));
+
+    assertEquals(1, state.writes().size());
+    var write = state.writes().entrySet().iterator().next();
+    assertEquals("X", write.getKey().resource().simpleName());
+    assertEquals(3, write.getKey().address());
+    assertEquals(Constant.Value.of(30, Type.bits(64)), write.getValue());
+  }
+
+  @Test
+  void interpreter_shouldIgnoreWritesToConstantRegister() {
+    var add = add();
+    var state = new MachineState((resource, address) -> Constant.Value.of(1,
+        resource.resultType()));
+    BehaviorInterpreter.of(add.behavior()).run(state, fields(add, 0, 1, 2));
+
+    assertTrue(state.writes().isEmpty());
+  }
+
+  @Test
+  void compare_shouldAcceptCopy() {
+    var behavior = add().behavior();
+    var result = new DifferentialTester(1, SAMPLES).compare(behavior, behavior.copy());
+
+    assertTrue(result.equivalent());
+    assertEquals(SAMPLES, result.samples());
+  }
+
+  @Test
+  void compare_shouldFindChangedOperation() {
+    var behavior = add().behavior();
+    var changed = behavior.copy();
+    var call = changed.getNodes(BuiltInCall.class)
+        .filter(c -> c.builtIn() == BuiltInTable.ADD)
+        .findFirst().orElseThrow();
+    call.replaceAndDelete(
+        BuiltInCall.of(BuiltInTable.SUB, call.arguments().get(0), call.arguments().get(1)));
+
+    var result = new DifferentialTester(1, SAMPLES).compare(behavior, changed);
+
+    assertFalse(result.equivalent());
+    assertNotNull(result.mismatch());
+  }
+
+  @Test
+  void viamPasses_shouldPreserveSemantics() throws IOException, DuplicatedPassKeyException {
+    // fails with a ViamError if any pass changes the semantics of an instruction
+    setupPassManagerAndRunSpec("sys/risc-v/rv64im.vadl",
+        PassOrders.viam(getConfiguration(false))
+            .addDifferentialTesting(SAMPLES));
+  }
+
+  @Test
+  void issPasses_shouldPreserveSemantics() throws IOException, DuplicatedPassKeyException {
+    var config =
+        new IssConfiguration(new GeneralConfiguration(Path.of("build/test-output"), false));
+    setupPassManagerAndRunSpec("sys/risc-v/rv64im.vadl",
+        PassOrders.iss(config)
+            .untilFirst(IssTcgSchedulingPass.class)
+            .addDifferentialTesting(SAMPLES));
+  }
+}